@@ -1,5 +1,7 @@
 package eu.europeana.cloud.service.aas.authentication;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import eu.europeana.cloud.common.model.IdentifierErrorInfo;
 import eu.europeana.cloud.common.model.User;
 import eu.europeana.cloud.service.aas.authentication.exception.DatabaseConnectionException;
@@ -7,6 +9,7 @@ import eu.europeana.cloud.service.aas.authentication.exception.UserDoesNotExistE
 import eu.europeana.cloud.service.aas.authentication.exception.UserExistsException;
 import eu.europeana.cloud.service.aas.authentication.repository.CassandraUserDAO;
 import eu.europeana.cloud.service.aas.authentication.status.IdentifierErrorTemplate;
+import java.util.concurrent.TimeUnit;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -14,19 +17,43 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
 /**
  * Used throughout the Spring Security framework to pass user specific data.
+ * <p>
+ * Users loaded for the authentication are cached for a short time, as the same few accounts authenticate every request. Users
+ * changed by this service are evicted at once, changes done by the other instances are visible when the cached user expires.
  *
  * @author emmanouil.koufakis@theeuropeanlibrary.org
  */
 public class CassandraAuthenticationService implements UserDetailsService, AuthenticationService {
 
+  public static final long DEFAULT_CACHE_MAXIMUM_SIZE = 1000;
+  public static final long DEFAULT_CACHE_EXPIRATION_SECONDS = 60;
+
+  private final Cache<String, SpringUser> authenticatedUsers;
+
   @Autowired
   private CassandraUserDAO userDao;
 
   public CassandraAuthenticationService() {
-    // nothing todo
+    this(DEFAULT_CACHE_MAXIMUM_SIZE, DEFAULT_CACHE_EXPIRATION_SECONDS);
+  }
+
+  /**
+   * @param cacheMaximumSize maximal number of cached users
+   * @param cacheExpirationSeconds time after which the cached user is read from the database again, 0 disables the cache
+   */
+  public CassandraAuthenticationService(long cacheMaximumSize, long cacheExpirationSeconds) {
+    authenticatedUsers = CacheBuilder.newBuilder()
+                                     .maximumSize(cacheMaximumSize)
+                                     .expireAfterWrite(cacheExpirationSeconds, TimeUnit.SECONDS)
+                                     .build();
   }
 
   public CassandraAuthenticationService(CassandraUserDAO userDao) {
+    this(userDao, DEFAULT_CACHE_MAXIMUM_SIZE, DEFAULT_CACHE_EXPIRATION_SECONDS);
+  }
+
+  public CassandraAuthenticationService(CassandraUserDAO userDao, long cacheMaximumSize, long cacheExpirationSeconds) {
+    this(cacheMaximumSize, cacheExpirationSeconds);
     this.userDao = userDao;
   }
 
@@ -34,11 +61,15 @@ public class CassandraAuthenticationService implements UserDetailsService, Authe
   public UserDetails loadUserByUsername(final String userName)
       throws UsernameNotFoundException {
     try {
-      SpringUser user = userDao.getUser(userName);
+      SpringUser user = authenticatedUsers.getIfPresent(userName);
       if (user == null) {
-        throw new UsernameNotFoundException("Username '" + userName + "' could not be retrieved from the database!");
+        user = userDao.getUser(userName);
+        if (user == null) {
+          throw new UsernameNotFoundException("Username '" + userName + "' could not be retrieved from the database!");
+        }
+        authenticatedUsers.put(userName, user);
       }
-      return userDao.getUser(userName);
+      return user;
     } catch (DatabaseConnectionException ex) {
       throw new UsernameNotFoundException("Username '" + userName + "' could not be retrieved due to database error!", ex);
     }
@@ -55,7 +86,7 @@ public class CassandraAuthenticationService implements UserDetailsService, Authe
               IdentifierErrorTemplate.USER_DOES_NOT_EXIST
                   .getErrorInfo(userName)));
     }
-    return userDao.getUser(userName);
+    return user;
   }
 
   @Override
@@ -66,6 +97,7 @@ public class CassandraAuthenticationService implements UserDetailsService, Authe
           IdentifierErrorTemplate.USER_EXISTS.getErrorInfo(userName)));
     } else {
       userDao.lockUser(userName);
+      authenticatedUsers.invalidate(userName);
     }
   }
 
@@ -77,6 +109,7 @@ public class CassandraAuthenticationService implements UserDetailsService, Authe
           IdentifierErrorTemplate.USER_EXISTS.getErrorInfo(userName)));
     } else {
       userDao.unlockUser(userName);
+      authenticatedUsers.invalidate(userName);
     }
   }
 
@@ -104,6 +137,7 @@ public class CassandraAuthenticationService implements UserDetailsService, Authe
                   .getErrorInfo(user.getUsername())));
     } else {
       userDao.updateUser(user);
+      authenticatedUsers.invalidate(user.getUsername());
     }
   }
 
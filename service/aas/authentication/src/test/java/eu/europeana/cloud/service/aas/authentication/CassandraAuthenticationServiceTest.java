@@ -13,6 +13,7 @@ import java.util.Collections;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
@@ -101,4 +102,57 @@ public class CassandraAuthenticationServiceTest extends CassandraTestBase {
     service.unlockUser("nonExistingUser");
   }
 
+  @Test
+  public void shouldReturnCachedUserUntilItIsChangedByTheService() throws Exception {
+    service.createUser(new SpringUser("cachedUser", "password1"));
+    service.loadUserByUsername("cachedUser");
+    dao.updateUser(new SpringUser("cachedUser", "password2"));
+
+    UserDetails user = service.loadUserByUsername("cachedUser");
+
+    assertEquals("password1", user.getPassword());
+  }
+
+  @Test
+  public void shouldEvictCachedUserWhenTheUserIsLocked() throws Exception {
+    service.createUser(new SpringUser("lockedUser", "password"));
+    assertTrue(service.loadUserByUsername("lockedUser").isAccountNonLocked());
+
+    service.lockUser("lockedUser");
+
+    assertFalse(service.loadUserByUsername("lockedUser").isAccountNonLocked());
+  }
+
+  @Test
+  public void shouldEvictCachedUserWhenTheUserIsUnlocked() throws Exception {
+    service.createUser(new SpringUser("unlockedUser", "password", Collections.emptySet(), true));
+    assertFalse(service.loadUserByUsername("unlockedUser").isAccountNonLocked());
+
+    service.unlockUser("unlockedUser");
+
+    assertTrue(service.loadUserByUsername("unlockedUser").isAccountNonLocked());
+  }
+
+  @Test
+  public void shouldEvictCachedUserWhenTheUserIsUpdated() throws Exception {
+    service.createUser(new SpringUser("updatedUser", "password1"));
+    assertEquals("password1", service.loadUserByUsername("updatedUser").getPassword());
+
+    service.updateUser(new SpringUser("updatedUser", "password2"));
+
+    assertEquals("password2", service.loadUserByUsername("updatedUser").getPassword());
+  }
+
+  @Test
+  public void shouldNotCacheUsersWhenTheCacheExpirationIsZero() throws Exception {
+    var notCachingService = new CassandraAuthenticationService(dao, 1000, 0);
+    notCachingService.createUser(new SpringUser("notCachedUser", "password1"));
+    notCachingService.loadUserByUsername("notCachedUser");
+    dao.updateUser(new SpringUser("notCachedUser", "password2"));
+
+    UserDetails user = notCachingService.loadUserByUsername("notCachedUser");
+
+    assertEquals("password2", user.getPassword());
+  }
+
 }
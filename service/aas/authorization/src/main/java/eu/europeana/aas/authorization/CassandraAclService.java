@@ -20,6 +20,7 @@ import eu.europeana.aas.authorization.repository.AclRepository;
 import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -228,11 +229,11 @@ public class CassandraAclService implements AclService {
    * Creates an {@link AclImpl} instance out of the provided data.
    *
    * @param aclObjectIdentity the {@link AclObjectIdentity} holding the basic Acl data.
-   * @param aclEntries a set of {@link AclEntry} objects to be converted to {@link AccessControlEntry} objects.
+   * @param aclEntries {@link AclEntry} objects to be converted to {@link AccessControlEntry} objects, sorted by their order.
    * @param parentAcl the parent {@link Acl}.
    * @return an {@link AclImpl} instance.
    */
-  private AclImpl convert(AclObjectIdentity aclObjectIdentity, Set<AclEntry> aclEntries, Acl parentAcl) {
+  protected AclImpl convert(AclObjectIdentity aclObjectIdentity, Collection<AclEntry> aclEntries, Acl parentAcl) {
     AclImpl acl = new AclImpl(aclObjectIdentity.toObjectIdentity(), aclObjectIdentity.getId(),
         aclAuthorizationStrategy, grantingStrategy, parentAcl, null, aclObjectIdentity.isEntriesInheriting(),
         aclObjectIdentity.getOwnerSid());
@@ -23,6 +23,8 @@ import java.util.List;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.security.acls.domain.AclAuthorizationStrategy;
+import org.springframework.security.acls.domain.AclImpl;
+import org.springframework.security.acls.domain.GrantedAuthoritySid;
 import org.springframework.security.acls.domain.PermissionFactory;
 import org.springframework.security.acls.domain.PrincipalSid;
 import org.springframework.security.acls.model.AccessControlEntry;
@@ -33,7 +35,9 @@ import org.springframework.security.acls.model.ChildrenExistException;
 import org.springframework.security.acls.model.MutableAcl;
 import org.springframework.security.acls.model.NotFoundException;
 import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Permission;
 import org.springframework.security.acls.model.PermissionGrantingStrategy;
+import org.springframework.security.acls.model.Sid;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.util.Assert;
@@ -77,6 +81,32 @@ public class CassandraMutableAclService extends CassandraAclService implements E
     return saveAcl(objectIdentity);
   }
 
+  @Override
+  public MutableAcl createAcl(ObjectIdentity objectIdentity, Sid sid, List<Permission> permissions)
+      throws AlreadyExistsException {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("EXECUTE createAcl: objectIdentity: " + objectIdentity + ", sid: " + sid + ", permissions: " + permissions);
+    }
+
+    AclObjectIdentity newAoi = createAclObjectIdentity(objectIdentity);
+    if (aclRepository.findAclObjectIdentity(newAoi) != null) {
+      throw new AlreadyExistsException("Object identity '" + newAoi + "' already exists");
+    }
+
+    List<AclEntry> entries = new ArrayList<>(permissions.size());
+    for (Permission permission : permissions) {
+      entries.add(createAclEntry(newAoi, sid, permission, entries.size()));
+    }
+    aclRepository.saveAcl(newAoi, entries);
+
+    // The ACL is built from the saved data, so it does not have to be read again
+    AclImpl acl = convert(newAoi, entries, null);
+    if (aclCache != null) {
+      aclCache.putInCache(acl);
+    }
+    return acl;
+  }
+
   public MutableAcl createOrUpdateAcl(ObjectIdentity objectIdentity) {
     if (LOG.isDebugEnabled()) {
       LOG.debug("EXECUTE insertOrUpdateAcl: objectIdentity: " + objectIdentity);
@@ -106,12 +136,32 @@ public class CassandraMutableAclService extends CassandraAclService implements E
     return newAoi;
   }
 
+  private AclEntry createAclEntry(AclObjectIdentity aoi, Sid sid, Permission permission, int order) {
+    AclEntry entry = new AclEntry();
+    if (sid instanceof PrincipalSid) {
+      entry.setSid(((PrincipalSid) sid).getPrincipal());
+      entry.setSidPrincipal(true);
+    } else if (sid instanceof GrantedAuthoritySid) {
+      entry.setSid(((GrantedAuthoritySid) sid).getGrantedAuthority());
+      entry.setSidPrincipal(false);
+    } else {
+      throw new IllegalArgumentException("Unsupported sid: " + sid);
+    }
+    entry.setOrder(order);
+    entry.setMask(permission.getMask());
+    entry.setGranting(true);
+    entry.setId(aoi.getRowId() + ":" + entry.getSid() + ":" + order);
+    return entry;
+  }
+
   private MutableAcl saveAcl(ObjectIdentity objectIdentity) {
     AclObjectIdentity newAoi = createAclObjectIdentity(objectIdentity);
     if (LOG.isDebugEnabled()) {
       LOG.debug("START saveAcl: acl: {}" + objectIdentity);
     }
     aclRepository.saveAcl(newAoi);
+    // The ACL of the object that was removed and created again could still be cached
+    evictFromCache(objectIdentity);
 
     // Retrieve the ACL via superclass (ensures cache registration, proper retrieval etc)
     Acl acl = readAclById(objectIdentity);
@@ -186,7 +236,12 @@ public class CassandraMutableAclService extends CassandraAclService implements E
     try {
       aclRepository.updateAcl(new AclObjectIdentity(acl), convertToAclEntries(acl));
     } catch (AclNotFoundException e) {
+      evictFromCache(acl.getObjectIdentity());
       throw new NotFoundException(e.getMessage(), e);
+    } catch (RuntimeException e) {
+      // The cached instance could be already modified by the caller, so it must not be used after the failed update
+      evictFromCache(acl.getObjectIdentity());
+      throw e;
     }
 
     // Clear the cache, including children
@@ -248,6 +303,10 @@ public class CassandraMutableAclService extends CassandraAclService implements E
       }
     }
 
+    evictFromCache(objectIdentity);
+  }
+
+  private void evictFromCache(ObjectIdentity objectIdentity) {
     if (aclCache != null) {
       aclCache.evictFromCache(objectIdentity);
     }
@@ -0,0 +1,79 @@
+package eu.europeana.aas.authorization;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.acls.model.AclCache;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.ObjectIdentity;
+
+/**
+ * Bounded in-memory {@link AclCache}, in which ACLs expire a short time after they were read.
+ * <p>
+ * ACLs changed with the {@link CassandraMutableAclService} are evicted at once, but the changes done by the other instances of
+ * the service are visible only when the cached ACL expires, so the expiration time should be kept short. ACLs are cached by
+ * their object identity. Lookups by the primary key, which are not used by the {@link CassandraAclService}, scan the cache.
+ */
+public class ExpiringAclCache implements AclCache {
+
+  public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+  public static final long DEFAULT_EXPIRATION_SECONDS = 30;
+
+  private final Cache<ObjectIdentity, MutableAcl> acls;
+
+  public ExpiringAclCache() {
+    this(DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRATION_SECONDS);
+  }
+
+  public ExpiringAclCache(long maximumSize, long expirationSeconds) {
+    this(maximumSize, expirationSeconds, Ticker.systemTicker());
+  }
+
+  /**
+   * @param maximumSize maximal number of cached ACLs
+   * @param expirationSeconds time after which the cached ACL is read from the database again, 0 disables the cache
+   * @param ticker time source of the cache
+   */
+  public ExpiringAclCache(long maximumSize, long expirationSeconds, Ticker ticker) {
+    acls = CacheBuilder.newBuilder()
+                       .maximumSize(maximumSize)
+                       .expireAfterWrite(expirationSeconds, TimeUnit.SECONDS)
+                       .ticker(ticker)
+                       .build();
+  }
+
+  @Override
+  public void evictFromCache(Serializable pk) {
+    acls.asMap().values().removeIf(acl -> pk.equals(acl.getId()));
+  }
+
+  @Override
+  public void evictFromCache(ObjectIdentity objectIdentity) {
+    acls.invalidate(objectIdentity);
+  }
+
+  @Override
+  public MutableAcl getFromCache(ObjectIdentity objectIdentity) {
+    return acls.getIfPresent(objectIdentity);
+  }
+
+  @Override
+  public MutableAcl getFromCache(Serializable pk) {
+    return acls.asMap().values().stream()
+               .filter(acl -> pk.equals(acl.getId()))
+               .findFirst()
+               .orElse(null);
+  }
+
+  @Override
+  public void putInCache(MutableAcl acl) {
+    acls.put(acl.getObjectIdentity(), acl);
+  }
+
+  @Override
+  public void clearCache() {
+    acls.invalidateAll();
+  }
+}
@@ -1,9 +1,12 @@
 package eu.europeana.aas.authorization;
 
+import java.util.List;
 import org.springframework.security.acls.model.AlreadyExistsException;
 import org.springframework.security.acls.model.MutableAcl;
 import org.springframework.security.acls.model.MutableAclService;
 import org.springframework.security.acls.model.ObjectIdentity;
+import org.springframework.security.acls.model.Permission;
+import org.springframework.security.acls.model.Sid;
 
 /**
  * Extends original interface to allow idempotent writes.
@@ -19,4 +22,17 @@ public interface ExtendedAclService extends MutableAclService {
    * @throws AlreadyExistsException if the passed object identity already has a record that belongs to other user
    */
   MutableAcl createOrUpdateAcl(ObjectIdentity objectIdentity);
+
+  /**
+   * Creates the <code>Acl</code> object in the database, granting the given permissions to the given sid. The object identity
+   * and its entries are stored in one batch, so it replaces the {@link #createAcl(ObjectIdentity)} followed by the
+   * {@link #updateAcl(MutableAcl)}.
+   *
+   * @param objectIdentity the object identity to create
+   * @param sid the sid the permissions are granted to
+   * @param permissions permissions to grant, in the order of the created entries
+   * @return the created ACL object
+   * @throws AlreadyExistsException if the passed object identity already has a record
+   */
+  MutableAcl createAcl(ObjectIdentity objectIdentity, Sid sid, List<Permission> permissions);
 }
@@ -67,6 +67,14 @@ public interface AclRepository {
    */
   void saveAcl(AclObjectIdentity aoi);
 
+  /**
+   * Saves an {@link AclObjectIdentity} record together with its {@link AclEntry} records in the database, in one batch.
+   *
+   * @param aoi the {@link AclObjectIdentity} to save.
+   * @param entries the list of {@link AclEntry} objects to save, ordered by their order parameter.
+   */
+  void saveAcl(AclObjectIdentity aoi, List<AclEntry> entries);
+
   /**
    * Changes an existing {@link AclObjectIdentity} or the related {@link AclEntry} records in the database.
    *
@@ -14,15 +14,19 @@
  */
 package eu.europeana.aas.authorization.repository;
 
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.exceptions.AlreadyExistsException;
-import com.datastax.driver.core.querybuilder.Batch;
-import com.datastax.driver.core.querybuilder.Delete;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.google.common.util.concurrent.MoreExecutors;
 import eu.europeana.aas.authorization.model.AclEntry;
 import eu.europeana.aas.authorization.model.AclObjectIdentity;
 import eu.europeana.aas.authorization.repository.exceptions.AclNotFoundException;
@@ -32,18 +36,24 @@ import eu.europeana.cloud.service.commons.utils.RetryableMethodExecutor;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.Semaphore;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.springframework.util.Assert;
 
 /**
  * Implementation of <code>AclRepository</code> using the DataStax Java Driver.
+ * <p>
+ * All the queries are prepared once, when the repository is created. ACLs of many object identities are read with separate
+ * asynchronous queries, one per partition, instead of a single <code>IN</code> query, which would make the coordinator read
+ * all the partitions.
  *
  * @author Rigas Grigoropoulos
  * @author Markus.Muhr@theeuropeanlibrary.org
@@ -78,11 +88,23 @@ public class CassandraAclRepository implements AclRepository {
   private static final String ERROR_MASSAGE_IN_CASE_ALL_RETRY_FAILED
       = "Repository could now establish connection to cassandra database";
   static final int ACL_REPO_DEFAULT_MAX_ATTEMPTS = 3;
+  private static final int MAX_CONCURRENT_READS = 32;
 
   private RegularStatement createChildrenTable;
   private RegularStatement createAoisTable;
   private RegularStatement createAclsTable;
 
+  private PreparedStatement selectAoiStatement;
+  private PreparedStatement selectAclsStatement;
+  private PreparedStatement selectChildrenStatement;
+  private PreparedStatement insertAoiStatement;
+  private PreparedStatement insertChildStatement;
+  private PreparedStatement insertAclStatement;
+  private PreparedStatement deleteAoiStatement;
+  private PreparedStatement deleteChildrenStatement;
+  private PreparedStatement deleteChildStatement;
+  private PreparedStatement deleteAclStatement;
+
   private final Session session;
   private final String keyspace;
 
@@ -104,9 +126,7 @@ public class CassandraAclRepository implements AclRepository {
    * @param keyspace whether the keyspace and schema for storing ACLs should be created.
    */
   public CassandraAclRepository(Session session, String keyspace) {
-    this.session = session;
-    this.keyspace = keyspace;
-    initStatements();
+    this(session, keyspace, false);
   }
 
   /**
@@ -118,12 +138,16 @@ public class CassandraAclRepository implements AclRepository {
    * @param initSchema whether the keyspace and schema for storing ACLs should be created.
    */
   public CassandraAclRepository(Session session, String keyspace, boolean initSchema) {
-    this(session, keyspace);
+    this.session = session;
+    this.keyspace = keyspace;
+    initStatements();
     if (initSchema) {
       createAoisTable();
       createChildrenTable();
       createAclsTable();
     }
+    //Tables have to exist before the statements are prepared
+    prepareStatements();
   }
 
 
@@ -139,8 +163,46 @@ public class CassandraAclRepository implements AclRepository {
         + "isAuditFailure boolean," + "PRIMARY KEY (id, sid, aclOrder)" + ");");
   }
 
+  private void prepareStatements() {
+    selectAoiStatement = session.prepare(QueryBuilder.select().all().from(keyspace, AOI_TABLE)
+                                                     .where(QueryBuilder.eq(COMMON_ID_FIELD, QueryBuilder.bindMarker())));
+    selectAclsStatement = session.prepare(QueryBuilder.select().all().from(keyspace, ACL_TABLE)
+                                                      .where(QueryBuilder.eq(COMMON_ID_FIELD, QueryBuilder.bindMarker())));
+    selectChildrenStatement = session.prepare(QueryBuilder.select().all().from(keyspace, CHILDREN_TABLE)
+                                                          .where(QueryBuilder.eq(COMMON_ID_FIELD,
+                                                              QueryBuilder.bindMarker())));
+    insertAoiStatement = session.prepare(QueryBuilder.insertInto(keyspace, AOI_TABLE)
+                                                     .values(AOI_KEYS, bindMarkers(AOI_KEYS.length)));
+    insertChildStatement = session.prepare(QueryBuilder.insertInto(keyspace, CHILDREN_TABLE)
+                                                       .values(CHILD_KEYS, bindMarkers(CHILD_KEYS.length)));
+    insertAclStatement = session.prepare(QueryBuilder.insertInto(keyspace, ACL_TABLE)
+                                                     .values(ACL_KEYS, bindMarkers(ACL_KEYS.length)));
+    deleteAoiStatement = session.prepare(QueryBuilder.delete().all().from(keyspace, AOI_TABLE)
+                                                     .where(QueryBuilder.eq(COMMON_ID_FIELD, QueryBuilder.bindMarker())));
+    deleteChildrenStatement = session.prepare(QueryBuilder.delete().all().from(keyspace, CHILDREN_TABLE)
+                                                          .where(QueryBuilder.eq(COMMON_ID_FIELD,
+                                                              QueryBuilder.bindMarker())));
+    deleteChildStatement = session.prepare(QueryBuilder.delete().all().from(keyspace, CHILDREN_TABLE)
+                                                       .where(QueryBuilder.eq(COMMON_ID_FIELD, QueryBuilder.bindMarker()))
+                                                       .and(QueryBuilder.eq(CHILDREN_TABLE_CHILD_ID_FIELD,
+                                                           QueryBuilder.bindMarker())));
+    deleteAclStatement = session.prepare(QueryBuilder.delete().from(keyspace, ACL_TABLE)
+                                                     .where(QueryBuilder.eq(COMMON_ID_FIELD, QueryBuilder.bindMarker()))
+                                                     .and(QueryBuilder.eq(ACL_TABLE_SID_FIELD, QueryBuilder.bindMarker()))
+                                                     .and(QueryBuilder.eq(ACL_TABLE_ACL_ORDER_FIELD,
+                                                         QueryBuilder.bindMarker())));
+  }
 
-  private ResultSet executeStatement(Session session, RegularStatement statement) {
+  private static Object[] bindMarkers(int count) {
+    Object[] markers = new Object[count];
+    for (int i = 0; i < count; i++) {
+      markers[i] = QueryBuilder.bindMarker();
+    }
+    return markers;
+  }
+
+
+  private ResultSet executeStatement(Session session, Statement statement) {
     return session.execute(statement);
   }
 
@@ -153,39 +215,30 @@ public class CassandraAclRepository implements AclRepository {
       LOG.debug("BEGIN findAcls: objectIdentities: " + objectIdsToLookup);
     }
 
-    List<String> ids = new ArrayList<>(objectIdsToLookup.size());
+    Set<String> ids = new LinkedHashSet<>();
     for (AclObjectIdentity entry : objectIdsToLookup) {
       ids.add(entry.getRowId());
     }
-    ResultSet resultSet = executeStatement(session, QueryBuilder.select().all().from(keyspace, AOI_TABLE)
-                                                                .where(QueryBuilder.in("id", ids.toArray())));
 
-    Map<AclObjectIdentity, Set<AclEntry>> resultMap = new HashMap<>();
-    for (Row row : resultSet.all()) {
-      resultMap.put(convertToFullAclObjectIdentity(row), new TreeSet<>(
-          Comparator.comparingInt(AclEntry::getOrder)));
+    //Every partition is read by the separate query, all of them are sent before the results are awaited
+    var inFlightQueries = new Semaphore(MAX_CONCURRENT_READS);
+    Map<String, ResultSetFuture> aoiFutures = new LinkedHashMap<>();
+    Map<String, ResultSetFuture> aclFutures = new HashMap<>();
+    for (String id : ids) {
+      aoiFutures.put(id, executeAsync(selectAoiStatement.bind(id), inFlightQueries));
+      aclFutures.put(id, executeAsync(selectAclsStatement.bind(id), inFlightQueries));
     }
 
-    resultSet = executeStatement(session, QueryBuilder.select().all().from(keyspace, ACL_TABLE)
-                                                      .where(QueryBuilder.in("id", ids.toArray())));
-    for (Row row : resultSet.all()) {
-      String aoiId = row.getString("id");
-
-      AclEntry aclEntry = new AclEntry();
-      aclEntry.setAuditFailure(row.getBool("isAuditFailure"));
-      aclEntry.setAuditSuccess(row.getBool("isAuditSuccess"));
-      aclEntry.setGranting(row.getBool("isGranting"));
-      aclEntry.setMask(row.getInt("mask"));
-      aclEntry.setOrder(row.getInt("aclOrder"));
-      aclEntry.setSid(row.getString("sid"));
-      aclEntry.setSidPrincipal(row.getBool("isSidPrincipal"));
-      aclEntry.setId(aoiId + ":" + aclEntry.getSid() + ":" + aclEntry.getOrder());
-
-      for (Entry<AclObjectIdentity, Set<AclEntry>> entry : resultMap.entrySet()) {
-        if (entry.getKey().getRowId().equals(aoiId)) {
-          entry.getValue().add(aclEntry);
-          break;
+    Map<AclObjectIdentity, Set<AclEntry>> resultMap = new HashMap<>();
+    for (Map.Entry<String, ResultSetFuture> aoiFuture : aoiFutures.entrySet()) {
+      Row aoiRow = aoiFuture.getValue().getUninterruptibly().one();
+      ResultSet aclRows = aclFutures.get(aoiFuture.getKey()).getUninterruptibly();
+      if (aoiRow != null) {
+        Set<AclEntry> aclEntries = new TreeSet<>(Comparator.comparingInt(AclEntry::getOrder));
+        for (Row row : aclRows) {
+          aclEntries.add(convertToAclEntry(row));
         }
+        resultMap.put(convertToFullAclObjectIdentity(aoiRow), aclEntries);
       }
     }
 
@@ -204,10 +257,7 @@ public class CassandraAclRepository implements AclRepository {
       LOG.debug("BEGIN findAclObjectIdentity: objectIdentity: " + objectId);
     }
 
-    Row row = executeStatement(session,
-        QueryBuilder.select().all().from(keyspace, AOI_TABLE)
-                    .where(QueryBuilder.eq("id", objectId.getRowId())))
-        .one();
+    Row row = executeStatement(session, selectAoiStatement.bind(objectId.getRowId())).one();
     AclObjectIdentity objectIdentity = convertToFullAclObjectIdentity(row);
 
     if (LOG.isDebugEnabled()) {
@@ -225,8 +275,7 @@ public class CassandraAclRepository implements AclRepository {
       LOG.debug("BEGIN findAclObjectIdentityChildren: objectIdentity: " + objectId);
     }
 
-    ResultSet resultSet = executeStatement(session, QueryBuilder.select().all().from(keyspace, CHILDREN_TABLE)
-                                                                .where(QueryBuilder.eq("id", objectId.getRowId())));
+    ResultSet resultSet = executeStatement(session, selectChildrenStatement.bind(objectId.getRowId()));
 
     List<AclObjectIdentity> result = new ArrayList<>();
     for (Row row : resultSet.all()) {
@@ -248,15 +297,11 @@ public class CassandraAclRepository implements AclRepository {
       LOG.debug("BEGIN deleteAcls: objectIdsToDelete: " + objectIdsToDelete);
     }
 
-    List<String> ids = new ArrayList<>(objectIdsToDelete.size());
+    BatchStatement batch = new BatchStatement();
     for (AclObjectIdentity entry : objectIdsToDelete) {
-      ids.add(entry.getRowId());
+      batch.add(deleteAoiStatement.bind(entry.getRowId()));
+      batch.add(deleteChildrenStatement.bind(entry.getRowId()));
     }
-    Batch batch = QueryBuilder.batch();
-    batch.add(QueryBuilder.delete().all().from(keyspace, AOI_TABLE)
-                          .where(QueryBuilder.in("id", ids.toArray())));
-    batch.add(QueryBuilder.delete().all().from(keyspace, CHILDREN_TABLE)
-                          .where(QueryBuilder.in("id", ids.toArray())));
     executeStatement(session, batch);
 
     if (LOG.isDebugEnabled()) {
@@ -272,58 +317,67 @@ public class CassandraAclRepository implements AclRepository {
       LOG.debug("BEGIN saveAcl: aclObjectIdentity: " + aoi);
     }
 
-    Batch batch = QueryBuilder.batch();
-    batch.add(QueryBuilder.insertInto(keyspace, AOI_TABLE)
-                          .values(AOI_KEYS,
-                              new Object[]{aoi.getRowId(), aoi.getId(), aoi.getObjectClass(), aoi.isEntriesInheriting(),
-                                  aoi.getOwnerId(), aoi.isOwnerPrincipal(), aoi.getParentObjectId(),
-                                  aoi.getParentObjectClass()}));
+    executeStatement(session, createSaveBatch(aoi, List.of()));
 
-    if (aoi.getParentRowId() != null) {
-      batch.add(QueryBuilder.insertInto(keyspace, CHILDREN_TABLE).values(CHILD_KEYS,
-          new Object[]{aoi.getParentRowId(), aoi.getRowId(), aoi.getId(), aoi.getObjectClass()}));
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("END saveAcl");
     }
-    executeStatement(session, batch);
+  }
+
+  @Override
+  @Retryable(maxAttempts = ACL_REPO_DEFAULT_MAX_ATTEMPTS, errorMessage = ERROR_MASSAGE_IN_CASE_ALL_RETRY_FAILED)
+  public void saveAcl(AclObjectIdentity aoi, List<AclEntry> entries) {
+    assertAclObjectIdentity(aoi);
+    Assert.notNull(entries, "The AclEntry list cannot be null");
+    if (LOG.isDebugEnabled()) {
+      LOG.debug("BEGIN saveAcl: aclObjectIdentity: " + aoi + ", entries: " + entries);
+    }
+
+    executeStatement(session, createSaveBatch(aoi, entries));
 
     if (LOG.isDebugEnabled()) {
       LOG.debug("END saveAcl");
     }
   }
 
+  private BatchStatement createSaveBatch(AclObjectIdentity aoi, List<AclEntry> entries) {
+    BatchStatement batch = new BatchStatement();
+    batch.add(bindAoiInsert(aoi));
+    if (aoi.getParentRowId() != null) {
+      batch.add(bindChildInsert(aoi));
+    }
+    for (AclEntry entry : entries) {
+      batch.add(bindAclInsert(aoi, entry));
+    }
+    return batch;
+  }
+
   @Override
   public void updateAcl(AclObjectIdentity aoi, List<AclEntry> entries) throws AclNotFoundException {
     assertAclObjectIdentity(aoi);
 
-    Batch batch = QueryBuilder.batch();
-    ResultSet aclTableRS =
-        RetryableMethodExecutor.execute(ERROR_MASSAGE_IN_CASE_ALL_RETRY_FAILED,
-            ACL_REPO_DEFAULT_MAX_ATTEMPTS,
-            Retryable.DEFAULT_DELAY_BETWEEN_ATTEMPTS,
-            () -> executeStatement(session, QueryBuilder
-                .select()
-                .all()
-                .from(keyspace, ACL_TABLE)
-                .where(QueryBuilder.eq(COMMON_ID_FIELD, aoi.getRowId()))));
-
-    List<Row> recordsForDeletion = getRecordsForDeletion(entries, aclTableRS);
-    getQueriesForDeletion(recordsForDeletion).forEach(batch::add);
-
     if (LOG.isDebugEnabled()) {
       LOG.debug("BEGIN updateAcl: aclObjectIdentity: " + aoi + ", entries: " + entries);
     }
 
+    // Persisted object identity and its entries are read at the same time
+    PersistedAcl persistedAcl =
+        RetryableMethodExecutor.execute(ERROR_MASSAGE_IN_CASE_ALL_RETRY_FAILED,
+            ACL_REPO_DEFAULT_MAX_ATTEMPTS,
+            Retryable.DEFAULT_DELAY_BETWEEN_ATTEMPTS,
+            () -> readPersistedAcl(aoi.getRowId()));
+
     // Check this object identity is already persisted
-    AclObjectIdentity persistedAoi = findAclObjectIdentity(aoi);
+    AclObjectIdentity persistedAoi = persistedAcl.objectIdentity;
     if (persistedAoi == null) {
       throw new AclNotFoundException("Object identity '" + aoi + "' does not exist");
     }
 
+    BatchStatement batch = new BatchStatement();
+    getRecordsForDeletion(entries, persistedAcl.aclRows).forEach(row -> batch.add(bindAclDelete(row)));
+
     // Update AOI & delete existing ACLs
-    batch.add(QueryBuilder.insertInto(keyspace, AOI_TABLE)
-                          .values(AOI_KEYS,
-                              new Object[]{aoi.getRowId(), aoi.getId(), aoi.getObjectClass(), aoi.isEntriesInheriting(),
-                                  aoi.getOwnerId(), aoi.isOwnerPrincipal(), aoi.getParentObjectId(),
-                                  aoi.getParentObjectClass()}));
+    batch.add(bindAoiInsert(aoi));
     // Check if parent is different and delete from children table
     boolean parentChanged = false;
     if (!(persistedAoi.getParentRowId() == null ? (aoi.getParentRowId() == null)
@@ -331,23 +385,16 @@ public class CassandraAclRepository implements AclRepository {
       parentChanged = true;
 
       if (persistedAoi.getParentRowId() != null) {
-        batch.add(QueryBuilder.delete().all().from(keyspace, CHILDREN_TABLE)
-                              .where(QueryBuilder.eq(COMMON_ID_FIELD, persistedAoi.getParentRowId()))
-                              .and(QueryBuilder.eq(CHILDREN_TABLE_CHILD_ID_FIELD, aoi.getRowId())));
+        batch.add(deleteChildStatement.bind(persistedAoi.getParentRowId(), aoi.getRowId()));
       }
     }
     if (entries != null && !entries.isEmpty()) {
       for (AclEntry entry : entries) {
-        batch.add(QueryBuilder.insertInto(keyspace, ACL_TABLE).values(ACL_KEYS,
-            new Object[]{aoi.getRowId(), entry.getOrder(), entry.getSid(), entry.getMask(),
-                entry.isSidPrincipal(), entry.isGranting(), entry.isAuditSuccess(),
-                entry.isAuditFailure()}));
+        batch.add(bindAclInsert(aoi, entry));
       }
     }
     if (parentChanged && (aoi.getParentRowId() != null)) {
-        batch.add(QueryBuilder.insertInto(keyspace, CHILDREN_TABLE).values(CHILD_KEYS,
-            new Object[]{aoi.getParentRowId(), aoi.getRowId(), aoi.getId(), aoi.getObjectClass()}));
-      
+      batch.add(bindChildInsert(aoi));
     }
     RetryableMethodExecutor.execute(ERROR_MASSAGE_IN_CASE_ALL_RETRY_FAILED,
         ACL_REPO_DEFAULT_MAX_ATTEMPTS,
@@ -359,10 +406,43 @@ public class CassandraAclRepository implements AclRepository {
     }
   }
 
-  private List<Row> getRecordsForDeletion(List<AclEntry> entries, ResultSet aclTableRS) {
+  private PersistedAcl readPersistedAcl(String rowId) {
+    ResultSetFuture aoiFuture = session.executeAsync(selectAoiStatement.bind(rowId));
+    ResultSetFuture aclsFuture = session.executeAsync(selectAclsStatement.bind(rowId));
+    return new PersistedAcl(convertToFullAclObjectIdentity(aoiFuture.getUninterruptibly().one()),
+        aclsFuture.getUninterruptibly().all());
+  }
+
+  private ResultSetFuture executeAsync(Statement statement, Semaphore inFlightQueries) {
+    inFlightQueries.acquireUninterruptibly();
+    ResultSetFuture future = session.executeAsync(statement);
+    future.addListener(inFlightQueries::release, MoreExecutors.directExecutor());
+    return future;
+  }
+
+  private BoundStatement bindAoiInsert(AclObjectIdentity aoi) {
+    return insertAoiStatement.bind(aoi.getRowId(), aoi.getId(), aoi.getObjectClass(), aoi.isEntriesInheriting(),
+        aoi.getOwnerId(), aoi.isOwnerPrincipal(), aoi.getParentObjectId(), aoi.getParentObjectClass());
+  }
+
+  private BoundStatement bindChildInsert(AclObjectIdentity aoi) {
+    return insertChildStatement.bind(aoi.getParentRowId(), aoi.getRowId(), aoi.getId(), aoi.getObjectClass());
+  }
+
+  private BoundStatement bindAclInsert(AclObjectIdentity aoi, AclEntry entry) {
+    return insertAclStatement.bind(aoi.getRowId(), entry.getOrder(), entry.getSid(), entry.getMask(),
+        entry.isSidPrincipal(), entry.isGranting(), entry.isAuditSuccess(), entry.isAuditFailure());
+  }
+
+  private BoundStatement bindAclDelete(Row row) {
+    return deleteAclStatement.bind(row.getString(COMMON_ID_FIELD), row.getString(ACL_TABLE_SID_FIELD),
+        row.getInt(ACL_TABLE_ACL_ORDER_FIELD));
+  }
+
+  private List<Row> getRecordsForDeletion(List<AclEntry> entries, List<Row> aclTableRows) {
     List<Row> recordsForDeletion = new ArrayList<>();
     if (entries != null) {
-      aclTableRS.forEach(aclTableRow -> {
+      aclTableRows.forEach(aclTableRow -> {
         Optional<AclEntry> optionalEntry = entries
             .stream()
             .filter(entry -> aclTableRow.getString(COMMON_ID_FIELD).equals(entry.getId())
@@ -376,21 +456,27 @@ public class CassandraAclRepository implements AclRepository {
       });
       return recordsForDeletion;
     } else {
-      return aclTableRS.all();
+      return aclTableRows;
     }
   }
 
-  private List<Delete.Where> getQueriesForDeletion(List<Row> recordsForDeletion) {
-    List<Delete.Where> deleteQueries = new ArrayList<>();
-    recordsForDeletion.forEach(row -> deleteQueries.add(
-        QueryBuilder
-            .delete()
-            .from(keyspace, ACL_TABLE)
-            .where(QueryBuilder.eq(COMMON_ID_FIELD, row.getString(COMMON_ID_FIELD)))
-            .and(QueryBuilder.eq(ACL_TABLE_SID_FIELD, row.getString(ACL_TABLE_SID_FIELD)))
-            .and(QueryBuilder.eq(ACL_TABLE_ACL_ORDER_FIELD, row.getInt(ACL_TABLE_ACL_ORDER_FIELD)))
-    ));
-    return deleteQueries;
+  /**
+   * Converts a <code>ACL table row</code> from a Cassandra result to an <code>AclEntry</code> object.
+   *
+   * @param row the <code>ACL table row</code> representing an <code>AclEntry</code>.
+   * @return the <code>AclEntry</code> object with the values retrieved from Cassandra.
+   */
+  private AclEntry convertToAclEntry(Row row) {
+    AclEntry aclEntry = new AclEntry();
+    aclEntry.setAuditFailure(row.getBool("isAuditFailure"));
+    aclEntry.setAuditSuccess(row.getBool("isAuditSuccess"));
+    aclEntry.setGranting(row.getBool("isGranting"));
+    aclEntry.setMask(row.getInt("mask"));
+    aclEntry.setOrder(row.getInt("aclOrder"));
+    aclEntry.setSid(row.getString("sid"));
+    aclEntry.setSidPrincipal(row.getBool("isSidPrincipal"));
+    aclEntry.setId(row.getString("id") + ":" + aclEntry.getSid() + ":" + aclEntry.getOrder());
+    return aclEntry;
   }
 
 
@@ -492,4 +578,17 @@ public class CassandraAclRepository implements AclRepository {
     }
   }
 
+  /**
+   * Object identity and its entries, as they are stored in the database.
+   */
+  private static final class PersistedAcl {
+
+    private final AclObjectIdentity objectIdentity;
+    private final List<Row> aclRows;
+
+    private PersistedAcl(AclObjectIdentity objectIdentity, List<Row> aclRows) {
+      this.objectIdentity = objectIdentity;
+      this.aclRows = aclRows;
+    }
+  }
 }
@@ -1,5 +1,6 @@
 package eu.europeana.aas.authorization;
 
+import java.util.List;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -8,6 +9,7 @@ import org.springframework.security.acls.domain.BasePermission;
 import org.springframework.security.acls.domain.ObjectIdentityImpl;
 import org.springframework.security.acls.domain.PrincipalSid;
 import org.springframework.security.acls.model.Acl;
+import org.springframework.security.acls.model.AlreadyExistsException;
 import org.springframework.security.acls.model.MutableAcl;
 import org.springframework.security.acls.model.NotFoundException;
 import org.springframework.security.acls.model.ObjectIdentity;
@@ -65,4 +67,34 @@ public class CassandraAclServiceTest extends CassandraTestBase {
     mutableAclService.readAclById(new ObjectIdentityImpl(testKey,
         creator));
   }
+
+  @Test
+  public void shouldCreateAclWithPermissionsGranted() {
+    TestingAuthenticationToken auth = new TestingAuthenticationToken(creator, creator);
+    auth.setAuthenticated(true);
+    SecurityContextHolder.getContext().setAuthentication(auth);
+    ObjectIdentity obj = new ObjectIdentityImpl(testKey, "grantedEntry");
+
+    MutableAcl acl = mutableAclService.createAcl(obj, new PrincipalSid(creator),
+        List.of(BasePermission.READ, BasePermission.WRITE));
+
+    Acl readAcl = mutableAclService.readAclById(obj);
+    Assert.assertEquals(2, acl.getEntries().size());
+    Assert.assertEquals(2, readAcl.getEntries().size());
+    Assert.assertEquals(BasePermission.READ, readAcl.getEntries().get(0).getPermission());
+    Assert.assertEquals(BasePermission.WRITE, readAcl.getEntries().get(1).getPermission());
+    Assert.assertEquals(new PrincipalSid(creator), readAcl.getEntries().get(1).getSid());
+    Assert.assertEquals(new PrincipalSid(creator), readAcl.getOwner());
+  }
+
+  @Test(expected = AlreadyExistsException.class)
+  public void shouldNotCreateAclWithPermissionsTwice() {
+    TestingAuthenticationToken auth = new TestingAuthenticationToken(creator, creator);
+    auth.setAuthenticated(true);
+    SecurityContextHolder.getContext().setAuthentication(auth);
+    ObjectIdentity obj = new ObjectIdentityImpl(testKey, "existingEntry");
+    mutableAclService.createAcl(obj, new PrincipalSid(creator), List.of(BasePermission.READ));
+
+    mutableAclService.createAcl(obj, new PrincipalSid(creator), List.of(BasePermission.READ));
+  }
 }
@@ -0,0 +1,81 @@
+package eu.europeana.aas.authorization;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.acls.domain.ObjectIdentityImpl;
+import org.springframework.security.acls.model.MutableAcl;
+import org.springframework.security.acls.model.ObjectIdentity;
+
+public class ExpiringAclCacheTest {
+
+  private static final ObjectIdentity OBJECT_IDENTITY = new ObjectIdentityImpl("dataset", "provider/dataset");
+  private static final String ACL_ID = "aclId";
+
+  private final AtomicLong time = new AtomicLong();
+  private ExpiringAclCache cache;
+  private MutableAcl acl;
+
+  @Before
+  public void init() {
+    cache = new ExpiringAclCache(100, 30, new Ticker() {
+      @Override
+      public long read() {
+        return time.get();
+      }
+    });
+    acl = mock(MutableAcl.class);
+    when(acl.getObjectIdentity()).thenReturn(OBJECT_IDENTITY);
+    when(acl.getId()).thenReturn(ACL_ID);
+  }
+
+  @Test
+  public void shouldReturnCachedAclByObjectIdentityAndId() {
+    cache.putInCache(acl);
+
+    assertSame(acl, cache.getFromCache(new ObjectIdentityImpl("dataset", "provider/dataset")));
+    assertSame(acl, cache.getFromCache(ACL_ID));
+  }
+
+  @Test
+  public void shouldExpireAcl() {
+    cache.putInCache(acl);
+    time.addAndGet(TimeUnit.SECONDS.toNanos(31));
+
+    assertNull(cache.getFromCache(OBJECT_IDENTITY));
+  }
+
+  @Test
+  public void shouldEvictAclByObjectIdentity() {
+    cache.putInCache(acl);
+
+    cache.evictFromCache(OBJECT_IDENTITY);
+
+    assertNull(cache.getFromCache(OBJECT_IDENTITY));
+  }
+
+  @Test
+  public void shouldEvictAclById() {
+    cache.putInCache(acl);
+
+    cache.evictFromCache(ACL_ID);
+
+    assertNull(cache.getFromCache(OBJECT_IDENTITY));
+  }
+
+  @Test
+  public void shouldNotCacheAclWhenExpirationIsZero() {
+    cache = new ExpiringAclCache(100, 0);
+
+    cache.putInCache(acl);
+
+    assertNull(cache.getFromCache(OBJECT_IDENTITY));
+  }
+}
@@ -1,11 +1,16 @@
 package eu.europeana.aas.authorization;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
+import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.RegularStatement;
 import com.datastax.driver.core.Session;
 import eu.europeana.aas.authorization.repository.AclRepository;
 import eu.europeana.aas.authorization.repository.CassandraAclRepository;
 import eu.europeana.cloud.service.commons.utils.RetryAspect;
+import org.mockito.Mockito;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.EnableAspectJAutoProxy;
@@ -16,7 +21,10 @@ public class RetryableTestContextConfiguration {
 
   @Bean
   public Session session() {
-    return mock(Session.class);
+    Session session = mock(Session.class);
+    when(session.prepare(any(RegularStatement.class)))
+        .thenReturn(mock(PreparedStatement.class, Mockito.RETURNS_MOCKS));
+    return session;
   }
 
   @Bean
@@ -4,6 +4,7 @@ import static eu.europeana.aas.authorization.repository.AclUtils.createTestAclEn
 import static eu.europeana.aas.authorization.repository.AclUtils.createTestAclObjectIdentity;
 import static org.mockito.Mockito.when;
 
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.exceptions.DriverException;
@@ -41,8 +42,9 @@ public class CassandraAclRepositoryRetryableTest {
     maxAttemptCount = Optional.ofNullable(RetryableMethodExecutor.OVERRIDE_ATTEMPT_COUNT)
                               .orElse(CassandraAclRepository.ACL_REPO_DEFAULT_MAX_ATTEMPTS);
 
-    when(session.execute(Mockito.any(Statement.class)))
-        .thenThrow(new DriverException("Driver error has occurred!"));
+    ResultSetFuture failedFuture = Mockito.mock(ResultSetFuture.class);
+    when(failedFuture.getUninterruptibly()).thenThrow(new DriverException("Driver error has occurred!"));
+    when(session.executeAsync(Mockito.any(Statement.class))).thenReturn(failedFuture);
 
     aoi = createTestAclObjectIdentity();
     aclEntries = List.of(createTestAclEntry("test", 1),
@@ -55,18 +57,19 @@ public class CassandraAclRepositoryRetryableTest {
   @Test
   public void testRetryableAnnotation() {
     Mockito.verify(session, Mockito.times(0))
-           .execute(Mockito.any(Statement.class));
+           .executeAsync(Mockito.any(Statement.class));
     try {
       aclRepository.findAcls(List.of(aoi));
     } catch (Exception ignored) {
     }
-    Mockito.verify(session, Mockito.times(maxAttemptCount))
-           .execute(Mockito.any(Statement.class));
+    //Object identity and its entries are read with two queries in every attempt
+    Mockito.verify(session, Mockito.times(maxAttemptCount * 2))
+           .executeAsync(Mockito.any(Statement.class));
     try {
       aclRepository.updateAcl(aoi, aclEntries);
     } catch (Exception ignored) {
     }
-    Mockito.verify(session, Mockito.times(maxAttemptCount * 2))
-           .execute(Mockito.any(Statement.class));
+    Mockito.verify(session, Mockito.times(maxAttemptCount * 4))
+           .executeAsync(Mockito.any(Statement.class));
   }
 }
@@ -115,6 +115,29 @@ public class CassandraAclRepositoryTest extends CassandraTestBase {
     assertNull(aoi);
   }
 
+  @Test
+  public void testSaveAclWithEntries() {
+    AclObjectIdentity newAoi = createTestAclObjectIdentity();
+    AclEntry entry1 = createTestAclEntry(sid1, 0);
+    AclEntry entry2 = createTestAclEntry(ROLE_ADMIN, 1);
+
+    service.saveAcl(newAoi, Arrays.asList(entry1, entry2));
+
+    Map<AclObjectIdentity, Set<AclEntry>> result = service.findAcls(Arrays.asList(newAoi));
+    assertEquals(1, result.size());
+    assertAclObjectIdentity(newAoi, result.keySet().iterator().next());
+    Iterator<AclEntry> it = result.values().iterator().next().iterator();
+    assertAclEntry(newAoi, entry1, it.next());
+    assertAclEntry(newAoi, entry2, it.next());
+
+    AclObjectIdentity parentAoi = new AclObjectIdentity();
+    parentAoi.setId(newAoi.getParentObjectId());
+    parentAoi.setObjectClass(newAoi.getParentObjectClass());
+    List<AclObjectIdentity> children = service.findAclObjectIdentityChildren(parentAoi);
+    assertEquals(1, children.size());
+    assertEquals(newAoi.getId(), children.get(0).getId());
+  }
+
   @Test
   public void testFindAclListManyAcls() {
     AclObjectIdentity newAoi1 = createTestAclObjectIdentity();
@@ -2,16 +2,38 @@ package eu.europeana.cloud.service.commons.utils;
 
 import com.datastax.driver.core.BatchStatement;
 import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ProtocolVersion;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.exceptions.DriverException;
+import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.datastax.driver.core.exceptions.OverloadedException;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.google.common.util.concurrent.Uninterruptibles;
 import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * Component responsible for executing provided statements in LOGGED batch
+ * Component responsible for executing provided statements in LOGGED batch, or in UNLOGGED (or COUNTER) batches grouped by
+ * partition
  */
 public class BatchExecutor {
 
   private static final int RETRY_COUNT = 10;
   private static final int SLEEP_BETWEEN_RETRIES_MS = 10000;
+  private static final int MAX_STATEMENTS_IN_PARTITION_BATCH = 20;
+  private static final int MAX_CONCURRENT_PARTITION_BATCHES = 16;
+  private static final Logger LOGGER = LoggerFactory.getLogger(BatchExecutor.class);
 
   private static BatchExecutor instance = null;
 
@@ -35,6 +57,163 @@ public class BatchExecutor {
     executeWithRetries(batchStatement);
   }
 
+  /**
+   * Executes provided statements in UNLOGGED batches, one batch for every partition (too big batches are split), so every
+   * batch could be sent directly to replicas of its partition. Batches are executed asynchronously, with at most
+   * {@value #MAX_CONCURRENT_PARTITION_BATCHES} of them running at the same time, and the method returns when all of them are
+   * written. Batches which failed are retried one by one in the same way as in
+   * {@link #executeAll(List)}.
+   * <p>
+   * Contrary to the {@link #executeAll(List)} the statements are not written atomically, so they should be idempotent.
+   * Order of the statements is not kept, even inside one partition, as its statements could be split into several batches
+   * executed at the same time, and the failed batches are retried after the other ones, so the statements should not depend
+   * on each other.
+   *
+   * @param statements statements to be executed
+   */
+  public void executeAllPerPartition(List<BoundStatement> statements) {
+    executePerPartition(statements, BatchStatement.Type.UNLOGGED);
+  }
+
+  /**
+   * Executes provided counter updates in COUNTER batches, one batch for every partition, in the same way as
+   * {@link #executeAllPerPartition(List)}.
+   * <p>
+   * Counter updates are not idempotent, so only the batches which were surely not applied (no replica was available or the
+   * coordinator was overloaded) are retried. If the batch failed in any other way, for example timed out, it could be partly
+   * applied, so it is not retried, and {@link UncertainCounterUpdateException} is thrown, when all the other batches are
+   * done.
+   *
+   * @param statements counter updates to be executed
+   * @throws UncertainCounterUpdateException if some batch failed and it is not known if it was applied
+   */
+  public void executeCountersPerPartition(List<BoundStatement> statements) {
+    executePerPartition(statements, BatchStatement.Type.COUNTER);
+  }
+
+  /**
+   * Executes every group of provided statements in its own LOGGED batch, so every group is written atomically as in
+   * {@link #executeAll(List)}. Batches are executed asynchronously, with at most the given number of them running at the same
+   * time, and the method returns when all of them are written. Batches which failed are retried one by one.
+   *
+   * @param statementGroups groups of statements, every group is written in a separate batch
+   * @param maxConcurrentBatches maximal number of batches executed at the same time
+   */
+  public void executeAllConcurrently(List<List<BoundStatement>> statementGroups, int maxConcurrentBatches) {
+    Session session = dbService.getSession();
+    var inFlightBatches = new Semaphore(maxConcurrentBatches);
+    List<BatchStatement> batches = new ArrayList<>(statementGroups.size());
+    List<ResultSetFuture> futures = new ArrayList<>(statementGroups.size());
+    for (List<BoundStatement> statements : statementGroups) {
+      BatchStatement batch = new BatchStatement(BatchStatement.Type.LOGGED);
+      statements.forEach(batch::add);
+      inFlightBatches.acquireUninterruptibly();
+      ResultSetFuture future = session.executeAsync(batch);
+      future.addListener(inFlightBatches::release, MoreExecutors.directExecutor());
+      batches.add(batch);
+      futures.add(future);
+    }
+    waitForBatches(batches, futures);
+  }
+
+  private void executePerPartition(List<BoundStatement> statements, BatchStatement.Type batchType) {
+    Session session = dbService.getSession();
+    var inFlightBatches = new Semaphore(MAX_CONCURRENT_PARTITION_BATCHES);
+    List<BatchStatement> batches = groupInPartitionBatches(session, statements, batchType);
+    List<ResultSetFuture> futures = new ArrayList<>(batches.size());
+    for (BatchStatement batch : batches) {
+      inFlightBatches.acquireUninterruptibly();
+      ResultSetFuture future = session.executeAsync(batch);
+      future.addListener(inFlightBatches::release, MoreExecutors.directExecutor());
+      futures.add(future);
+    }
+    if (batchType == BatchStatement.Type.COUNTER) {
+      waitForCounterBatches(batches, futures);
+    } else {
+      waitForBatches(batches, futures);
+    }
+  }
+
+  private void waitForBatches(List<BatchStatement> batches, List<ResultSetFuture> futures) {
+    for (var i = 0; i < batches.size(); i++) {
+      try {
+        Uninterruptibles.getUninterruptibly(futures.get(i));
+      } catch (ExecutionException e) {
+        LOGGER.warn("Unable to execute batch asynchronously, it will be retried - {}", e.getMessage());
+        executeWithRetries(batches.get(i));
+      }
+    }
+  }
+
+  private void waitForCounterBatches(List<BatchStatement> batches, List<ResultSetFuture> futures) {
+    Throwable uncertainFailure = null;
+    for (var i = 0; i < batches.size(); i++) {
+      try {
+        Uninterruptibles.getUninterruptibly(futures.get(i));
+      } catch (ExecutionException e) {
+        Throwable failure = e.getCause();
+        if (isSurelyNotApplied(failure)) {
+          LOGGER.warn("Counter batch was not applied, it will be retried - {}", failure.getMessage());
+          failure = executeCounterBatchWithRetries(batches.get(i));
+        }
+        if (failure != null && uncertainFailure == null) {
+          uncertainFailure = failure;
+        }
+      }
+    }
+    if (uncertainFailure != null) {
+      throw new UncertainCounterUpdateException(uncertainFailure);
+    }
+  }
+
+  private DriverException executeCounterBatchWithRetries(BatchStatement batchStatement) {
+    return RetryableMethodExecutor.execute("Unable to execute counter batch", RETRY_COUNT,
+        SLEEP_BETWEEN_RETRIES_MS, () -> {
+          try {
+            dbService.getSession().execute(batchStatement);
+            return null;
+          } catch (DriverException e) {
+            if (isSurelyNotApplied(e)) {
+              throw e;
+            }
+            //Returned, not thrown, so the batch which could be partly applied is not retried
+            return e;
+          }
+        });
+  }
+
+  private boolean isSurelyNotApplied(Throwable failure) {
+    return failure instanceof NoHostAvailableException
+        || failure instanceof UnavailableException
+        || failure instanceof OverloadedException;
+  }
+
+  private List<BatchStatement> groupInPartitionBatches(Session session, List<BoundStatement> statements,
+      BatchStatement.Type batchType) {
+    ProtocolVersion protocolVersion = session.getCluster().getConfiguration().getProtocolOptions().getProtocolVersion();
+    CodecRegistry codecRegistry = session.getCluster().getConfiguration().getCodecRegistry();
+    Map<ByteBuffer, List<BatchStatement>> partitionBatches = new LinkedHashMap<>();
+    List<BatchStatement> result = new ArrayList<>();
+
+    for (BoundStatement statement : statements) {
+      ByteBuffer routingKey = statement.getRoutingKey(protocolVersion, codecRegistry);
+      if (routingKey == null) {
+        //partition is unknown, so the statement is sent alone
+        BatchStatement batch = new BatchStatement(batchType);
+        batch.add(statement);
+        result.add(batch);
+        continue;
+      }
+      List<BatchStatement> batches = partitionBatches.computeIfAbsent(routingKey, key -> new ArrayList<>());
+      if (batches.isEmpty() || batches.get(batches.size() - 1).size() >= MAX_STATEMENTS_IN_PARTITION_BATCH) {
+        batches.add(new BatchStatement(batchType));
+      }
+      batches.get(batches.size() - 1).add(statement);
+    }
+    partitionBatches.values().forEach(result::addAll);
+    return result;
+  }
+
   private void executeWithRetries(BatchStatement batchStatement) {
     RetryableMethodExecutor.execute("Unable to execute batch", RETRY_COUNT,
         SLEEP_BETWEEN_RETRIES_MS, () -> {
@@ -1,17 +1,29 @@
 package eu.europeana.cloud.service.commons.utils;
 
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import eu.europeana.cloud.common.annotation.Retryable;
 import eu.europeana.cloud.common.utils.Bucket;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 
 /**
  * This class is responsible for handling all operations related to data bucketing for any table (that requires bucketing). <br/>
- * Buckets table has to have proper structure.
+ * Buckets table has to have proper structure.<br/>
+ * Statements are prepared once per buckets table. Optionally the current bucket of each object is cached together with its rows
+ * count, which is tracked locally on every {@link #increaseBucketCount(String, Bucket)}. The cached count may be slightly
+ * outdated when many nodes write to the same object, that is why cache entries expire after the configured time.
  */
 @Retryable
 public class BucketsHandler {
@@ -19,16 +31,35 @@ public class BucketsHandler {
   public static final String OBJECT_ID_COLUMN_NAME = "object_id";
   public static final String BUCKET_ID_COLUMN_NAME = "bucket_id";
   public static final String ROWS_COUNT_COLUMN_NAME = "rows_count";
+  public static final long DEFAULT_CURRENT_BUCKETS_CACHE_EXPIRATION_SECONDS = 60;
+  private static final long CURRENT_BUCKETS_CACHE_SIZE = 10_000;
   //
-  private Session session;
+  private final Session session;
+  private final Map<String, BucketsTableStatements> statements = new ConcurrentHashMap<>();
+  private final Cache<CurrentBucketKey, Bucket> currentBuckets;
 
   /**
-   * Creates new {@link BucketsHandler} instance
+   * Creates new {@link BucketsHandler} instance that does not cache current buckets
    *
    * @param session cassandra connection session need for handler
    */
   public BucketsHandler(Session session) {
+    this(session, 0);
+  }
+
+  /**
+   * Creates new {@link BucketsHandler} instance
+   *
+   * @param session cassandra connection session need for handler
+   * @param currentBucketsCacheExpirationSeconds time after which the cached current bucket is read again from the database,
+   * 0 disables the cache
+   */
+  public BucketsHandler(Session session, long currentBucketsCacheExpirationSeconds) {
     this.session = session;
+    this.currentBuckets = CacheBuilder.newBuilder()
+                                      .maximumSize(currentBucketsCacheExpirationSeconds > 0 ? CURRENT_BUCKETS_CACHE_SIZE : 0)
+                                      .expireAfterWrite(currentBucketsCacheExpirationSeconds, TimeUnit.SECONDS)
+                                      .build();
   }
 
   /**
@@ -40,19 +71,15 @@ public class BucketsHandler {
    * @return the latest bucket for given parameters
    */
   public Bucket getCurrentBucket(String bucketsTableName, String objectId) {
-    String query = "SELECT object_id, bucket_id, rows_count FROM " + bucketsTableName
-        + " WHERE object_id = '" + objectId + "';";
-    ResultSet rs = session.execute(query);
-
-    List<Row> rows = rs.all();
-    Row row = rows.isEmpty() ? null : rows.get(rows.size() - 1);
-    if (row != null) {
-      return new Bucket(
-          row.getString(OBJECT_ID_COLUMN_NAME),
-          row.getUUID(BUCKET_ID_COLUMN_NAME).toString(),
-          row.getLong(ROWS_COUNT_COLUMN_NAME));
+    CurrentBucketKey key = new CurrentBucketKey(bucketsTableName, objectId);
+    Bucket bucket = currentBuckets.getIfPresent(key);
+    if (bucket == null) {
+      bucket = getBucket(statementsFor(bucketsTableName).selectLast.bind(objectId));
+      if (bucket != null) {
+        currentBuckets.put(key, bucket);
+      }
     }
-    return null;
+    return bucket;
   }
 
   /**
@@ -62,9 +89,14 @@ public class BucketsHandler {
    * @param bucket bucket identifier
    */
   public void increaseBucketCount(String bucketsTableName, Bucket bucket) {
-    String query = "UPDATE " + bucketsTableName + " SET rows_count = rows_count + 1 WHERE object_id = '"
-        + bucket.getObjectId() + "' AND bucket_id = " + UUID.fromString(bucket.getBucketId()) + ";";
-    session.execute(query);
+    session.execute(statementsFor(bucketsTableName).increase.bind(
+        bucket.getObjectId(), UUID.fromString(bucket.getBucketId())));
+
+    currentBuckets.asMap().computeIfPresent(new CurrentBucketKey(bucketsTableName, bucket.getObjectId()),
+        (key, cached) -> cached.getBucketId().equals(bucket.getBucketId())
+            ? new Bucket(cached.getObjectId(), cached.getBucketId(), cached.getRowsCount() + 1)
+            //new bucket was created, so it will be read on next access
+            : null);
   }
 
   /**
@@ -74,9 +106,9 @@ public class BucketsHandler {
    * @param bucket bucket identifier
    */
   public void decreaseBucketCount(String bucketsTableName, Bucket bucket) {
-    String query = "UPDATE " + bucketsTableName + " SET rows_count = rows_count - 1 WHERE object_id = '"
-        + bucket.getObjectId() + "' AND bucket_id = " + UUID.fromString(bucket.getBucketId()) + ";";
-    session.execute(query);
+    currentBuckets.invalidate(new CurrentBucketKey(bucketsTableName, bucket.getObjectId()));
+    session.execute(statementsFor(bucketsTableName).decrease.bind(
+        bucket.getObjectId(), UUID.fromString(bucket.getBucketId())));
 
     Bucket actual = getBucket(bucketsTableName, bucket);
     if (actual != null && actual.getRowsCount() == 0) {
@@ -93,17 +125,12 @@ public class BucketsHandler {
    * @return list of all buckets related with given bucket identifier
    */
   public List<Bucket> getAllBuckets(String bucketsTableName, String objectId) {
-    String query = "SELECT * FROM " + bucketsTableName + " WHERE object_id = '" + objectId + "';";
-    ResultSet rs = session.execute(query);
+    ResultSet rs = session.execute(statementsFor(bucketsTableName).selectAll.bind(objectId));
 
     List<Row> rows = rs.all();
     List<Bucket> resultBuckets = new ArrayList<>(rows.size());
     for (Row row : rows) {
-      Bucket bucket = new Bucket(
-          row.getString(OBJECT_ID_COLUMN_NAME),
-          row.getUUID(BUCKET_ID_COLUMN_NAME).toString(),
-          row.getLong(ROWS_COUNT_COLUMN_NAME));
-      resultBuckets.add(bucket);
+      resultBuckets.add(toBucket(row));
     }
     return resultBuckets;
   }
@@ -118,9 +145,8 @@ public class BucketsHandler {
    * @return found bucket
    */
   public Bucket getBucket(String bucketsTableName, Bucket bucket) {
-    String query = "SELECT * FROM " + bucketsTableName + " where object_id = '" + bucket.getObjectId()
-        + "' AND bucket_id = " + UUID.fromString(bucket.getBucketId()) + " LIMIT 1;";
-    return getBucket(query);
+    return getBucket(statementsFor(bucketsTableName).selectOne.bind(
+        bucket.getObjectId(), UUID.fromString(bucket.getBucketId())));
   }
 
   /**
@@ -132,8 +158,7 @@ public class BucketsHandler {
    * @return found bucket
    */
   public Bucket getFirstBucket(String bucketsTableName, String objectId) {
-    String query = "SELECT * FROM " + bucketsTableName + " where object_id = '" + objectId + "' LIMIT 1;";
-    return getBucket(query);
+    return getBucket(statementsFor(bucketsTableName).selectFirst.bind(objectId));
   }
 
   /**
@@ -145,9 +170,7 @@ public class BucketsHandler {
    * @return found bucket. Will return null if there is no next bucket
    */
   public Bucket getNextBucket(String bucketsTableName, String objectId, Bucket bucket) {
-    String query = "SELECT * FROM " + bucketsTableName + " where object_id = '" + objectId
-        + "' AND bucket_id > " + UUID.fromString(bucket.getBucketId()) + " LIMIT 1;";
-    return getBucket(query);
+    return getBucket(statementsFor(bucketsTableName).selectNext.bind(objectId, UUID.fromString(bucket.getBucketId())));
   }
 
   /**
@@ -158,9 +181,7 @@ public class BucketsHandler {
    * @return found bucket. Will return null if there is no next bucket
    */
   public Bucket getPreviousBucket(String bucketsTableName, String objectId) {
-    String query = "SELECT * FROM " + bucketsTableName + " where object_id = '" + objectId
-        + "' ORDER BY bucket_id DESC LIMIT 1;";
-    return getBucket(query);
+    return getBucket(statementsFor(bucketsTableName).selectLast.bind(objectId));
   }
 
   /**
@@ -172,9 +193,7 @@ public class BucketsHandler {
    * @return found bucket. Will return null if there is no next bucket
    */
   public Bucket getPreviousBucket(String bucketsTableName, String objectId, Bucket bucket) {
-    String query = "SELECT * FROM " + bucketsTableName + " where object_id = '" + objectId
-        + "' AND bucket_id < " + UUID.fromString(bucket.getBucketId()) + " ORDER BY bucket_id DESC LIMIT 1;";
-    return getBucket(query);
+    return getBucket(statementsFor(bucketsTableName).selectPrevious.bind(objectId, UUID.fromString(bucket.getBucketId())));
   }
 
   /**
@@ -185,21 +204,62 @@ public class BucketsHandler {
    *
    */
   public void removeBucket(String bucketsTableName, Bucket bucket) {
-    String query = "DELETE FROM " + bucketsTableName + " WHERE object_id = '" + bucket.getObjectId()
-        + "' AND bucket_id = " + UUID.fromString(bucket.getBucketId()) + ";";
-    session.execute(query);
-  }
-
-  private Bucket getBucket(String query) {
-    ResultSet rs = session.execute(query);
-    Row row = rs.one();
-    Bucket resultBucket = null;
-    if (row != null) {
-      resultBucket = new Bucket(
-          row.getString(OBJECT_ID_COLUMN_NAME),
-          row.getUUID(BUCKET_ID_COLUMN_NAME).toString(),
-          row.getLong(ROWS_COUNT_COLUMN_NAME));
+    currentBuckets.invalidate(new CurrentBucketKey(bucketsTableName, bucket.getObjectId()));
+    session.execute(statementsFor(bucketsTableName).delete.bind(
+        bucket.getObjectId(), UUID.fromString(bucket.getBucketId())));
+  }
+
+  private Bucket getBucket(BoundStatement statement) {
+    Row row = session.execute(statement).one();
+    return row != null ? toBucket(row) : null;
+  }
+
+  private Bucket toBucket(Row row) {
+    return new Bucket(
+        row.getString(OBJECT_ID_COLUMN_NAME),
+        row.getUUID(BUCKET_ID_COLUMN_NAME).toString(),
+        row.getLong(ROWS_COUNT_COLUMN_NAME));
+  }
+
+  private BucketsTableStatements statementsFor(String bucketsTableName) {
+    return statements.computeIfAbsent(bucketsTableName, tableName -> new BucketsTableStatements(session, tableName));
+  }
+
+  private static class BucketsTableStatements {
+
+    private static final String SELECT_BUCKETS = "SELECT object_id, bucket_id, rows_count FROM ";
+
+    private final PreparedStatement selectAll;
+    private final PreparedStatement selectOne;
+    private final PreparedStatement selectFirst;
+    private final PreparedStatement selectLast;
+    private final PreparedStatement selectNext;
+    private final PreparedStatement selectPrevious;
+    private final PreparedStatement increase;
+    private final PreparedStatement decrease;
+    private final PreparedStatement delete;
+
+    BucketsTableStatements(Session session, String tableName) {
+      selectAll = session.prepare(SELECT_BUCKETS + tableName + " WHERE object_id = ?;");
+      selectOne = session.prepare(SELECT_BUCKETS + tableName + " WHERE object_id = ? AND bucket_id = ? LIMIT 1;");
+      selectFirst = session.prepare(SELECT_BUCKETS + tableName + " WHERE object_id = ? LIMIT 1;");
+      selectLast = session.prepare(SELECT_BUCKETS + tableName + " WHERE object_id = ? ORDER BY bucket_id DESC LIMIT 1;");
+      selectNext = session.prepare(SELECT_BUCKETS + tableName + " WHERE object_id = ? AND bucket_id > ? LIMIT 1;");
+      selectPrevious = session.prepare(
+          SELECT_BUCKETS + tableName + " WHERE object_id = ? AND bucket_id < ? ORDER BY bucket_id DESC LIMIT 1;");
+      increase = session.prepare(
+          "UPDATE " + tableName + " SET rows_count = rows_count + 1 WHERE object_id = ? AND bucket_id = ?;");
+      decrease = session.prepare(
+          "UPDATE " + tableName + " SET rows_count = rows_count - 1 WHERE object_id = ? AND bucket_id = ?;");
+      delete = session.prepare("DELETE FROM " + tableName + " WHERE object_id = ? AND bucket_id = ?;");
     }
-    return resultBucket;
+  }
+
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  private static class CurrentBucketKey {
+
+    private final String bucketsTableName;
+    private final String objectId;
   }
 }
@@ -0,0 +1,86 @@
+package eu.europeana.cloud.service.commons.utils;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * {@link PasswordEncoder} that remembers, for a short time, the passwords successfully verified by the delegate encoder, so
+ * the slow hash of the password is not computed on every request of the same user.
+ * <p>
+ * Raw passwords are not kept in the memory. The cache key is the SHA-256 digest of the encoded and the raw password, so the
+ * verification result is no longer used when the password of the user is changed. Failed verifications are not cached.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+  public static final long DEFAULT_MAXIMUM_SIZE = 1000;
+  public static final long DEFAULT_EXPIRATION_SECONDS = 60;
+
+  private final PasswordEncoder delegate;
+  private final Cache<String, Boolean> verifiedPasswords;
+
+  public CachingPasswordEncoder(PasswordEncoder delegate) {
+    this(delegate, DEFAULT_MAXIMUM_SIZE, DEFAULT_EXPIRATION_SECONDS, Ticker.systemTicker());
+  }
+
+  /**
+   * @param delegate encoder the passwords are encoded and verified with
+   * @param maximumSize maximal number of remembered verifications
+   * @param expirationSeconds time after which the password is verified by the delegate again
+   * @param ticker time source of the cache
+   */
+  public CachingPasswordEncoder(PasswordEncoder delegate, long maximumSize, long expirationSeconds, Ticker ticker) {
+    this.delegate = delegate;
+    this.verifiedPasswords = CacheBuilder.newBuilder()
+                                         .maximumSize(maximumSize)
+                                         .expireAfterWrite(expirationSeconds, TimeUnit.SECONDS)
+                                         .ticker(ticker)
+                                         .build();
+  }
+
+  @Override
+  public String encode(CharSequence rawPassword) {
+    return delegate.encode(rawPassword);
+  }
+
+  @Override
+  public boolean matches(CharSequence rawPassword, String encodedPassword) {
+    if (rawPassword == null || encodedPassword == null) {
+      return delegate.matches(rawPassword, encodedPassword);
+    }
+    String key = digest(encodedPassword, rawPassword);
+    if (verifiedPasswords.getIfPresent(key) != null) {
+      return true;
+    }
+    boolean matches = delegate.matches(rawPassword, encodedPassword);
+    if (matches) {
+      verifiedPasswords.put(key, Boolean.TRUE);
+    }
+    return matches;
+  }
+
+  @Override
+  public boolean upgradeEncoding(String encodedPassword) {
+    return delegate.upgradeEncoding(encodedPassword);
+  }
+
+  private static String digest(String encodedPassword, CharSequence rawPassword) {
+    try {
+      var digest = MessageDigest.getInstance("SHA-256");
+      digest.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+      //Separator, so the boundary between both passwords could not be shifted
+      digest.update((byte) 0);
+      digest.update(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      //SHA-256 is required to be supported by every Java platform
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -11,4 +11,11 @@ public final class PasswordEncoderFactory {
   public static PasswordEncoder getPasswordEncoder() {
     return new BCryptPasswordEncoder(4);
   }
+
+  /**
+   * @return encoder of {@link #getPasswordEncoder()}, which remembers the recently verified passwords for a short time
+   */
+  public static PasswordEncoder getCachingPasswordEncoder() {
+    return new CachingPasswordEncoder(getPasswordEncoder());
+  }
 }
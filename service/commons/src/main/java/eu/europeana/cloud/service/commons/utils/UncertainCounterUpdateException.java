@@ -0,0 +1,8 @@
+package eu.europeana.cloud.service.commons.utils;
+
+public class UncertainCounterUpdateException extends RuntimeException {
+
+  public UncertainCounterUpdateException(Throwable e) {
+    super("Counter batch failed and it could be partly applied, so it was not retried!", e);
+  }
+}
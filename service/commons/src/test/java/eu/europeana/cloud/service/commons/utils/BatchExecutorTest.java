@@ -0,0 +1,80 @@
+package eu.europeana.cloud.service.commons.utils;
+
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.WriteType;
+import com.datastax.driver.core.exceptions.UnavailableException;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BatchExecutorTest {
+
+  private Session session;
+  private BatchExecutor batchExecutor;
+
+  @Before
+  public void init() {
+    session = mock(Session.class, RETURNS_DEEP_STUBS);
+    CassandraConnectionProvider connectionProvider = mock(CassandraConnectionProvider.class);
+    when(connectionProvider.getSession()).thenReturn(session);
+    batchExecutor = new BatchExecutor(connectionProvider);
+  }
+
+  @Test
+  public void shouldNotRetryCounterBatchWhichCouldBePartlyApplied() throws Exception {
+    ResultSetFuture failedFuture = failedFuture(new WriteTimeoutException(ConsistencyLevel.QUORUM, WriteType.COUNTER, 1, 2));
+    when(session.executeAsync(any(Statement.class))).thenReturn(failedFuture);
+
+    List<BoundStatement> statements = List.of(mock(BoundStatement.class));
+    assertThrows(UncertainCounterUpdateException.class, () -> batchExecutor.executeCountersPerPartition(statements));
+
+    verify(session, never()).execute(any(Statement.class));
+  }
+
+  @Test
+  public void shouldRetryCounterBatchWhichWasNotApplied() throws Exception {
+    ResultSetFuture failedFuture = failedFuture(new UnavailableException(ConsistencyLevel.QUORUM, 2, 1));
+    when(session.executeAsync(any(Statement.class))).thenReturn(failedFuture);
+
+    batchExecutor.executeCountersPerPartition(List.of(mock(BoundStatement.class)));
+
+    verify(session, times(1)).execute(any(Statement.class));
+  }
+
+  @Test
+  public void shouldRetryFailedUnloggedBatch() throws Exception {
+    ResultSetFuture failedFuture = failedFuture(new WriteTimeoutException(ConsistencyLevel.QUORUM, WriteType.UNLOGGED_BATCH, 1, 2));
+    when(session.executeAsync(any(Statement.class))).thenReturn(failedFuture);
+
+    batchExecutor.executeAllPerPartition(List.of(mock(BoundStatement.class)));
+
+    verify(session, times(1)).execute(any(Statement.class));
+  }
+
+  private ResultSetFuture failedFuture(Exception failure) throws Exception {
+    ResultSetFuture future = mock(ResultSetFuture.class);
+    when(future.get()).thenThrow(new ExecutionException(failure));
+    doAnswer(invocation -> {
+      invocation.<Runnable>getArgument(0).run();
+      return null;
+    }).when(future).addListener(any(Runnable.class), any());
+    return future;
+  }
+}
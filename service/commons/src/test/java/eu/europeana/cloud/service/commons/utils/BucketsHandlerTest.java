@@ -150,6 +150,54 @@ public class BucketsHandlerTest extends CassandraTestBase {
     Assert.assertEquals(secondBucket.getRowsCount(), rows.get(0).getLong(BucketsHandler.ROWS_COUNT_COLUMN_NAME));
   }
 
+  @Test
+  public void shouldReturnLatestBucketAsCurrentOne() {
+    //for
+    Bucket firstBucket = new Bucket("sampleObjectId", new com.eaio.uuid.UUID().toString(), 0);
+    Bucket secondBucket = new Bucket("sampleObjectId", new com.eaio.uuid.UUID().toString(), 0);
+    bucketsHandler.increaseBucketCount(BUCKETS_TABLE_NAME, firstBucket);
+    bucketsHandler.increaseBucketCount(BUCKETS_TABLE_NAME, secondBucket);
+    bucketsHandler.increaseBucketCount(BUCKETS_TABLE_NAME, secondBucket);
+    //when
+    Bucket bucket = bucketsHandler.getCurrentBucket(BUCKETS_TABLE_NAME, "sampleObjectId");
+    //then
+    Assert.assertEquals(secondBucket.getBucketId(), bucket.getBucketId());
+    Assert.assertEquals(2, bucket.getRowsCount());
+  }
+
+  @Test
+  public void shouldTrackRowsCountOfCachedCurrentBucket() {
+    //for
+    BucketsHandler cachingBucketsHandler = new BucketsHandler(dbService.getSession(), 60);
+    Bucket firstBucket = new Bucket("cachedObjectId", new com.eaio.uuid.UUID().toString(), 0);
+    cachingBucketsHandler.increaseBucketCount(BUCKETS_TABLE_NAME, firstBucket);
+    Bucket cachedBucket = cachingBucketsHandler.getCurrentBucket(BUCKETS_TABLE_NAME, "cachedObjectId");
+    //when
+    cachingBucketsHandler.increaseBucketCount(BUCKETS_TABLE_NAME, cachedBucket);
+    cachingBucketsHandler.increaseBucketCount(BUCKETS_TABLE_NAME, cachedBucket);
+    Bucket bucket = cachingBucketsHandler.getCurrentBucket(BUCKETS_TABLE_NAME, "cachedObjectId");
+    //then
+    Assert.assertEquals(firstBucket.getBucketId(), bucket.getBucketId());
+    Assert.assertEquals(3, bucket.getRowsCount());
+    assertResults(firstBucket, 3);
+  }
+
+  @Test
+  public void shouldSwitchCachedCurrentBucketWhenNewBucketIsCreated() {
+    //for
+    BucketsHandler cachingBucketsHandler = new BucketsHandler(dbService.getSession(), 60);
+    Bucket firstBucket = new Bucket("cachedObjectId", new com.eaio.uuid.UUID().toString(), 0);
+    cachingBucketsHandler.increaseBucketCount(BUCKETS_TABLE_NAME, firstBucket);
+    cachingBucketsHandler.getCurrentBucket(BUCKETS_TABLE_NAME, "cachedObjectId");
+    Bucket secondBucket = new Bucket("cachedObjectId", new com.eaio.uuid.UUID().toString(), 0);
+    //when
+    cachingBucketsHandler.increaseBucketCount(BUCKETS_TABLE_NAME, secondBucket);
+    Bucket bucket = cachingBucketsHandler.getCurrentBucket(BUCKETS_TABLE_NAME, "cachedObjectId");
+    //then
+    Assert.assertEquals(secondBucket.getBucketId(), bucket.getBucketId());
+    Assert.assertEquals(1, bucket.getRowsCount());
+  }
+
   private void assertResults(Bucket bucket, int rowsCount) {
     ResultSet rs = dbService.getSession().execute(
         "SELECT * FROM " + BUCKETS_TABLE_NAME + " WHERE object_id='" + bucket.getObjectId() + "' AND bucket_id="
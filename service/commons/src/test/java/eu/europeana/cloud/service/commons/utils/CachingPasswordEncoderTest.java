@@ -0,0 +1,70 @@
+package eu.europeana.cloud.service.commons.utils;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Ticker;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+public class CachingPasswordEncoderTest {
+
+  private static final String PASSWORD = "password";
+
+  private final AtomicLong time = new AtomicLong();
+  private PasswordEncoder delegate;
+  private CachingPasswordEncoder encoder;
+  private String encodedPassword;
+
+  @Before
+  public void init() {
+    delegate = spy(PasswordEncoderFactory.getPasswordEncoder());
+    encoder = new CachingPasswordEncoder(delegate, 100, 60, new Ticker() {
+      @Override
+      public long read() {
+        return time.get();
+      }
+    });
+    encodedPassword = encoder.encode(PASSWORD);
+  }
+
+  @Test
+  public void shouldVerifyCorrectPasswordWithDelegateOnlyOnce() {
+    assertTrue(encoder.matches(PASSWORD, encodedPassword));
+    assertTrue(encoder.matches(PASSWORD, encodedPassword));
+
+    verify(delegate, times(1)).matches(PASSWORD, encodedPassword);
+  }
+
+  @Test
+  public void shouldVerifyWrongPasswordWithDelegateEveryTime() {
+    assertFalse(encoder.matches("wrongPassword", encodedPassword));
+    assertFalse(encoder.matches("wrongPassword", encodedPassword));
+
+    verify(delegate, times(2)).matches("wrongPassword", encodedPassword);
+  }
+
+  @Test
+  public void shouldVerifyPasswordWithDelegateAgainAfterExpiration() {
+    encoder.matches(PASSWORD, encodedPassword);
+    time.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+    assertTrue(encoder.matches(PASSWORD, encodedPassword));
+
+    verify(delegate, times(2)).matches(PASSWORD, encodedPassword);
+  }
+
+  @Test
+  public void shouldNotAcceptPasswordVerifiedForOtherEncodedPassword() {
+    assertTrue(encoder.matches(PASSWORD, encodedPassword));
+    String changedEncodedPassword = encoder.encode("changedPassword");
+
+    assertFalse(encoder.matches(PASSWORD, changedEncodedPassword));
+  }
+}
@@ -20,4 +20,16 @@ public class DpsRecord implements Serializable {
   private String recordId;
   private String metadataPrefix;
   private boolean markedAsDeleted;
+
+  /**
+   * Content of the record, if it was harvested already by the submitter. If it is absent, the record is harvested in the
+   * topology.
+   */
+  @ToString.Exclude
+  private byte[] content;
+
+  /**
+   * Datestamp of the record in the source repository, formatted by the DateHelper. Present together with the content.
+   */
+  private String recordDatestamp;
 }
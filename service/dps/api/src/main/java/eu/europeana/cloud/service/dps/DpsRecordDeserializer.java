@@ -1,6 +1,7 @@
 package eu.europeana.cloud.service.dps;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
@@ -15,6 +16,7 @@ import org.slf4j.LoggerFactory;
 public class DpsRecordDeserializer implements Deserializer<DpsRecord> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DpsRecordDeserializer.class);
+  private static final ObjectReader RECORD_READER = new ObjectMapper().readerFor(DpsRecord.class);
 
   @Override
   public void configure(Map<String, ?> map, boolean b) {
@@ -23,9 +25,8 @@ public class DpsRecordDeserializer implements Deserializer<DpsRecord> {
 
   @Override
   public DpsRecord deserialize(String s, byte[] bytes) {
-    ObjectMapper objectMapper = new ObjectMapper();
     try {
-      return objectMapper.readValue(bytes, DpsRecord.class);
+      return RECORD_READER.readValue(bytes);
     } catch (IOException e) {
       LOGGER.error("Exception happened because of {} for the object {}", e.getMessage(),
           new String(bytes, StandardCharsets.UTF_8));
@@ -3,7 +3,7 @@ package eu.europeana.cloud.service.dps;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import java.io.IOException;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import java.nio.charset.StandardCharsets;
 import java.util.Map;
 import org.apache.kafka.common.serialization.Serializer;
@@ -16,6 +16,10 @@ import org.slf4j.LoggerFactory;
 public class DpsRecordSerializer implements Serializer<DpsRecord> {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(DpsRecordSerializer.class);
+  //ObjectWriter is immutable and thread safe, so one instance is shared by all the producers
+  private static final ObjectWriter RECORD_WRITER = new ObjectMapper()
+      .setSerializationInclusion(JsonInclude.Include.NON_DEFAULT)
+      .writerFor(DpsRecord.class);
 
   @Override
   public void configure(Map<String, ?> parameters, boolean b) {
@@ -24,14 +28,10 @@ public class DpsRecordSerializer implements Serializer<DpsRecord> {
 
   @Override
   public byte[] serialize(String s, DpsRecord dpsRecord) {
-    ObjectMapper objectMapper = new ObjectMapper();
-    objectMapper.setSerializationInclusion(JsonInclude.Include.NON_DEFAULT);
     try {
-      return objectMapper.writeValueAsString(dpsRecord).getBytes(StandardCharsets.UTF_8);
+      return RECORD_WRITER.writeValueAsBytes(dpsRecord);
     } catch (JsonProcessingException e) {
       LOGGER.error(String.format("Json processing failed for object: %s", dpsRecord.getClass().getName()), e);
-    } catch (IOException e) {
-      LOGGER.error("Exception happened because of {} for the object {} ", e.getMessage(), dpsRecord.getClass().getName());
     }
     return "".getBytes(StandardCharsets.UTF_8);
   }
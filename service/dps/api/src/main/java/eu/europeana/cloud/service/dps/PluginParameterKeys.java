@@ -79,9 +79,11 @@ public final class PluginParameterKeys {
   public static final String INCREMENTAL_INDEXING = "INCREMENTAL_INDEXING";
   public static final String HARVEST_DATE = "HARVEST_DATE";
   public static final String RECORD_DATESTAMP = "RECORD_DATESTAMP";
+  public static final String OAI_LIST_RECORDS_HARVEST = "OAI_LIST_RECORDS_HARVEST";
 
   //Media
   public static final String RESOURCE_LINKS_COUNT = "RESOURCE_LINKS_COUNT";
+  public static final String RESOURCE_LINKS = "RESOURCE_LINKS";
   public static final String RESOURCE_URL = "RESOURCE_URL";
   public static final String EXCEPTION_ERROR_MESSAGE = "EXCEPTION_ERROR_MESSAGE";
   public static final String UNIFIED_ERROR_MESSAGE = "UNIFIED_ERROR_MESSAGE";
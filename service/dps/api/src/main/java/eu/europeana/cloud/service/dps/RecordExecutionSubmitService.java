@@ -1,5 +1,6 @@
 package eu.europeana.cloud.service.dps;
 
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Service to fetch / submit tasks
@@ -13,4 +14,14 @@ public interface RecordExecutionSubmitService {
    */
   void submitRecord(DpsRecord dpsRecord, String topic);
 
+  /**
+   * Submits a record for execution without waiting until it is accepted.
+   * <p>
+   * Contrary to {@link #submitRecord(DpsRecord, String)} the submission is not retried, the returned future completes
+   * exceptionally on failure and the caller decides whether to repeat it.
+   *
+   * @return future completed when the record is accepted
+   */
+  CompletableFuture<Void> submitRecordAsync(DpsRecord dpsRecord, String topic);
+
 }
@@ -70,6 +70,15 @@ public class LRUCache<K, V> implements Serializable {
     map.put(key, value);
   }
 
+  /**
+   * Removes an entry from the cache.
+   *
+   * @param key the key whose entry is to be removed.
+   */
+  public void remove(K key) {
+    map.remove(key);
+  }
+
   /**
    * Clears the cache.
    */
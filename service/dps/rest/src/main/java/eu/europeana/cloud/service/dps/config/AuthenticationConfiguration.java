@@ -7,6 +7,7 @@ import eu.europeana.cloud.service.aas.authentication.repository.CassandraUserDAO
 import eu.europeana.cloud.service.commons.listeners.CustomLoggerListener;
 import eu.europeana.cloud.service.commons.utils.PasswordEncoderFactory;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.event.LoggerListener;
@@ -36,7 +37,7 @@ public class AuthenticationConfiguration {
 
   @Bean
   PasswordEncoder passwordEncoder(){
-    return PasswordEncoderFactory.getPasswordEncoder();
+    return PasswordEncoderFactory.getCachingPasswordEncoder();
   }
 
 
@@ -56,8 +57,10 @@ public class AuthenticationConfiguration {
   }
 
   @Bean
-  public UserDetailsService authenticationService() {
-    return new CassandraAuthenticationService();
+  public UserDetailsService authenticationService(
+      @Value("${authenticatedUsersCacheSize:1000}") long cacheMaximumSize,
+      @Value("${authenticatedUsersCacheExpirationSeconds:60}") long cacheExpirationSeconds) {
+    return new CassandraAuthenticationService(cacheMaximumSize, cacheExpirationSeconds);
   }
 
   @Bean
@@ -6,6 +6,7 @@ import eu.europeana.cloud.client.uis.rest.UISClient;
 import eu.europeana.cloud.mcs.driver.DataSetServiceClient;
 import eu.europeana.cloud.mcs.driver.RecordServiceClient;
 import eu.europeana.cloud.mcs.driver.RevisionServiceClient;
+import eu.europeana.cloud.service.commons.utils.BatchExecutor;
 import eu.europeana.cloud.service.commons.utils.RetryAspect;
 import eu.europeana.cloud.service.dps.RecordExecutionSubmitService;
 import eu.europeana.cloud.service.dps.logging.LoggingAttributeAspect;
@@ -213,7 +214,8 @@ public class ServiceConfiguration implements WebMvcConfigurer, AsyncConfigurer {
         cassandraGeneralStatisticsDAO(),
         cassandraNodeStatisticsDAO(),
         cassandraAttributeStatisticsDAO(),
-        cassandraStatisticsReportDAO());
+        cassandraStatisticsReportDAO(),
+        new BatchExecutor(dpsCassandraProvider()));
   }
 
   @Bean
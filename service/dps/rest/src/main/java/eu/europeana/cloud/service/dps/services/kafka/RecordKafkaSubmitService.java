@@ -6,6 +6,7 @@ import eu.europeana.cloud.service.dps.DpsRecordSerializer;
 import eu.europeana.cloud.service.dps.RecordExecutionSubmitService;
 import eu.europeana.cloud.service.dps.exception.KafkaSubmissionException;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import org.apache.kafka.clients.producer.KafkaProducer;
 import org.apache.kafka.clients.producer.Producer;
@@ -34,8 +35,7 @@ public class RecordKafkaSubmitService implements RecordExecutionSubmitService {
 
   @Override
   public void submitRecord(DpsRecord dpsRecord, String topic) {
-    ProducerRecord<String, DpsRecord> data =
-        new ProducerRecord<>(topic, dpsRecord.getTaskId() + "_" + dpsRecord.getRecordId(), dpsRecord);
+    ProducerRecord<String, DpsRecord> data = createProducerRecord(dpsRecord, topic);
     try {
       RetryableMethodExecutor.execute("Could not send record to Kafka: " + dpsRecord,
           MAX_ATTEMPTS, SLEEP_TIME_BETWEEN_RETRIES_MS, () -> producer.send(data).get());
@@ -43,4 +43,25 @@ public class RecordKafkaSubmitService implements RecordExecutionSubmitService {
       throw new KafkaSubmissionException("Could not send record to Kafka: " + dpsRecord, e);
     }
   }
+
+  @Override
+  public CompletableFuture<Void> submitRecordAsync(DpsRecord dpsRecord, String topic) {
+    var result = new CompletableFuture<Void>();
+    try {
+      producer.send(createProducerRecord(dpsRecord, topic), (metadata, exception) -> {
+        if (exception == null) {
+          result.complete(null);
+        } else {
+          result.completeExceptionally(exception);
+        }
+      });
+    } catch (RuntimeException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  private ProducerRecord<String, DpsRecord> createProducerRecord(DpsRecord dpsRecord, String topic) {
+    return new ProducerRecord<>(topic, dpsRecord.getTaskId() + "_" + dpsRecord.getRecordId(), dpsRecord);
+  }
 }
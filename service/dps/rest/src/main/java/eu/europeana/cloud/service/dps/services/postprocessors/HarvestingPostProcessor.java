@@ -25,9 +25,18 @@ import eu.europeana.cloud.service.dps.storm.utils.TaskStatusUpdater;
 import eu.europeana.cloud.service.dps.storm.utils.TopologiesNames;
 import eu.europeana.cloud.service.mcs.exception.MCSException;
 import java.net.MalformedURLException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,7 +44,8 @@ import org.slf4j.LoggerFactory;
  * Service responsible for executing postprocessing for the OAI and HTTP tasks. It will be done in the following way: <br/>
  *
  * <ol>
- *  <li>Iterate over oll records from table <b>harvested_records</b> where <b>latest_harvest_date</b> < <b>task_execution_date</b></li>
+ *  <li>Iterate over oll records from table <b>harvested_records</b> where <b>latest_harvest_date</b> < <b>task_execution_date</b>.
+ *  Buckets of the table are iterated in parallel, by the bounded pool of threads</li>
  *  <li>For each europeana_id:</li>
  *      <ul>
  *          <li>find cloud_id</li>
@@ -43,6 +53,7 @@ import org.slf4j.LoggerFactory;
  *          <li>add revision (taken from task definition (output_revision))</li>
  *          <li>add created representation version to dataset (dataset taken from task definition (output dataset))</li>
  *      </ul>
+ *  <li>Save the number of found and post-processed records periodically, and once all the records are processed;</li>
  *  <li>Change task status to PROCESSED;</li>
  * </ol>
  */
@@ -53,6 +64,10 @@ public class HarvestingPostProcessor extends TaskPostProcessor {
   private static final Set<String> PROCESSED_TOPOLOGIES =
       Set.of(TopologiesNames.OAI_TOPOLOGY, TopologiesNames.HTTP_TOPOLOGY);
 
+  private static final int THREADS_COUNT = 8;
+
+  private static final int CHECKPOINT_INTERVAL = 1000;
+
   private final ProcessedRecordsDAO processedRecordsDAO;
 
   private final RecordServiceClient recordServiceClient;
@@ -77,45 +92,94 @@ public class HarvestingPostProcessor extends TaskPostProcessor {
 
   @Override
   public void executePostprocessing(TaskInfo taskInfo, DpsTask dpsTask) {
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS_COUNT);
     try {
       taskStatusUpdater.updateState(dpsTask.getTaskId(), TaskState.IN_POST_PROCESSING,
           "Postprocessing - adding removed records to result revision.");
-      taskStatusUpdater.updateExpectedPostProcessedRecordsNumber(dpsTask.getTaskId(),
-          Iterators.size(fetchDeletedRecords(dpsTask)));
-      Iterator<HarvestedRecord> it = fetchDeletedRecords(dpsTask);
-      int postProcessedRecordsCount = 0;
-      while (it.hasNext()) {
-        if (taskIsDropped(dpsTask)) {
-          LOGGER.debug("Stopping postprocessing because task {} was dropped", dpsTask.getTaskId());
-          return;
-        }
-        var harvestedRecord = it.next();
-        if (!isIndexedInSomeEnvironment(harvestedRecord)) {
-          harvestedRecordsDAO.deleteRecord(harvestedRecord.getMetisDatasetId(), harvestedRecord.getRecordLocalId());
-          LOGGER.info("Deleted: {}, cause it is not present in source and also it is not indexed in any environment, taskId={}"
-              , harvestedRecord, dpsTask.getTaskId());
-        } else if (!isRecordProcessed(dpsTask, harvestedRecord)) {
-          createPostProcessedRecord(dpsTask, harvestedRecord);
-          markHarvestedRecordAsProcessed(dpsTask, harvestedRecord);
-          postProcessedRecordsCount++;
-          taskStatusUpdater.updatePostProcessedRecordsCount(dpsTask.getTaskId(), postProcessedRecordsCount);
-          LOGGER.info("Added deleted record {} to revision, taskId={}", harvestedRecord, dpsTask.getTaskId());
-        } else {
-          LOGGER.info("Omitted record {} cause it was already added to revision, taskId={}", harvestedRecord,
-              dpsTask.getTaskId());
-        }
-
+      var progress = new PostProcessingProgress(dpsTask.getTaskId(), taskStatusUpdater, CHECKPOINT_INTERVAL);
+      var stopped = new AtomicBoolean();
+      CompletionService<Boolean> bucketResults = new ExecutorCompletionService<>(executor);
+      var bucketsCount = 0;
+      for (Iterator<HarvestedRecord> bucketRecords : fetchDeletedRecordsByBucket(dpsTask)) {
+        bucketResults.submit(() -> postProcessBucket(dpsTask, bucketRecords, progress, stopped));
+        bucketsCount++;
+      }
+      boolean completed = waitForBuckets(bucketResults, bucketsCount, stopped);
+      progress.save();
+      if (!completed) {
+        LOGGER.debug("Stopping postprocessing because task {} was dropped", dpsTask.getTaskId());
+        return;
       }
       taskStatusUpdater.setTaskCompletelyProcessed(dpsTask.getTaskId(), "PROCESSED");
     } catch (RetryInterruptedException e) {
       throw e;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PostProcessingException("Postprocessing was interrupted, taskId=" + dpsTask.getTaskId(), e);
     } catch (Exception exception) {
       throw new PostProcessingException(
           String.format("Error while %s post-process given task: taskId=%d. Cause: %s", getClass().getSimpleName(),
               dpsTask.getTaskId(), exception.getMessage() != null ? exception.getMessage() : exception.toString()), exception);
+    } finally {
+      executor.shutdownNow();
     }
   }
 
+  /**
+   * Post-processes the records of one bucket.
+   *
+   * @return true if all the records of the bucket were post-processed, false if it was stopped
+   */
+  private boolean postProcessBucket(DpsTask dpsTask, Iterator<HarvestedRecord> bucketRecords,
+      PostProcessingProgress progress, AtomicBoolean stopped) {
+    while (bucketRecords.hasNext()) {
+      if (stopped.get() || taskIsDropped(dpsTask)) {
+        stopped.set(true);
+        return false;
+      }
+      var harvestedRecord = bucketRecords.next();
+      if (!isIndexedInSomeEnvironment(harvestedRecord)) {
+        harvestedRecordsDAO.deleteRecord(harvestedRecord.getMetisDatasetId(), harvestedRecord.getRecordLocalId());
+        LOGGER.info("Deleted: {}, cause it is not present in source and also it is not indexed in any environment, taskId={}"
+            , harvestedRecord, dpsTask.getTaskId());
+      } else if (!isRecordProcessed(dpsTask, harvestedRecord)) {
+        createPostProcessedRecord(dpsTask, harvestedRecord);
+        markHarvestedRecordAsProcessed(dpsTask, harvestedRecord);
+        progress.recordPostProcessed();
+        LOGGER.info("Added deleted record {} to revision, taskId={}", harvestedRecord, dpsTask.getTaskId());
+      } else {
+        LOGGER.info("Omitted record {} cause it was already added to revision, taskId={}", harvestedRecord,
+            dpsTask.getTaskId());
+      }
+      progress.recordFound();
+    }
+    return true;
+  }
+
+  /**
+   * Waits for the buckets in the order they finish, so the failure of any bucket stops the other buckets at once.
+   *
+   * @return true if all the buckets were post-processed, false if they were stopped
+   */
+  private boolean waitForBuckets(CompletionService<Boolean> bucketResults, int bucketsCount, AtomicBoolean stopped)
+      throws InterruptedException {
+    var completed = true;
+    for (var i = 0; i < bucketsCount; i++) {
+      Future<Boolean> bucketResult = bucketResults.take();
+      try {
+        completed &= bucketResult.get();
+      } catch (ExecutionException e) {
+        //Other buckets are not processed any longer, the task fails anyway
+        stopped.set(true);
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw new PostProcessingException("Could not post-process the bucket of the records", e.getCause());
+      }
+    }
+    return completed;
+  }
+
   public Set<String> getProcessedTopologies() {
     return PROCESSED_TOPOLOGIES;
   }
@@ -136,11 +200,14 @@ public class HarvestingPostProcessor extends TaskPostProcessor {
     }
   }
 
-  private Iterator<HarvestedRecord> fetchDeletedRecords(DpsTask task) {
+  private List<Iterator<HarvestedRecord>> fetchDeletedRecordsByBucket(DpsTask task) {
     var harvestDate = DateHelper.parseISODate(task.getParameter(PluginParameterKeys.HARVEST_DATE));
-    Iterator<HarvestedRecord> allRecords =
-        harvestedRecordsDAO.findDatasetRecords(task.getParameter(PluginParameterKeys.METIS_DATASET_ID));
-    return Iterators.filter(allRecords, theRecord -> theRecord.getLatestHarvestDate().before(harvestDate));
+    List<Iterator<HarvestedRecord>> result = new ArrayList<>();
+    for (Iterator<HarvestedRecord> bucketRecords :
+        harvestedRecordsDAO.findDatasetRecordsByBucket(task.getParameter(PluginParameterKeys.METIS_DATASET_ID))) {
+      result.add(Iterators.filter(bucketRecords, theRecord -> theRecord.getLatestHarvestDate().before(harvestDate)));
+    }
+    return result;
   }
 
   private String findCloudId(DpsTask dpsTask, HarvestedRecord harvestedRecord) throws CloudException {
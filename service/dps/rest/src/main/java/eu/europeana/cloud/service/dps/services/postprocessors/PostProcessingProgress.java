@@ -0,0 +1,57 @@
+package eu.europeana.cloud.service.dps.services.postprocessors;
+
+import eu.europeana.cloud.service.dps.storm.utils.TaskStatusUpdater;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Progress of the post-processing, which is counted by many threads and saved in the task info periodically, instead of
+ * after every record.
+ * <p>
+ * Expected number of records is counted while the records are being found, so it grows until all the records are found.
+ */
+class PostProcessingProgress {
+
+  private final long taskId;
+  private final TaskStatusUpdater taskStatusUpdater;
+  private final int checkpointInterval;
+  private final AtomicInteger foundRecordsCount = new AtomicInteger();
+  private final AtomicInteger postProcessedRecordsCount = new AtomicInteger();
+  private int savedFoundRecordsCount = -1;
+  private int savedPostProcessedRecordsCount;
+
+  PostProcessingProgress(long taskId, TaskStatusUpdater taskStatusUpdater, int checkpointInterval) {
+    this.taskId = taskId;
+    this.taskStatusUpdater = taskStatusUpdater;
+    this.checkpointInterval = checkpointInterval;
+  }
+
+  /**
+   * Counts the record that is the subject of post-processing, and saves the progress if the checkpoint is reached.
+   */
+  void recordFound() {
+    if (foundRecordsCount.incrementAndGet() % checkpointInterval == 0) {
+      save();
+    }
+  }
+
+  void recordPostProcessed() {
+    postProcessedRecordsCount.incrementAndGet();
+  }
+
+  /**
+   * Saves the counters that changed since the last save.
+   */
+  synchronized void save() {
+    //Counters are read under the lock, so the saved values never decrease
+    int found = foundRecordsCount.get();
+    int postProcessed = postProcessedRecordsCount.get();
+    if (found != savedFoundRecordsCount) {
+      taskStatusUpdater.updateExpectedPostProcessedRecordsNumber(taskId, found);
+      savedFoundRecordsCount = found;
+    }
+    if (postProcessed != savedPostProcessedRecordsCount) {
+      taskStatusUpdater.updatePostProcessedRecordsCount(taskId, postProcessed);
+      savedPostProcessedRecordsCount = postProcessed;
+    }
+  }
+}
@@ -9,14 +9,17 @@ import eu.europeana.cloud.service.dps.storm.utils.SubmitTaskParameters;
 import eu.europeana.cloud.service.dps.storm.utils.TaskStatusChecker;
 import eu.europeana.cloud.service.dps.storm.utils.TaskStatusUpdater;
 import eu.europeana.cloud.service.dps.storm.utils.TopologiesNames;
+import eu.europeana.cloud.service.dps.utils.HttpArchiveHarvester;
 import eu.europeana.cloud.service.dps.utils.KafkaTopicSelector;
 import eu.europeana.metis.harvesting.HarvesterException;
-import eu.europeana.metis.harvesting.HarvesterFactory;
-import eu.europeana.metis.harvesting.HarvestingIterator;
 import eu.europeana.metis.harvesting.ReportingIteration.IterationResult;
 import java.io.File;
-import java.io.UnsupportedEncodingException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,6 +30,8 @@ import org.springframework.stereotype.Service;
 public class HttpTopologyTaskSubmitter implements TaskSubmitter {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(HttpTopologyTaskSubmitter.class);
+  private static final int DEFAULT_RETRIES = 3;
+  private static final int SLEEP_TIME = 5000;
 
   private final TaskStatusUpdater taskStatusUpdater;
   private final KafkaTopicSelector kafkaTopicSelector;
@@ -61,12 +66,9 @@ public class HttpTopologyTaskSubmitter implements TaskSubmitter {
     try {
       final String urlToZipFile = parameters.getTask()
                                             .getDataEntry(InputDataType.REPOSITORY_URLS).get(0);
-      final HarvestingIterator<Path, Path> iterator = HarvesterFactory.createHttpHarvester()
-                                                                      .harvestRecords(urlToZipFile,
-                                                              downloadedFileLocationFor(parameters.getTask()));
       selectKafkaTopicFor(parameters);
       taskStatusUpdater.updateSubmitParameters(parameters);
-      expectedCount = iterateOverFiles(iterator, parameters);
+      expectedCount = iterateOverFiles(urlToZipFile, parameters);
       updateTaskStatus(parameters.getTask(), expectedCount);
     } catch (HarvesterException e) {
       LOGGER.error("Unable to submit the task.", e);
@@ -87,35 +89,81 @@ public class HttpTopologyTaskSubmitter implements TaskSubmitter {
     parameters.setTopicName(kafkaTopicSelector.findPreferredTopicNameFor(TopologiesNames.HTTP_TOPOLOGY));
   }
 
-  private int iterateOverFiles(HarvestingIterator<Path, Path> iterator,
-      SubmitTaskParameters submitTaskParameters) throws HarvesterException {
+  /*package visiblility*/ HttpArchiveHarvester createArchiveHarvester() {
+    return new HttpArchiveHarvester(DEFAULT_RETRIES, SLEEP_TIME, Paths.get(harvestingTasksDir));
+  }
+
+  private int iterateOverFiles(String urlToZipFile, SubmitTaskParameters submitTaskParameters) throws HarvesterException {
     final var expectedSize = new AtomicInteger(0);
-    iterator.forEach(file -> {
+    final Path taskDirectory = Paths.get(downloadedFileLocationFor(submitTaskParameters.getTask()));
+    createArchiveHarvester().harvestFiles(urlToZipFile, (filePath, content) -> {
       if (taskStatusChecker.hasDroppedStatus(submitTaskParameters.getTask().getTaskId())) {
         return IterationResult.TERMINATE;
       }
-      DpsRecord dpsRecord;
-      try {
-        dpsRecord = DpsRecord.builder()
-                             .taskId(submitTaskParameters.getTask().getTaskId())
-                             .recordId(fileURLCreator.generateUrlFor(file))
-                             .build();
-      } catch (UnsupportedEncodingException e) {
-        taskStatusUpdater.setTaskDropped(submitTaskParameters.getTask().getTaskId(),
-            "Unable to generate URL for file: " + file.toString());
-        return IterationResult.TERMINATE;
+      Path file = taskDirectory.resolve(filePath).normalize();
+      if (!file.startsWith(taskDirectory)) {
+        LOGGER.warn("Skipping file {} of the task {}, because it is placed outside of the archive", filePath,
+            submitTaskParameters.getTask().getTaskId());
+        return IterationResult.CONTINUE;
       }
-
-      if (recordSubmitService.submitRecord(
-          dpsRecord,
-          submitTaskParameters)) {
-        expectedSize.incrementAndGet();
+      String recordId = fileURLCreator.generateUrlFor(file);
+      byte[] fileContent = readContent(file, content);
+      DpsRecord dpsRecord = DpsRecord.builder()
+                                     .taskId(submitTaskParameters.getTask().getTaskId())
+                                     .recordId(recordId)
+                                     .content(fileContent)
+                                     .build();
+
+      var submitted = false;
+      try {
+        if (recordSubmitService.submitRecord(
+            dpsRecord,
+            submitTaskParameters)) {
+          expectedSize.incrementAndGet();
+        }
+        submitted = true;
+      } finally {
+        if (!submitted && fileContent == null) {
+          //Nobody would download the stored file, cause its record was not sent to the topology
+          deleteStoredFile(file);
+        }
       }
       return IterationResult.CONTINUE;
     });
     return expectedSize.get();
   }
 
+  /**
+   * Reads the content of the file, to be sent in the Kafka message. Only the files too big for the message are stored in the
+   * task directory, so they could be downloaded by the topology from the URL of the record.
+   *
+   * @return content of the file or null if the file was stored
+   */
+  private byte[] readContent(Path file, InputStream content) throws IOException {
+    byte[] prefix = content.readNBytes(RecordSubmitService.MAX_CONTENT_SIZE_IN_MESSAGE + 1);
+    if (prefix.length <= RecordSubmitService.MAX_CONTENT_SIZE_IN_MESSAGE) {
+      return prefix;
+    }
+    LOGGER.info("File {} is too big to be sent in the Kafka message, it will be downloaded by the topology", file);
+    Files.createDirectories(file.getParent());
+    try (OutputStream output = Files.newOutputStream(file)) {
+      output.write(prefix);
+      content.transferTo(output);
+    } catch (IOException e) {
+      deleteStoredFile(file);
+      throw e;
+    }
+    return null;
+  }
+
+  private void deleteStoredFile(Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (IOException e) {
+      LOGGER.warn("Could not delete the file {}, it will be deleted together with the task directory", file, e);
+    }
+  }
+
   private void updateTaskStatus(DpsTask dpsTask, int expectedCount) {
     if (!taskStatusChecker.hasDroppedStatus(dpsTask.getTaskId())) {
       if (expectedCount == 0) {
@@ -2,20 +2,17 @@ package eu.europeana.cloud.service.dps.services.submitters;
 
 import eu.europeana.cloud.common.model.Representation;
 import eu.europeana.cloud.common.model.Revision;
-import eu.europeana.cloud.common.response.CloudTagsResponse;
 import eu.europeana.cloud.common.response.ResultSlice;
+import eu.europeana.cloud.mcs.driver.DataSetExportIterator;
 import eu.europeana.cloud.mcs.driver.DataSetServiceClient;
 import eu.europeana.cloud.mcs.driver.FileServiceClient;
 import eu.europeana.cloud.mcs.driver.RecordServiceClient;
-import eu.europeana.cloud.mcs.driver.RepresentationIterator;
 import eu.europeana.cloud.mcs.driver.exception.DriverException;
 import eu.europeana.cloud.service.commons.urls.UrlParser;
 import eu.europeana.cloud.service.commons.urls.UrlPart;
 import eu.europeana.cloud.service.commons.utils.RetryableMethodExecutor;
 import eu.europeana.cloud.service.dps.storm.utils.RevisionIdentifier;
 import eu.europeana.cloud.service.mcs.exception.MCSException;
-import java.util.Date;
-import java.util.List;
 
 public class MCSReader implements AutoCloseable {
 
@@ -31,19 +28,19 @@ public class MCSReader implements AutoCloseable {
     fileServiceClient = new FileServiceClient(mcsClientURL, userName, password);
   }
 
-  public ResultSlice<CloudTagsResponse> getDataSetRevisionsChunk(
-      String representationName,
-      RevisionIdentifier revision, String datasetProvider, String datasetName, String startFrom) throws MCSException {
-    return RetryableMethodExecutor.executeOnRest("Error while getting Revisions from data set.", () -> {
-      ResultSlice<CloudTagsResponse> resultSlice = dataSetServiceClient.getDataSetRevisionsChunk(
+  public ResultSlice<Representation> getDataSetRevisionRepresentationsChunk(
+      String representationName, RevisionIdentifier revision, String datasetProvider, String datasetName, String startFrom,
+      Integer limit) throws MCSException {
+    return RetryableMethodExecutor.executeOnRest("Error while getting representations of revision from data set.", () -> {
+      ResultSlice<Representation> resultSlice = dataSetServiceClient.getDataSetRevisionRepresentationsChunk(
           datasetProvider,
           datasetName,
           representationName,
           new Revision(revision.getRevisionName(), revision.getRevisionProviderId(), revision.getCreationTimeStamp()),
           startFrom,
-          null);
+          limit);
       if (resultSlice == null || resultSlice.getResults() == null) {
-        throw new DriverException("Getting cloud ids and revision tags: result chunk obtained but is empty.");
+        throw new DriverException("Getting representations of revision: result chunk obtained but is empty.");
       }
 
       return resultSlice;
@@ -51,16 +48,8 @@ public class MCSReader implements AutoCloseable {
     });
   }
 
-  public List<Representation> getRepresentationsByRevision(String representationName, String revisionName,
-      String revisionProvider, Date revisionTimestamp,
-      String responseCloudId) throws MCSException {
-    return RetryableMethodExecutor.executeOnRest("Error while getting representation revision.", () ->
-        recordServiceClient.getRepresentationsByRevision(responseCloudId, representationName,
-            new Revision(revisionName, revisionProvider, revisionTimestamp)));
-  }
-
-  public RepresentationIterator getRepresentationsOfEntireDataset(UrlParser urlParser) {
-    return dataSetServiceClient.getRepresentationIterator(
+  public DataSetExportIterator getRepresentationsOfEntireDataset(UrlParser urlParser) {
+    return dataSetServiceClient.getDataSetExportIterator(
         urlParser.getPart(UrlPart.DATA_PROVIDERS), urlParser.getPart(UrlPart.DATA_SETS)
     );
   }
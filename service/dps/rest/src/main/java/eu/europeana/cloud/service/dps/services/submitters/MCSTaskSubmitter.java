@@ -6,11 +6,11 @@ import eu.europeana.cloud.common.model.File;
 import eu.europeana.cloud.common.model.Representation;
 import eu.europeana.cloud.common.model.Revision;
 import eu.europeana.cloud.common.model.dps.TaskState;
-import eu.europeana.cloud.common.response.CloudTagsResponse;
 import eu.europeana.cloud.common.response.ResultSlice;
-import eu.europeana.cloud.mcs.driver.RepresentationIterator;
+import eu.europeana.cloud.mcs.driver.DataSetExportIterator;
 import eu.europeana.cloud.service.commons.urls.UrlParser;
 import eu.europeana.cloud.service.commons.urls.UrlPart;
+import eu.europeana.cloud.service.commons.utils.RetryInterruptedException;
 import eu.europeana.cloud.service.dps.DpsRecord;
 import eu.europeana.cloud.service.dps.DpsTask;
 import eu.europeana.cloud.service.dps.InputDataType;
@@ -21,22 +21,15 @@ import eu.europeana.cloud.service.dps.storm.utils.TaskStatusUpdater;
 import eu.europeana.cloud.service.mcs.exception.MCSException;
 import java.net.MalformedURLException;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
-import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 public class MCSTaskSubmitter {
 
   public static final int LOGGING_FREQUENCY = 1000;
-  private static final int INTERNAL_THREADS_NUMBER = 10;
-  private static final int MAX_BATCH_SIZE = 100;
+  private static final int MAX_REVISION_CHUNK_SIZE = 10000;
+  private static final int MAX_RECORDS_IN_FLIGHT = 1000;
 
   private static final Logger LOGGER = LoggerFactory.getLogger(MCSTaskSubmitter.class);
 
@@ -70,10 +63,12 @@ public class MCSTaskSubmitter {
 
       logProgress(submitParameters, 0);
       int expectedSize;
-      if (taskContainsFileUrls(task)) {
-        expectedSize = executeForFilesList(submitParameters);
-      } else {
-        expectedSize = executeForDatasetList(submitParameters);
+      try (var submissionWindow = recordSubmitService.openSubmissionWindow(submitParameters, MAX_RECORDS_IN_FLIGHT)) {
+        if (taskContainsFileUrls(task)) {
+          expectedSize = executeForFilesList(submitParameters, submissionWindow);
+        } else {
+          expectedSize = executeForDatasetList(submitParameters, submissionWindow);
+        }
       }
 
       checkIfTaskIsKilled(task);
@@ -87,7 +82,7 @@ public class MCSTaskSubmitter {
 
     } catch (SubmitingTaskWasKilled e) {
       LOGGER.warn(e.getMessage(), e);
-    } catch (InterruptedException e) {
+    } catch (RetryInterruptedException e) {
       Thread.currentThread().interrupt();
       throw new InterruptedException(
           String.format("MCS service encountered interruption exception for taskId=%s with message: %s and stack trace: %s",
@@ -102,28 +97,29 @@ public class MCSTaskSubmitter {
     return new MCSReader(mcsClientURL, userName, password);
   }
 
-  private int executeForFilesList(SubmitTaskParameters submitParameters) {
+  private int executeForFilesList(SubmitTaskParameters submitParameters, RecordSubmissionWindow submissionWindow) {
     List<String> filesList = submitParameters.getTask().getDataEntry(FILE_URLS);
     var count = 0;
     for (String file : filesList) {
-      if (submitRecord(file, submitParameters, false)) {
+      if (submitRecord(file, submitParameters, submissionWindow, false)) {
         count++;
       }
     }
     return count;
   }
 
-  private int executeForDatasetList(SubmitTaskParameters submitParameters)
-      throws InterruptedException, MCSException, ExecutionException {
+  private int executeForDatasetList(SubmitTaskParameters submitParameters, RecordSubmissionWindow submissionWindow)
+      throws MCSException {
     var expectedSize = 0;
     for (String dataSetUrl : submitParameters.getTask().getDataEntry(InputDataType.DATASET_URLS)) {
-      expectedSize += executeForOneDataSet(dataSetUrl, submitParameters);
+      expectedSize += executeForOneDataSet(dataSetUrl, submitParameters, submissionWindow);
     }
     return expectedSize;
   }
 
-  private int executeForOneDataSet(String dataSetUrl, SubmitTaskParameters submitParameters)
-      throws InterruptedException, MCSException, ExecutionException {
+  private int executeForOneDataSet(String dataSetUrl, SubmitTaskParameters submitParameters,
+      RecordSubmissionWindow submissionWindow)
+      throws MCSException {
     try (var reader = createMcsReader()) {
       var urlParser = new UrlParser(dataSetUrl);
       if (!urlParser.isUrlToDataset()) {
@@ -133,9 +129,9 @@ public class MCSTaskSubmitter {
       var expectedSize = 0;
       if (submitParameters.hasInputRevision()) {
         expectedSize += executeForRevision(urlParser.getPart(UrlPart.DATA_SETS), urlParser.getPart(UrlPart.DATA_PROVIDERS),
-            submitParameters, reader);
+            submitParameters, submissionWindow, reader);
       } else {
-        expectedSize += executeForEntireDataset(urlParser, submitParameters, reader);
+        expectedSize += executeForEntireDataset(urlParser, submitParameters, submissionWindow, reader);
 
       }
       return expectedSize;
@@ -145,143 +141,82 @@ public class MCSTaskSubmitter {
     }
   }
 
-  private int executeForEntireDataset(UrlParser urlParser, SubmitTaskParameters submitParameters, MCSReader reader) {
+  private int executeForEntireDataset(UrlParser urlParser, SubmitTaskParameters submitParameters,
+      RecordSubmissionWindow submissionWindow, MCSReader reader) {
     var expectedSize = 0;
-    RepresentationIterator iterator = reader.getRepresentationsOfEntireDataset(urlParser);
-    while (iterator.hasNext()) {
-      checkIfTaskIsKilled(submitParameters.getTask());
-      expectedSize += submitRecordsForRepresentation(iterator.next(), submitParameters, false);
+    try (DataSetExportIterator iterator = reader.getRepresentationsOfEntireDataset(urlParser)) {
+      while (iterator.hasNext()) {
+        checkIfTaskIsKilled(submitParameters.getTask());
+        expectedSize += submitRecordsForRepresentation(iterator.next(), submitParameters, submissionWindow, false);
+      }
     }
     return expectedSize;
   }
 
   private int executeForRevision(String datasetName, String datasetProvider, SubmitTaskParameters submitParameters,
-      MCSReader reader) throws InterruptedException, MCSException, ExecutionException {
-    ExecutorService executor = Executors.newFixedThreadPool(INTERNAL_THREADS_NUMBER);
-    try {
-      DpsTask task = submitParameters.getTask();
-      var maxRecordsCount = submitParameters.getMaxRecordsCount();
-      var count = 0;
-      String startFrom = null;
-      Set<Future<Integer>> futures = new HashSet<>(INTERNAL_THREADS_NUMBER);
-      var total = 0;
-      do {
-        checkIfTaskIsKilled(task);
-        ResultSlice<CloudTagsResponse> slice = getCloudIdsChunk(datasetName, datasetProvider, startFrom, submitParameters,
-            reader);
-        List<CloudTagsResponse> cloudTagsResponseList = slice.getResults();
-
-        int maxRecordsLeft = maxRecordsCount - total;
-        if (cloudTagsResponseList.size() > maxRecordsLeft) {
-          cloudTagsResponseList = cloudTagsResponseList.subList(0, maxRecordsLeft);
-        }
-        total += cloudTagsResponseList.size();
-
-        final List<CloudTagsResponse> finalCloudTagsResponseList = cloudTagsResponseList;
-        futures.add(
-            executor.submit(() -> executeGettingFileUrlsForCloudIdList(finalCloudTagsResponseList, submitParameters, reader)));
-
-        if (futures.size() >= INTERNAL_THREADS_NUMBER * MAX_BATCH_SIZE) {
-          count += getCountAndWait(futures);
-        }
-        startFrom = slice.getNextSlice();
+      RecordSubmissionWindow submissionWindow, MCSReader reader) throws MCSException {
+    DpsTask task = submitParameters.getTask();
+    RevisionIdentifier inputRevision = submitParameters.getInputRevision();
+    int maxRecordsCount = submitParameters.getMaxRecordsCount();
+    var count = 0;
+    var total = 0;
+    String startFrom = null;
+    do {
+      checkIfTaskIsKilled(task);
+      int maxRecordsLeft = maxRecordsCount - total;
+      //Representations of the whole chunk are fetched in one request, instead of one request per cloud id
+      ResultSlice<Representation> slice = reader.getDataSetRevisionRepresentationsChunk(
+          submitParameters.getRepresentationName(), inputRevision, datasetProvider, datasetName, startFrom,
+          maxRecordsLeft <= MAX_REVISION_CHUNK_SIZE ? maxRecordsLeft : null);
+      List<Representation> representations = slice.getResults();
+      if (representations.size() > maxRecordsLeft) {
+        representations = representations.subList(0, maxRecordsLeft);
       }
-      while ((startFrom != null) && (total < maxRecordsCount));
+      total += representations.size();
 
-      if (!futures.isEmpty()) {
-        count += getCountAndWait(futures);
+      for (Representation representation : representations) {
+        count += submitRecordsForRepresentation(representation, submitParameters, submissionWindow,
+            isMarkedAsDeleted(representation, inputRevision));
       }
-
-      return count;
-    } catch (ExecutionException e) {
-      if (e.getCause() instanceof SubmitingTaskWasKilled) {
-        LOGGER.debug("Caught ExecutionException from Threads executor. Task was killed.");
-        throw new SubmitingTaskWasKilled(submitParameters.getTask());
-      } else {
-        throw e;
-      }
-    } finally {
-      executor.shutdown();
-      executor.awaitTermination(1, TimeUnit.MINUTES);
-    }
-  }
-
-  private ResultSlice<CloudTagsResponse> getCloudIdsChunk(String datasetName, String datasetProvider,
-      String startFrom, SubmitTaskParameters submitTaskParameters,
-      MCSReader reader) throws MCSException {
-    return reader.getDataSetRevisionsChunk(
-        submitTaskParameters.getRepresentationName(),
-        submitTaskParameters.getInputRevision(),
-        datasetProvider, datasetName, startFrom);
-  }
-
-  private Integer executeGettingFileUrlsForCloudIdList(List<CloudTagsResponse> responseList,
-      SubmitTaskParameters submitParameters,
-      MCSReader reader) throws MCSException {
-    var count = 0;
-    for (CloudTagsResponse response : responseList) {
-      count += executeGettingFileUrlsForOneCloudId(response, submitParameters, reader);
+      startFrom = slice.getNextSlice();
     }
+    while ((startFrom != null) && (total < maxRecordsCount));
 
     return count;
   }
 
-  private int executeGettingFileUrlsForOneCloudId(CloudTagsResponse response, SubmitTaskParameters submitParameters,
-      MCSReader reader) throws MCSException {
-
-    var count = 0;
-    checkIfTaskIsKilled(submitParameters.getTask());
-    List<Representation> representations = reader.getRepresentationsByRevision(
-        submitParameters.getRepresentationName(),
-        submitParameters.getInputRevision().getRevisionName(),
-        submitParameters.getInputRevision().getRevisionProviderId(),
-        submitParameters.getInputRevision().getCreationTimeStamp(),
-        response.getCloudId());
-    for (Representation representation : representations) {
-      RevisionIdentifier inputRevision = submitParameters
-          .getInputRevision()
-          .withCreationTimeStamp(submitParameters
-              .getInputRevision()
-              .getCreationTimeStamp()
-          );
-      count += submitRecordsForRepresentation(representation, submitParameters,
-          isMarkedAsDeleted(
-              representation,
-              inputRevision));
-    }
-    return count;
-  }
-
   private int submitRecordsForRepresentation(Representation representation, SubmitTaskParameters submitParameters,
-      boolean markedAsDeleted) {
+      RecordSubmissionWindow submissionWindow, boolean markedAsDeleted) {
     if (representation == null) {
       throw new TaskSubmitException("Problem while reading representation - representation is null.");
     }
 
     if (markedAsDeleted) {
-      return submitRecordForDeletedRepresentation(representation, submitParameters);
+      return submitRecordForDeletedRepresentation(representation, submitParameters, submissionWindow);
     } else {
-      return submitRecordsForAllFilesOfRepresentation(representation, submitParameters);
+      return submitRecordsForAllFilesOfRepresentation(representation, submitParameters, submissionWindow);
     }
   }
 
-  private int submitRecordForDeletedRepresentation(Representation representation, SubmitTaskParameters submitParameters) {
+  private int submitRecordForDeletedRepresentation(Representation representation, SubmitTaskParameters submitParameters,
+      RecordSubmissionWindow submissionWindow) {
     checkIfTaskIsKilled(submitParameters.getTask());
-    if (submitRecord(representation.getUri().toString(), submitParameters, true)) {
+    if (submitRecord(representation.getUri().toString(), submitParameters, submissionWindow, true)) {
       return 1;
     } else {
       return 0;
     }
   }
 
-  private int submitRecordsForAllFilesOfRepresentation(Representation representation, SubmitTaskParameters submitParameters) {
+  private int submitRecordsForAllFilesOfRepresentation(Representation representation, SubmitTaskParameters submitParameters,
+      RecordSubmissionWindow submissionWindow) {
     var count = 0;
 
     for (File file : representation.getFiles()) {
       checkIfTaskIsKilled(submitParameters.getTask());
 
       var fileUrl = file.getContentUri().toString();
-      if (submitRecord(fileUrl, submitParameters, false)) {
+      if (submitRecord(fileUrl, submitParameters, submissionWindow, false)) {
         count++;
       }
 
@@ -290,7 +225,8 @@ public class MCSTaskSubmitter {
     return count;
   }
 
-  private boolean submitRecord(String fileUrl, SubmitTaskParameters submitParameters, boolean markedAsDeleted) {
+  private boolean submitRecord(String fileUrl, SubmitTaskParameters submitParameters, RecordSubmissionWindow submissionWindow,
+      boolean markedAsDeleted) {
     DpsTask task = submitParameters.getTask();
     DpsRecord aRecord = DpsRecord.builder()
                                  .taskId(task.getTaskId())
@@ -299,7 +235,7 @@ public class MCSTaskSubmitter {
                                  .markedAsDeleted(markedAsDeleted)
                                  .build();
 
-    boolean increaseCounter = recordSubmitService.submitRecord(aRecord, submitParameters);
+    boolean increaseCounter = submissionWindow.submitRecord(aRecord);
     logProgress(submitParameters, submitParameters.incrementAndGetPerformedRecordCounter());
     return increaseCounter;
   }
@@ -315,15 +251,6 @@ public class MCSTaskSubmitter {
     return task.getInputData().get(FILE_URLS) != null;
   }
 
-  private int getCountAndWait(Set<Future<Integer>> futures) throws InterruptedException, ExecutionException {
-    var count = 0;
-    for (Future<Integer> future : futures) {
-      count += future.get();
-    }
-    futures.clear();
-    return count;
-  }
-
   private boolean isMarkedAsDeleted(Representation representation, RevisionIdentifier revision) {
     return findRevision(representation, revision).isDeleted();
   }
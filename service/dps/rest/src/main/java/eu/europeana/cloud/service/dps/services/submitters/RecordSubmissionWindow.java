@@ -0,0 +1,121 @@
+package eu.europeana.cloud.service.dps.services.submitters;
+
+import eu.europeana.cloud.service.commons.utils.RetryInterruptedException;
+import eu.europeana.cloud.service.dps.DpsRecord;
+import eu.europeana.cloud.service.dps.RecordExecutionSubmitService;
+import eu.europeana.cloud.service.dps.storm.utils.SubmitTaskParameters;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Submits records of one task to Kafka, keeping a bounded number of records sent but not yet acknowledged, instead of waiting
+ * for the acknowledgement of every record.
+ * <p>
+ * Like in the {@link RecordSubmitService#submitRecord(DpsRecord, SubmitTaskParameters)}, a record is marked as queued in the
+ * processed_records table only after Kafka acknowledged it. Acknowledged records are marked by the submitting threads, on the
+ * next submission or on {@link #close()}. A record which failed to be sent asynchronously is sent again synchronously, with
+ * retries. If it fails again, the {@link eu.europeana.cloud.service.dps.exception.KafkaSubmissionException} naming this record
+ * is thrown. Window could be shared by many threads submitting records of the same task.
+ */
+public class RecordSubmissionWindow implements AutoCloseable {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(RecordSubmissionWindow.class);
+
+  private final RecordSubmitService recordSubmitService;
+  private final RecordExecutionSubmitService kafkaSubmitService;
+  private final SubmitTaskParameters submitParameters;
+  private final int maxRecordsInFlight;
+  private final Semaphore inFlightPermits;
+  private final Set<String> pendingRecordIds = ConcurrentHashMap.newKeySet();
+  private final Queue<SentRecord> sentRecords = new ConcurrentLinkedQueue<>();
+
+  RecordSubmissionWindow(RecordSubmitService recordSubmitService, RecordExecutionSubmitService kafkaSubmitService,
+      SubmitTaskParameters submitParameters, int maxRecordsInFlight) {
+    this.recordSubmitService = recordSubmitService;
+    this.kafkaSubmitService = kafkaSubmitService;
+    this.submitParameters = submitParameters;
+    this.maxRecordsInFlight = maxRecordsInFlight;
+    this.inFlightPermits = new Semaphore(maxRecordsInFlight);
+  }
+
+  /**
+   * Submits record to storm cluster by sending it to valid Kafka topic, without waiting for the acknowledgement.
+   *
+   * @param dpsRecord record to be submitted
+   * @return true if task size should be incremented and false if not, the same as
+   * {@link RecordSubmitService#submitRecord(DpsRecord, SubmitTaskParameters)}
+   */
+  public boolean submitRecord(DpsRecord dpsRecord) {
+    markSentRecords();
+    if (pendingRecordIds.contains(dpsRecord.getRecordId())) {
+      LOGGER.warn("Omitting duplicated record {}", dpsRecord);
+      return false;
+    }
+    return recordSubmitService.submitRecord(dpsRecord, submitParameters, this::sendAsync);
+  }
+
+  /**
+   * Waits until all the submitted records are acknowledged by Kafka and marks them as queued.
+   */
+  @Override
+  public void close() {
+    try {
+      inFlightPermits.acquire(maxRecordsInFlight);
+      inFlightPermits.release(maxRecordsInFlight);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RetryInterruptedException(e);
+    }
+    markSentRecords();
+  }
+
+  private void sendAsync(DpsRecord dpsRecord) {
+    try {
+      inFlightPermits.acquire();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RetryInterruptedException(e);
+    }
+    pendingRecordIds.add(dpsRecord.getRecordId());
+    try {
+      kafkaSubmitService.submitRecordAsync(dpsRecord, submitParameters.getTopicName())
+                        .whenComplete((result, exception) -> {
+                          sentRecords.add(new SentRecord(dpsRecord, exception));
+                          inFlightPermits.release();
+                        });
+    } catch (RuntimeException e) {
+      pendingRecordIds.remove(dpsRecord.getRecordId());
+      inFlightPermits.release();
+      throw e;
+    }
+  }
+
+  private void markSentRecords() {
+    SentRecord sentRecord;
+    while ((sentRecord = sentRecords.poll()) != null) {
+      DpsRecord dpsRecord = sentRecord.dpsRecord;
+      if (sentRecord.exception != null) {
+        LOGGER.warn("Could not send record to Kafka asynchronously, sending it again: {}", dpsRecord, sentRecord.exception);
+        kafkaSubmitService.submitRecord(dpsRecord, submitParameters.getTopicName());
+      }
+      recordSubmitService.markAsQueued(dpsRecord, submitParameters);
+      pendingRecordIds.remove(dpsRecord.getRecordId());
+    }
+  }
+
+  private static class SentRecord {
+
+    private final DpsRecord dpsRecord;
+    private final Throwable exception;
+
+    SentRecord(DpsRecord dpsRecord, Throwable exception) {
+      this.dpsRecord = dpsRecord;
+      this.exception = exception;
+    }
+  }
+}
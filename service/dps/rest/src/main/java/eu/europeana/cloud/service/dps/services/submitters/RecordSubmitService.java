@@ -8,6 +8,7 @@ import eu.europeana.cloud.service.dps.storm.dao.ProcessedRecordsDAO;
 import eu.europeana.cloud.service.dps.storm.utils.SubmitTaskParameters;
 import java.util.Date;
 import java.util.Optional;
+import java.util.function.Consumer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,6 +20,12 @@ public class RecordSubmitService {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(RecordSubmitService.class);
 
+  /**
+   * Maximal size of the record content sent in the Kafka message. Content is encoded in Base64 in the message, so it has to be
+   * noticeably smaller than the Kafka message size limit. Bigger records have to be harvested in the topology.
+   */
+  public static final int MAX_CONTENT_SIZE_IN_MESSAGE = 512 * 1024;
+
   private final ProcessedRecordsDAO processedRecordsDAO;
 
   private final RecordExecutionSubmitService kafkaSubmitService;
@@ -39,14 +46,29 @@ public class RecordSubmitService {
    * such task would be never marked as finished. finish.
    */
   public boolean submitRecord(DpsRecord dpsRecord, SubmitTaskParameters submitParameters) {
+    return submitRecord(dpsRecord, submitParameters, newRecord -> {
+      kafkaSubmitService.submitRecord(newRecord, submitParameters.getTopicName());
+      markAsQueued(newRecord, submitParameters);
+    });
+  }
+
+  /**
+   * Opens window for submitting many records of the task, which does not wait until every record is accepted by Kafka.
+   *
+   * @param submitParameters parameters of the submitted task
+   * @param maxRecordsInFlight maximal number of records sent to Kafka but not acknowledged yet
+   * @return opened window, it has to be closed after the last record is submitted
+   */
+  public RecordSubmissionWindow openSubmissionWindow(SubmitTaskParameters submitParameters, int maxRecordsInFlight) {
+    return new RecordSubmissionWindow(this, kafkaSubmitService, submitParameters, maxRecordsInFlight);
+  }
+
+  boolean submitRecord(DpsRecord dpsRecord, SubmitTaskParameters submitParameters, Consumer<DpsRecord> newRecordSender) {
     Optional<ProcessedRecord> alreadySubmittedRecord = processedRecordsDAO.selectByPrimaryKey(dpsRecord.getTaskId(),
         dpsRecord.getRecordId());
 
     if (alreadySubmittedRecord.isEmpty()) {
-      kafkaSubmitService.submitRecord(dpsRecord, submitParameters.getTopicName());
-      LOGGER.debug("Updating record in processed_records table: {}", dpsRecord);
-      processedRecordsDAO.insert(dpsRecord.getTaskId(), dpsRecord.getRecordId(), 0,
-          "", submitParameters.getTaskInfo().getTopologyName(), RecordState.QUEUED.toString(), "", "");
+      newRecordSender.accept(dpsRecord);
       return true;
     } else if (isResendingAfterFail(alreadySubmittedRecord.get(), submitParameters)) {
       LOGGER.info("Omitting record already sent to Kafka {}", dpsRecord);
@@ -59,6 +81,12 @@ public class RecordSubmitService {
 
   }
 
+  void markAsQueued(DpsRecord dpsRecord, SubmitTaskParameters submitParameters) {
+    LOGGER.debug("Updating record in processed_records table: {}", dpsRecord);
+    processedRecordsDAO.insert(dpsRecord.getTaskId(), dpsRecord.getRecordId(), 0,
+        "", submitParameters.getTaskInfo().getTopologyName(), RecordState.QUEUED.toString(), "", "");
+  }
+
   private boolean isResendingAfterFail(ProcessedRecord alreadySubmittedRecord, SubmitTaskParameters submitParameters) {
     Date currentExecutionStart = submitParameters.getTaskInfo().getStartTimestamp();
     return submitParameters.isRestarted() && alreadySubmittedRecord.getStarTime().before(currentExecutionStart);
@@ -1,6 +1,7 @@
 package eu.europeana.cloud.service.dps.utils;
 
 import eu.europeana.cloud.common.model.dps.TaskState;
+import eu.europeana.cloud.service.commons.utils.DateHelper;
 import eu.europeana.cloud.service.dps.DpsRecord;
 import eu.europeana.cloud.service.dps.DpsTask;
 import eu.europeana.cloud.service.dps.HarvestResult;
@@ -44,35 +45,25 @@ public class HarvestsExecutor {
 
   public HarvestResult execute(OaiHarvest harvestToBeExecuted, SubmitTaskParameters parameters) throws HarvesterException {
     final AtomicInteger resultCounter = new AtomicInteger(0);
-
-    LOGGER.info("(Re-)starting identifiers harvesting for: {}. Task identifier: {}", harvestToBeExecuted,
-        parameters.getTask().getTaskId());
-    OaiHarvester harvester = HarvesterFactory.createOaiHarvester(null, DEFAULT_RETRIES, SLEEP_TIME);
-    HarvestingIterator<OaiRecordHeader, OaiRecordHeader> headerIterator = harvester.harvestRecordHeaders(harvestToBeExecuted);
+    final AtomicBoolean taskDropped = new AtomicBoolean(false);
 
     // *** Main harvesting loop for given task ***
-    final AtomicBoolean taskDropped = new AtomicBoolean(false);
-    headerIterator.forEach(oaiHeader -> {
-      if (taskStatusChecker.hasDroppedStatus(parameters.getTask().getTaskId())) {
-        LOGGER.info("Harvesting for {} (Task: {}) stopped by external signal", harvestToBeExecuted,
-            parameters.getTask().getTaskId());
-        taskDropped.set(true);
-        return IterationResult.TERMINATE;
-      }
-      if (oaiHeader.isDeleted()) {
-        LOGGER.warn("Ignoring OAI record header {} for {} because it is deleted on the OAI repo",
-            oaiHeader.getOaiIdentifier(),
-            parameters.getTask().getTaskId());
-        return IterationResult.CONTINUE;
-      }
-      DpsRecord dpsRecord = convertToDpsRecord(oaiHeader, harvestToBeExecuted, parameters.getTask());
-      if (recordSubmitService.submitRecord(dpsRecord, parameters)) {
-        resultCounter.incrementAndGet();
-      }
-      logProgressFor(harvestToBeExecuted, parameters.incrementAndGetPerformedRecordCounter());
-      return resultCounter.get() < getMaxRecordsCount(parameters)
-          ? IterationResult.CONTINUE : IterationResult.TERMINATE;
-    });
+    if (isListRecordsHarvest(parameters.getTask())) {
+      LOGGER.info("(Re-)starting records harvesting for: {}. Task identifier: {}", harvestToBeExecuted,
+          parameters.getTask().getTaskId());
+      OaiListRecordsHarvester harvester = createListRecordsHarvester();
+      harvester.harvestRecords(harvestToBeExecuted, (oaiHeader, content) ->
+          submitRecord(oaiHeader, content, harvestToBeExecuted, parameters, resultCounter, taskDropped));
+    } else {
+      LOGGER.info("(Re-)starting identifiers harvesting for: {}. Task identifier: {}", harvestToBeExecuted,
+          parameters.getTask().getTaskId());
+      OaiHarvester harvester = HarvesterFactory.createOaiHarvester(null, DEFAULT_RETRIES, SLEEP_TIME);
+      HarvestingIterator<OaiRecordHeader, OaiRecordHeader> headerIterator =
+          harvester.harvestRecordHeaders(harvestToBeExecuted);
+      headerIterator.forEach(oaiHeader ->
+          submitRecord(oaiHeader, null, harvestToBeExecuted, parameters, resultCounter, taskDropped));
+    }
+
     if (taskDropped.get()) {
       return HarvestResult.builder()
                           .resultCounter(resultCounter.get())
@@ -83,6 +74,39 @@ public class HarvestsExecutor {
     return new HarvestResult(resultCounter.get(), TaskState.QUEUED);
   }
 
+  /*package visiblility*/ OaiListRecordsHarvester createListRecordsHarvester() {
+    return new OaiListRecordsHarvester(DEFAULT_RETRIES, SLEEP_TIME);
+  }
+
+  private IterationResult submitRecord(OaiRecordHeader oaiHeader, byte[] content, OaiHarvest harvestToBeExecuted,
+      SubmitTaskParameters parameters, AtomicInteger resultCounter, AtomicBoolean taskDropped) {
+    if (taskStatusChecker.hasDroppedStatus(parameters.getTask().getTaskId())) {
+      LOGGER.info("Harvesting for {} (Task: {}) stopped by external signal", harvestToBeExecuted,
+          parameters.getTask().getTaskId());
+      taskDropped.set(true);
+      return IterationResult.TERMINATE;
+    }
+    if (oaiHeader.isDeleted()) {
+      LOGGER.warn("Ignoring OAI record header {} for {} because it is deleted on the OAI repo",
+          oaiHeader.getOaiIdentifier(),
+          parameters.getTask().getTaskId());
+      return IterationResult.CONTINUE;
+    }
+    DpsRecord dpsRecord = content != null
+        ? convertToDpsRecord(oaiHeader, content, harvestToBeExecuted, parameters.getTask())
+        : convertToDpsRecord(oaiHeader, harvestToBeExecuted, parameters.getTask());
+    if (recordSubmitService.submitRecord(dpsRecord, parameters)) {
+      resultCounter.incrementAndGet();
+    }
+    logProgressFor(harvestToBeExecuted, parameters.incrementAndGetPerformedRecordCounter());
+    return resultCounter.get() < getMaxRecordsCount(parameters)
+        ? IterationResult.CONTINUE : IterationResult.TERMINATE;
+  }
+
+  private boolean isListRecordsHarvest(DpsTask task) {
+    return Boolean.parseBoolean(task.getParameter(PluginParameterKeys.OAI_LIST_RECORDS_HARVEST));
+  }
+
   private int getMaxRecordsCount(SubmitTaskParameters parameters) {
     return Optional.ofNullable(parameters.getTask().getParameter(PluginParameterKeys.SAMPLE_SIZE))  //return value SAMPLE_SIZE
                    .map(Integer::parseInt)
@@ -98,6 +122,22 @@ public class HarvestsExecutor {
                     .build();
   }
 
+  /*package visiblility*/ DpsRecord convertToDpsRecord(OaiRecordHeader oaiHeader, byte[] content, OaiHarvest harvest,
+      DpsTask dpsTask) {
+    if (content.length > RecordSubmitService.MAX_CONTENT_SIZE_IN_MESSAGE) {
+      LOGGER.info("Record {} is too big to be sent in the Kafka message, it will be harvested again in the topology",
+          oaiHeader.getOaiIdentifier());
+      return convertToDpsRecord(oaiHeader, harvest, dpsTask);
+    }
+    return DpsRecord.builder()
+                    .taskId(dpsTask.getTaskId())
+                    .recordId(oaiHeader.getOaiIdentifier())
+                    .metadataPrefix(harvest.getMetadataPrefix())
+                    .content(content)
+                    .recordDatestamp(oaiHeader.getDatestamp() != null ? DateHelper.format(oaiHeader.getDatestamp()) : null)
+                    .build();
+  }
+
   /*package visiblility*/ void logProgressFor(OaiHarvest harvest, int counter) {
     if (counter % 1000 == 0) {
       LOGGER.info("Identifiers harvesting is progressing for: {}. Current counter: {}", harvest, counter);
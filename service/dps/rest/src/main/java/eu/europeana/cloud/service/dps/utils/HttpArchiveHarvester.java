@@ -0,0 +1,215 @@
+package eu.europeana.cloud.service.dps.utils;
+
+import eu.europeana.cloud.service.commons.utils.RetryableMethodExecutor;
+import eu.europeana.metis.harvesting.HarvesterException;
+import eu.europeana.metis.harvesting.ReportingIteration.IterationResult;
+import java.io.BufferedInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Locale;
+import org.apache.commons.compress.archivers.ArchiveEntry;
+import org.apache.commons.compress.archivers.ArchiveInputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.compressors.gzip.GzipCompressorInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Harvests files of the archive available under the given URL. The archive is downloaded to the temporary file, so the download
+ * broken in the middle is repeated as a whole, and then it is read as a stream, so the extracted files are not stored on the
+ * disk. The temporary file is removed when the harvesting ends.
+ * <p>
+ * Supported archives are zip, tar, tar.gz (tgz) and single gzipped files. Archives nested in the archive are read in the same
+ * way, and their files are reported with the path of the nested archive without its extension, the same as they were placed
+ * when the archive was extracted. Directories, hidden files and the metadata added by macOS are skipped.
+ */
+public class HttpArchiveHarvester {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(HttpArchiveHarvester.class);
+
+  private static final String MAC_OS_METADATA_DIRECTORY = "__MACOSX";
+  private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(5);
+
+  private final HttpClient httpClient = HttpClient.newBuilder()
+                                                  .connectTimeout(Duration.ofMinutes(1))
+                                                  .followRedirects(HttpClient.Redirect.NORMAL)
+                                                  .build();
+  private final int numberOfRetries;
+  private final int sleepTimeBetweenRetriesMs;
+  private final Path downloadDirectory;
+
+  public HttpArchiveHarvester(int numberOfRetries, int sleepTimeBetweenRetriesMs, Path downloadDirectory) {
+    this.numberOfRetries = numberOfRetries;
+    this.sleepTimeBetweenRetriesMs = sleepTimeBetweenRetriesMs;
+    this.downloadDirectory = downloadDirectory;
+  }
+
+  /**
+   * Harvests all the files of the archive, passing every file to the handler.
+   *
+   * @param archiveUrl URL of the archive
+   * @param handler handler of harvested files, harvesting is stopped when it returns {@link IterationResult#TERMINATE}
+   * @throws HarvesterException when the archive could not be downloaded or read, or the handler failed
+   */
+  public void harvestFiles(String archiveUrl, FileHandler handler) throws HarvesterException {
+    URI archiveUri = URI.create(archiveUrl);
+    ArchiveType archiveType = ArchiveType.of(archiveUri.getPath());
+    if (archiveType == null) {
+      throw new HarvesterException("Unsupported type of the archive: " + archiveUrl);
+    }
+    Path archiveFile = RetryableMethodExecutor.execute("Could not download the archive " + archiveUrl,
+        numberOfRetries, sleepTimeBetweenRetriesMs, () -> download(archiveUri));
+    try (InputStream archive = new BufferedInputStream(Files.newInputStream(archiveFile))) {
+      String archiveName = archiveUri.getPath().substring(archiveUri.getPath().lastIndexOf('/') + 1);
+      //Files of the downloaded archive are placed directly in the task, not in the directory named after the archive
+      readArchive(archive, archiveType, archiveName, "", handler);
+    } catch (IOException e) {
+      throw new HarvesterException("Could not read the archive " + archiveUrl, e);
+    } finally {
+      removeQuietly(archiveFile);
+    }
+  }
+
+  private Path download(URI archiveUri) throws HarvesterException, InterruptedException {
+    LOGGER.info("Downloading the archive: {}", archiveUri);
+    HttpRequest request = HttpRequest.newBuilder(archiveUri).timeout(REQUEST_TIMEOUT).GET().build();
+    Path archiveFile = null;
+    boolean downloaded = false;
+    try {
+      archiveFile = Files.createTempFile(downloadDirectory, "archive", ".download");
+      HttpResponse<Path> response = httpClient.send(request, HttpResponse.BodyHandlers.ofFile(archiveFile));
+      if (response.statusCode() != 200) {
+        throw new HarvesterException("Server responded with the status " + response.statusCode() + " for " + archiveUri);
+      }
+      downloaded = true;
+      return archiveFile;
+    } catch (IOException e) {
+      throw new HarvesterException("Could not download the archive " + archiveUri, e);
+    } finally {
+      if (!downloaded) {
+        removeQuietly(archiveFile);
+      }
+    }
+  }
+
+  private static void removeQuietly(Path archiveFile) {
+    if (archiveFile == null) {
+      return;
+    }
+    try {
+      Files.deleteIfExists(archiveFile);
+    } catch (IOException e) {
+      LOGGER.warn("Could not remove the downloaded archive {}", archiveFile, e);
+    }
+  }
+
+  private IterationResult readArchive(InputStream input, ArchiveType archiveType, String archivePath, String pathPrefix,
+      FileHandler handler) throws IOException {
+    if (archiveType == ArchiveType.GZIP) {
+      //Single compressed file, its name is the name of the archive without the extension
+      var file = new GzipCompressorInputStream(nonClosing(input), true);
+      return handleFile(file, archiveType.removeExtension(archivePath), handler);
+    }
+    ArchiveInputStream<? extends ArchiveEntry> archive = archiveType == ArchiveType.ZIP
+        ? new ZipArchiveInputStream(nonClosing(input), "UTF-8", true, true)
+        : new TarArchiveInputStream(archiveType == ArchiveType.TAR_GZIP
+            ? new GzipCompressorInputStream(nonClosing(input), true) : nonClosing(input));
+    ArchiveEntry entry;
+    while ((entry = archive.getNextEntry()) != null) {
+      if (entry.isDirectory() || !archive.canReadEntryData(entry) || isSkipped(entry.getName())) {
+        continue;
+      }
+      if (handleFile(archive, pathPrefix + entry.getName(), handler) == IterationResult.TERMINATE) {
+        return IterationResult.TERMINATE;
+      }
+    }
+    return IterationResult.CONTINUE;
+  }
+
+  private IterationResult handleFile(InputStream content, String path, FileHandler handler) throws IOException {
+    ArchiveType nestedArchiveType = ArchiveType.of(path);
+    if (nestedArchiveType != null) {
+      return readArchive(content, nestedArchiveType, path, nestedArchiveType.removeExtension(path) + "/", handler);
+    }
+    return handler.handle(path, nonClosing(content));
+  }
+
+  private static boolean isSkipped(String path) {
+    String fileName = path.substring(path.lastIndexOf('/') + 1);
+    return fileName.startsWith(".") || path.startsWith(MAC_OS_METADATA_DIRECTORY + "/")
+        || path.contains("/" + MAC_OS_METADATA_DIRECTORY + "/");
+  }
+
+  /**
+   * Protects the stream of the archive from being closed, while the single file of it is read.
+   */
+  private static InputStream nonClosing(InputStream input) {
+    return new FilterInputStream(input) {
+      @Override
+      public void close() {
+        //The enclosing stream is closed by the owner
+      }
+    };
+  }
+
+  private enum ArchiveType {
+    ZIP(".zip"),
+    TAR(".tar"),
+    TAR_GZIP(".tar.gz", ".tgz"),
+    GZIP(".gz");
+
+    private final String[] extensions;
+
+    ArchiveType(String... extensions) {
+      this.extensions = extensions;
+    }
+
+    private static ArchiveType of(String path) {
+      String lowerCasePath = path.toLowerCase(Locale.ROOT);
+      //TAR_GZIP is checked before GZIP, so the longer extension wins
+      for (ArchiveType type : values()) {
+        if (type.extensionOf(lowerCasePath) != null) {
+          return type;
+        }
+      }
+      return null;
+    }
+
+    private String extensionOf(String lowerCasePath) {
+      for (String extension : extensions) {
+        if (lowerCasePath.endsWith(extension)) {
+          return extension;
+        }
+      }
+      return null;
+    }
+
+    private String removeExtension(String path) {
+      return path.substring(0, path.length() - extensionOf(path.toLowerCase(Locale.ROOT)).length());
+    }
+  }
+
+  /**
+   * Handles files harvested by the {@link HttpArchiveHarvester}.
+   */
+  @FunctionalInterface
+  public interface FileHandler {
+
+    /**
+     * @param path path of the file in the archive
+     * @param content content of the file, which could be read only until the method returns
+     * @return information if the harvesting should be continued
+     * @throws IOException in case the file could not be read or handled, harvesting is stopped then
+     */
+    IterationResult handle(String path, InputStream content) throws IOException;
+  }
+}
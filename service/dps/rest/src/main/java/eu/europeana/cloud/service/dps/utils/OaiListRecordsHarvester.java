@@ -0,0 +1,399 @@
+package eu.europeana.cloud.service.dps.utils;
+
+import eu.europeana.cloud.service.commons.utils.RetryableMethodExecutor;
+import eu.europeana.metis.harvesting.HarvesterException;
+import eu.europeana.metis.harvesting.ReportingIteration.IterationResult;
+import eu.europeana.metis.harvesting.oaipmh.OaiHarvest;
+import eu.europeana.metis.harvesting.oaipmh.OaiRecordHeader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventFactory;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLEventWriter;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Harvests full records from the OAI-PMH repository with the ListRecords verb, so one request returns the whole page of records
+ * instead of one record per GetRecord request.
+ * <p>
+ * Every page is requested with retries and parsed as a stream. Content of the record is the element enclosed in the
+ * <i>metadata</i> element, serialized together with the namespaces declared in the envelope, the same as it is returned by
+ * the GetRecord harvesting. The from and until dates are sent with the granularity advertised by the repository in the
+ * response to the Identify request.
+ */
+public class OaiListRecordsHarvester {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(OaiListRecordsHarvester.class);
+
+  private static final String OAI_NAMESPACE = "http://www.openarchives.org/OAI/2.0/";
+  private static final QName RECORD = new QName(OAI_NAMESPACE, "record");
+  private static final QName HEADER = new QName(OAI_NAMESPACE, "header");
+  private static final QName IDENTIFIER = new QName(OAI_NAMESPACE, "identifier");
+  private static final QName DATESTAMP = new QName(OAI_NAMESPACE, "datestamp");
+  private static final QName METADATA = new QName(OAI_NAMESPACE, "metadata");
+  private static final QName GRANULARITY = new QName(OAI_NAMESPACE, "granularity");
+  private static final QName RESUMPTION_TOKEN = new QName(OAI_NAMESPACE, "resumptionToken");
+  private static final QName ERROR = new QName(OAI_NAMESPACE, "error");
+  private static final QName STATUS = new QName("status");
+  private static final QName CODE = new QName("code");
+  private static final String NO_RECORDS_MATCH_ERROR_CODE = "noRecordsMatch";
+  private static final String DAY_GRANULARITY = "YYYY-MM-DD";
+  private static final String SECONDS_GRANULARITY = "YYYY-MM-DDThh:mm:ssZ";
+  private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(5);
+
+  private final XMLInputFactory inputFactory = createInputFactory();
+  private final XMLOutputFactory outputFactory = XMLOutputFactory.newFactory();
+  private final XMLEventFactory eventFactory = XMLEventFactory.newFactory();
+  private final HttpClient httpClient = HttpClient.newBuilder()
+                                                  .connectTimeout(Duration.ofMinutes(1))
+                                                  .followRedirects(HttpClient.Redirect.NORMAL)
+                                                  .build();
+  private final int numberOfRetries;
+  private final int sleepTimeBetweenRetriesMs;
+
+  public OaiListRecordsHarvester(int numberOfRetries, int sleepTimeBetweenRetriesMs) {
+    this.numberOfRetries = numberOfRetries;
+    this.sleepTimeBetweenRetriesMs = sleepTimeBetweenRetriesMs;
+  }
+
+  /**
+   * Harvests all the records of the given harvest, page by page, passing every record to the handler.
+   *
+   * @param harvest harvest to be executed
+   * @param handler handler of harvested records, harvesting is stopped when it returns {@link IterationResult#TERMINATE}
+   * @throws HarvesterException in case of the error reported by the repository or when the page could not be read
+   */
+  public void harvestRecords(OaiHarvest harvest, RecordHandler handler) throws HarvesterException {
+    Granularity granularity = harvest.getFrom() != null || harvest.getUntil() != null
+        ? readGranularity(harvest) : Granularity.SECONDS;
+    String resumptionToken = null;
+    do {
+      URI pageUri = createPageUri(harvest, resumptionToken, granularity);
+      Page page = RetryableMethodExecutor.execute("Could not read OAI-PMH ListRecords page " + pageUri,
+          numberOfRetries, sleepTimeBetweenRetriesMs, () -> readPage(pageUri));
+      for (HarvestedRecord harvestedRecord : page.records) {
+        if (handler.handle(harvestedRecord.header, harvestedRecord.content) == IterationResult.TERMINATE) {
+          return;
+        }
+      }
+      resumptionToken = page.resumptionToken;
+    } while (resumptionToken != null);
+  }
+
+  /**
+   * Reads the granularity of dates supported by the repository. If the repository does not advertise it, the granularity of the
+   * harvested dates is used, so the dates at midnight are sent as days, which every repository supports.
+   */
+  private Granularity readGranularity(OaiHarvest harvest) {
+    Map<String, String> parameters = new LinkedHashMap<>();
+    parameters.put("verb", "Identify");
+    URI identifyUri = createUri(harvest.getRepositoryUrl(), parameters);
+    try {
+      Granularity granularity = RetryableMethodExecutor.execute("Could not read OAI-PMH Identify response " + identifyUri,
+          numberOfRetries, sleepTimeBetweenRetriesMs, () -> request(identifyUri, this::parseGranularity));
+      if (granularity != null) {
+        return granularity;
+      }
+    } catch (HarvesterException e) {
+      LOGGER.warn("Could not read the granularity of the OAI-PMH repository {}", harvest.getRepositoryUrl(), e);
+    }
+    return Granularity.of(harvest.getFrom(), harvest.getUntil());
+  }
+
+  private URI createPageUri(OaiHarvest harvest, String resumptionToken, Granularity granularity) {
+    Map<String, String> parameters = new LinkedHashMap<>();
+    parameters.put("verb", "ListRecords");
+    if (resumptionToken != null) {
+      parameters.put("resumptionToken", resumptionToken);
+    } else {
+      parameters.put("metadataPrefix", harvest.getMetadataPrefix());
+      parameters.put("set", harvest.getSetSpec());
+      parameters.put("from", granularity.format(harvest.getFrom()));
+      parameters.put("until", granularity.format(harvest.getUntil()));
+    }
+    return createUri(harvest.getRepositoryUrl(), parameters);
+  }
+
+  private static URI createUri(String repositoryUrl, Map<String, String> parameters) {
+    StringBuilder uri = new StringBuilder(repositoryUrl);
+    char separator = repositoryUrl.contains("?") ? '&' : '?';
+    for (Map.Entry<String, String> parameter : parameters.entrySet()) {
+      if (parameter.getValue() != null) {
+        uri.append(separator).append(parameter.getKey()).append('=')
+           .append(URLEncoder.encode(parameter.getValue(), StandardCharsets.UTF_8));
+        separator = '&';
+      }
+    }
+    return URI.create(uri.toString());
+  }
+
+  private Page readPage(URI pageUri) throws HarvesterException, InterruptedException {
+    return request(pageUri, this::parsePage);
+  }
+
+  private <T> T request(URI uri, ResponseParser<T> parser) throws HarvesterException, InterruptedException {
+    LOGGER.debug("Requesting OAI-PMH repository: {}", uri);
+    HttpRequest request = HttpRequest.newBuilder(uri).timeout(REQUEST_TIMEOUT).GET().build();
+    try {
+      HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+      try (InputStream body = response.body()) {
+        if (response.statusCode() != 200) {
+          throw new HarvesterException(
+              "OAI-PMH repository responded with the status " + response.statusCode() + " for " + uri);
+        }
+        return parser.parse(body);
+      }
+    } catch (IOException | XMLStreamException e) {
+      throw new HarvesterException("Could not read OAI-PMH response " + uri, e);
+    }
+  }
+
+  private Granularity parseGranularity(InputStream body) throws XMLStreamException, HarvesterException {
+    XMLEventReader reader = inputFactory.createXMLEventReader(body);
+    try {
+      while (reader.hasNext()) {
+        XMLEvent event = reader.nextEvent();
+        if (event.isStartElement()) {
+          StartElement element = event.asStartElement();
+          if (GRANULARITY.equals(element.getName())) {
+            return Granularity.parse(reader.getElementText().trim());
+          } else if (ERROR.equals(element.getName())) {
+            handleError(element, reader.getElementText());
+          }
+        }
+      }
+      return null;
+    } finally {
+      reader.close();
+    }
+  }
+
+  private Page parsePage(InputStream body) throws XMLStreamException, HarvesterException {
+    var page = new Page();
+    XMLEventReader reader = inputFactory.createXMLEventReader(body);
+    //Namespaces declared on the envelope elements, which could be used by the content of the records
+    Deque<List<Namespace>> envelopeNamespaces = new ArrayDeque<>();
+    try {
+      while (reader.hasNext()) {
+        XMLEvent event = reader.nextEvent();
+        if (event.isStartElement()) {
+          StartElement element = event.asStartElement();
+          if (RECORD.equals(element.getName())) {
+            page.records.add(readRecord(reader, envelopeNamespaces, element));
+          } else if (RESUMPTION_TOKEN.equals(element.getName())) {
+            String token = reader.getElementText().trim();
+            page.resumptionToken = token.isEmpty() ? null : token;
+          } else if (ERROR.equals(element.getName())) {
+            handleError(element, reader.getElementText());
+          } else {
+            envelopeNamespaces.push(namespacesOf(element));
+          }
+        } else if (event.isEndElement() && !envelopeNamespaces.isEmpty()) {
+          envelopeNamespaces.pop();
+        }
+      }
+    } finally {
+      reader.close();
+    }
+    return page;
+  }
+
+  private HarvestedRecord readRecord(XMLEventReader reader, Deque<List<Namespace>> envelopeNamespaces,
+      StartElement recordElement) throws XMLStreamException {
+    envelopeNamespaces.push(namespacesOf(recordElement));
+    String identifier = null;
+    Instant datestamp = null;
+    boolean deleted = false;
+    byte[] content = null;
+    while (reader.hasNext()) {
+      XMLEvent event = reader.nextEvent();
+      if (event.isEndElement() && RECORD.equals(event.asEndElement().getName())) {
+        break;
+      }
+      if (event.isStartElement()) {
+        StartElement element = event.asStartElement();
+        if (HEADER.equals(element.getName())) {
+          var status = element.getAttributeByName(STATUS);
+          deleted = status != null && "deleted".equals(status.getValue());
+        } else if (IDENTIFIER.equals(element.getName())) {
+          identifier = reader.getElementText().trim();
+        } else if (DATESTAMP.equals(element.getName())) {
+          datestamp = parseDatestamp(reader.getElementText().trim());
+        } else if (METADATA.equals(element.getName())) {
+          envelopeNamespaces.push(namespacesOf(element));
+          content = readContent(reader, envelopeNamespaces);
+          envelopeNamespaces.pop();
+        }
+      }
+    }
+    envelopeNamespaces.pop();
+    return new HarvestedRecord(new OaiRecordHeader(identifier, deleted, datestamp), content);
+  }
+
+  private byte[] readContent(XMLEventReader reader, Deque<List<Namespace>> envelopeNamespaces) throws XMLStreamException {
+    var output = new ByteArrayOutputStream();
+    XMLEventWriter writer = outputFactory.createXMLEventWriter(output, StandardCharsets.UTF_8.name());
+    writer.add(eventFactory.createStartDocument(StandardCharsets.UTF_8.name()));
+    int depth = 0;
+    while (reader.hasNext()) {
+      XMLEvent event = reader.nextEvent();
+      if (event.isStartElement()) {
+        writer.add(depth == 0 ? withEnvelopeNamespaces(event.asStartElement(), envelopeNamespaces) : event);
+        depth++;
+      } else if (event.isEndElement()) {
+        if (depth == 0) {
+          //end of the metadata element
+          break;
+        }
+        writer.add(event);
+        depth--;
+      } else if (depth > 0) {
+        writer.add(event);
+      }
+    }
+    writer.add(eventFactory.createEndDocument());
+    writer.close();
+    return output.toByteArray();
+  }
+
+  private StartElement withEnvelopeNamespaces(StartElement element, Deque<List<Namespace>> envelopeNamespaces) {
+    Map<String, Namespace> namespaces = new LinkedHashMap<>();
+    //Deque iterates from the innermost element, so the closest declaration of the prefix wins
+    for (List<Namespace> declared : envelopeNamespaces) {
+      for (Namespace namespace : declared) {
+        namespaces.putIfAbsent(namespace.getPrefix(), namespace);
+      }
+    }
+    for (Namespace namespace : namespacesOf(element)) {
+      namespaces.put(namespace.getPrefix(), namespace);
+    }
+    return eventFactory.createStartElement(element.getName().getPrefix(), element.getName().getNamespaceURI(),
+        element.getName().getLocalPart(), element.getAttributes(), namespaces.values().iterator());
+  }
+
+  private static List<Namespace> namespacesOf(StartElement element) {
+    List<Namespace> result = new ArrayList<>();
+    Iterator<Namespace> namespaces = element.getNamespaces();
+    namespaces.forEachRemaining(result::add);
+    return result;
+  }
+
+  private static Instant parseDatestamp(String datestamp) {
+    //Repository could use the day granularity
+    return datestamp.length() == 10 ? Instant.parse(datestamp + "T00:00:00Z") : Instant.parse(datestamp);
+  }
+
+  private static void handleError(StartElement element, String message) throws HarvesterException {
+    var code = element.getAttributeByName(CODE);
+    if (code == null || !NO_RECORDS_MATCH_ERROR_CODE.equals(code.getValue())) {
+      throw new HarvesterException("OAI-PMH repository returned the error: "
+          + (code != null ? code.getValue() : "") + " " + message);
+    }
+  }
+
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    return factory;
+  }
+
+  /**
+   * Handles records harvested by the {@link OaiListRecordsHarvester}.
+   */
+  @FunctionalInterface
+  public interface RecordHandler {
+
+    /**
+     * @param header header of the harvested record
+     * @param content content of the record, null for deleted records
+     * @return information if the harvesting should be continued
+     */
+    IterationResult handle(OaiRecordHeader header, byte[] content);
+  }
+
+  @FunctionalInterface
+  private interface ResponseParser<T> {
+
+    T parse(InputStream body) throws XMLStreamException, HarvesterException;
+  }
+
+  /**
+   * Granularity of the dates of the OAI-PMH protocol.
+   */
+  private enum Granularity {
+    DAY,
+    SECONDS;
+
+    private static Granularity parse(String granularity) {
+      if (DAY_GRANULARITY.equals(granularity)) {
+        return DAY;
+      } else if (SECONDS_GRANULARITY.equals(granularity)) {
+        return SECONDS;
+      }
+      return null;
+    }
+
+    private static Granularity of(Instant from, Instant until) {
+      return isMidnight(from) && isMidnight(until) ? DAY : SECONDS;
+    }
+
+    private static boolean isMidnight(Instant date) {
+      return date == null || date.equals(date.truncatedTo(ChronoUnit.DAYS));
+    }
+
+    private String format(Instant date) {
+      if (date == null) {
+        return null;
+      }
+      return this == DAY
+          ? DateTimeFormatter.ISO_LOCAL_DATE.format(date.atOffset(ZoneOffset.UTC))
+          : DateTimeFormatter.ISO_INSTANT.format(date.truncatedTo(ChronoUnit.SECONDS));
+    }
+  }
+
+  private static class Page {
+
+    private final List<HarvestedRecord> records = new ArrayList<>();
+    private String resumptionToken;
+  }
+
+  private static class HarvestedRecord {
+
+    private final OaiRecordHeader header;
+    private final byte[] content;
+
+    HarvestedRecord(OaiRecordHeader header, byte[] content) {
+      this.header = header;
+      this.content = content;
+    }
+  }
+}
@@ -1,13 +1,14 @@
 package eu.europeana.cloud.service.dps.utils;
 
+import eu.europeana.aas.authorization.ExtendedAclService;
 import eu.europeana.cloud.service.aas.authentication.SpringUserUtils;
 import eu.europeana.cloud.service.dps.controller.TopologyTasksResource;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.acls.domain.BasePermission;
 import org.springframework.security.acls.domain.ObjectIdentityImpl;
 import org.springframework.security.acls.domain.PrincipalSid;
 import org.springframework.security.acls.model.MutableAcl;
-import org.springframework.security.acls.model.MutableAclService;
 import org.springframework.security.acls.model.NotFoundException;
 import org.springframework.security.acls.model.ObjectIdentity;
 import org.springframework.stereotype.Service;
@@ -19,7 +20,7 @@ import org.springframework.stereotype.Service;
 public class PermissionManager {
 
   @Autowired
-  private MutableAclService mutableAclService;
+  private ExtendedAclService mutableAclService;
 
   /**
    * Grants permissions to the current user for the specified task.
@@ -29,19 +30,22 @@ public class PermissionManager {
   }
 
   /**
-   * Grants permissions for the specified task to the specified user.
+   * Grants permissions for the specified task to the specified user. ACL of the task, which does not exist yet, is created
+   * together with the permissions in one batch.
    */
   public void grantPermissionsForTask(String taskId, String username) {
-    MutableAcl taskAcl = null;
+    MutableAcl taskAcl;
     ObjectIdentity taskObjectIdentity = new ObjectIdentityImpl(TopologyTasksResource.TASK_PREFIX, taskId);
+    PrincipalSid sid = new PrincipalSid(username);
 
     try {
       taskAcl = (MutableAcl) mutableAclService.readAclById(taskObjectIdentity);
     } catch (NotFoundException e) {
-      taskAcl = mutableAclService.createAcl(taskObjectIdentity);
+      mutableAclService.createAcl(taskObjectIdentity, sid, List.of(BasePermission.WRITE, BasePermission.READ));
+      return;
     }
-    taskAcl.insertAce(taskAcl.getEntries().size(), BasePermission.WRITE, new PrincipalSid(username), true);
-    taskAcl.insertAce(taskAcl.getEntries().size(), BasePermission.READ, new PrincipalSid(username), true);
+    taskAcl.insertAce(taskAcl.getEntries().size(), BasePermission.WRITE, sid, true);
+    taskAcl.insertAce(taskAcl.getEntries().size(), BasePermission.READ, sid, true);
 
     mutableAclService.updateAcl(taskAcl);
   }
@@ -1,6 +1,7 @@
 package eu.europeana.cloud.service.dps.config;
 
 import eu.europeana.aas.authorization.CassandraMutableAclService;
+import eu.europeana.aas.authorization.ExtendedAclService;
 import eu.europeana.aas.authorization.repository.CassandraAclRepository;
 import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
 import eu.europeana.cloud.common.model.Role;
@@ -18,7 +19,6 @@ import org.springframework.security.acls.domain.AclAuthorizationStrategyImpl;
 import org.springframework.security.acls.domain.ConsoleAuditLogger;
 import org.springframework.security.acls.domain.DefaultPermissionFactory;
 import org.springframework.security.acls.domain.DefaultPermissionGrantingStrategy;
-import org.springframework.security.acls.model.MutableAclService;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -32,7 +32,7 @@ public class AuthorizationTestContext {
   }
 
   @Bean
-  public MutableAclService aclService(CassandraAclRepository aclRepository,
+  public ExtendedAclService aclService(CassandraAclRepository aclRepository,
       DefaultPermissionGrantingStrategy permissionGrantingStrategy, AclAuthorizationStrategyImpl authorizationStrategy,
       DefaultPermissionFactory permissionFactory) {
     return new CassandraMutableAclService(
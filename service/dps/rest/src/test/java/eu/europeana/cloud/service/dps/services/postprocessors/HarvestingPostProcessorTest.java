@@ -2,6 +2,7 @@ package eu.europeana.cloud.service.dps.services.postprocessors;
 
 import static eu.europeana.cloud.service.dps.PluginParameterKeys.INCREMENTAL_HARVEST;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
@@ -15,6 +16,7 @@ import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
+import com.google.common.collect.Iterators;
 import eu.europeana.cloud.client.uis.rest.CloudException;
 import eu.europeana.cloud.client.uis.rest.UISClient;
 import eu.europeana.cloud.common.model.CloudId;
@@ -75,6 +77,7 @@ public class HarvestingPostProcessorTest {
 
   private final DpsTask task = new DpsTask();
   private List<HarvestedRecord> allHarvestedRecords;
+  private List<HarvestedRecord> secondBucketHarvestedRecords;
   private final TaskInfo taskInfo = TaskInfo.builder().build();
 
   @Mock
@@ -114,7 +117,9 @@ public class HarvestingPostProcessorTest {
 
   private void mockDAOs() {
     allHarvestedRecords = new ArrayList<>();
-    when(harvestedRecordsDAO.findDatasetRecords(METIS_DATASET_ID)).thenAnswer(invocation -> allHarvestedRecords.iterator());
+    secondBucketHarvestedRecords = new ArrayList<>();
+    when(harvestedRecordsDAO.findDatasetRecordsByBucket(METIS_DATASET_ID)).thenAnswer(
+        invocation -> List.of(allHarvestedRecords.iterator(), secondBucketHarvestedRecords.iterator()));
     when(processedRecordsDAO.selectByPrimaryKey(anyLong(), anyString())).thenReturn(Optional.empty());
   }
 
@@ -220,11 +225,51 @@ public class HarvestingPostProcessorTest {
     verify(taskStatusUpdater).updateState(eq(TASK_ID), eq(TaskState.IN_POST_PROCESSING), anyString());
     verify(taskStatusUpdater).setTaskCompletelyProcessed(eq(TASK_ID), anyString());
     verify(taskStatusUpdater).updateExpectedPostProcessedRecordsNumber(TASK_ID, 2);
-    verify(taskStatusUpdater).updatePostProcessedRecordsCount(TASK_ID, 1);
     verify(taskStatusUpdater).updatePostProcessedRecordsCount(TASK_ID, 2);
     verifyNoMoreInteractions(taskStatusUpdater);
   }
 
+  @Test
+  public void shouldAddOlderRecordsOfAllBucketsAsDeleted() throws MCSException {
+    allHarvestedRecords.add(createHarvestedRecord(OLDER_DATE, RECORD_ID1));
+    secondBucketHarvestedRecords.add(createHarvestedRecord(OLDER_DATE, RECORD_ID2));
+
+    service.execute(taskInfo, task);
+
+    verify(revisionServiceClient).addRevision(CLOUD_ID1, REPRESENTATION_NAME, VERSION, RESULT_REVISION);
+    verify(revisionServiceClient).addRevision(CLOUD_ID2, REPRESENTATION_NAME, VERSION, RESULT_REVISION);
+    verify(processedRecordsDAO, times(2)).insert(any());
+    verify(taskStatusUpdater).updateExpectedPostProcessedRecordsNumber(TASK_ID, 2);
+    verify(taskStatusUpdater).updatePostProcessedRecordsCount(TASK_ID, 2);
+    verify(taskStatusUpdater).setTaskCompletelyProcessed(eq(TASK_ID), anyString());
+  }
+
+  @Test
+  public void shouldNotMarkTaskAsProcessedWhenRecordOfAnyBucketFails() throws CloudException {
+    allHarvestedRecords.add(createHarvestedRecord(OLDER_DATE, RECORD_ID1));
+    secondBucketHarvestedRecords.add(createHarvestedRecord(OLDER_DATE, RECORD_ID2));
+    when(uisClient.getCloudId(PROVIDER_ID, RECORD_ID2)).thenThrow(new CloudException("UIS failure", null));
+
+    assertThrows(PostProcessingException.class, () -> service.execute(taskInfo, task));
+
+    verify(taskStatusUpdater, never()).setTaskCompletelyProcessed(anyLong(), anyString());
+  }
+
+  @Test(timeout = 10000)
+  public void shouldStopOtherBucketsAsSoonAsAnyBucketFails() throws CloudException {
+    HarvestedRecord alreadyProcessedRecord = createHarvestedRecord(OLDER_DATE, RECORD_ID1);
+    //the first bucket would never end, unless it is stopped
+    when(harvestedRecordsDAO.findDatasetRecordsByBucket(METIS_DATASET_ID)).thenReturn(
+        List.of(Iterators.cycle(alreadyProcessedRecord), List.of(createHarvestedRecord(OLDER_DATE, RECORD_ID2)).iterator()));
+    when(processedRecordsDAO.selectByPrimaryKey(TASK_ID, RECORD_ID1)).thenReturn(
+        Optional.of(ProcessedRecord.builder().taskId(TASK_ID).recordId(RECORD_ID1).state(RecordState.SUCCESS).build()));
+    when(uisClient.getCloudId(PROVIDER_ID, RECORD_ID2)).thenThrow(new CloudException("UIS failure", null));
+
+    assertThrows(PostProcessingException.class, () -> service.execute(taskInfo, task));
+
+    verify(taskStatusUpdater, never()).setTaskCompletelyProcessed(anyLong(), anyString());
+  }
+
   @Test
   public void shouldNotAddRecordThatNotBelongsToCurrentHarvest() throws MCSException {
     allHarvestedRecords.add(createHarvestedRecord(HARVEST_DATE, RECORD_ID1));
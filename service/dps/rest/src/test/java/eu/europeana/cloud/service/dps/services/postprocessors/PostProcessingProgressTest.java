@@ -0,0 +1,67 @@
+package eu.europeana.cloud.service.dps.services.postprocessors;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+import eu.europeana.cloud.service.dps.storm.utils.TaskStatusUpdater;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class PostProcessingProgressTest {
+
+  private static final long TASK_ID = 1000;
+
+  @Mock
+  private TaskStatusUpdater taskStatusUpdater;
+
+  private PostProcessingProgress progress;
+
+  @Before
+  public void setup() {
+    progress = new PostProcessingProgress(TASK_ID, taskStatusUpdater, 3);
+  }
+
+  @Test
+  public void shouldNotSaveProgressBeforeCheckpoint() {
+    progress.recordPostProcessed();
+    progress.recordFound();
+    progress.recordFound();
+
+    verifyNoInteractions(taskStatusUpdater);
+  }
+
+  @Test
+  public void shouldSaveProgressOnCheckpoint() {
+    progress.recordPostProcessed();
+    progress.recordFound();
+    progress.recordFound();
+    progress.recordFound();
+
+    verify(taskStatusUpdater).updateExpectedPostProcessedRecordsNumber(TASK_ID, 3);
+    verify(taskStatusUpdater).updatePostProcessedRecordsCount(TASK_ID, 1);
+  }
+
+  @Test
+  public void shouldSaveOnlyCountersChangedSinceLastSave() {
+    progress.recordFound();
+    progress.recordFound();
+    progress.recordFound();
+    progress.save();
+
+    verify(taskStatusUpdater).updateExpectedPostProcessedRecordsNumber(TASK_ID, 3);
+    verifyNoMoreInteractions(taskStatusUpdater);
+  }
+
+  @Test
+  public void shouldSaveExpectedNumberWhenNoRecordWasFound() {
+    progress.save();
+
+    verify(taskStatusUpdater).updateExpectedPostProcessedRecordsNumber(TASK_ID, 0);
+    verifyNoMoreInteractions(taskStatusUpdater);
+  }
+}
@@ -0,0 +1,180 @@
+package eu.europeana.cloud.service.dps.services.submitters;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.europeana.cloud.common.model.dps.TaskInfo;
+import eu.europeana.cloud.common.model.dps.TaskState;
+import eu.europeana.cloud.service.dps.DpsRecord;
+import eu.europeana.cloud.service.dps.DpsTask;
+import eu.europeana.cloud.service.dps.InputDataType;
+import eu.europeana.cloud.service.dps.http.FileURLCreator;
+import eu.europeana.cloud.service.dps.storm.utils.SubmitTaskParameters;
+import eu.europeana.cloud.service.dps.storm.utils.TaskStatusChecker;
+import eu.europeana.cloud.service.dps.storm.utils.TaskStatusUpdater;
+import eu.europeana.cloud.service.dps.storm.utils.TopologiesNames;
+import eu.europeana.cloud.service.dps.utils.HttpArchiveHarvester;
+import eu.europeana.cloud.service.dps.utils.HttpArchiveHarvester.FileHandler;
+import eu.europeana.cloud.service.dps.utils.KafkaTopicSelector;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HttpTopologyTaskSubmitterTest {
+
+  private static final long TASK_ID = 10;
+  private static final String TOPIC_NAME = "http_topic";
+  private static final String ARCHIVE_URL = "http://127.0.0.1/archive.zip";
+  private static final String MACHINE_LOCATION = "http://127.0.0.1";
+
+  @Rule
+  public TemporaryFolder harvestingTasksDir = new TemporaryFolder();
+
+  @Mock
+  private TaskStatusUpdater taskStatusUpdater;
+  @Mock
+  private RecordSubmitService recordSubmitService;
+  @Mock
+  private KafkaTopicSelector kafkaTopicSelector;
+  @Mock
+  private TaskStatusChecker taskStatusChecker;
+  @Mock
+  private HttpArchiveHarvester archiveHarvester;
+
+  @Captor
+  private ArgumentCaptor<DpsRecord> recordCaptor;
+
+  private HttpTopologyTaskSubmitter submitter;
+  private SubmitTaskParameters parameters;
+  private Path taskDirectory;
+
+  @Before
+  public void init() {
+    String tasksDir = harvestingTasksDir.getRoot().getAbsolutePath();
+    var fileURLCreator = new FileURLCreator(MACHINE_LOCATION);
+    ReflectionTestUtils.setField(fileURLCreator, "harvestingTasksDir", tasksDir);
+    submitter = spy(new HttpTopologyTaskSubmitter(taskStatusUpdater, recordSubmitService, kafkaTopicSelector,
+        taskStatusChecker, fileURLCreator));
+    ReflectionTestUtils.setField(submitter, "harvestingTasksDir", tasksDir);
+    doReturn(archiveHarvester).when(submitter).createArchiveHarvester();
+    when(kafkaTopicSelector.findPreferredTopicNameFor(TopologiesNames.HTTP_TOPOLOGY)).thenReturn(TOPIC_NAME);
+
+    var task = new DpsTask();
+    task.setTaskId(TASK_ID);
+    task.addDataEntry(InputDataType.REPOSITORY_URLS, List.of(ARCHIVE_URL));
+    parameters = SubmitTaskParameters.builder().task(task).taskInfo(TaskInfo.builder().build()).build();
+    taskDirectory = harvestingTasksDir.getRoot().toPath().resolve("task_" + TASK_ID);
+  }
+
+  @Test
+  public void shouldSendSmallFileInMessageWithoutStoringIt() throws Exception {
+    byte[] content = "<rdf:RDF/>".getBytes(StandardCharsets.UTF_8);
+    mockArchive(Map.of("records/record.xml", content));
+    when(recordSubmitService.submitRecord(any(), eq(parameters))).thenReturn(true);
+
+    submitter.submitTask(parameters);
+
+    verify(recordSubmitService).submitRecord(recordCaptor.capture(), eq(parameters));
+    DpsRecord dpsRecord = recordCaptor.getValue();
+    assertEquals(MACHINE_LOCATION + "/http_harvest/task_" + TASK_ID + "/records/record.xml", dpsRecord.getRecordId());
+    assertArrayEquals(content, dpsRecord.getContent());
+    assertFalse(Files.exists(taskDirectory.resolve("records/record.xml")));
+    verify(taskStatusUpdater).updateStatusExpectedSize(TASK_ID, TaskState.QUEUED, 1);
+  }
+
+  @Test
+  public void shouldStoreFileTooBigForMessageToBeDownloadedByTopology() throws Exception {
+    byte[] content = new byte[RecordSubmitService.MAX_CONTENT_SIZE_IN_MESSAGE + 1];
+    Arrays.fill(content, (byte) 'a');
+    mockArchive(Map.of("big.xml", content));
+    when(recordSubmitService.submitRecord(any(), eq(parameters))).thenReturn(true);
+
+    submitter.submitTask(parameters);
+
+    verify(recordSubmitService).submitRecord(recordCaptor.capture(), eq(parameters));
+    DpsRecord dpsRecord = recordCaptor.getValue();
+    assertEquals(MACHINE_LOCATION + "/http_harvest/task_" + TASK_ID + "/big.xml", dpsRecord.getRecordId());
+    assertNull(dpsRecord.getContent());
+    assertArrayEquals(content, Files.readAllBytes(taskDirectory.resolve("big.xml")));
+    verify(taskStatusUpdater).updateStatusExpectedSize(TASK_ID, TaskState.QUEUED, 1);
+  }
+
+  @Test
+  public void shouldDeleteStoredFileWhenItsRecordCouldNotBeSubmitted() throws Exception {
+    byte[] content = new byte[RecordSubmitService.MAX_CONTENT_SIZE_IN_MESSAGE + 1];
+    mockArchive(Map.of("big.xml", content));
+    when(recordSubmitService.submitRecord(any(), eq(parameters))).thenThrow(new IllegalStateException("Kafka is down"));
+
+    assertThrows(IllegalStateException.class, () -> submitter.submitTask(parameters));
+
+    assertFalse(Files.exists(taskDirectory.resolve("big.xml")));
+  }
+
+  @Test
+  public void shouldSkipFilesPlacedOutsideOfTheArchive() throws Exception {
+    byte[] content = new byte[RecordSubmitService.MAX_CONTENT_SIZE_IN_MESSAGE + 1];
+    Map<String, byte[]> files = new LinkedHashMap<>();
+    files.put("../../outside.xml", content);
+    files.put("inside/../../task_" + (TASK_ID + 1) + "/other_task.xml", content);
+    files.put("record.xml", "<rdf:RDF/>".getBytes(StandardCharsets.UTF_8));
+    mockArchive(files);
+    when(recordSubmitService.submitRecord(any(), eq(parameters))).thenReturn(true);
+
+    submitter.submitTask(parameters);
+
+    verify(recordSubmitService, times(1)).submitRecord(recordCaptor.capture(), eq(parameters));
+    assertEquals(MACHINE_LOCATION + "/http_harvest/task_" + TASK_ID + "/record.xml", recordCaptor.getValue().getRecordId());
+    assertFalse(Files.exists(harvestingTasksDir.getRoot().toPath().resolve("../outside.xml").normalize()));
+    assertFalse(Files.exists(harvestingTasksDir.getRoot().toPath().resolve("task_" + (TASK_ID + 1))));
+    verify(taskStatusUpdater).updateStatusExpectedSize(TASK_ID, TaskState.QUEUED, 1);
+  }
+
+  @Test
+  public void shouldDropTaskWithoutAnyFileInTheArchive() throws Exception {
+    mockArchive(Map.of());
+
+    submitter.submitTask(parameters);
+
+    verify(taskStatusUpdater).setTaskDropped(TASK_ID, "The task doesn't include any records");
+    assertTrue(Files.notExists(taskDirectory));
+  }
+
+  private void mockArchive(Map<String, byte[]> files) throws Exception {
+    doAnswer(invocation -> {
+      FileHandler handler = invocation.getArgument(1);
+      for (Entry<String, byte[]> file : files.entrySet()) {
+        handler.handle(file.getKey(), new ByteArrayInputStream(file.getValue()));
+      }
+      return null;
+    }).when(archiveHarvester).harvestFiles(eq(ARCHIVE_URL), any());
+  }
+}
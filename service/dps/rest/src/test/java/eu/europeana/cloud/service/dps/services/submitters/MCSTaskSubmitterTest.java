@@ -11,7 +11,6 @@ import static org.mockito.Mockito.isNull;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static org.powermock.api.mockito.PowerMockito.doThrow;
 import static org.powermock.api.mockito.PowerMockito.when;
 import static org.powermock.api.mockito.PowerMockito.whenNew;
 
@@ -20,12 +19,11 @@ import eu.europeana.cloud.common.model.Representation;
 import eu.europeana.cloud.common.model.Revision;
 import eu.europeana.cloud.common.model.dps.TaskInfo;
 import eu.europeana.cloud.common.model.dps.TaskState;
-import eu.europeana.cloud.common.response.CloudTagsResponse;
 import eu.europeana.cloud.common.response.ResultSlice;
+import eu.europeana.cloud.mcs.driver.DataSetExportIterator;
 import eu.europeana.cloud.mcs.driver.DataSetServiceClient;
 import eu.europeana.cloud.mcs.driver.FileServiceClient;
 import eu.europeana.cloud.mcs.driver.RecordServiceClient;
-import eu.europeana.cloud.mcs.driver.RepresentationIterator;
 import eu.europeana.cloud.service.commons.utils.DateHelper;
 import eu.europeana.cloud.service.dps.DpsRecord;
 import eu.europeana.cloud.service.dps.DpsTask;
@@ -44,6 +42,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -115,7 +114,6 @@ public class MCSTaskSubmitterTest {
       false,
       FILE_CREATION_DATE_1);
   private static final String FILE_URL_2 = "http://localhost:8080/mcs/records/YI3S73BZBO2ZPINWZ62RBLAJSATKUG3O2YF4UWYC23BM6CDVBTMA/representations/mcsReaderRepresentation/versions/ec64af50-7354-11ea-b16e-04922659f621/files/0b936b8f-1e43-47ca-986b-7d2cce366c33";
-  private static final String CLOUD_ID2 = "Z5T3UYERNLKRLLII5EW42NNCCPPTVQV2MKNDF4VL7UBKBVI2JHRA";
 
 
   private static final String FILE_URL_3 = "http://localhost:8080/mcs/records/YGF5ZH7GCHRSMJPVQKXOYULUCVJATJ3FOZE2KWV7MXYNZEITSJ5Q/representations/mcsReaderRepresentation/versions/ebe93dc0-7354-11ea-b16e-04922659f621/files/8a9db572-5217-486f-9a96-6dd3c4f149dd";
@@ -146,20 +144,18 @@ public class MCSTaskSubmitterTest {
   private final DpsTask task = new DpsTask();
 
   @Mock
-  private RepresentationIterator representationIterator;
+  private DataSetExportIterator representationIterator;
 
   @Mock
-  private ResultSlice<CloudTagsResponse> cloudTagsResponseResultSlice;
+  private ResultSlice<Representation> representationsChunk;
 
-  private final List<CloudTagsResponse> cloudTagsResponse = new ArrayList<>();
-
-  @Mock
-  private ResultSlice<CloudTagsResponse> dataChunk;
+  private final List<Representation> representations = new ArrayList<>();
 
   @Captor
   private ArgumentCaptor<DpsRecord> recordCaptor;
 
-  private final List<CloudTagsResponse> dataList = new ArrayList<>();
+  @Captor
+  private ArgumentCaptor<Integer> limitCaptor;
 
   private SubmitTaskParameters submitParameters;
 
@@ -180,6 +176,8 @@ public class MCSTaskSubmitterTest {
                                                              .build())
                                            .topicName(TOPIC).build();
 
+    when(recordKafkaSubmitService.submitRecordAsync(any(DpsRecord.class), anyString())).thenReturn(
+        CompletableFuture.completedFuture(null));
     //used in most tests
     when(fileServiceClient.getFileUri(eq(CLOUD_ID1), eq(REPRESENTATION_NAME), eq(VERSION_1), eq(FILE_NAME_1))).thenReturn(
         FILE_URI_1);
@@ -192,7 +190,7 @@ public class MCSTaskSubmitterTest {
 
     submitter.execute(submitParameters);
 
-    verify(recordKafkaSubmitService, never()).submitRecord(any(DpsRecord.class), anyString());
+    verify(recordKafkaSubmitService, never()).submitRecordAsync(any(DpsRecord.class), anyString());
   }
 
   @Test
@@ -207,8 +205,8 @@ public class MCSTaskSubmitterTest {
   @Test
   public void executeMcsBasedTask_errorInExecution_verifyTaskDropped() throws InterruptedException {
     task.addDataEntry(InputDataType.FILE_URLS, Collections.singletonList(FILE_URL_1));
-    doThrow(new RuntimeException("Error in task execution")).when(recordKafkaSubmitService)
-                                                            .submitRecord(any(DpsRecord.class), anyString());
+    when(recordKafkaSubmitService.submitRecordAsync(any(DpsRecord.class), anyString())).thenReturn(
+        CompletableFuture.failedFuture(new RuntimeException("Error in sending record")));
 
     submitter.execute(submitParameters);
 
@@ -250,7 +248,7 @@ public class MCSTaskSubmitterTest {
   @Test
   public void executeMcsBasedTask_oneDatasetWithOneFile() throws InterruptedException {
     task.addDataEntry(InputDataType.DATASET_URLS, Collections.singletonList(DATASET_URL_1));
-    when(dataSetServiceClient.getRepresentationIterator(eq(DATASET_PROVIDER_1), eq(DATASET_ID_1))).thenReturn(
+    when(dataSetServiceClient.getDataSetExportIterator(eq(DATASET_PROVIDER_1), eq(DATASET_ID_1))).thenReturn(
         representationIterator);
     when(representationIterator.hasNext()).thenReturn(true, false);
     when(representationIterator.next()).thenReturn(REPRESENTATION_1);
@@ -263,7 +261,7 @@ public class MCSTaskSubmitterTest {
   @Test
   public void executeMcsBasedTask_oneDatasetWithThreeFiles() throws InterruptedException {
     task.addDataEntry(InputDataType.DATASET_URLS, Collections.singletonList(DATASET_URL_1));
-    when(dataSetServiceClient.getRepresentationIterator(eq(DATASET_PROVIDER_1), eq(DATASET_ID_1))).thenReturn(
+    when(dataSetServiceClient.getDataSetExportIterator(eq(DATASET_PROVIDER_1), eq(DATASET_ID_1))).thenReturn(
         representationIterator);
     when(representationIterator.hasNext()).thenReturn(true, true, true, false);
     when(representationIterator.next()).thenReturn(REPRESENTATION_1);
@@ -271,6 +269,7 @@ public class MCSTaskSubmitterTest {
     submitter.execute(submitParameters);
 
     verifyValidTaskSent(FILE_URL_1, FILE_URL_1, FILE_URL_1);
+    verify(dataSetServiceClient, never()).getDataSetRevisionRepresentationsChunk(any(), any(), any(), any(), any(), any());
   }
 
   @Test
@@ -281,22 +280,16 @@ public class MCSTaskSubmitterTest {
     task.addParameter(PluginParameterKeys.REVISION_TIMESTAMP, FILE_CREATION_DATE_STRING_1);
     task.addParameter(PluginParameterKeys.REPRESENTATION_NAME, REPRESENTATION_NAME);
 
-    when(dataSetServiceClient.getDataSetRevisionsChunk(
+    when(dataSetServiceClient.getDataSetRevisionRepresentationsChunk(
         eq(DATASET_PROVIDER_1),
         eq(DATASET_ID_1),
         eq(REPRESENTATION_NAME),
-        eq(new Revision(REVISION_NAME, REVISION_PROVIDER_1, DateHelper.parseISODate(FILE_CREATION_DATE_STRING_1))), isNull(),
+        eq(new Revision(REVISION_NAME, REVISION_PROVIDER_1, DateHelper.parseISODate(FILE_CREATION_DATE_STRING_1))),
+        isNull(),
         isNull()
-    )).thenReturn(cloudTagsResponseResultSlice);
-
-    when(cloudTagsResponseResultSlice.getResults()).thenReturn(cloudTagsResponse);
-    cloudTagsResponse.add(new CloudTagsResponse(CLOUD_ID1, false));
-
-    when(recordServiceClient.getRepresentationsByRevision(
-        eq(CLOUD_ID1),
-        eq(REPRESENTATION_NAME),
-        eq(new Revision(REVISION_NAME, REVISION_PROVIDER_1, DateHelper.parseISODate(FILE_CREATION_DATE_STRING_1)))
-    )).thenReturn(Collections.singletonList(REPRESENTATION_1));
+    )).thenReturn(representationsChunk);
+    when(representationsChunk.getResults()).thenReturn(representations);
+    representations.add(REPRESENTATION_1);
 
     submitter.execute(submitParameters);
 
@@ -306,7 +299,7 @@ public class MCSTaskSubmitterTest {
   @Test
   public void executeMcsBasedTask_lastRevisionsForTwoObject_verifyTwoRecordsSentToKafka()
       throws MCSException, InterruptedException {
-    prepareInvocationForLastRevisionOfTwoObjects();
+    prepareInvocationForLastRevisionOfTwoObjects(null);
 
     submitter.execute(submitParameters);
 
@@ -316,7 +309,7 @@ public class MCSTaskSubmitterTest {
   @Test
   public void executeMcsBasedTask_lastRevisionsForTwoObjectAndLimitTo1_verifyOnlyOneRecordSentToKafka()
       throws MCSException, InterruptedException {
-    prepareInvocationForLastRevisionOfTwoObjects();
+    prepareInvocationForLastRevisionOfTwoObjects(1);
     task.addParameter(PluginParameterKeys.SAMPLE_SIZE, "1");
 
     submitter.execute(submitParameters);
@@ -332,6 +325,7 @@ public class MCSTaskSubmitterTest {
     submitter.execute(submitParameters);
 
     verifyValidTaskSent(FILE_URL_1, FILE_URL_1, FILE_URL_1);
+    verifyRevisionChunksRequestedWithLimits(null, null, null);
   }
 
   @Test
@@ -343,6 +337,7 @@ public class MCSTaskSubmitterTest {
     submitter.execute(submitParameters);
 
     verifyValidTaskSent(FILE_URL_1, FILE_URL_1);
+    verifyRevisionChunksRequestedWithLimits(2, 1);
   }
 
   @Test
@@ -352,21 +347,16 @@ public class MCSTaskSubmitterTest {
     task.addParameter(PluginParameterKeys.REVISION_PROVIDER, REVISION_PROVIDER_1);
     task.addParameter(PluginParameterKeys.REVISION_TIMESTAMP, FILE_CREATION_DATE_STRING_1);
     task.addParameter(PluginParameterKeys.REPRESENTATION_NAME, REPRESENTATION_NAME);
-    when(dataSetServiceClient.getDataSetRevisionsChunk(
+    when(dataSetServiceClient.getDataSetRevisionRepresentationsChunk(
         eq(DATASET_PROVIDER_1),
         eq(DATASET_ID_1),
         eq(REPRESENTATION_NAME),
         eq(new Revision(REVISION_NAME, REVISION_PROVIDER_1, DateHelper.parseISODate(FILE_CREATION_DATE_STRING_1))),
         isNull(),
         isNull()
-    )).thenReturn(dataChunk);
-    when(dataChunk.getResults()).thenReturn(dataList);
-    dataList.add(new CloudTagsResponse(CLOUD_ID1, false));
-    when(recordServiceClient.getRepresentationsByRevision(
-        eq(CLOUD_ID1),
-        eq(REPRESENTATION_NAME),
-        eq(new Revision(REVISION_NAME, REVISION_PROVIDER_1, DateHelper.parseISODate(FILE_CREATION_DATE_STRING_1)))
-    )).thenReturn(Collections.singletonList(REPRESENTATION_1));
+    )).thenReturn(representationsChunk);
+    when(representationsChunk.getResults()).thenReturn(representations);
+    representations.add(REPRESENTATION_1);
 
     submitter.execute(submitParameters);
 
@@ -380,21 +370,16 @@ public class MCSTaskSubmitterTest {
     task.addParameter(PluginParameterKeys.REVISION_PROVIDER, REVISION_PROVIDER_1);
     task.addParameter(PluginParameterKeys.REVISION_TIMESTAMP, FILE_CREATION_DATE_STRING_1);
     task.addParameter(PluginParameterKeys.REPRESENTATION_NAME, REPRESENTATION_NAME);
-    when(dataSetServiceClient.getDataSetRevisionsChunk(
+    when(dataSetServiceClient.getDataSetRevisionRepresentationsChunk(
         eq(DATASET_PROVIDER_1),
         eq(DATASET_ID_1),
         eq(REPRESENTATION_NAME),
         eq(new Revision(REVISION_NAME, REVISION_PROVIDER_1, DateHelper.parseISODate(FILE_CREATION_DATE_STRING_1))),
         isNull(),
         isNull()
-    )).thenReturn(dataChunk);
-    when(dataChunk.getResults()).thenReturn(dataList);
-    dataList.add(new CloudTagsResponse(CLOUD_ID1, true));
-    when(recordServiceClient.getRepresentationsByRevision(
-        eq(CLOUD_ID1),
-        eq(REPRESENTATION_NAME),
-        eq(new Revision(REVISION_NAME, REVISION_PROVIDER_1, DateHelper.parseISODate(FILE_CREATION_DATE_STRING_1)))
-    )).thenReturn(Collections.singletonList(DELETED_REPRESENTATION));
+    )).thenReturn(representationsChunk);
+    when(representationsChunk.getResults()).thenReturn(representations);
+    representations.add(DELETED_REPRESENTATION);
 
     submitter.execute(submitParameters);
 
@@ -402,36 +387,23 @@ public class MCSTaskSubmitterTest {
     assertTrue(recordCaptor.getValue().isMarkedAsDeleted());
   }
 
-  private void prepareInvocationForLastRevisionOfTwoObjects() throws MCSException {
+  private void prepareInvocationForLastRevisionOfTwoObjects(Integer expectedLimit) throws MCSException {
     task.addDataEntry(InputDataType.DATASET_URLS, Collections.singletonList(DATASET_URL_1));
     task.addParameter(PluginParameterKeys.REVISION_NAME, REVISION_NAME);
     task.addParameter(PluginParameterKeys.REVISION_PROVIDER, REVISION_PROVIDER_1);
     task.addParameter(PluginParameterKeys.REVISION_TIMESTAMP, FILE_CREATION_DATE_STRING_1);
     task.addParameter(PluginParameterKeys.REPRESENTATION_NAME, REPRESENTATION_NAME);
-    when(dataSetServiceClient.getDataSetRevisionsChunk(
+    when(dataSetServiceClient.getDataSetRevisionRepresentationsChunk(
         eq(DATASET_PROVIDER_1),
         eq(DATASET_ID_1),
         eq(REPRESENTATION_NAME),
         eq(new Revision(REVISION_NAME, REVISION_PROVIDER_1, DateHelper.parseISODate(FILE_CREATION_DATE_STRING_1))),
         isNull(),
-        isNull()
-    )).thenReturn(cloudTagsResponseResultSlice);
-
-    when(cloudTagsResponseResultSlice.getResults()).thenReturn(cloudTagsResponse);
-    cloudTagsResponse.add(new CloudTagsResponse(CLOUD_ID1, false));
-    cloudTagsResponse.add(new CloudTagsResponse(CLOUD_ID2, false));
-
-    when(recordServiceClient.getRepresentationsByRevision(
-        eq(CLOUD_ID1),
-        eq(REPRESENTATION_NAME),
-        eq(new Revision(REVISION_NAME, REVISION_PROVIDER_1, DateHelper.parseISODate(FILE_CREATION_DATE_STRING_1)))
-    )).thenReturn(Collections.singletonList(REPRESENTATION_1));
-
-    when(recordServiceClient.getRepresentationsByRevision(
-        eq(CLOUD_ID2),
-        eq(REPRESENTATION_NAME),
-        eq(new Revision(REVISION_NAME, REVISION_PROVIDER_1, DateHelper.parseISODate(FILE_CREATION_DATE_STRING_1)))
-    )).thenReturn(Collections.singletonList(REPRESENTATION_1));
+        expectedLimit != null ? eq(expectedLimit) : isNull()
+    )).thenReturn(representationsChunk);
+    when(representationsChunk.getResults()).thenReturn(representations);
+    representations.add(REPRESENTATION_1);
+    representations.add(REPRESENTATION_1);
   }
 
   private void prepareInvocationForLastRevisionForThreeObjectsInThreeChunks() throws MCSException {
@@ -440,22 +412,23 @@ public class MCSTaskSubmitterTest {
     task.addParameter(PluginParameterKeys.REVISION_PROVIDER, REVISION_PROVIDER_1);
     task.addParameter(PluginParameterKeys.REPRESENTATION_NAME, REPRESENTATION_NAME);
     task.addParameter(PluginParameterKeys.REVISION_TIMESTAMP, FILE_CREATION_DATE_STRING_1);
-    when(dataSetServiceClient.getDataSetRevisionsChunk(
+    when(dataSetServiceClient.getDataSetRevisionRepresentationsChunk(
         eq(DATASET_PROVIDER_1),
         eq(DATASET_ID_1),
         eq(REPRESENTATION_NAME),
         eq(new Revision(REVISION_NAME, REVISION_PROVIDER_1, DateHelper.parseISODate(FILE_CREATION_DATE_STRING_1))),
         any(),
-        eq(null))).thenReturn(cloudTagsResponseResultSlice);
-    when(cloudTagsResponseResultSlice.getResults()).thenReturn(cloudTagsResponse);
-    when(cloudTagsResponseResultSlice.getNextSlice()).thenReturn(EXAMPLE_DATE, EXAMPLE_DATE, null);
-    cloudTagsResponse.add(new CloudTagsResponse(CLOUD_ID1, false));
+        any()
+    )).thenReturn(representationsChunk);
+    when(representationsChunk.getResults()).thenReturn(representations);
+    when(representationsChunk.getNextSlice()).thenReturn(EXAMPLE_DATE, EXAMPLE_DATE, null);
+    representations.add(REPRESENTATION_1);
+  }
 
-    when(recordServiceClient.getRepresentationsByRevision(
-        eq(CLOUD_ID1),
-        eq(REPRESENTATION_NAME),
-        eq(new Revision(REVISION_NAME, REVISION_PROVIDER_1, DateHelper.parseISODate(FILE_CREATION_DATE_STRING_1)))
-    )).thenReturn(Collections.singletonList(REPRESENTATION_1));
+  private void verifyRevisionChunksRequestedWithLimits(Integer... limits) throws MCSException {
+    verify(dataSetServiceClient, times(limits.length)).getDataSetRevisionRepresentationsChunk(
+        any(), any(), any(), any(), any(), limitCaptor.capture());
+    assertEquals(Arrays.asList(limits), limitCaptor.getAllValues());
   }
 
   private void verifyValidTaskSent(String... fileUrls) {
@@ -464,7 +437,7 @@ public class MCSTaskSubmitterTest {
   }
 
   private void verifyValidRecordsSentToKafka(String[] fileUrls) {
-    verify(recordKafkaSubmitService, times(fileUrls.length)).submitRecord(recordCaptor.capture(), anyString());
+    verify(recordKafkaSubmitService, times(fileUrls.length)).submitRecordAsync(recordCaptor.capture(), anyString());
     for (int i = 0; i < fileUrls.length; i++) {
       DpsRecord record = recordCaptor.getAllValues().get(i);
       assertEquals(fileUrls[i], record.getRecordId());
@@ -19,6 +19,7 @@ import eu.europeana.cloud.service.dps.storm.dao.ProcessedRecordsDAO;
 import eu.europeana.cloud.service.dps.storm.utils.SubmitTaskParameters;
 import java.util.Date;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
@@ -133,5 +134,48 @@ public class RecordSubmitServiceTest {
     assertFalse(result);
   }
 
+  @Test
+  public void shouldSaveRecordSubmittedThroughWindowOnlyAfterItWasSent() {
+    CompletableFuture<Void> sending = new CompletableFuture<>();
+    when(kafkaSubmitService.submitRecordAsync(record, TOPIC)).thenReturn(sending);
+
+    var window = service.openSubmissionWindow(parameters, 10);
+    boolean result = window.submitRecord(record);
+
+    assertTrue(result);
+    verify(processedRecordsDAO, never()).insert(anyLong(), anyString(), anyInt(), anyString(),
+        anyString(), anyString(), anyString(), anyString());
+    sending.complete(null);
+    window.close();
+    verify(processedRecordsDAO).insert(anyLong(), anyString(), eq(0), anyString(),
+        anyString(), eq(RecordState.QUEUED.toString()), anyString(), anyString());
+    verify(kafkaSubmitService, never()).submitRecord(record, TOPIC);
+  }
+
+  @Test
+  public void shouldSendAgainSynchronouslyRecordWhichFailedToBeSentThroughWindow() {
+    when(kafkaSubmitService.submitRecordAsync(record, TOPIC)).thenReturn(
+        CompletableFuture.failedFuture(new RuntimeException("Could not send")));
+
+    try (var window = service.openSubmissionWindow(parameters, 10)) {
+      window.submitRecord(record);
+    }
+
+    verify(kafkaSubmitService).submitRecord(record, TOPIC);
+    verify(processedRecordsDAO).insert(anyLong(), anyString(), eq(0), anyString(),
+        anyString(), eq(RecordState.QUEUED.toString()), anyString(), anyString());
+  }
+
+  @Test
+  public void shouldOmitRecordDuplicatedInWindowBeforeItWasSent() {
+    when(kafkaSubmitService.submitRecordAsync(record, TOPIC)).thenReturn(new CompletableFuture<>());
+
+    var window = service.openSubmissionWindow(parameters, 10);
+    window.submitRecord(record);
+    boolean result = window.submitRecord(record);
+
+    assertFalse(result);
+    verify(kafkaSubmitService).submitRecordAsync(record, TOPIC);
+  }
 
-}
\ No newline at end of file
+}
@@ -31,6 +31,7 @@ import eu.europeana.metis.harvesting.ReportingIteration;
 import eu.europeana.metis.harvesting.oaipmh.OaiHarvest;
 import eu.europeana.metis.harvesting.oaipmh.OaiHarvester;
 import eu.europeana.metis.harvesting.oaipmh.OaiRecordHeader;
+import java.nio.charset.StandardCharsets;
 import java.time.Instant;
 import java.util.Arrays;
 import java.util.List;
@@ -132,6 +133,27 @@ public class HarvestsExecutorTest {
     verify(recordSubmitService, never()).submitRecord(any(), any());
   }
 
+  @Test
+  public void shouldPassDatestampOfTheRecordSentInTheMessage() {
+    byte[] content = "<rdf:RDF/>".getBytes(StandardCharsets.UTF_8);
+
+    DpsRecord dpsRecord = executor.convertToDpsRecord(new OaiRecordHeader(OAI_ID_1, false, DATE_AFTER_FULL), content,
+        harvest, task);
+
+    Assert.assertArrayEquals(content, dpsRecord.getContent());
+    Assert.assertEquals("1970-01-01T00:00:02Z", dpsRecord.getRecordDatestamp());
+  }
+
+  @Test
+  public void shouldSendRecordWithoutDatestampInTheMessage() {
+    byte[] content = "<rdf:RDF/>".getBytes(StandardCharsets.UTF_8);
+
+    DpsRecord dpsRecord = executor.convertToDpsRecord(new OaiRecordHeader(OAI_ID_1, false, null), content, harvest, task);
+
+    Assert.assertArrayEquals(content, dpsRecord.getContent());
+    Assert.assertNull(dpsRecord.getRecordDatestamp());
+  }
+
   private void createNewTask() {
     task = new DpsTask();
     task.addParameter(PluginParameterKeys.OUTPUT_DATA_SETS, DATASET_URL);
@@ -0,0 +1,201 @@
+package eu.europeana.cloud.service.dps.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import eu.europeana.metis.harvesting.HarvesterException;
+import eu.europeana.metis.harvesting.ReportingIteration.IterationResult;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class HttpArchiveHarvesterTest {
+
+  @Rule
+  public TemporaryFolder downloadDirectory = new TemporaryFolder();
+
+  private final Map<String, byte[]> archives = new ConcurrentHashMap<>();
+  private final Map<String, String> harvestedFiles = new LinkedHashMap<>();
+  private final AtomicInteger brokenDownloadsLeft = new AtomicInteger();
+  private HttpServer archiveServer;
+  private HttpArchiveHarvester harvester;
+
+  @Before
+  public void setup() throws IOException {
+    archiveServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    archiveServer.createContext("/archives", exchange -> {
+      String name = exchange.getRequestURI().getPath().substring("/archives/".length());
+      byte[] body = archives.get(name);
+      exchange.sendResponseHeaders(body != null ? 200 : 404, body != null ? body.length : -1);
+      try (OutputStream output = exchange.getResponseBody()) {
+        if (body != null && brokenDownloadsLeft.getAndDecrement() > 0) {
+          //Connection is closed before the whole declared content is sent
+          output.write(body, 0, body.length / 2);
+          output.flush();
+          throw new IOException("Simulated connection reset");
+        }
+        if (body != null) {
+          output.write(body);
+        }
+      }
+    });
+    archiveServer.start();
+    harvester = new HttpArchiveHarvester(1, 0, downloadDirectory.getRoot().toPath());
+  }
+
+  @After
+  public void cleanup() {
+    archiveServer.stop(0);
+  }
+
+  @Test
+  public void shouldDownloadArchiveAgainWhenDownloadBrokeInTheMiddle() throws Exception {
+    archives.put("records.zip", zip(Map.of(
+        "record1.xml", "<record1/>",
+        "record2.xml", "<record2/>")));
+    brokenDownloadsLeft.set(1);
+    harvester = new HttpArchiveHarvester(2, 0, downloadDirectory.getRoot().toPath());
+
+    harvester.harvestFiles(archiveUrl("records.zip"), this::collectFile);
+
+    assertEquals(Map.of("record1.xml", "<record1/>", "record2.xml", "<record2/>"), harvestedFiles);
+    assertTrue(isDownloadDirectoryEmpty());
+  }
+
+  @Test
+  public void shouldRemoveDownloadedArchiveWhenDownloadFailed() {
+    archives.put("records.zip", new byte[100]);
+    brokenDownloadsLeft.set(Integer.MAX_VALUE);
+    String url = archiveUrl("records.zip");
+
+    assertThrows(HarvesterException.class, () -> harvester.harvestFiles(url, this::collectFile));
+    assertTrue(isDownloadDirectoryEmpty());
+  }
+
+  @Test
+  public void shouldHarvestFilesOfZipArchive() throws Exception {
+    archives.put("records.zip", zip(Map.of(
+        "dir/record1.xml", "<record1/>",
+        "__MACOSX/dir/._record1.xml", "metadata",
+        "dir/.hidden", "hidden")));
+
+    harvester.harvestFiles(archiveUrl("records.zip"), this::collectFile);
+
+    assertEquals(Map.of("dir/record1.xml", "<record1/>"), harvestedFiles);
+  }
+
+  @Test
+  public void shouldHarvestFilesOfNestedArchives() throws Exception {
+    archives.put("records.tar.gz", gzip(tar(Map.of(
+        "record1.xml", "<record1/>".getBytes(StandardCharsets.UTF_8),
+        "nested.zip", zip(Map.of("record2.xml", "<record2/>")),
+        "single.xml.gz", gzip("<record3/>".getBytes(StandardCharsets.UTF_8))))));
+
+    harvester.harvestFiles(archiveUrl("records.tar.gz"), this::collectFile);
+
+    assertEquals(Map.of(
+        "record1.xml", "<record1/>",
+        "nested/record2.xml", "<record2/>",
+        "single.xml", "<record3/>"), harvestedFiles);
+  }
+
+  @Test
+  public void shouldStopHarvestingWhenHandlerTerminatesIt() throws Exception {
+    archives.put("records.tgz", gzip(tar(Map.of(
+        "record1.xml", "<record1/>".getBytes(StandardCharsets.UTF_8),
+        "record2.xml", "<record2/>".getBytes(StandardCharsets.UTF_8)))));
+
+    harvester.harvestFiles(archiveUrl("records.tgz"), (path, content) -> {
+      collectFile(path, content.readAllBytes());
+      return IterationResult.TERMINATE;
+    });
+
+    assertEquals(1, harvestedFiles.size());
+  }
+
+  @Test
+  public void shouldThrowExceptionWhenArchiveIsNotAvailable() {
+    String url = archiveUrl("missing.zip");
+
+    assertThrows(HarvesterException.class, () -> harvester.harvestFiles(url, this::collectFile));
+  }
+
+  @Test
+  public void shouldThrowExceptionForUnsupportedArchive() {
+    archives.put("records.rar", new byte[10]);
+    String url = archiveUrl("records.rar");
+
+    assertThrows(HarvesterException.class, () -> harvester.harvestFiles(url, this::collectFile));
+  }
+
+  private boolean isDownloadDirectoryEmpty() {
+    String[] files = downloadDirectory.getRoot().list();
+    return files != null && files.length == 0;
+  }
+
+  private IterationResult collectFile(String path, InputStream content) throws IOException {
+    collectFile(path, content.readAllBytes());
+    return IterationResult.CONTINUE;
+  }
+
+  private void collectFile(String path, byte[] content) {
+    harvestedFiles.put(path, new String(content, StandardCharsets.UTF_8));
+  }
+
+  private String archiveUrl(String name) {
+    return "http://localhost:" + archiveServer.getAddress().getPort() + "/archives/" + name;
+  }
+
+  private static byte[] zip(Map<String, String> files) throws IOException {
+    var output = new ByteArrayOutputStream();
+    try (var zip = new ZipOutputStream(output)) {
+      for (Map.Entry<String, String> file : files.entrySet()) {
+        zip.putNextEntry(new ZipEntry(file.getKey()));
+        zip.write(file.getValue().getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+      }
+    }
+    return output.toByteArray();
+  }
+
+  private static byte[] tar(Map<String, byte[]> files) throws IOException {
+    var output = new ByteArrayOutputStream();
+    try (var tar = new TarArchiveOutputStream(output)) {
+      for (Map.Entry<String, byte[]> file : files.entrySet()) {
+        var entry = new TarArchiveEntry(file.getKey());
+        entry.setSize(file.getValue().length);
+        tar.putArchiveEntry(entry);
+        tar.write(file.getValue());
+        tar.closeArchiveEntry();
+      }
+    }
+    return output.toByteArray();
+  }
+
+  private static byte[] gzip(byte[] content) throws IOException {
+    var output = new ByteArrayOutputStream();
+    try (var gzip = new GZIPOutputStream(output)) {
+      gzip.write(content);
+    }
+    return output.toByteArray();
+  }
+}
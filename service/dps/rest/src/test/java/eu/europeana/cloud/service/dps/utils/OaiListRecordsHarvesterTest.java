@@ -0,0 +1,198 @@
+package eu.europeana.cloud.service.dps.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.sun.net.httpserver.HttpServer;
+import eu.europeana.metis.harvesting.HarvesterException;
+import eu.europeana.metis.harvesting.ReportingIteration.IterationResult;
+import eu.europeana.metis.harvesting.oaipmh.OaiHarvest;
+import eu.europeana.metis.harvesting.oaipmh.OaiRecordHeader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class OaiListRecordsHarvesterTest {
+
+  private static final String FIRST_PAGE_QUERY = "verb=ListRecords&metadataPrefix=edm&set=set1";
+  private static final String SECOND_PAGE_QUERY = "verb=ListRecords&resumptionToken=token1";
+  private static final String IDENTIFY_QUERY = "verb=Identify";
+  private static final String ENVELOPE_START = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+      + "<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\" xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\">"
+      + "<ListRecords>";
+  private static final String ENVELOPE_END = "</ListRecords></OAI-PMH>";
+  private static final String FIRST_PAGE = ENVELOPE_START
+      + "<record><header><identifier>id1</identifier><datestamp>2021-03-01T10:00:00Z</datestamp></header>"
+      + "<metadata><rdf:RDF><rdf:Description rdf:about=\"a1\"/></rdf:RDF></metadata></record>"
+      + "<record><header status=\"deleted\"><identifier>id2</identifier><datestamp>2021-03-02</datestamp></header></record>"
+      + "<resumptionToken completeListSize=\"3\">token1</resumptionToken>"
+      + ENVELOPE_END;
+  private static final String SECOND_PAGE = ENVELOPE_START
+      + "<record><header><identifier>id3</identifier><datestamp>2021-03-03T10:00:00Z</datestamp></header>"
+      + "<metadata><rdf:RDF><rdf:Description rdf:about=\"a3\"/></rdf:RDF></metadata></record>"
+      + "<resumptionToken completeListSize=\"3\"/>"
+      + ENVELOPE_END;
+  private static final String IDENTIFY_WITH_DAY_GRANULARITY = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+      + "<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\"><Identify>"
+      + "<repositoryName>Repository</repositoryName><granularity>YYYY-MM-DD</granularity>"
+      + "</Identify></OAI-PMH>";
+  private static final String NO_RECORDS_MATCH = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+      + "<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\">"
+      + "<error code=\"noRecordsMatch\">No records</error></OAI-PMH>";
+  private static final String BAD_ARGUMENT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+      + "<OAI-PMH xmlns=\"http://www.openarchives.org/OAI/2.0/\">"
+      + "<error code=\"badArgument\">Wrong set</error></OAI-PMH>";
+
+  private final Map<String, String> responses = new ConcurrentHashMap<>();
+  private final List<String> requestedQueries = new ArrayList<>();
+  private final List<OaiRecordHeader> harvestedHeaders = new ArrayList<>();
+  private final List<String> harvestedContents = new ArrayList<>();
+  private HttpServer oaiServer;
+  private OaiListRecordsHarvester harvester;
+
+  @Before
+  public void setup() throws IOException {
+    oaiServer = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+    oaiServer.createContext("/oai", exchange -> {
+      String query = exchange.getRequestURI().getRawQuery();
+      synchronized (requestedQueries) {
+        requestedQueries.add(query);
+      }
+      String response = responses.get(query);
+      byte[] body = response != null ? response.getBytes(StandardCharsets.UTF_8) : new byte[0];
+      exchange.sendResponseHeaders(response != null ? 200 : 404, body.length > 0 ? body.length : -1);
+      try (OutputStream output = exchange.getResponseBody()) {
+        output.write(body);
+      }
+    });
+    oaiServer.start();
+    harvester = new OaiListRecordsHarvester(1, 0);
+  }
+
+  @After
+  public void cleanup() {
+    oaiServer.stop(0);
+  }
+
+  @Test
+  public void shouldHarvestRecordsFromAllPages() throws HarvesterException {
+    responses.put(FIRST_PAGE_QUERY, FIRST_PAGE);
+    responses.put(SECOND_PAGE_QUERY, SECOND_PAGE);
+
+    harvester.harvestRecords(harvest(), this::collect);
+
+    assertEquals(List.of(FIRST_PAGE_QUERY, SECOND_PAGE_QUERY), requestedQueries);
+    assertEquals(3, harvestedHeaders.size());
+    assertEquals("id1", harvestedHeaders.get(0).getOaiIdentifier());
+    assertEquals(Instant.parse("2021-03-01T10:00:00Z"), harvestedHeaders.get(0).getDatestamp());
+    assertFalse(harvestedHeaders.get(0).isDeleted());
+    assertTrue(harvestedHeaders.get(1).isDeleted());
+    assertEquals(Instant.parse("2021-03-02T00:00:00Z"), harvestedHeaders.get(1).getDatestamp());
+    assertNull(harvestedContents.get(1));
+    assertEquals("id3", harvestedHeaders.get(2).getOaiIdentifier());
+  }
+
+  @Test
+  public void shouldPassContentWithNamespacesDeclaredInEnvelope() throws HarvesterException {
+    responses.put(FIRST_PAGE_QUERY, FIRST_PAGE);
+    responses.put(SECOND_PAGE_QUERY, SECOND_PAGE);
+
+    harvester.harvestRecords(harvest(), this::collect);
+
+    String content = harvestedContents.get(0);
+    assertTrue(content.contains("<rdf:RDF"));
+    assertTrue(content.contains("xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\""));
+    assertTrue(content.contains("rdf:about=\"a1\""));
+    assertFalse(content.contains("metadata"));
+    assertFalse(content.contains("id1"));
+  }
+
+  @Test
+  public void shouldStopHarvestingWhenHandlerTerminatesIt() throws HarvesterException {
+    responses.put(FIRST_PAGE_QUERY, FIRST_PAGE);
+    responses.put(SECOND_PAGE_QUERY, SECOND_PAGE);
+
+    harvester.harvestRecords(harvest(), (header, content) -> {
+      collect(header, content);
+      return IterationResult.TERMINATE;
+    });
+
+    assertEquals(List.of(FIRST_PAGE_QUERY), requestedQueries);
+    assertEquals(1, harvestedHeaders.size());
+  }
+
+  @Test
+  public void shouldHarvestNothingWhenNoRecordsMatch() throws HarvesterException {
+    responses.put(FIRST_PAGE_QUERY, NO_RECORDS_MATCH);
+
+    harvester.harvestRecords(harvest(), this::collect);
+
+    assertTrue(harvestedHeaders.isEmpty());
+  }
+
+  @Test
+  public void shouldSendDatesWithGranularityAdvertisedByRepository() throws HarvesterException {
+    String firstPageQuery = FIRST_PAGE_QUERY + "&from=2021-03-01&until=2021-03-05";
+    responses.put(IDENTIFY_QUERY, IDENTIFY_WITH_DAY_GRANULARITY);
+    responses.put(firstPageQuery, FIRST_PAGE);
+    responses.put(SECOND_PAGE_QUERY, SECOND_PAGE);
+
+    harvester.harvestRecords(harvest(Instant.parse("2021-03-01T10:15:30Z"), Instant.parse("2021-03-05T08:00:00Z")),
+        this::collect);
+
+    assertEquals(List.of(IDENTIFY_QUERY, firstPageQuery, SECOND_PAGE_QUERY), requestedQueries);
+    assertEquals(3, harvestedHeaders.size());
+  }
+
+  @Test
+  public void shouldSendDatesWithTheirOwnGranularityWhenRepositoryDoesNotAdvertiseIt() throws HarvesterException {
+    String dayQuery = FIRST_PAGE_QUERY + "&from=2021-03-01&until=2021-03-05";
+    String secondsQuery = FIRST_PAGE_QUERY + "&from=2021-03-01T10%3A15%3A30Z&until=2021-03-05T00%3A00%3A00Z";
+    responses.put(dayQuery, NO_RECORDS_MATCH);
+    responses.put(secondsQuery, NO_RECORDS_MATCH);
+
+    harvester.harvestRecords(harvest(Instant.parse("2021-03-01T00:00:00Z"), Instant.parse("2021-03-05T00:00:00Z")),
+        this::collect);
+    harvester.harvestRecords(harvest(Instant.parse("2021-03-01T10:15:30.500Z"), Instant.parse("2021-03-05T00:00:00Z")),
+        this::collect);
+
+    assertEquals(List.of(IDENTIFY_QUERY, dayQuery, IDENTIFY_QUERY, secondsQuery), requestedQueries);
+  }
+
+  @Test(expected = HarvesterException.class)
+  public void shouldThrowExceptionOnErrorReportedByRepository() throws HarvesterException {
+    responses.put(FIRST_PAGE_QUERY, BAD_ARGUMENT);
+
+    harvester.harvestRecords(harvest(), this::collect);
+  }
+
+  @Test(expected = HarvesterException.class)
+  public void shouldThrowExceptionWhenPageCouldNotBeRead() throws HarvesterException {
+    harvester.harvestRecords(harvest(), this::collect);
+  }
+
+  private OaiHarvest harvest() {
+    return harvest(null, null);
+  }
+
+  private OaiHarvest harvest(Instant from, Instant until) {
+    return new OaiHarvest("http://localhost:" + oaiServer.getAddress().getPort() + "/oai", "edm", "set1", from, until);
+  }
+
+  private IterationResult collect(OaiRecordHeader header, byte[] content) {
+    harvestedHeaders.add(header);
+    harvestedContents.add(content != null ? new String(content, StandardCharsets.UTF_8) : null);
+    return IterationResult.CONTINUE;
+  }
+}
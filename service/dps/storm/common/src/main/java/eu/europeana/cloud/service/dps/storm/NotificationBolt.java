@@ -1,6 +1,10 @@
 package eu.europeana.cloud.service.dps.storm;
 
 import static eu.europeana.cloud.common.model.dps.TaskInfo.UNKNOWN_EXPECTED_RECORDS_NUMBER;
+import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyDefaultsConstants.DEFAULT_NOTIFICATION_BATCH_INTERVAL_MS;
+import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyDefaultsConstants.DEFAULT_NOTIFICATION_BATCH_SIZE;
+import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.NOTIFICATION_BATCH_INTERVAL_MS;
+import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.NOTIFICATION_BATCH_SIZE;
 
 import eu.europeana.cloud.cassandra.CassandraConnectionProviderSingleton;
 import eu.europeana.cloud.common.model.dps.TaskState;
@@ -17,20 +21,31 @@ import eu.europeana.cloud.service.dps.storm.notification.NotificationEntryCacheB
 import eu.europeana.cloud.service.dps.storm.notification.handler.NotificationHandlerConfig;
 import eu.europeana.cloud.service.dps.storm.notification.handler.NotificationHandlerConfigBuilder;
 import eu.europeana.cloud.service.dps.storm.notification.handler.NotificationTupleHandler;
+import eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys;
 import eu.europeana.cloud.service.dps.storm.utils.DiagnosticContextWrapper;
 import eu.europeana.cloud.service.dps.util.LRUCache;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.apache.storm.Config;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * This bolt is responsible for store notifications to Cassandra.
+ * <p>
+ * Tuples could be stored in windows of {@link TopologyPropertyKeys#NOTIFICATION_BATCH_SIZE} tuples, that are flushed when
+ * the window is full or when {@link TopologyPropertyKeys#NOTIFICATION_BATCH_INTERVAL_MS} elapsed since its first tuple.
+ * Tuples are acked after their window is stored. By default every tuple is stored separately.
  *
  * @author Pavel Kefurt <Pavel.Kefurt@gmail.com>
  */
@@ -38,6 +53,7 @@ public class NotificationBolt extends BaseRichBolt {
 
   private static final long serialVersionUID = 1L;
   private static final Logger LOGGER = LoggerFactory.getLogger(NotificationBolt.class);
+  private static final int TICK_FREQUENCY_IN_SECONDS = 1;
   private final String hosts;
   private final int port;
   private final String keyspaceName;
@@ -50,6 +66,10 @@ public class NotificationBolt extends BaseRichBolt {
   private transient NotificationTupleHandler notificationTupleHandler;
   private transient NotificationEntryCacheBuilder notificationEntryCacheBuilder;
   private transient BatchExecutor batchExecutor;
+  private transient List<PendingNotification> pendingNotifications;
+  private transient long windowStartTime;
+  private int batchSize;
+  private long batchIntervalInMillis;
 
   /**
    * Constructor of notification bolt.
@@ -72,34 +92,108 @@ public class NotificationBolt extends BaseRichBolt {
 
   @Override
   public void execute(Tuple tuple) {
+    if (TupleUtils.isTick(tuple)) {
+      flushIfIntervalElapsed();
+      return;
+    }
+
     var notificationTuple = NotificationTuple.fromStormTuple(tuple);
+    LOGGER.debug("{} Performing execute on tuple {}", getClass().getName(), notificationTuple);
+    if (pendingNotifications.isEmpty()) {
+      windowStartTime = System.currentTimeMillis();
+    }
+    pendingNotifications.add(new PendingNotification(tuple, notificationTuple));
+    if (pendingNotifications.size() >= batchSize) {
+      flush();
+    } else {
+      flushIfIntervalElapsed();
+    }
+  }
+
+  @Override
+  public Map<String, Object> getComponentConfiguration() {
+    //Ticks flush the notifications waiting for the window to be filled, when no more tuples are coming
+    Map<String, Object> conf = new HashMap<>();
+    conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, TICK_FREQUENCY_IN_SECONDS);
+    return conf;
+  }
+
+  private void flushIfIntervalElapsed() {
+    if (!pendingNotifications.isEmpty() && System.currentTimeMillis() - windowStartTime >= batchIntervalInMillis) {
+      flush();
+    }
+  }
+
+  private void flush() {
+    List<PendingNotification> window = pendingNotifications;
+    pendingNotifications = new ArrayList<>();
+    handle(window);
+  }
+
+  private void handle(List<PendingNotification> window) {
+    List<NotificationTuple> notificationTuples = window.stream().map(PendingNotification::getNotificationTuple).toList();
+    //Counters are read once per window, cause counters incremented in the window are not stored yet
+    Map<Long, NotificationCacheEntry> windowCounters = new HashMap<>();
+    Map<Long, NotificationCacheEntry> countersBeforeWindow = new HashMap<>();
     try {
-      LOGGER.debug("{} Performing execute on tuple {}", getClass().getName(), notificationTuple);
-      prepareDiagnosticContext(notificationTuple);
-      var cachedCounters = readCachedCounters(notificationTuple);
-      NotificationHandlerConfig notificationHandlerConfig =
-          NotificationHandlerConfigBuilder.prepareNotificationHandlerConfig(notificationTuple, cachedCounters);
-      notificationTupleHandler.handle(notificationTuple, notificationHandlerConfig);
-      outputCollector.ack(tuple);
+      notificationTupleHandler.handle(notificationTuples,
+          notificationTuple -> prepareNotificationHandlerConfig(notificationTuple, windowCounters, countersBeforeWindow));
+      window.forEach(notification -> outputCollector.ack(notification.getTuple()));
     } catch (RetryInterruptedException ex) {
       LOGGER.error("Notification interrupted: {}", ex.getMessage(), ex);
-      outputCollector.fail(tuple);
+      restoreCachedCounters(windowCounters, countersBeforeWindow);
+      window.forEach(notification -> outputCollector.fail(notification.getTuple()));
     } catch (Exception ex) {
-      LOGGER.error("Cannot store notification to Cassandra because: {}", ex.getMessage(), ex);
-      batchExecutor.executeAll(
-          notificationTupleHandler.prepareStatementsForTupleContainingLastRecord(
-              notificationTuple,
-              TaskState.DROPPED,
-              ex.getMessage()));
-      outputCollector.ack(tuple);
+      restoreCachedCounters(windowCounters, countersBeforeWindow);
+      if (window.size() > 1) {
+        //Handling tuples separately, so only the task of the broken tuple is dropped
+        LOGGER.warn("Cannot store window of {} notifications to Cassandra, storing them one by one", window.size(), ex);
+        window.forEach(notification -> handle(List.of(notification)));
+      } else {
+        var notificationTuple = notificationTuples.get(0);
+        prepareDiagnosticContext(notificationTuple);
+        LOGGER.error("Cannot store notification to Cassandra because: {}", ex.getMessage(), ex);
+        batchExecutor.executeAll(
+            notificationTupleHandler.prepareStatementsForTupleContainingLastRecord(
+                notificationTuple,
+                TaskState.DROPPED,
+                ex.getMessage()));
+        outputCollector.ack(window.get(0).getTuple());
+      }
     } finally {
       clearDiagnosticContext();
     }
   }
 
+  private NotificationHandlerConfig prepareNotificationHandlerConfig(NotificationTuple notificationTuple,
+      Map<Long, NotificationCacheEntry> windowCounters, Map<Long, NotificationCacheEntry> countersBeforeWindow) {
+    prepareDiagnosticContext(notificationTuple);
+    var cachedCounters = windowCounters.computeIfAbsent(notificationTuple.getTaskId(), taskId -> {
+      var counters = readCachedCounters(notificationTuple);
+      countersBeforeWindow.put(taskId, counters.copyCounters());
+      return counters;
+    });
+    return NotificationHandlerConfigBuilder.prepareNotificationHandlerConfig(notificationTuple, cachedCounters);
+  }
+
+  private void restoreCachedCounters(Map<Long, NotificationCacheEntry> windowCounters,
+      Map<Long, NotificationCacheEntry> countersBeforeWindow) {
+    //Some statements of the failed window could be stored, so counters are not read again from the database, but they are
+    //brought back to the values from before the window. Stored values are absolute, so they are just overwritten, when the
+    //same tuples are counted again.
+    windowCounters.forEach((taskId, counters) -> {
+      counters.restoreCounters(countersBeforeWindow.get(taskId));
+      cache.put(taskId, counters);
+    });
+  }
+
   @Override
   public void prepare(Map stormConf, TopologyContext tc, OutputCollector outputCollector) {
     this.outputCollector = outputCollector;
+    batchSize = ((Number) stormConf.getOrDefault(NOTIFICATION_BATCH_SIZE, DEFAULT_NOTIFICATION_BATCH_SIZE)).intValue();
+    batchIntervalInMillis = ((Number) stormConf.getOrDefault(NOTIFICATION_BATCH_INTERVAL_MS,
+        DEFAULT_NOTIFICATION_BATCH_INTERVAL_MS)).longValue();
+    pendingNotifications = new ArrayList<>();
 
     var cassandraConnectionProvider =
         CassandraConnectionProviderSingleton.getCassandraConnectionProvider(
@@ -156,4 +250,12 @@ public class NotificationBolt extends BaseRichBolt {
   private void clearDiagnosticContext() {
     DiagnosticContextWrapper.clear();
   }
+
+  @Getter
+  @AllArgsConstructor
+  private static class PendingNotification {
+
+    private final Tuple tuple;
+    private final NotificationTuple notificationTuple;
+  }
 }
\ No newline at end of file
@@ -97,6 +97,20 @@ public class StormTaskTuple implements Serializable {
     this.throttlingGroupingAttribute = throttlingGroupingAttribute;
   }
 
+  /**
+   * Creates the copy of the tuple, which could be changed and emitted independently of this tuple.
+   * <p>
+   * Parameters and reports are copied, the rest is shared. The file data in particular is never modified in place, it is
+   * only replaced with {@link #setFileData}, so the copy does not duplicate it.
+   *
+   * @return copy of the tuple
+   */
+  public StormTaskTuple copy() {
+    return new StormTaskTuple(taskId, taskName, fileUrl, fileData,
+        parameters != null ? new HashMap<>(parameters) : null, revisionToBeApplied, sourceDetails, recordAttemptNumber,
+        reportSet != null ? new HashSet<>(reportSet) : null, throttlingGroupingAttribute);
+  }
+
   public ByteArrayInputStream getFileByteDataAsStream() {
     if (fileData != null) {
       return new ByteArrayInputStream(fileData);
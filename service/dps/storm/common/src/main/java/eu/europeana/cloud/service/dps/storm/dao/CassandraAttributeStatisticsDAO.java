@@ -116,12 +116,17 @@ public class CassandraAttributeStatisticsDAO extends CassandraDAO {
    */
   public void insertAttributeStatistics(long taskId, String nodeXpath, String nodeValue,
       AttributeStatistics attributeStatistics) {
-    dbService.getSession().execute(updateAttributeStatement.bind(attributeStatistics.getOccurrence(),
+    dbService.getSession().execute(insertAttributeStatisticsStatement(taskId, nodeXpath, nodeValue, attributeStatistics));
+  }
+
+  public BoundStatement insertAttributeStatisticsStatement(long taskId, String nodeXpath, String nodeValue,
+      AttributeStatistics attributeStatistics) {
+    return updateAttributeStatement.bind(attributeStatistics.getOccurrence(),
         taskId,
         nodeXpath,
         nodeValue,
         attributeStatistics.getName(),
-        attributeStatistics.getValue()));
+        attributeStatistics.getValue());
   }
 
   /**
@@ -2,6 +2,7 @@ package eu.europeana.cloud.service.dps.storm.dao;
 
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyDefaultsConstants.DPS_DEFAULT_MAX_ATTEMPTS;
 
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Row;
 import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
@@ -84,8 +85,12 @@ public class CassandraNodeStatisticsDAO extends CassandraDAO {
    * @param nodeStatistics node statistics object to store / update
    */
   public void updateNodeStatistics(long taskId, NodeStatistics nodeStatistics) {
-    dbService.getSession().execute(updateNodeStatement.bind(
-        nodeStatistics.getOccurrence(), taskId, nodeStatistics.getXpath(), nodeStatistics.getValue()));
+    dbService.getSession().execute(updateNodeStatisticsStatement(taskId, nodeStatistics));
+  }
+
+  public BoundStatement updateNodeStatisticsStatement(long taskId, NodeStatistics nodeStatistics) {
+    return updateNodeStatement.bind(
+        nodeStatistics.getOccurrence(), taskId, nodeStatistics.getXpath(), nodeStatistics.getValue());
   }
 
   public List<String> searchNodeStatisticsValues(long taskId, String nodeXpath) {
@@ -2,6 +2,7 @@ package eu.europeana.cloud.service.dps.storm.dao;
 
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyDefaultsConstants.DPS_DEFAULT_MAX_ATTEMPTS;
 
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.Row;
 import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
@@ -43,7 +44,7 @@ public class GeneralStatisticsDAO extends CassandraDAO {
     updateStatement = dbService.getSession().prepare(
         "UPDATE " + CassandraTablesAndColumnsNames.GENERAL_STATISTICS_TABLE
             + " SET " + CassandraTablesAndColumnsNames.GENERAL_STATISTICS_OCCURRENCE + " = "
-            + CassandraTablesAndColumnsNames.GENERAL_STATISTICS_OCCURRENCE + " + 1 "
+            + CassandraTablesAndColumnsNames.GENERAL_STATISTICS_OCCURRENCE + " + ? "
             + "WHERE " + CassandraTablesAndColumnsNames.GENERAL_STATISTICS_TASK_ID + " = ? "
             + "AND " + CassandraTablesAndColumnsNames.GENERAL_STATISTICS_PARENT_XPATH + " = ? "
             + "AND " + CassandraTablesAndColumnsNames.GENERAL_STATISTICS_NODE_XPATH + " = ?"
@@ -68,7 +69,21 @@ public class GeneralStatisticsDAO extends CassandraDAO {
    * @param nodeStatistics node statistics object with all the necessary information
    */
   public void updateGeneralStatistics(long taskId, NodeStatistics nodeStatistics) {
-    dbService.getSession().execute(updateStatement.bind(taskId, nodeStatistics.getParentXpath(), nodeStatistics.getXpath()));
+    dbService.getSession().execute(
+        updateGeneralStatisticsStatement(taskId, nodeStatistics.getParentXpath(), nodeStatistics.getXpath(), 1));
+  }
+
+  /**
+   * Prepares the statement increasing the counter for the specified node in general statistics table by the given value
+   *
+   * @param taskId task identifier
+   * @param parentXpath xpath of the parent of the node
+   * @param nodeXpath xpath of the node
+   * @param occurrence value added to the counter
+   * @return statement updating the counter
+   */
+  public BoundStatement updateGeneralStatisticsStatement(long taskId, String parentXpath, String nodeXpath, long occurrence) {
+    return updateStatement.bind(occurrence, taskId, parentXpath, nodeXpath);
   }
 
   public void removeGeneralStatistics(long taskId) {
@@ -17,6 +17,7 @@ import eu.europeana.cloud.service.dps.storm.utils.CassandraTablesAndColumnsNames
 import eu.europeana.cloud.service.dps.storm.utils.HarvestedRecord;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -198,6 +199,16 @@ public class HarvestedRecordsDAO extends CassandraDAO {
         HarvestedRecord::from);
   }
 
+  /**
+   * Returns records of the dataset as separate iterators for every bucket of the dataset, so the buckets could be read
+   * independently of each other.
+   */
+  public List<Iterator<HarvestedRecord>> findDatasetRecordsByBucket(String metisDatasetId) {
+    return BucketRecordIterator.forEachBucket(MAX_NUMBER_OF_BUCKETS,
+        (bucketNumber -> queryBucket(metisDatasetId, bucketNumber)),
+        HarvestedRecord::from);
+  }
+
   private Iterator<Row> queryBucket(String metisDatasetId, Integer bucketNumber) {
     return RetryableMethodExecutor.execute(DB_COMMUNICATION_FAILURE_MESSAGE,
         DPS_DEFAULT_MAX_ATTEMPTS,
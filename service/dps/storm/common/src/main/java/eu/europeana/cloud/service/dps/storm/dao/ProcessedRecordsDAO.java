@@ -19,6 +19,9 @@ import com.datastax.driver.core.ResultSet;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.exceptions.NoHostAvailableException;
 import com.datastax.driver.core.exceptions.QueryExecutionException;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.MoreExecutors;
 import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
 import eu.europeana.cloud.common.annotation.Retryable;
 import eu.europeana.cloud.common.model.dps.ProcessedRecord;
@@ -150,11 +153,29 @@ public class ProcessedRecordsDAO extends CassandraDAO {
 
   public Optional<ProcessedRecord> selectByPrimaryKey(long taskId, String recordId)
       throws NoHostAvailableException, QueryExecutionException {
-    ProcessedRecord result = null;
+    ResultSet rs = dbService.getSession().execute(selectByPrimaryKeyStatement(taskId, recordId));
+    return createProcessedRecord(taskId, recordId, rs.one());
+  }
+
+  /**
+   * Asynchronous version of the {@link #selectByPrimaryKey(long, String)}. It allows to query many records at once, without
+   * waiting for the results one by one.
+   *
+   * @param taskId task identifier
+   * @param recordId record identifier
+   * @return future of the processed record, empty if the record is not present in the database
+   */
+  public ListenableFuture<Optional<ProcessedRecord>> selectByPrimaryKeyAsync(long taskId, String recordId) {
+    return Futures.transform(dbService.getSession().executeAsync(selectByPrimaryKeyStatement(taskId, recordId)),
+        rs -> createProcessedRecord(taskId, recordId, rs.one()), MoreExecutors.directExecutor());
+  }
 
-    ResultSet rs = dbService.getSession().execute(
-        selectByPrimaryKeyStatement.bind(taskId, recordId, BucketUtils.bucketNumber(recordId, BUCKETS_COUNT)));
-    Row row = rs.one();
+  private BoundStatement selectByPrimaryKeyStatement(long taskId, String recordId) {
+    return selectByPrimaryKeyStatement.bind(taskId, recordId, BucketUtils.bucketNumber(recordId, BUCKETS_COUNT));
+  }
+
+  private Optional<ProcessedRecord> createProcessedRecord(long taskId, String recordId, Row row) {
+    ProcessedRecord result = null;
     if (row != null) {
       result = ProcessedRecord
           .builder()
@@ -31,6 +31,7 @@ public class TaskDiagnosticInfoDAO extends CassandraDAO {
   private PreparedStatement findByIdStatement;
   private PreparedStatement updateRecordsRetryCount;
   private PreparedStatement updateStartedRecordsCount;
+  private PreparedStatement updateRecordsCounters;
   private PreparedStatement updateStartOnStormTime;
   private PreparedStatement updateFinishOnStormTime;
   private PreparedStatement updatePostprocessingStartTime;
@@ -63,6 +64,10 @@ public class TaskDiagnosticInfoDAO extends CassandraDAO {
         TASK_DIAGNOSTIC_INFO_TABLE, TASK_DIAGNOSTIC_INFO_ID));
     updateStartedRecordsCount = prepareUpdateQuery(TASK_DIAGNOSTIC_INFO_STARTED_RECORDS_COUNT);
     updateRecordsRetryCount = prepareUpdateQuery(TASK_DIAGNOSTIC_INFO_RECORDS_RETRY_COUNT);
+    updateRecordsCounters = prepare(String.format(
+        "INSERT INTO %s(%s,%s,%s) VALUES(?,?,?)",
+        TASK_DIAGNOSTIC_INFO_TABLE, TASK_DIAGNOSTIC_INFO_ID, TASK_DIAGNOSTIC_INFO_STARTED_RECORDS_COUNT,
+        TASK_DIAGNOSTIC_INFO_RECORDS_RETRY_COUNT));
     updateQueuedTime = prepareUpdateQuery(TASK_DIAGNOSTIC_INFO_QUEUED_TIME);
     updateStartOnStormTime = prepareUpdateQuery(TASK_DIAGNOSTIC_INFO_START_ON_STORM_TIME);
     updateLastRecordFinishedOnStormTime = prepareUpdateQuery(TASK_DIAGNOSTIC_INFO_LAST_RECORD_FINISHED_ON_STORM_TIME);
@@ -92,6 +97,11 @@ public class TaskDiagnosticInfoDAO extends CassandraDAO {
     dbService.getSession().execute(updateStartedRecordsCount.bind(taskId, startedCount));
   }
 
+  public void updateRecordsCounters(long taskId, int startedCount, int retryCount)
+      throws NoHostAvailableException, QueryExecutionException {
+    dbService.getSession().execute(updateRecordsCounters.bind(taskId, startedCount, retryCount));
+  }
+
   public void updateQueuedTime(long taskId, Instant time) {
     dbService.getSession().execute(updateQueuedTime.bind(taskId, Date.from(time)));
   }
@@ -4,6 +4,7 @@ import eu.europeana.cloud.common.model.dps.RecordState;
 import eu.europeana.cloud.service.dps.storm.ErrorType;
 import eu.europeana.cloud.service.dps.storm.NotificationParameterKeys;
 import eu.europeana.cloud.service.dps.storm.NotificationTuple;
+import java.util.HashMap;
 import java.util.Map;
 import lombok.Builder;
 import lombok.Getter;
@@ -57,6 +58,59 @@ public class NotificationCacheEntry {
                  .equalsIgnoreCase(RecordState.ERROR.toString());
   }
 
+  /**
+   * Copies the counters, so they could be brought back with {@link #restoreCounters(NotificationCacheEntry)} if the counted
+   * notifications were not stored.
+   *
+   * @return entry with the copy of the counters
+   */
+  public NotificationCacheEntry copyCounters() {
+    Map<String, ErrorType> errorTypesCopy = null;
+    if (errorTypes != null) {
+      errorTypesCopy = new HashMap<>();
+      for (Map.Entry<String, ErrorType> entry : errorTypes.entrySet()) {
+        ErrorType errorType = entry.getValue();
+        errorTypesCopy.put(entry.getKey(), ErrorType.builder()
+                                                    .taskId(errorType.getTaskId())
+                                                    .uuid(errorType.getUuid())
+                                                    .message(errorType.getMessage())
+                                                    .count(errorType.getCount())
+                                                    .build());
+      }
+    }
+    return NotificationCacheEntry.builder()
+                                 .processed(processed)
+                                 .processedRecordsCount(processedRecordsCount)
+                                 .ignoredRecordsCount(ignoredRecordsCount)
+                                 .deletedRecordsCount(deletedRecordsCount)
+                                 .processedErrorsCount(processedErrorsCount)
+                                 .deletedErrorsCount(deletedErrorsCount)
+                                 .expectedRecordsNumber(expectedRecordsNumber)
+                                 .errorTypes(errorTypesCopy)
+                                 .build();
+  }
+
+  /**
+   * Brings back the counters copied with {@link #copyCounters()}. Error types created after the copy keep their uuids, so
+   * the errors counted again are stored under the same error types, but their counts start from zero.
+   *
+   * @param copy entry with the copy of the counters
+   */
+  public void restoreCounters(NotificationCacheEntry copy) {
+    processed = copy.processed;
+    processedRecordsCount = copy.processedRecordsCount;
+    ignoredRecordsCount = copy.ignoredRecordsCount;
+    deletedRecordsCount = copy.deletedRecordsCount;
+    processedErrorsCount = copy.processedErrorsCount;
+    deletedErrorsCount = copy.deletedErrorsCount;
+    if (errorTypes != null) {
+      errorTypes.forEach((message, errorType) -> {
+        ErrorType copiedErrorType = copy.errorTypes != null ? copy.errorTypes.get(message) : null;
+        errorType.setCount(copiedErrorType != null ? copiedErrorType.getCount() : 0);
+      });
+    }
+  }
+
   public ErrorType getErrorType(String infoText) {
     return errorTypes.computeIfAbsent(infoText,
         key -> ErrorType.builder()
@@ -1,6 +1,8 @@
 package eu.europeana.cloud.service.dps.storm.notification.handler;
 
 import com.datastax.driver.core.BoundStatement;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.Uninterruptibles;
 import eu.europeana.cloud.common.model.dps.*;
 import eu.europeana.cloud.service.commons.utils.BatchExecutor;
 import eu.europeana.cloud.service.dps.Constants;
@@ -11,11 +13,15 @@ import eu.europeana.cloud.service.dps.storm.NotificationTuple;
 import eu.europeana.cloud.service.dps.storm.dao.*;
 import eu.europeana.cloud.service.dps.storm.notification.NotificationCacheEntry;
 import eu.europeana.enrichment.rest.client.report.Report;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
 
 public class NotificationTupleHandler {
 
@@ -52,22 +58,80 @@ public class NotificationTupleHandler {
   }
 
   public void handle(NotificationTuple notificationTuple, NotificationHandlerConfig config) {
-    LOGGER.debug("Executing notification handler");
-    long taskId = notificationTuple.getTaskId();
-    var resource = String.valueOf(notificationTuple.getParameters().get(NotificationParameterKeys.RESOURCE));
-    //
-    if (tupleShouldBeProcessed(taskId, resource)) {
-      config.getNotificationCacheEntry().incrementCounters(notificationTuple);
-      Notification notification = prepareNotification(notificationTuple, config.getNotificationCacheEntry().getProcessed());
-      List<BoundStatement> statementsToBeExecutedInBatch = new ArrayList<>();
-
-      statementsToBeExecutedInBatch.addAll(prepareCommonStatementsForAllTuples(notification, config.getNotificationCacheEntry()));
-      statementsToBeExecutedInBatch.addAll(prepareStatementsForErrors(notificationTuple, config.getNotificationCacheEntry()));
-      statementsToBeExecutedInBatch.addAll(prepareStatementsForReports(notificationTuple, config.getNotificationCacheEntry()));
-      statementsToBeExecutedInBatch.addAll(prepareStatementsForRecordState(notificationTuple, config));
-      batchExecutor.executeAll(statementsToBeExecutedInBatch);
+    handle(List.of(notificationTuple), tuple -> config);
+  }
+
+  /**
+   * Stores notifications of all the given tuples. Processed records states are read asynchronously for all the tuples, then
+   * the statements are prepared in the order of tuples and written in unlogged batches grouped by partition. Counters of a
+   * task and its diagnostic info are written once for the whole window, not for every tuple.
+   * <p>
+   * States of the records are written only when all the other statements of the window are stored, so if the window fails,
+   * its records are not finished and they are stored again when the tuples are replayed. The window of the single tuple is
+   * written in one LOGGED batch.
+   *
+   * @param notificationTuples window of tuples, in the order they were received
+   * @param configProvider provides config for the given tuple, it is called in the order of tuples
+   */
+  public void handle(List<NotificationTuple> notificationTuples,
+      Function<NotificationTuple, NotificationHandlerConfig> configProvider) {
+    LOGGER.debug("Executing notification handler for {} tuples", notificationTuples.size());
+    List<ListenableFuture<Optional<ProcessedRecord>>> processedRecords = new ArrayList<>(notificationTuples.size());
+    for (NotificationTuple notificationTuple : notificationTuples) {
+      processedRecords.add(processedRecordsDAO.selectByPrimaryKeyAsync(notificationTuple.getTaskId(),
+          notificationTuple.getResource()));
     }
-    taskDiagnosticInfoDAO.updateLastRecordFinishedOnStormTime(notificationTuple.getTaskId(), Instant.now());
+
+    var window = new NotificationWindow();
+    for (var i = 0; i < notificationTuples.size(); i++) {
+      NotificationTuple notificationTuple = notificationTuples.get(i);
+      NotificationHandlerConfig config = configProvider.apply(notificationTuple);
+      window.tasks.add(notificationTuple.getTaskId());
+      if (tupleShouldBeProcessed(notificationTuple, processedRecords.get(i), window)) {
+        prepareStatementsForTuple(notificationTuple, config, window);
+      }
+    }
+
+    List<BoundStatement> statementsToBeExecuted = new ArrayList<>(window.statements);
+    statementsToBeExecuted.addAll(prepareStatementsForWindow(window));
+    if (notificationTuples.size() == 1) {
+      statementsToBeExecuted.addAll(window.recordStateStatements);
+      batchExecutor.executeAll(statementsToBeExecuted);
+    } else {
+      batchExecutor.executeAllPerPartition(statementsToBeExecuted);
+      batchExecutor.executeAllPerPartition(window.recordStateStatements);
+    }
+  }
+
+  private void prepareStatementsForTuple(NotificationTuple notificationTuple, NotificationHandlerConfig config,
+      NotificationWindow window) {
+    NotificationCacheEntry nCache = config.getNotificationCacheEntry();
+    nCache.incrementCounters(notificationTuple);
+    Notification notification = prepareNotification(notificationTuple, nCache.getProcessed());
+    window.modifiedTasks.put(notificationTuple.getTaskId(), nCache);
+
+    window.statements.add(subTaskInfoDAO.insertNotificationStatement(notification));
+    window.statements.addAll(prepareStatementsForErrors(notificationTuple, nCache, window));
+    window.statements.addAll(prepareStatementsForReports(notificationTuple, nCache, window));
+    window.recordStateStatements.addAll(prepareStatementsForRecordState(notificationTuple, config));
+  }
+
+  private List<BoundStatement> prepareStatementsForWindow(NotificationWindow window) {
+    List<BoundStatement> statementsToBeExecuted = new ArrayList<>();
+    window.modifiedTasks.forEach((taskId, nCache) ->
+        statementsToBeExecuted.add(taskInfoDAO.updateProcessedFilesStatement(taskId,
+            nCache.getProcessedRecordsCount(),
+            nCache.getIgnoredRecordsCount(),
+            nCache.getDeletedRecordsCount(),
+            nCache.getProcessedErrorsCount(),
+            nCache.getDeletedErrorsCount())));
+    window.modifiedErrorTypes.forEach((errorType, taskId) ->
+        statementsToBeExecuted.add(taskErrorDAO.insertErrorCounterStatement(taskId, errorType)));
+
+    var now = Instant.now();
+    window.tasks.forEach(taskId ->
+        statementsToBeExecuted.add(taskDiagnosticInfoDAO.updateLastRecordFinishedOnStormTimeStatement(taskId, now)));
+    return statementsToBeExecuted;
   }
 
   private boolean isFinished(ProcessedRecord theRecord) {
@@ -88,25 +152,24 @@ public class NotificationTupleHandler {
                        .build();
   }
 
-  private boolean tupleShouldBeProcessed(long taskId, String recordId) {
-    Optional<ProcessedRecord> theRecord = processedRecordsDAO.selectByPrimaryKey(taskId, recordId);
+  private boolean tupleShouldBeProcessed(NotificationTuple notificationTuple,
+      ListenableFuture<Optional<ProcessedRecord>> processedRecord, NotificationWindow window) {
+    //Record repeated in the same window is already finished, but its state is not written yet
+    if (!window.handledRecords.add(new TaskRecord(notificationTuple.getTaskId(), notificationTuple.getResource()))) {
+      return false;
+    }
+    Optional<ProcessedRecord> theRecord = getProcessedRecord(notificationTuple, processedRecord);
     return theRecord.isEmpty() || !isFinished(theRecord.get());
   }
 
-  private List<BoundStatement> prepareCommonStatementsForAllTuples(Notification notification, NotificationCacheEntry nCache) {
-    List<BoundStatement> statementsToBeExecuted = new ArrayList<>();
-
-    statementsToBeExecuted.add(subTaskInfoDAO.insertNotificationStatement(notification));
-    statementsToBeExecuted.add(taskInfoDAO.updateProcessedFilesStatement(notification.getTaskId(),
-        nCache.getProcessedRecordsCount(),
-        nCache.getIgnoredRecordsCount(),
-        nCache.getDeletedRecordsCount(),
-        nCache.getProcessedErrorsCount(),
-        nCache.getDeletedErrorsCount()));
-    statementsToBeExecuted.add(taskDiagnosticInfoDAO.updateLastRecordFinishedOnStormTimeStatement(
-        notification.getTaskId(), Instant.now()
-    ));
-    return statementsToBeExecuted;
+  private Optional<ProcessedRecord> getProcessedRecord(NotificationTuple notificationTuple,
+      ListenableFuture<Optional<ProcessedRecord>> processedRecord) {
+    try {
+      return Uninterruptibles.getUninterruptibly(processedRecord);
+    } catch (ExecutionException e) {
+      LOGGER.warn("Unable to read processed record asynchronously, reading it again - {}", e.getMessage());
+      return processedRecordsDAO.selectByPrimaryKey(notificationTuple.getTaskId(), notificationTuple.getResource());
+    }
   }
 
   private boolean isError(NotificationTuple notificationTuple) {
@@ -118,32 +181,35 @@ public class NotificationTupleHandler {
     return !notificationTuple.getReportSet().isEmpty();
   }
 
-  private List<BoundStatement> prepareStatementsForErrors(NotificationTuple notificationTuple, NotificationCacheEntry nCache) {
+  private List<BoundStatement> prepareStatementsForErrors(NotificationTuple notificationTuple, NotificationCacheEntry nCache,
+      NotificationWindow window) {
     if (isError(notificationTuple)) {
       ErrorNotification errorNotification = prepareErrorNotificationFromTuple(notificationTuple, nCache);
-      return getStatementsToBeExecutedFromErrorNotification(notificationTuple, nCache, errorNotification);
+      return getStatementsToBeExecutedFromErrorNotification(notificationTuple, nCache, errorNotification, window);
     }
     return Collections.emptyList();
   }
 
-  private List<BoundStatement> prepareStatementsForReports(NotificationTuple notificationTuple, NotificationCacheEntry nCache) {
+  private List<BoundStatement> prepareStatementsForReports(NotificationTuple notificationTuple, NotificationCacheEntry nCache,
+      NotificationWindow window) {
     List<BoundStatement> statementsToBeExecuted = new ArrayList<>();
     if (isReportPresent(notificationTuple)) {
       List<ErrorNotification> errorNotifications = prepareErrorNotificationsFromTupleReports(notificationTuple, nCache);
       errorNotifications.forEach(
           errorNotification -> statementsToBeExecuted.addAll(
-              getStatementsToBeExecutedFromErrorNotification(notificationTuple, nCache, errorNotification))
+              getStatementsToBeExecutedFromErrorNotification(notificationTuple, nCache, errorNotification, window))
       );
     }
     return statementsToBeExecuted;
   }
 
   private List<BoundStatement> getStatementsToBeExecutedFromErrorNotification(NotificationTuple notificationTuple,
-      NotificationCacheEntry nCache, ErrorNotification errorNotification) {
+      NotificationCacheEntry nCache, ErrorNotification errorNotification, NotificationWindow window) {
     ErrorType errorType = nCache.getErrorType(errorNotification.getErrorMessage());
     List<BoundStatement> statementsToBeExecuted = new ArrayList<>();
     errorType.incrementCounter();
-    statementsToBeExecuted.add(taskErrorDAO.insertErrorCounterStatement(notificationTuple.getTaskId(), errorType));
+    //counter is written once per window
+    window.modifiedErrorTypes.put(errorType, notificationTuple.getTaskId());
 
     if (!maximumNumberOfErrorsReached(errorType)) {
       statementsToBeExecuted.add(taskErrorDAO.insertErrorStatement(
@@ -268,4 +334,25 @@ public class NotificationTupleHandler {
     return String.valueOf(notificationTuple.getParameters().get(NotificationParameterKeys.STATE))
                  .equalsIgnoreCase(RecordState.ERROR.toString());
   }
+
+  /**
+   * State of one handled window of tuples
+   */
+  private static class NotificationWindow {
+
+    private final List<BoundStatement> statements = new ArrayList<>();
+    private final List<BoundStatement> recordStateStatements = new ArrayList<>();
+    private final Set<Long> tasks = new LinkedHashSet<>();
+    private final Map<Long, NotificationCacheEntry> modifiedTasks = new LinkedHashMap<>();
+    private final Map<ErrorType, Long> modifiedErrorTypes = new IdentityHashMap<>();
+    private final Set<TaskRecord> handledRecords = new HashSet<>();
+  }
+
+  @EqualsAndHashCode
+  @AllArgsConstructor
+  private static class TaskRecord {
+
+    private final long taskId;
+    private final String recordId;
+  }
 }
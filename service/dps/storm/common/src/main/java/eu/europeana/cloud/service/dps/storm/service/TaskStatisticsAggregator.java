@@ -0,0 +1,107 @@
+package eu.europeana.cloud.service.dps.storm.service;
+
+import eu.europeana.cloud.common.model.dps.AttributeStatistics;
+import eu.europeana.cloud.common.model.dps.GeneralStatistics;
+import eu.europeana.cloud.common.model.dps.NodeStatistics;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Merges statistics of many records of one task in memory, so they could be stored with one counter update per node and
+ * attribute, instead of one update per node and attribute of every record.
+ * <p>
+ * Stored result is the same as if the statistics of the records were stored one by one: occurrences of nodes and attributes
+ * are summed, and the general statistics of the node are increased once for every value of the node in every record.
+ */
+public class TaskStatisticsAggregator {
+
+  @Getter
+  private final long taskId;
+  private final Map<NodeKey, AggregatedNode> nodes = new LinkedHashMap<>();
+  private final Map<GeneralKey, Long> generalOccurrences = new LinkedHashMap<>();
+
+  public TaskStatisticsAggregator(long taskId) {
+    this.taskId = taskId;
+  }
+
+  /**
+   * Adds the statistics of one record. Given statistics are not modified.
+   *
+   * @param recordStatistics statistics of all the nodes of the record
+   */
+  public void add(List<NodeStatistics> recordStatistics) {
+    for (NodeStatistics nodeStatistics : recordStatistics) {
+      generalOccurrences.merge(new GeneralKey(nodeStatistics.getParentXpath(), nodeStatistics.getXpath()), 1L, Long::sum);
+      nodes.computeIfAbsent(new NodeKey(nodeStatistics.getXpath(), nodeStatistics.getValue()),
+               key -> new AggregatedNode(nodeStatistics.getParentXpath()))
+           .add(nodeStatistics);
+    }
+  }
+
+  /**
+   * @return merged statistics of the nodes, together with their attributes
+   */
+  public List<NodeStatistics> getNodeStatistics() {
+    List<NodeStatistics> result = new ArrayList<>(nodes.size());
+    nodes.forEach((key, node) -> result.add(
+        new NodeStatistics(node.parentXpath, key.xpath, key.value, node.occurrence, new HashSet<>(node.attributes.values()))));
+    return result;
+  }
+
+  /**
+   * @return values by which the general statistics of the nodes should be increased
+   */
+  public List<GeneralStatistics> getGeneralStatistics() {
+    List<GeneralStatistics> result = new ArrayList<>(generalOccurrences.size());
+    generalOccurrences.forEach((key, occurrence) -> result.add(
+        new GeneralStatistics(key.parentXpath, key.nodeXpath, occurrence)));
+    return result;
+  }
+
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  private static class NodeKey {
+
+    private final String xpath;
+    private final String value;
+  }
+
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  private static class GeneralKey {
+
+    private final String parentXpath;
+    private final String nodeXpath;
+  }
+
+  private static class AggregatedNode {
+
+    private final String parentXpath;
+    private long occurrence;
+    //Attribute statistics are equal when their names and values are equal, so they are their own keys
+    private final Map<AttributeStatistics, AttributeStatistics> attributes = new LinkedHashMap<>();
+
+    AggregatedNode(String parentXpath) {
+      this.parentXpath = parentXpath;
+    }
+
+    void add(NodeStatistics nodeStatistics) {
+      occurrence += nodeStatistics.getOccurrence();
+      for (AttributeStatistics attribute : nodeStatistics.getAttributesStatistics()) {
+        AttributeStatistics aggregated = attributes.get(attribute);
+        if (aggregated == null) {
+          aggregated = new AttributeStatistics(attribute.getName(), attribute.getValue(), attribute.getOccurrence());
+          attributes.put(aggregated, aggregated);
+        } else {
+          aggregated.setOccurrence(aggregated.getOccurrence() + attribute.getOccurrence());
+        }
+      }
+    }
+  }
+}
@@ -1,18 +1,22 @@
 package eu.europeana.cloud.service.dps.storm.service;
 
+import com.datastax.driver.core.BoundStatement;
 import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
 import eu.europeana.cloud.common.model.dps.AttributeStatistics;
 import eu.europeana.cloud.common.model.dps.GeneralStatistics;
 import eu.europeana.cloud.common.model.dps.NodeReport;
 import eu.europeana.cloud.common.model.dps.NodeStatistics;
 import eu.europeana.cloud.common.model.dps.StatisticsReport;
+import eu.europeana.cloud.service.commons.utils.BatchExecutor;
 import eu.europeana.cloud.service.dps.ValidationStatisticsService;
 import eu.europeana.cloud.service.dps.storm.dao.CassandraAttributeStatisticsDAO;
 import eu.europeana.cloud.service.dps.storm.dao.CassandraNodeStatisticsDAO;
 import eu.europeana.cloud.service.dps.storm.dao.GeneralStatisticsDAO;
 import eu.europeana.cloud.service.dps.storm.dao.StatisticsReportDAO;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.springframework.stereotype.Service;
 
@@ -28,17 +32,20 @@ public class ValidationStatisticsServiceImpl implements ValidationStatisticsServ
   private CassandraNodeStatisticsDAO cassandraNodeStatisticsDAO;
   private CassandraAttributeStatisticsDAO cassandraAttributeStatisticsDAO;
   private StatisticsReportDAO statisticsReportDAO;
+  private BatchExecutor batchExecutor;
 
   public ValidationStatisticsServiceImpl() {
   }
 
   public ValidationStatisticsServiceImpl(GeneralStatisticsDAO generalStatisticsDAO,
       CassandraNodeStatisticsDAO cassandraNodeStatisticsDAO,
-      CassandraAttributeStatisticsDAO cassandraAttributeStatisticsDAO, StatisticsReportDAO statisticsReportDAO) {
+      CassandraAttributeStatisticsDAO cassandraAttributeStatisticsDAO, StatisticsReportDAO statisticsReportDAO,
+      BatchExecutor batchExecutor) {
     this.generalStatisticsDAO = generalStatisticsDAO;
     this.cassandraNodeStatisticsDAO = cassandraNodeStatisticsDAO;
     this.cassandraAttributeStatisticsDAO = cassandraAttributeStatisticsDAO;
     this.statisticsReportDAO = statisticsReportDAO;
+    this.batchExecutor = batchExecutor;
   }
 
   public static synchronized ValidationStatisticsServiceImpl getInstance(CassandraConnectionProvider cassandra) {
@@ -47,7 +54,8 @@ public class ValidationStatisticsServiceImpl implements ValidationStatisticsServ
           GeneralStatisticsDAO.getInstance(cassandra),
           CassandraNodeStatisticsDAO.getInstance(cassandra),
           CassandraAttributeStatisticsDAO.getInstance(cassandra),
-          StatisticsReportDAO.getInstance(cassandra)
+          StatisticsReportDAO.getInstance(cassandra),
+          BatchExecutor.getInstance(cassandra)
       );
     }
     return instance;
@@ -97,27 +105,35 @@ public class ValidationStatisticsServiceImpl implements ValidationStatisticsServ
    * @param nodes list of node statistics objects
    */
   public void insertNodeStatistics(long taskId, List<NodeStatistics> nodes) {
-    for (NodeStatistics nodeStatistics : nodes) {
-      insertNodeStatistics(taskId, nodeStatistics);
-    }
+    var aggregator = new TaskStatisticsAggregator(taskId);
+    aggregator.add(nodes);
+    insertStatistics(aggregator);
   }
 
   /**
-   * Insert statistics for the specified node
+   * Insert statistics of all the records merged in the aggregator. All the counters are updated in batches, grouped by
+   * partitions.
    *
-   * @param taskId task identifier
-   * @param nodeStatistics node statistics to insert
+   * @param aggregator statistics of records of one task
    */
-  private void insertNodeStatistics(long taskId, NodeStatistics nodeStatistics) {
-    generalStatisticsDAO.updateGeneralStatistics(taskId, nodeStatistics);
-    // store node statistics only for nodes with values, occurrence of the node itself will be taken from the general statistics
-    if (nodeStatistics.getValue() != null) {
-      cassandraNodeStatisticsDAO.updateNodeStatistics(taskId, nodeStatistics);
+  public void insertStatistics(TaskStatisticsAggregator aggregator) {
+    long taskId = aggregator.getTaskId();
+    List<BoundStatement> statements = new ArrayList<>();
+    for (GeneralStatistics generalStatistics : aggregator.getGeneralStatistics()) {
+      statements.add(generalStatisticsDAO.updateGeneralStatisticsStatement(taskId, generalStatistics.getParentXpath(),
+          generalStatistics.getNodeXpath(), generalStatistics.getOccurrence()));
     }
-    if (nodeStatistics.hasAttributes()) {
-      insertAttributeStatistics(taskId, nodeStatistics.getXpath(), nodeStatistics.getValue(),
-          nodeStatistics.getAttributesStatistics());
+    for (NodeStatistics nodeStatistics : aggregator.getNodeStatistics()) {
+      // store node statistics only for nodes with values, occurrence of the node itself will be taken from the general statistics
+      if (nodeStatistics.getValue() != null) {
+        statements.add(cassandraNodeStatisticsDAO.updateNodeStatisticsStatement(taskId, nodeStatistics));
+      }
+      if (nodeStatistics.hasAttributes()) {
+        statements.addAll(prepareAttributeStatements(taskId, nodeStatistics.getXpath(), nodeStatistics.getValue(),
+            nodeStatistics.getAttributesStatistics()));
+      }
     }
+    batchExecutor.executeCountersPerPartition(statements);
   }
 
   /**
@@ -127,19 +143,41 @@ public class ValidationStatisticsServiceImpl implements ValidationStatisticsServ
    * @param attributes list of attribute statistics
    */
   public void insertAttributeStatistics(long taskId, String nodeXpath, String nodeValue, Set<AttributeStatistics> attributes) {
-    for (AttributeStatistics attributeStatistics : attributes) {
-      long distinctValuesCount = cassandraAttributeStatisticsDAO.getAttributeDistinctValues(taskId, nodeXpath, nodeValue,
-          attributeStatistics.getName());
-      if (distinctValuesCount >= ATTRIBUTES_MAX_ALLOWED_VALUES) {
-        long currentCount = cassandraAttributeStatisticsDAO.getSpecificAttributeValueCount(taskId, nodeXpath, nodeValue,
-            attributeStatistics.getName(), attributeStatistics.getValue());
-        if (currentCount > 0) {
-          cassandraAttributeStatisticsDAO.insertAttributeStatistics(taskId, nodeXpath, nodeValue, attributeStatistics);
+    batchExecutor.executeCountersPerPartition(prepareAttributeStatements(taskId, nodeXpath, nodeValue, attributes));
+  }
+
+  /**
+   * Prepares updates of the attribute statistics. New values of the attribute are stored only until the attribute has
+   * {@link #ATTRIBUTES_MAX_ALLOWED_VALUES} distinct values, later only the values that are already stored are counted.
+   * Stored values are checked only when the new values could exceed the limit.
+   */
+  private List<BoundStatement> prepareAttributeStatements(long taskId, String nodeXpath, String nodeValue,
+      Set<AttributeStatistics> attributes) {
+    Map<String, List<AttributeStatistics>> attributesByName = new LinkedHashMap<>();
+    attributes.forEach(attribute -> attributesByName.computeIfAbsent(attribute.getName(), name -> new ArrayList<>())
+                                                    .add(attribute));
+
+    List<BoundStatement> statements = new ArrayList<>();
+    attributesByName.forEach((name, values) -> {
+      long distinctValuesCount = cassandraAttributeStatisticsDAO.getAttributeDistinctValues(taskId, nodeXpath, nodeValue, name);
+      boolean limitCouldBeExceeded = distinctValuesCount + values.size() > ATTRIBUTES_MAX_ALLOWED_VALUES;
+      for (AttributeStatistics attributeStatistics : values) {
+        if (limitCouldBeExceeded && !isAttributeValueStored(taskId, nodeXpath, nodeValue, attributeStatistics)) {
+          if (distinctValuesCount >= ATTRIBUTES_MAX_ALLOWED_VALUES) {
+            continue;
+          }
+          distinctValuesCount++;
         }
-      } else {
-        cassandraAttributeStatisticsDAO.insertAttributeStatistics(taskId, nodeXpath, nodeValue, attributeStatistics);
+        statements.add(cassandraAttributeStatisticsDAO.insertAttributeStatisticsStatement(taskId, nodeXpath, nodeValue,
+            attributeStatistics));
       }
-    }
+    });
+    return statements;
+  }
+
+  private boolean isAttributeValueStored(long taskId, String nodeXpath, String nodeValue, AttributeStatistics attribute) {
+    return cassandraAttributeStatisticsDAO.getSpecificAttributeValueCount(taskId, nodeXpath, nodeValue,
+        attribute.getName(), attribute.getValue()) > 0;
   }
 
   /**
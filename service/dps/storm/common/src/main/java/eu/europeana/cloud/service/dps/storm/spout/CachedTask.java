@@ -0,0 +1,49 @@
+package eu.europeana.cloud.service.dps.storm.spout;
+
+import static eu.europeana.cloud.service.dps.PluginParameterKeys.DPS_TASK_INPUT_DATA;
+import static eu.europeana.cloud.service.dps.PluginParameterKeys.SENT_DATE;
+import static org.apache.commons.collections.CollectionUtils.isEmpty;
+
+import eu.europeana.cloud.common.model.dps.TaskInfo;
+import eu.europeana.cloud.service.commons.utils.DateHelper;
+import eu.europeana.cloud.service.dps.DpsTask;
+import eu.europeana.cloud.service.dps.InputDataType;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Task definition deserialized once and kept in the {@link TasksCache}, so records of the same task could be emitted without
+ * parsing the definition again.
+ */
+@Getter
+public class CachedTask {
+
+  private final DpsTask dpsTask;
+
+  /**
+   * Parameters that are the same for all the records of the task. They have to be copied to every emitted tuple, because bolts
+   * modify parameters of the tuple.
+   */
+  private final Map<String, String> emissionParameters;
+
+  private CachedTask(DpsTask dpsTask, Map<String, String> emissionParameters) {
+    this.dpsTask = dpsTask;
+    this.emissionParameters = emissionParameters;
+  }
+
+  public static CachedTask from(TaskInfo taskInfo) throws IOException {
+    var dpsTask = DpsTask.fromTaskInfo(taskInfo);
+    Map<String, String> parameters = new HashMap<>(dpsTask.getParameters());
+    parameters.put(SENT_DATE, DateHelper.format(taskInfo.getSentTimestamp()));
+
+    List<String> repositoryUrlList = dpsTask.getDataEntry(InputDataType.REPOSITORY_URLS);
+    if (!isEmpty(repositoryUrlList)) {
+      parameters.put(DPS_TASK_INPUT_DATA, repositoryUrlList.get(0));
+    }
+    return new CachedTask(dpsTask, Collections.unmodifiableMap(parameters));
+  }
+}
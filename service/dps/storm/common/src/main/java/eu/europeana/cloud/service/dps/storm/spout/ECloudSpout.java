@@ -1,25 +1,22 @@
 package eu.europeana.cloud.service.dps.storm.spout;
 
 import static eu.europeana.cloud.service.dps.PluginParameterKeys.CLOUD_LOCAL_IDENTIFIER;
-import static eu.europeana.cloud.service.dps.PluginParameterKeys.DPS_TASK_INPUT_DATA;
 import static eu.europeana.cloud.service.dps.PluginParameterKeys.MESSAGE_PROCESSING_START_TIME_IN_MS;
+import static eu.europeana.cloud.service.dps.PluginParameterKeys.RECORD_DATESTAMP;
 import static eu.europeana.cloud.service.dps.PluginParameterKeys.SCHEMA_NAME;
-import static eu.europeana.cloud.service.dps.PluginParameterKeys.SENT_DATE;
 import static eu.europeana.cloud.service.dps.storm.AbstractDpsBolt.NOTIFICATION_STREAM_NAME;
-import static org.apache.commons.collections.CollectionUtils.isEmpty;
+import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyDefaultsConstants.DEFAULT_PROCESSED_RECORDS_PREFETCH_WINDOW;
 
+import com.google.common.util.concurrent.Uninterruptibles;
 import eu.europeana.cloud.cassandra.CassandraConnectionProviderSingleton;
 import eu.europeana.cloud.common.model.dps.ProcessedRecord;
 import eu.europeana.cloud.common.model.dps.RecordState;
-import eu.europeana.cloud.common.model.dps.TaskDiagnosticInfo;
-import eu.europeana.cloud.common.model.dps.TaskInfo;
 import eu.europeana.cloud.common.properties.CassandraProperties;
-import eu.europeana.cloud.service.commons.utils.DateHelper;
 import eu.europeana.cloud.service.dps.DpsRecord;
 import eu.europeana.cloud.service.dps.DpsTask;
-import eu.europeana.cloud.service.dps.InputDataType;
 import eu.europeana.cloud.service.dps.PluginParameterKeys;
 import eu.europeana.cloud.service.dps.exception.TaskInfoDoesNotExistException;
+import eu.europeana.cloud.service.dps.storm.spout.PrefetchedRecords.PrefetchedRecord;
 import eu.europeana.cloud.service.dps.storm.NotificationTuple;
 import eu.europeana.cloud.service.dps.storm.StormTaskTuple;
 import eu.europeana.cloud.service.dps.storm.dao.CassandraTaskInfoDAO;
@@ -31,17 +28,19 @@ import eu.europeana.cloud.service.dps.storm.utils.TaskStatusChecker;
 import eu.europeana.cloud.service.dps.storm.utils.TaskStatusUpdater;
 import java.io.IOException;
 import java.lang.management.ManagementFactory;
-import java.time.Instant;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
 import javax.management.InstanceAlreadyExistsException;
 import javax.management.MBeanRegistrationException;
 import javax.management.MalformedObjectNameException;
 import javax.management.NotCompliantMBeanException;
 import javax.management.ObjectName;
+import org.apache.kafka.common.TopicPartition;
 import org.apache.storm.kafka.spout.KafkaSpout;
 import org.apache.storm.kafka.spout.KafkaSpoutConfig;
 import org.apache.storm.spout.ISpoutOutputCollector;
@@ -62,17 +61,22 @@ public class ECloudSpout extends KafkaSpout<String, DpsRecord> {
   private final String keyspaceName;
   private final String userName;
   private final String password;
+  private final int processedRecordsPrefetchWindow;
+  private final PartitionsReassignmentListener partitionsReassignmentListener;
   protected transient CassandraTaskInfoDAO taskInfoDAO;
   protected transient TaskDiagnosticInfoDAO taskDiagnosticInfoDAO;
   protected transient TaskStatusUpdater taskStatusUpdater;
   protected transient TaskStatusChecker taskStatusChecker;
   protected transient ProcessedRecordsDAO processedRecordsDAO;
   protected transient TasksCache tasksCache;
+  protected transient TaskDiagnosticCounters taskDiagnosticCounters;
   protected transient ECloudSpoutSamplerMXBean eCloudSpoutSamplerMXBean;
   private transient ECloudOutputCollector eCloudOutputCollector;
+  private transient PrefetchedRecords prefetchedRecords;
   protected long maxTaskPending = Long.MAX_VALUE;
 
-  public ECloudSpout(String topologyName, String topic, KafkaSpoutConfig<String, DpsRecord> kafkaSpoutConfig, CassandraProperties cassandraProperties) {
+  public ECloudSpout(String topologyName, String topic, KafkaSpoutConfig<String, DpsRecord> kafkaSpoutConfig,
+      SpoutProperties spoutProperties, CassandraProperties cassandraProperties) {
     super(kafkaSpoutConfig);
     this.topologyName = topologyName;
     this.topic = topic;
@@ -81,6 +85,11 @@ public class ECloudSpout extends KafkaSpout<String, DpsRecord> {
     this.keyspaceName = cassandraProperties.getKeyspace();
     this.userName = cassandraProperties.getUser();
     this.password = cassandraProperties.getPassword();
+    this.processedRecordsPrefetchWindow = Optional.ofNullable(spoutProperties.getProcessedRecordsPrefetchWindow())
+                                                  .orElse(DEFAULT_PROCESSED_RECORDS_PREFETCH_WINDOW);
+    //The same listener instance is used by the Kafka spout, cause the config is serialized together with this spout
+    this.partitionsReassignmentListener =
+        kafkaSpoutConfig.getTupleListener() instanceof PartitionsReassignmentListener listener ? listener : null;
   }
 
 
@@ -102,6 +111,10 @@ public class ECloudSpout extends KafkaSpout<String, DpsRecord> {
   public void open(Map conf, TopologyContext context, SpoutOutputCollector collector) {
     eCloudSpoutSamplerMXBean = new ECloudSpoutSamplerMXBean();
     eCloudOutputCollector = new ECloudOutputCollector(collector);
+    prefetchedRecords = new PrefetchedRecords();
+    if (partitionsReassignmentListener != null) {
+      partitionsReassignmentListener.setReassignmentHandler(this::removePrefetchedRecordsOfRevokedPartitions);
+    }
     super.open(conf, context, eCloudOutputCollector);
 
     var cassandraConnectionProvider =
@@ -117,6 +130,21 @@ public class ECloudSpout extends KafkaSpout<String, DpsRecord> {
     processedRecordsDAO = ProcessedRecordsDAO.getInstance(cassandraConnectionProvider);
     taskDiagnosticInfoDAO = TaskDiagnosticInfoDAO.getInstance(cassandraConnectionProvider);
     tasksCache = new TasksCache(cassandraConnectionProvider);
+    taskDiagnosticCounters = new TaskDiagnosticCounters(tasksCache, taskDiagnosticInfoDAO,
+        TaskDiagnosticCounters.DEFAULT_FLUSH_INTERVAL_IN_MILLIS);
+  }
+
+  @Override
+  public void deactivate() {
+    releasePrefetchedRecords();
+    taskDiagnosticCounters.flush();
+    super.deactivate();
+  }
+
+  @Override
+  public void close() {
+    taskDiagnosticCounters.flush();
+    super.close();
   }
 
   @Override
@@ -129,6 +157,27 @@ public class ECloudSpout extends KafkaSpout<String, DpsRecord> {
     super.ack(messageId);
   }
 
+  /**
+   * Fails the records waiting in the spout, so the Kafka spout emits them again after the spout is activated. Their states
+   * read from the database could be outdated by then.
+   */
+  private void releasePrefetchedRecords() {
+    List<PrefetchedRecord> released = prefetchedRecords.removeAll();
+    if (!released.isEmpty()) {
+      LOGGER.info("Releasing {} prefetched records on spout deactivation", released.size());
+    }
+    for (PrefetchedRecord prefetched : released) {
+      super.fail(prefetched.getMessageId());
+    }
+  }
+
+  private void removePrefetchedRecordsOfRevokedPartitions(Collection<TopicPartition> assignedPartitions) {
+    List<PrefetchedRecord> removed = prefetchedRecords.removeNotAssignedTo(assignedPartitions);
+    if (!removed.isEmpty()) {
+      LOGGER.info("Removed {} prefetched records of the partitions revoked from the spout", removed.size());
+    }
+  }
+
   private StormTaskTuple getStormTaskTupleFromMessage(DpsRecord message) {
     StormTaskTuple stormTaskTuple = new StormTaskTuple();
     stormTaskTuple.setTaskId(message.getTaskId());
@@ -160,16 +209,14 @@ public class ECloudSpout extends KafkaSpout<String, DpsRecord> {
         }
         eCloudSpoutSamplerMXBean.lastConsumedMessageCanceled = false;
 
-        ProcessedRecord aRecord = prepareRecordForExecution(message);
-        if (isFinished(aRecord)) {
-          return omitAlreadyProcessedRecord(messageId);
-        }
-
-        if (maxTriesReached(aRecord)) {
-          return emitMaxTriesReachedNotification(message, messageId);
-        } else {
-          return emitRecordForProcessing(streamId, message, aRecord, messageId);
+        if (isPrefetchingEnabled()) {
+          //Record is emitted later, in the nextTuple(), when its state is read from the DB
+          prefetchedRecords.add(new PrefetchedRecord(streamId, message, messageId,
+              processedRecordsDAO.selectByPrimaryKeyAsync(message.getTaskId(), message.getRecordId())));
+          return Collections.emptyList();
         }
+        return emitRecord(streamId, message,
+            processedRecordsDAO.selectByPrimaryKey(message.getTaskId(), message.getRecordId()), messageId);
       } catch (IOException | NullPointerException e) {
         LOGGER.error("Unable to read message", e);
         return Collections.emptyList();
@@ -181,6 +228,54 @@ public class ECloudSpout extends KafkaSpout<String, DpsRecord> {
       }
     }
 
+    /**
+     * Emits prefetched records, in the order they were read from Kafka, until the first record which state is not read yet or
+     * until the pending limit is reached.
+     */
+    void emitPrefetchedRecords() {
+      while (getPendingCount() < maxTaskPending) {
+        PrefetchedRecord prefetched = prefetchedRecords.pollReady();
+        if (prefetched == null) {
+          break;
+        }
+        DpsRecord message = prefetched.getMessage();
+        try {
+          DiagnosticContextWrapper.putValuesFrom(message);
+          emitRecord(prefetched.getStreamId(), message, getPrefetchedRecordInDb(prefetched), prefetched.getMessageId());
+        } catch (IOException | NullPointerException e) {
+          LOGGER.error("Unable to read message", e);
+        } catch (TaskInfoDoesNotExistException e) {
+          LOGGER.error("Task definition not found in DB");
+        } finally {
+          DiagnosticContextWrapper.clear();
+        }
+      }
+    }
+
+    private Optional<ProcessedRecord> getPrefetchedRecordInDb(PrefetchedRecord prefetched) {
+      try {
+        return Uninterruptibles.getUninterruptibly(prefetched.getRecordInDb());
+      } catch (ExecutionException e) {
+        LOGGER.warn("Could not prefetch processed record, reading it again", e);
+        DpsRecord message = prefetched.getMessage();
+        return processedRecordsDAO.selectByPrimaryKey(message.getTaskId(), message.getRecordId());
+      }
+    }
+
+    private List<Integer> emitRecord(String streamId, DpsRecord message, Optional<ProcessedRecord> recordInDb,
+        Object messageId) throws TaskInfoDoesNotExistException, IOException {
+      ProcessedRecord aRecord = prepareRecordForExecution(message, recordInDb);
+      if (isFinished(aRecord)) {
+        return omitAlreadyProcessedRecord(messageId);
+      }
+
+      if (maxTriesReached(aRecord)) {
+        return emitMaxTriesReachedNotification(message, messageId);
+      } else {
+        return emitRecordForProcessing(streamId, message, aRecord, messageId);
+      }
+    }
+
     private boolean maxTriesReached(ProcessedRecord aRecord) {
       return aRecord.getAttemptNumber() > MAX_RETRIES;
     }
@@ -193,31 +288,30 @@ public class ECloudSpout extends KafkaSpout<String, DpsRecord> {
       return (DpsRecord) tuple.get(4);
     }
 
-    private TaskInfo getTaskInfo(DpsRecord message) throws TaskInfoDoesNotExistException {
-      return tasksCache.getTaskInfo(message);
+    private CachedTask getTask(DpsRecord message) throws TaskInfoDoesNotExistException, IOException {
+      return tasksCache.getTask(message);
     }
 
-    private StormTaskTuple prepareTaskForEmission(TaskInfo taskInfo, DpsTask dpsTask, DpsRecord dpsRecord,
-        ProcessedRecord aRecord) {
+    private StormTaskTuple prepareTaskForEmission(CachedTask task, DpsRecord dpsRecord, ProcessedRecord aRecord) {
+      DpsTask dpsTask = task.getDpsTask();
+      //Cached parameters are shared by all the records of the task, so they are copied
+      Map<String, String> parameters = new HashMap<>(task.getEmissionParameters());
+      parameters.put(CLOUD_LOCAL_IDENTIFIER, dpsRecord.getRecordId());
+      parameters.put(SCHEMA_NAME, dpsRecord.getMetadataPrefix());
+      parameters.put(MESSAGE_PROCESSING_START_TIME_IN_MS, String.valueOf(System.currentTimeMillis()));
+      if (dpsRecord.getRecordDatestamp() != null) {
+        //Record was harvested by the submitter already, together with its datestamp
+        parameters.put(RECORD_DATESTAMP, dpsRecord.getRecordDatestamp());
+      }
       //
       var stormTaskTuple = new StormTaskTuple(
           dpsTask.getTaskId(),
           dpsTask.getTaskName(),
           dpsRecord.getRecordId(),
-          null,
-          dpsTask.getParameters(),
+          dpsRecord.getContent(),
+          parameters,
           dpsTask.getOutputRevision(),
           dpsTask.getHarvestingDetails());
-      //
-      stormTaskTuple.addParameter(CLOUD_LOCAL_IDENTIFIER, dpsRecord.getRecordId());
-      stormTaskTuple.addParameter(SCHEMA_NAME, dpsRecord.getMetadataPrefix());
-      stormTaskTuple.addParameter(SENT_DATE, DateHelper.format(taskInfo.getSentTimestamp()));
-      stormTaskTuple.addParameter(MESSAGE_PROCESSING_START_TIME_IN_MS, new Date().getTime() + "");
-
-      List<String> repositoryUrlList = dpsTask.getDataEntry(InputDataType.REPOSITORY_URLS);
-      if (!isEmpty(repositoryUrlList)) {
-        stormTaskTuple.addParameter(DPS_TASK_INPUT_DATA, repositoryUrlList.get(0));
-      }
 
       //Implementation of re-try mechanism after topology broken down
       stormTaskTuple.setRecordAttemptNumber(aRecord.getAttemptNumber());
@@ -227,30 +321,8 @@ public class ECloudSpout extends KafkaSpout<String, DpsRecord> {
       return stormTaskTuple;
     }
 
-    private void updateDiagnosticCounters(ProcessedRecord aRecord) {
-      TaskDiagnosticInfo taskInfo = tasksCache.getDiagnosticInfo(aRecord.getTaskId());
-
-      if (taskInfo.getStartedRecordsCount() == 0) {
-        taskInfo.setStartOnStormTime(Instant.now());
-        taskDiagnosticInfoDAO.updateStartOnStormTime(taskInfo.getTaskId(), taskInfo.getStartOnStormTime());
-        taskDiagnosticInfoDAO.updateRecordsRetryCount(taskInfo.getTaskId(), 0);
-      }
-
-      if (aRecord.getAttemptNumber() > 1) {
-        LOGGER.info("Record is repeated - {} attempt!", aRecord.getAttemptNumber());
-        int retryCount = taskInfo.getRecordsRetryCount();
-        retryCount++;
-        taskInfo.setRecordsRetryCount(retryCount);
-        taskDiagnosticInfoDAO.updateRecordsRetryCount(taskInfo.getTaskId(), retryCount);
-      } else {
-        taskInfo.setStartedRecordsCount(taskInfo.getStartedRecordsCount() + 1);
-        taskDiagnosticInfoDAO.updateStartedRecordsCount(taskInfo.getTaskId(), taskInfo.getStartedRecordsCount());
-      }
-    }
-
-    private ProcessedRecord prepareRecordForExecution(DpsRecord message) {
+    private ProcessedRecord prepareRecordForExecution(DpsRecord message, Optional<ProcessedRecord> recordInDb) {
       ProcessedRecord aRecord;
-      Optional<ProcessedRecord> recordInDb = processedRecordsDAO.selectByPrimaryKey(message.getTaskId(), message.getRecordId());
       if (recordInDb.isPresent()) {
         aRecord = recordInDb.get();
         aRecord.setAttemptNumber(aRecord.getAttemptNumber() + 1);
@@ -281,10 +353,9 @@ public class ECloudSpout extends KafkaSpout<String, DpsRecord> {
 
     List<Integer> emitRecordForProcessing(String streamId, DpsRecord message, ProcessedRecord aRecord,
         Object compositeMessageId) throws TaskInfoDoesNotExistException, IOException {
-      var taskInfo = getTaskInfo(message);
-      var dpsTask = DpsTask.fromTaskInfo(taskInfo);
-      updateDiagnosticCounters(aRecord);
-      var stormTaskTuple = prepareTaskForEmission(taskInfo, dpsTask, message, aRecord);
+      var task = getTask(message);
+      taskDiagnosticCounters.recordStarted(aRecord);
+      var stormTaskTuple = prepareTaskForEmission(task, message, aRecord);
       performThrottling(stormTaskTuple);
       LOGGER.info("Emitting a record to the subsequent bolt maxPending: {}", maxTaskPending);
       return super.emit(streamId, stormTaskTuple.toStormTuple(), compositeMessageId);
@@ -403,9 +474,19 @@ public class ECloudSpout extends KafkaSpout<String, DpsRecord> {
 
   @Override
   public void nextTuple() {
-    if (eCloudOutputCollector.getPendingCount() < maxTaskPending) {
+    if (isPrefetchingEnabled()) {
+      eCloudOutputCollector.emitPrefetchedRecords();
+      if (prefetchedRecords.size() < processedRecordsPrefetchWindow
+          && eCloudOutputCollector.getPendingCount() + prefetchedRecords.size() < maxTaskPending) {
+        super.nextTuple();
+      }
+    } else if (eCloudOutputCollector.getPendingCount() < maxTaskPending) {
       super.nextTuple();
     }
+    taskDiagnosticCounters.flushIfNeeded();
   }
 
+  private boolean isPrefetchingEnabled() {
+    return processedRecordsPrefetchWindow > 1;
+  }
 }
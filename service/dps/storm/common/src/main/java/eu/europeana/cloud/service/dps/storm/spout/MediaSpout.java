@@ -18,7 +18,7 @@ public class MediaSpout extends ECloudSpout {
 
   public MediaSpout(String topologyName, String topic, KafkaSpoutConfig<String, DpsRecord> kafkaSpoutConfig,
        SpoutProperties spoutProperties, CassandraProperties cassandraProperties) {
-    super(topologyName, topic, kafkaSpoutConfig, cassandraProperties);
+    super(topologyName, topic, kafkaSpoutConfig, spoutProperties, cassandraProperties);
     this.defaultMaximumParallelization = spoutProperties.getMaxTaskParallelism() != null ? String.valueOf(spoutProperties.getMaxTaskParallelism()) : null;
   }
 
@@ -0,0 +1,27 @@
+package eu.europeana.cloud.service.dps.storm.spout;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.storm.kafka.spout.EmptyKafkaTupleListener;
+
+/**
+ * Tuple listener of the Kafka spout, which informs the {@link ECloudSpout} about the partitions assigned to it after the
+ * consumer group rebalance. The listener is a part of the spout config, so it is serialized together with the spout and every
+ * spout instance has its own listener.
+ */
+public class PartitionsReassignmentListener extends EmptyKafkaTupleListener {
+
+  private transient Consumer<Collection<TopicPartition>> reassignmentHandler;
+
+  void setReassignmentHandler(Consumer<Collection<TopicPartition>> reassignmentHandler) {
+    this.reassignmentHandler = reassignmentHandler;
+  }
+
+  @Override
+  public void onPartitionsReassigned(Collection<TopicPartition> partitions) {
+    if (reassignmentHandler != null) {
+      reassignmentHandler.accept(partitions);
+    }
+  }
+}
@@ -0,0 +1,86 @@
+package eu.europeana.cloud.service.dps.storm.spout;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import eu.europeana.cloud.common.model.dps.ProcessedRecord;
+import eu.europeana.cloud.service.dps.DpsRecord;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.storm.kafka.spout.KafkaSpoutMessageId;
+
+/**
+ * Kafka messages waiting in the spout, in the order they were read from Kafka, until the states of their records are read
+ * from the database.
+ */
+class PrefetchedRecords {
+
+  private final Deque<PrefetchedRecord> records = new ArrayDeque<>();
+
+  void add(PrefetchedRecord prefetchedRecord) {
+    records.add(prefetchedRecord);
+  }
+
+  int size() {
+    return records.size();
+  }
+
+  /**
+   * @return the first waiting record if its state is already read from the database, null otherwise
+   */
+  PrefetchedRecord pollReady() {
+    PrefetchedRecord first = records.peek();
+    if (first == null || !first.getRecordInDb().isDone()) {
+      return null;
+    }
+    return records.remove();
+  }
+
+  /**
+   * Removes records read from the partitions which are no longer assigned to the spout. Such messages are not tracked by the
+   * Kafka spout after the rebalance, so they could not be acknowledged, and they are consumed by other spout.
+   *
+   * @return removed records
+   */
+  List<PrefetchedRecord> removeNotAssignedTo(Collection<TopicPartition> assignedPartitions) {
+    List<PrefetchedRecord> removed = new ArrayList<>();
+    Iterator<PrefetchedRecord> iterator = records.iterator();
+    while (iterator.hasNext()) {
+      PrefetchedRecord prefetchedRecord = iterator.next();
+      if (prefetchedRecord.getMessageId() instanceof KafkaSpoutMessageId kafkaMessageId
+          && !assignedPartitions.contains(kafkaMessageId.getTopicPartition())) {
+        iterator.remove();
+        removed.add(prefetchedRecord);
+      }
+    }
+    return removed;
+  }
+
+  /**
+   * @return all the removed records, in the order they were read from Kafka
+   */
+  List<PrefetchedRecord> removeAll() {
+    List<PrefetchedRecord> removed = new ArrayList<>(records);
+    records.clear();
+    return removed;
+  }
+
+  /**
+   * Kafka message waiting in the spout until the state of its record is read from the database.
+   */
+  @Getter
+  @AllArgsConstructor
+  static class PrefetchedRecord {
+
+    private final String streamId;
+    private final DpsRecord message;
+    private final Object messageId;
+    private final ListenableFuture<Optional<ProcessedRecord>> recordInDb;
+  }
+}
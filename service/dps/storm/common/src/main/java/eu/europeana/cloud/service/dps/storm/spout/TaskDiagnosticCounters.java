@@ -0,0 +1,69 @@
+package eu.europeana.cloud.service.dps.storm.spout;
+
+import eu.europeana.cloud.common.model.dps.ProcessedRecord;
+import eu.europeana.cloud.common.model.dps.TaskDiagnosticInfo;
+import eu.europeana.cloud.service.dps.storm.dao.TaskDiagnosticInfoDAO;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Counts records started by the spout in the diagnostic info of their tasks. Counters are kept in the {@link TasksCache} and
+ * written to the database periodically, not on every emitted record, so they could be slightly outdated in the database.
+ */
+public class TaskDiagnosticCounters {
+
+  public static final long DEFAULT_FLUSH_INTERVAL_IN_MILLIS = 5000;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TaskDiagnosticCounters.class);
+
+  private final TasksCache tasksCache;
+  private final TaskDiagnosticInfoDAO taskDiagnosticInfoDAO;
+  private final long flushIntervalInMillis;
+  //Modified infos are kept here, cause they could be evicted from the cache before the flush
+  private final Map<Long, TaskDiagnosticInfo> modifiedTasks = new LinkedHashMap<>();
+  private long lastFlushTime = System.currentTimeMillis();
+
+  public TaskDiagnosticCounters(TasksCache tasksCache, TaskDiagnosticInfoDAO taskDiagnosticInfoDAO,
+      long flushIntervalInMillis) {
+    this.tasksCache = tasksCache;
+    this.taskDiagnosticInfoDAO = taskDiagnosticInfoDAO;
+    this.flushIntervalInMillis = flushIntervalInMillis;
+  }
+
+  public void recordStarted(ProcessedRecord aRecord) {
+    TaskDiagnosticInfo taskInfo = tasksCache.getDiagnosticInfo(aRecord.getTaskId());
+
+    if (taskInfo.getStartedRecordsCount() == 0) {
+      //Start time is written only once per task, so it is not delayed
+      taskInfo.setStartOnStormTime(Instant.now());
+      taskDiagnosticInfoDAO.updateStartOnStormTime(taskInfo.getTaskId(), taskInfo.getStartOnStormTime());
+      taskDiagnosticInfoDAO.updateRecordsRetryCount(taskInfo.getTaskId(), 0);
+    }
+
+    if (aRecord.getAttemptNumber() > 1) {
+      LOGGER.info("Record is repeated - {} attempt!", aRecord.getAttemptNumber());
+      taskInfo.setRecordsRetryCount(taskInfo.getRecordsRetryCount() + 1);
+    } else {
+      taskInfo.setStartedRecordsCount(taskInfo.getStartedRecordsCount() + 1);
+    }
+    modifiedTasks.put(taskInfo.getTaskId(), taskInfo);
+  }
+
+  public void flushIfNeeded() {
+    if (System.currentTimeMillis() - lastFlushTime >= flushIntervalInMillis) {
+      flush();
+    }
+  }
+
+  public void flush() {
+    for (TaskDiagnosticInfo taskInfo : modifiedTasks.values()) {
+      taskDiagnosticInfoDAO.updateRecordsCounters(taskInfo.getTaskId(), taskInfo.getStartedRecordsCount(),
+          taskInfo.getRecordsRetryCount());
+    }
+    modifiedTasks.clear();
+    lastFlushTime = System.currentTimeMillis();
+  }
+}
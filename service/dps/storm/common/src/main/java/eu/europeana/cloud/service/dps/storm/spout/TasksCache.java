@@ -8,17 +8,18 @@ import eu.europeana.cloud.service.dps.exception.TaskInfoDoesNotExistException;
 import eu.europeana.cloud.service.dps.storm.dao.CassandraTaskInfoDAO;
 import eu.europeana.cloud.service.dps.storm.dao.TaskDiagnosticInfoDAO;
 import eu.europeana.cloud.service.dps.util.LRUCache;
+import java.io.IOException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Keeps tasks in cache so there is not need to query database every time.
+ * Keeps tasks in cache so there is not need to query database and to parse the task definition every time.
  */
 public class TasksCache {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TasksCache.class);
 
-  private final LRUCache<Long, TaskInfo> cache = new LRUCache<>(50);
+  private final LRUCache<Long, CachedTask> cache = new LRUCache<>(50);
 
   private final LRUCache<Long, TaskDiagnosticInfo> diagnosticCache = new LRUCache<>(50);
 
@@ -31,24 +32,24 @@ public class TasksCache {
     taskDiagnosticInfoDAO = TaskDiagnosticInfoDAO.getInstance(cassandraConnectionProvider);
   }
 
-  public TaskInfo getTaskInfo(DpsRecord message) throws TaskInfoDoesNotExistException {
-    TaskInfo taskInfo = findTaskInCache(message);
+  public CachedTask getTask(DpsRecord message) throws TaskInfoDoesNotExistException, IOException {
+    CachedTask task = findTaskInCache(message);
     //
-    if (taskFoundInCache(taskInfo)) {
-      LOGGER.trace("TaskInfo found in cache");
+    if (taskFoundInCache(task)) {
+      LOGGER.trace("Task found in cache");
     } else {
-      LOGGER.debug("TaskInfo NOT found in cache");
-      taskInfo = readTaskFromDB(message.getTaskId());
-      cache.put(message.getTaskId(), taskInfo);
+      LOGGER.debug("Task NOT found in cache");
+      task = CachedTask.from(readTaskFromDB(message.getTaskId()));
+      cache.put(message.getTaskId(), task);
     }
-    return taskInfo;
+    return task;
   }
 
-  private boolean taskFoundInCache(TaskInfo taskInfo) {
-    return taskInfo != null;
+  private boolean taskFoundInCache(CachedTask task) {
+    return task != null;
   }
 
-  private TaskInfo findTaskInCache(DpsRecord kafkaMessage) {
+  private CachedTask findTaskInCache(DpsRecord kafkaMessage) {
     return cache.get(kafkaMessage.getTaskId());
   }
 
@@ -6,12 +6,15 @@ public final class TopologyDefaultsConstants {
   public static final int DEFAULT_MAX_SPOUT_PENDING = 500; //records
   public static final int DEFAULT_MAX_POLL_RECORDS = 100;
   public static final int DEFAULT_FETCH_MAX_BYTES = 20000;
+  public static final int DEFAULT_PROCESSED_RECORDS_PREFETCH_WINDOW = 1; //records, 1 means no prefetching
 
   public static final int DEFAULT_CASSANDRA_PORT = 9042;
 
   public static final int DPS_DEFAULT_MAX_ATTEMPTS = 7;
   public static final int DEFAULT_SPOUT_SLEEP_MS = 1;
   public static final int DEFAULT_SPOUT_SLEEP_EVERY_N_IDLE_ITERATIONS = 32;
+  public static final int DEFAULT_NOTIFICATION_BATCH_SIZE = 1; //tuples, 1 means no batching
+  public static final int DEFAULT_NOTIFICATION_BATCH_INTERVAL_MS = 1000;
 
   private TopologyDefaultsConstants() {
   }
@@ -57,8 +57,11 @@ public final class TopologyPropertyKeys {
   public static final String MAX_SPOUT_PENDING = "MAX_SPOUT_PENDING";
   public static final String MAX_POLL_RECORDS = "MAX_POLL_RECORDS";
   public static final String FETCH_MAX_BYTES = "FETCH_MAX_BYTES";
+  public static final String PROCESSED_RECORDS_PREFETCH_WINDOW = "PROCESSED_RECORDS_PREFETCH_WINDOW";
   public static final String SPOUT_SLEEP_MS = "SPOUT_SLEEP_MS";
   public static final String SPOUT_SLEEP_EVERY_N_IDLE_ITERATIONS = "SPOUT_SLEEP_EVERY_N_IDLE_ITERATIONS";
+  public static final String NOTIFICATION_BATCH_SIZE = "NOTIFICATION_BATCH_SIZE";
+  public static final String NOTIFICATION_BATCH_INTERVAL_MS = "NOTIFICATION_BATCH_INTERVAL_MS";
 
   public static final String LINK_CHECK_BOLT_PARALLEL = "LINK_CHECK_BOLT_PARALLEL";
   public static final String LINK_CHECK_BOLT_NUMBER_OF_TASKS = "LINK_CHECK_BOLT_NUMBER_OF_TASKS";
@@ -78,6 +81,9 @@ public final class TopologyPropertyKeys {
   public static final String ENRICHMENT_ENTITY_MANAGEMENT_URL = "ENTITY_MANAGEMENT_URL";
   public static final String ENRICHMENT_ENTITY_API_URL = "ENTITY_API_URL";
   public static final String ENRICHMENT_ENTITY_API_KEY = "ENTITY_API_KEY";
+  public static final String ENRICHMENT_BATCH_SIZE = "ENRICHMENT_BATCH_SIZE";
+  public static final String ENRICHMENT_CONNECT_TIMEOUT_IN_MILLIS = "ENRICHMENT_CONNECT_TIMEOUT_IN_MILLIS";
+  public static final String ENRICHMENT_READ_TIMEOUT_IN_MILLIS = "ENRICHMENT_READ_TIMEOUT_IN_MILLIS";
 
   //Normalization parameters
   public static final String NORMALIZATION_BOLT_NUMBER_OF_TASKS = "NORMALIZATION_BOLT_NUMBER_OF_TASKS";
@@ -1,28 +1,57 @@
 package eu.europeana.cloud.service.dps.storm.utils;
 
 import com.datastax.driver.core.Row;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
 import java.util.function.IntFunction;
 
 public class BucketRecordIterator<T> implements Iterator<T> {
 
-  private final int bucketCount;
+  private final int lastBucketNumber;
   private final Function<Row, T> convertMethod;
   private final IntFunction<Iterator<Row>> bucketQueryMethod;
 
-  private int bucketNumber = -1;
+  private int bucketNumber;
   private Iterator<Row> currentBucketIterator;
 
   public BucketRecordIterator(int bucketCount,
       IntFunction<Iterator<Row>> bucketQueryMethod,
       RowConverter<T> convertMethod) {
-    this.bucketCount = bucketCount;
+    this(0, bucketCount - 1, bucketQueryMethod, convertMethod);
+  }
+
+  private BucketRecordIterator(int firstBucketNumber, int lastBucketNumber,
+      IntFunction<Iterator<Row>> bucketQueryMethod,
+      RowConverter<T> convertMethod) {
+    this.bucketNumber = firstBucketNumber - 1;
+    this.lastBucketNumber = lastBucketNumber;
     this.bucketQueryMethod = bucketQueryMethod;
     this.convertMethod = convertMethod;
   }
 
+  /**
+   * Creates separate iterator for every bucket, so the buckets could be read independently, e.g. in parallel. Buckets are
+   * queried lazily, when their iterators are used for the first time.
+   *
+   * @param bucketCount number of the buckets
+   * @param bucketQueryMethod method querying the rows of the bucket of the given number
+   * @param convertMethod method converting the rows to the returned entities
+   * @param <T> type of the returned entities
+   * @return list of the iterators, ordered by the bucket numbers
+   */
+  public static <T> List<Iterator<T>> forEachBucket(int bucketCount,
+      IntFunction<Iterator<Row>> bucketQueryMethod,
+      RowConverter<T> convertMethod) {
+    List<Iterator<T>> bucketIterators = new ArrayList<>(bucketCount);
+    for (var i = 0; i < bucketCount; i++) {
+      bucketIterators.add(new BucketRecordIterator<>(i, i, bucketQueryMethod, convertMethod));
+    }
+    return bucketIterators;
+  }
+
   @Override
   public boolean hasNext() {
     goToNextBucketIfNeeded();
@@ -51,7 +80,7 @@ public class BucketRecordIterator<T> implements Iterator<T> {
   }
 
   private boolean notLastBucket() {
-    return bucketNumber < (bucketCount - 1);
+    return bucketNumber < lastBucketNumber;
   }
 
   public interface RowConverter<R> extends Function<Row, R> {
@@ -25,5 +25,6 @@ public class SpoutProperties {
   private String bootstrapServers;
   private Integer maxPollRecords;
   private Integer fetchMaxBytes;
+  private Integer processedRecordsPrefetchWindow;
   private String topics;
 }
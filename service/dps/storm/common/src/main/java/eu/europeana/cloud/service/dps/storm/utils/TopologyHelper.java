@@ -9,6 +9,7 @@ import eu.europeana.cloud.service.dps.metis.indexing.DataSetCleanerParameters;
 import eu.europeana.cloud.service.dps.storm.NotificationTuple;
 import eu.europeana.cloud.service.dps.storm.spout.ECloudSpout;
 import eu.europeana.cloud.service.dps.storm.spout.MediaSpout;
+import eu.europeana.cloud.service.dps.storm.spout.PartitionsReassignmentListener;
 import eu.europeana.enrichment.rest.client.report.Report;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -73,6 +74,8 @@ public final class TopologyHelper {
                           .spoutSleepEveryNIterations(getIntegerProperty(topologyProperties, SPOUT_SLEEP_EVERY_N_IDLE_ITERATIONS))
                           .maxPollRecords(getIntegerProperty(topologyProperties, MAX_POLL_RECORDS))
                           .fetchMaxBytes(getIntegerProperty(topologyProperties, FETCH_MAX_BYTES))
+                          .processedRecordsPrefetchWindow(
+                              getIntegerProperty(topologyProperties, PROCESSED_RECORDS_PREFETCH_WINDOW))
                           .topics(topologyProperties.getProperty(TOPICS))
                           .bootstrapServers(topologyProperties.getProperty(BOOTSTRAP_SERVERS))
                           .build();
@@ -115,18 +118,24 @@ public final class TopologyHelper {
     config.setMessageTimeoutSecs(getValue(spoutProperties.getMessageTimeoutInSeconds(), DEFAULT_TUPLE_PROCESSING_TIME));
     config.setMaxSpoutPending(getValue(spoutProperties.getMaxSpoutPending(), DEFAULT_MAX_SPOUT_PENDING));
 
-    List<String> kryoClassesToBeSerialized = Stream.of(Report.class.getDeclaredFields())
+    List<Object> kryoClassesToBeSerialized = Stream.of(Report.class.getDeclaredFields())
             .filter(field -> Arrays.asList("messageType", "mode", "status").contains(field.getName()))
             .map(field -> field.getType().getName())
             .collect(Collectors.toList());
     kryoClassesToBeSerialized.addAll(Arrays.asList(LinkedHashMap.class.getName(),
             OAIPMHHarvestingDetails.class.getName(), Revision.class.getName(), Date.class.getName(),
         DataSetCleanerParameters.class.getName(), Report.class.getName(), CassandraProperties.class.getName()));
+    //Parameters of the tuples are sent with the keys taken from the dictionary
+    kryoClassesToBeSerialized.add(Map.of(HashMap.class.getName(), TupleParametersSerializer.class.getName()));
     config.put(TOPOLOGY_KRYO_REGISTER, kryoClassesToBeSerialized);
 
     config.put(Config.TOPOLOGY_SPOUT_WAIT_STRATEGY, FastCancelingSpoutWaitStrategy.class.getName());
     config.put(SPOUT_SLEEP_MS, getValue(spoutProperties.getSpoutSleepMilliseconds(), DEFAULT_SPOUT_SLEEP_MS));
     config.put(SPOUT_SLEEP_EVERY_N_IDLE_ITERATIONS, getValue(spoutProperties.getSpoutSleepEveryNIterations(), DEFAULT_SPOUT_SLEEP_EVERY_N_IDLE_ITERATIONS));
+    config.put(NOTIFICATION_BATCH_SIZE,
+        getValue(getIntegerProperty(topologyProperties, NOTIFICATION_BATCH_SIZE), DEFAULT_NOTIFICATION_BATCH_SIZE));
+    config.put(NOTIFICATION_BATCH_INTERVAL_MS,
+        getValue(getIntegerProperty(topologyProperties, NOTIFICATION_BATCH_INTERVAL_MS), DEFAULT_NOTIFICATION_BATCH_INTERVAL_MS));
     return config;
   }
 
@@ -138,7 +147,7 @@ public final class TopologyHelper {
     return new ECloudSpout(
         topologyName, topic,
         createKafkaSpoutConfig(topologyName, spoutProperties, topic, KafkaSpoutConfig.ProcessingGuarantee.AT_LEAST_ONCE),
-        cassandraProperties);
+        spoutProperties, cassandraProperties);
   }
 
   private static KafkaSpoutConfig<String, DpsRecord> createKafkaSpoutConfig(String topologyName, SpoutProperties spoutProperties,
@@ -154,7 +163,8 @@ public final class TopologyHelper {
                 getValue(spoutProperties.getMaxPollRecords(), DEFAULT_MAX_POLL_RECORDS))
             .setProp(ConsumerConfig.FETCH_MAX_BYTES_CONFIG,
                 getValue(spoutProperties.getFetchMaxBytes(), DEFAULT_FETCH_MAX_BYTES))
-            .setFirstPollOffsetStrategy(FirstPollOffsetStrategy.UNCOMMITTED_LATEST);
+            .setFirstPollOffsetStrategy(FirstPollOffsetStrategy.UNCOMMITTED_LATEST)
+            .setTupleListener(new PartitionsReassignmentListener());
 
     return configBuilder.build();
   }
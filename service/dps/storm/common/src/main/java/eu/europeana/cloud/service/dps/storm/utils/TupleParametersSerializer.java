@@ -0,0 +1,145 @@
+package eu.europeana.cloud.service.dps.storm.utils;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.Serializer;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import eu.europeana.cloud.service.dps.PluginParameterKeys;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Kryo serializer of the maps sent between the workers, registered for {@link HashMap}, which is the type of the parameters
+ * of the {@link eu.europeana.cloud.service.dps.storm.StormTaskTuple}.
+ * <p>
+ * Parameters are the biggest part of the tuple apart from the file data, and their keys are the same for all the records,
+ * so the well known keys are written as their positions in the dictionary, instead of as strings. Maps with keys or values
+ * other than strings are written entry by entry, with their classes.
+ * <p>
+ * Serialized form has to be readable by all the workers of the topology, so the keys are only ever appended to the
+ * dictionary. Keys must not be removed or reordered.
+ */
+public class TupleParametersSerializer extends Serializer<Map<Object, Object>> {
+
+  static final List<String> KEYS_DICTIONARY = List.of(
+      PluginParameterKeys.CLOUD_ID,
+      PluginParameterKeys.CLOUD_LOCAL_IDENTIFIER,
+      PluginParameterKeys.ADDITIONAL_LOCAL_IDENTIFIER,
+      PluginParameterKeys.SCHEMA_NAME,
+      PluginParameterKeys.MESSAGE_PROCESSING_START_TIME_IN_MS,
+      PluginParameterKeys.RECORD_DATESTAMP,
+      PluginParameterKeys.SENT_DATE,
+      PluginParameterKeys.HARVEST_DATE,
+      PluginParameterKeys.PROVIDER_ID,
+      PluginParameterKeys.REPRESENTATION_NAME,
+      PluginParameterKeys.NEW_REPRESENTATION_NAME,
+      PluginParameterKeys.REPRESENTATION_VERSION,
+      PluginParameterKeys.OUTPUT_MIME_TYPE,
+      PluginParameterKeys.OUTPUT_DATA_SETS,
+      PluginParameterKeys.OUTPUT_URL,
+      PluginParameterKeys.DPS_TASK_INPUT_DATA,
+      PluginParameterKeys.MARKED_AS_DELETED,
+      PluginParameterKeys.IGNORED_RECORD,
+      PluginParameterKeys.MAXIMUM_PARALLELIZATION,
+      PluginParameterKeys.METIS_DATASET_ID,
+      PluginParameterKeys.METIS_DATASET_NAME,
+      PluginParameterKeys.METIS_DATASET_COUNTRY,
+      PluginParameterKeys.METIS_DATASET_LANGUAGE,
+      PluginParameterKeys.METIS_TARGET_INDEXING_DATABASE,
+      PluginParameterKeys.METIS_RECORD_DATE,
+      PluginParameterKeys.METIS_PRESERVE_TIMESTAMPS,
+      PluginParameterKeys.XSLT_URL,
+      PluginParameterKeys.SCHEMATRON_LOCATION,
+      PluginParameterKeys.ROOT_LOCATION,
+      PluginParameterKeys.GENERATE_STATS,
+      PluginParameterKeys.INCREMENTAL_HARVEST,
+      PluginParameterKeys.INCREMENTAL_INDEXING,
+      PluginParameterKeys.OAI_LIST_RECORDS_HARVEST,
+      PluginParameterKeys.RESOURCE_LINKS_COUNT,
+      PluginParameterKeys.RESOURCE_LINKS,
+      PluginParameterKeys.RESOURCE_LINK_KEY,
+      PluginParameterKeys.RESOURCE_URL,
+      PluginParameterKeys.RESOURCE_METADATA,
+      PluginParameterKeys.MAIN_THUMBNAIL_AVAILABLE,
+      PluginParameterKeys.EXCEPTION_ERROR_MESSAGE,
+      PluginParameterKeys.UNIFIED_ERROR_MESSAGE
+  );
+
+  private static final byte STRING_ENTRIES = 0;
+  private static final byte OBJECT_ENTRIES = 1;
+  private static final int NOT_IN_DICTIONARY = 0;
+  private static final Map<String, Integer> KEY_CODES = createKeyCodes();
+
+  @Override
+  public void write(Kryo kryo, Output output, Map<Object, Object> map) {
+    if (hasOnlyStrings(map)) {
+      output.writeByte(STRING_ENTRIES);
+      output.writeVarInt(map.size(), true);
+      for (Map.Entry<Object, Object> entry : map.entrySet()) {
+        writeKey(output, (String) entry.getKey());
+        output.writeString((String) entry.getValue());
+      }
+    } else {
+      output.writeByte(OBJECT_ENTRIES);
+      output.writeVarInt(map.size(), true);
+      for (Map.Entry<Object, Object> entry : map.entrySet()) {
+        kryo.writeClassAndObject(output, entry.getKey());
+        kryo.writeClassAndObject(output, entry.getValue());
+      }
+    }
+  }
+
+  @Override
+  public Map<Object, Object> read(Kryo kryo, Input input, Class<Map<Object, Object>> type) {
+    byte entriesType = input.readByte();
+    int size = input.readVarInt(true);
+    Map<Object, Object> map = new HashMap<>(Math.max((int) (size / .75f) + 1, 16));
+    kryo.reference(map);
+    for (int i = 0; i < size; i++) {
+      if (entriesType == STRING_ENTRIES) {
+        map.put(readKey(input), input.readString());
+      } else {
+        map.put(kryo.readClassAndObject(input), kryo.readClassAndObject(input));
+      }
+    }
+    return map;
+  }
+
+  private static void writeKey(Output output, String key) {
+    Integer code = key != null ? KEY_CODES.get(key) : null;
+    if (code != null) {
+      output.writeVarInt(code, true);
+    } else {
+      output.writeVarInt(NOT_IN_DICTIONARY, true);
+      output.writeString(key);
+    }
+  }
+
+  private static String readKey(Input input) {
+    int code = input.readVarInt(true);
+    return code == NOT_IN_DICTIONARY ? input.readString() : KEYS_DICTIONARY.get(code - 1);
+  }
+
+  private static boolean hasOnlyStrings(Map<Object, Object> map) {
+    for (Map.Entry<Object, Object> entry : map.entrySet()) {
+      if (!isStringOrNull(entry.getKey()) || !isStringOrNull(entry.getValue())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isStringOrNull(Object object) {
+    return object == null || object instanceof String;
+  }
+
+  private static Map<String, Integer> createKeyCodes() {
+    Map<String, Integer> keyCodes = new HashMap<>();
+    for (int i = 0; i < KEYS_DICTIONARY.size(); i++) {
+      //Code 0 marks the keys that are not in the dictionary
+      keyCodes.put(KEYS_DICTIONARY.get(i), i + 1);
+    }
+    return keyCodes;
+  }
+}
@@ -1,12 +1,21 @@
 package eu.europeana.cloud.service.dps.storm;
 
+import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.NOTIFICATION_BATCH_INTERVAL_MS;
+import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.NOTIFICATION_BATCH_SIZE;
 import static org.awaitility.Awaitility.await;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
-
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.exceptions.NoHostAvailableException;
 import com.datastax.driver.core.exceptions.QueryExecutionException;
 import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
@@ -17,6 +26,7 @@ import eu.europeana.cloud.common.model.dps.TaskErrorInfo;
 import eu.europeana.cloud.common.model.dps.TaskErrorsInfo;
 import eu.europeana.cloud.common.model.dps.TaskInfo;
 import eu.europeana.cloud.common.model.dps.TaskState;
+import eu.europeana.cloud.service.commons.utils.BatchExecutor;
 import eu.europeana.cloud.service.dps.PluginParameterKeys;
 import eu.europeana.cloud.service.dps.exception.AccessDeniedOrObjectDoesNotExistException;
 import eu.europeana.cloud.service.dps.storm.dao.CassandraTaskErrorsDAO;
@@ -37,7 +47,9 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.apache.storm.Config;
+import org.apache.storm.Constants;
 import org.apache.storm.task.GeneralTopologyContext;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.topology.TopologyBuilder;
@@ -49,6 +61,7 @@ import org.awaitility.Durations;
 import org.junit.Before;
 import org.junit.Test;
 import org.mockito.Mockito;
+import org.powermock.reflect.Whitebox;
 
 public class NotificationBoltTest extends CassandraTestBase {
 
@@ -69,13 +82,14 @@ public class NotificationBoltTest extends CassandraTestBase {
   private TaskExecutionReportServiceImpl reportService;
   private NotificationsDAO subtaskDAO;
   private ProcessedRecordsDAO processedRecordsDAO;
+  private CassandraConnectionProvider db;
   private int resourceCounter = 0;
 
   @Before
   public void setUp() throws Exception {
     collector = Mockito.mock(OutputCollector.class);
     createBolt();
-    CassandraConnectionProvider db = CassandraConnectionProviderSingleton.getCassandraConnectionProvider(HOST,
+    db = CassandraConnectionProviderSingleton.getCassandraConnectionProvider(HOST,
         CassandraTestInstance.getPort(), KEYSPACE, USER_NAME,
         PASSWORD);
     taskInfoDAO = CassandraTaskInfoDAO.getInstance(db);
@@ -86,9 +100,19 @@ public class NotificationBoltTest extends CassandraTestBase {
   }
 
   private void createBolt() {
-    testedBolt = new NotificationBolt(HOST, CassandraTestInstance.getPort(), KEYSPACE, "", "");
+    createBolt(new HashMap<>());
+  }
 
+  private void createBolt(int batchSize, int batchIntervalInMillis) {
     Map<String, Object> boltConfig = new HashMap<>();
+    boltConfig.put(NOTIFICATION_BATCH_SIZE, batchSize);
+    boltConfig.put(NOTIFICATION_BATCH_INTERVAL_MS, batchIntervalInMillis);
+    createBolt(boltConfig);
+  }
+
+  private void createBolt(Map<String, Object> boltConfig) {
+    testedBolt = new NotificationBolt(HOST, CassandraTestInstance.getPort(), KEYSPACE, "", "");
+
     boltConfig.put(Config.STORM_ZOOKEEPER_SERVERS, Arrays.asList("", ""));
     boltConfig.put(Config.STORM_ZOOKEEPER_PORT, "");
     boltConfig.put(Config.TOPOLOGY_NAME, "");
@@ -338,6 +362,111 @@ public class NotificationBoltTest extends CassandraTestBase {
     assertEquals(1, taskProgress.getDeletedErrorsCount());
   }
 
+  @Test
+  public void shouldStoreWindowOfNotificationsWhenItIsFull() throws Exception {
+    createBolt(3, 60000);
+    insertTaskToDB(TASK_ID, TOPOLOGY_NAME, 3, TaskState.QUEUED, "");
+    Tuple tuple1 = createNotificationTuple(TASK_ID, RecordState.SUCCESS, RESOURCE_1);
+    Tuple tuple2 = createNotificationTuple(TASK_ID, RecordState.ERROR, RESOURCE_2);
+    Tuple tuple3 = createNotificationTuple(TASK_ID, RecordState.ERROR, RESOURCE_3);
+
+    testedBolt.execute(tuple1);
+    testedBolt.execute(tuple2);
+
+    verify(collector, never()).ack(any());
+    assertEquals(0, subtaskDAO.getProcessedFilesCount(TASK_ID));
+
+    testedBolt.execute(tuple3);
+
+    verify(collector).ack(tuple1);
+    verify(collector).ack(tuple2);
+    verify(collector).ack(tuple3);
+    TaskInfo taskProgress = reportService.getTaskProgress(TASK_ID);
+    assertEquals(3, subtaskDAO.getProcessedFilesCount(TASK_ID));
+    assertEquals(3, taskProgress.getProcessedRecordsCount());
+    assertEquals(2, taskProgress.getProcessedErrorsCount());
+    TaskErrorsInfo errorReport = reportService.getGeneralTaskErrorReport(TASK_ID, 100);
+    assertEquals(1, errorReport.getErrors().size());
+    assertEquals(2, errorReport.getErrors().get(0).getOccurrences());
+  }
+
+  @Test
+  public void shouldNotCountNotificationsTwiceWhenWindowWasPartiallyStored() throws Exception {
+    createBolt(3, 60000);
+    insertTaskToDB(TASK_ID, TOPOLOGY_NAME, 3, TaskState.QUEUED, "");
+    AtomicBoolean failure = new AtomicBoolean(true);
+    BatchExecutor partiallyFailingExecutor = new BatchExecutor(db) {
+      @Override
+      public void executeAllPerPartition(List<BoundStatement> statements) {
+        if (failure.getAndSet(false)) {
+          //Counters of the window are at the end of the list, so they are stored before the failure
+          super.executeAllPerPartition(statements.subList(statements.size() / 2, statements.size()));
+          throw new IllegalStateException("Part of the window was not stored");
+        }
+        super.executeAllPerPartition(statements);
+      }
+    };
+    Whitebox.setInternalState(Whitebox.getInternalState(testedBolt, "notificationTupleHandler"), "batchExecutor",
+        partiallyFailingExecutor);
+    Tuple tuple1 = createNotificationTuple(TASK_ID, RecordState.SUCCESS, RESOURCE_1);
+    Tuple tuple2 = createNotificationTuple(TASK_ID, RecordState.ERROR, RESOURCE_2);
+    Tuple tuple3 = createNotificationTuple(TASK_ID, RecordState.ERROR, RESOURCE_3);
+
+    testedBolt.execute(tuple1);
+    testedBolt.execute(tuple2);
+    testedBolt.execute(tuple3);
+
+    verify(collector).ack(tuple1);
+    verify(collector).ack(tuple2);
+    verify(collector).ack(tuple3);
+    TaskInfo taskProgress = reportService.getTaskProgress(TASK_ID);
+    assertEquals(TaskState.QUEUED, taskProgress.getState());
+    assertEquals(3, subtaskDAO.getProcessedFilesCount(TASK_ID));
+    assertEquals(3, taskProgress.getProcessedRecordsCount());
+    assertEquals(2, taskProgress.getProcessedErrorsCount());
+    TaskErrorsInfo errorReport = reportService.getGeneralTaskErrorReport(TASK_ID, 100);
+    assertEquals(1, errorReport.getErrors().size());
+    assertEquals(2, errorReport.getErrors().get(0).getOccurrences());
+  }
+
+  @Test
+  public void shouldStoreRecordRepeatedInOneWindowOnlyOnce() throws Exception {
+    createBolt(2, 60000);
+    insertTaskToDB(TASK_ID, TOPOLOGY_NAME, 1, TaskState.QUEUED, "");
+    Tuple tuple = createNotificationTuple(TASK_ID, RecordState.SUCCESS, RESOURCE_1);
+
+    testedBolt.execute(tuple);
+    testedBolt.execute(tuple);
+
+    verify(collector, times(2)).ack(tuple);
+    assertEquals(1, subtaskDAO.getProcessedFilesCount(TASK_ID));
+    assertEquals(1, reportService.getTaskProgress(TASK_ID).getProcessedRecordsCount());
+  }
+
+  @Test
+  public void shouldStoreNotFullWindowOnTickWhenIntervalElapsed() throws Exception {
+    createBolt(10, 100);
+    insertTaskToDB(TASK_ID, TOPOLOGY_NAME, 1, TaskState.QUEUED, "");
+    Tuple tuple = createNotificationTuple(TASK_ID, RecordState.SUCCESS, RESOURCE_1);
+    Tuple tickTuple = mock(Tuple.class);
+    when(tickTuple.getSourceComponent()).thenReturn(Constants.SYSTEM_COMPONENT_ID);
+    when(tickTuple.getSourceStreamId()).thenReturn(Constants.SYSTEM_TICK_STREAM_ID);
+
+    testedBolt.execute(tuple);
+    verify(collector, never()).ack(any());
+
+    await()
+        .atMost(Durations.FIVE_SECONDS)
+        .with()
+        .pollInterval(Durations.ONE_HUNDRED_MILLISECONDS)
+        .until(() -> {
+          testedBolt.execute(tickTuple);
+          return subtaskDAO.getProcessedFilesCount(TASK_ID) == 1;
+        });
+    verify(collector).ack(tuple);
+    verify(collector, never()).ack(tickTuple);
+  }
+
   private Tuple createNotificationTuple(long taskId, RecordState state) {
     String resource = "resource" + ++resourceCounter;
     return createNotificationTuple(taskId, state, resource);
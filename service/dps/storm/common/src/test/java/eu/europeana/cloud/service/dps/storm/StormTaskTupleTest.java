@@ -0,0 +1,38 @@
+package eu.europeana.cloud.service.dps.storm;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import eu.europeana.cloud.common.model.Revision;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.Test;
+
+public class StormTaskTupleTest {
+
+  @Test
+  public void shouldShareFileDataWithCopy() {
+    var tuple = new StormTaskTuple(1L, "task", "url", new byte[]{1, 2, 3}, new HashMap<>(), new Revision());
+
+    StormTaskTuple copy = tuple.copy();
+
+    assertSame(tuple.getFileData(), copy.getFileData());
+    assertSame(tuple.getRevisionToBeApplied(), copy.getRevisionToBeApplied());
+    assertEquals(tuple.toStormTuple(), copy.toStormTuple());
+  }
+
+  @Test
+  public void shouldNotChangeOriginalWhenCopyIsChanged() {
+    var tuple = new StormTaskTuple(1L, "task", "url", new byte[]{1, 2, 3}, new HashMap<>(Map.of("key", "value")), null);
+
+    StormTaskTuple copy = tuple.copy();
+    copy.addParameter("key", "changedValue");
+    copy.addParameter("newKey", "value");
+    copy.setFileData((byte[]) null);
+
+    assertEquals(Map.of("key", "value"), tuple.getParameters());
+    assertEquals(3, tuple.getFileData().length);
+    assertNull(copy.getFileData());
+  }
+}
@@ -0,0 +1,134 @@
+package eu.europeana.cloud.service.dps.storm.notification.handler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.datastax.driver.core.BoundStatement;
+import com.google.common.util.concurrent.Futures;
+import eu.europeana.cloud.common.model.dps.RecordState;
+import eu.europeana.cloud.service.commons.utils.BatchExecutor;
+import eu.europeana.cloud.service.dps.PluginParameterKeys;
+import eu.europeana.cloud.service.dps.storm.NotificationParameterKeys;
+import eu.europeana.cloud.service.dps.storm.NotificationTuple;
+import eu.europeana.cloud.service.dps.storm.dao.CassandraTaskErrorsDAO;
+import eu.europeana.cloud.service.dps.storm.dao.CassandraTaskInfoDAO;
+import eu.europeana.cloud.service.dps.storm.dao.NotificationsDAO;
+import eu.europeana.cloud.service.dps.storm.dao.ProcessedRecordsDAO;
+import eu.europeana.cloud.service.dps.storm.dao.TaskDiagnosticInfoDAO;
+import eu.europeana.cloud.service.dps.storm.dao.TasksByStateDAO;
+import eu.europeana.cloud.service.dps.storm.notification.NotificationCacheEntry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class NotificationTupleHandlerTest {
+
+  private static final long TASK_ID = 1L;
+  private static final String RECORD_1 = "record1";
+  private static final String RECORD_2 = "record2";
+
+  @Mock
+  private ProcessedRecordsDAO processedRecordsDAO;
+  @Mock
+  private TaskDiagnosticInfoDAO taskDiagnosticInfoDAO;
+  @Mock
+  private NotificationsDAO notificationsDAO;
+  @Mock
+  private CassandraTaskErrorsDAO taskErrorsDAO;
+  @Mock
+  private CassandraTaskInfoDAO taskInfoDAO;
+  @Mock
+  private TasksByStateDAO tasksByStateDAO;
+  @Mock
+  private BatchExecutor batchExecutor;
+
+  private final BoundStatement notificationStatement = mock(BoundStatement.class);
+  private final BoundStatement recordState1Statement = mock(BoundStatement.class);
+  private final BoundStatement recordState2Statement = mock(BoundStatement.class);
+  private NotificationTupleHandler handler;
+  private NotificationHandlerConfig config;
+
+  @Before
+  public void init() {
+    handler = new NotificationTupleHandler(processedRecordsDAO, taskDiagnosticInfoDAO, notificationsDAO, taskErrorsDAO,
+        taskInfoDAO, tasksByStateDAO, batchExecutor, "topology");
+    config = NotificationHandlerConfig.builder()
+                                      .recordStateToBeSet(RecordState.SUCCESS)
+                                      .notificationCacheEntry(NotificationCacheEntry.builder().build())
+                                      .build();
+    when(processedRecordsDAO.selectByPrimaryKeyAsync(anyLong(), anyString()))
+        .thenReturn(Futures.immediateFuture(Optional.empty()));
+    when(notificationsDAO.insertNotificationStatement(any())).thenReturn(notificationStatement);
+    when(processedRecordsDAO.updateProcessedRecordStateStatement(TASK_ID, RECORD_1, RecordState.SUCCESS))
+        .thenReturn(recordState1Statement);
+  }
+
+  @Test
+  public void shouldWriteRecordStatesAfterOtherStatementsOfWindow() {
+    when(processedRecordsDAO.updateProcessedRecordStateStatement(TASK_ID, RECORD_2, RecordState.SUCCESS))
+        .thenReturn(recordState2Statement);
+
+    handler.handle(List.of(notificationTuple(RECORD_1), notificationTuple(RECORD_2)), tuple -> config);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<BoundStatement>> statements = ArgumentCaptor.forClass(List.class);
+    verify(batchExecutor, times(2)).executeAllPerPartition(statements.capture());
+    List<BoundStatement> otherStatements = statements.getAllValues().get(0);
+    assertTrue(otherStatements.contains(notificationStatement));
+    assertTrue(!otherStatements.contains(recordState1Statement) && !otherStatements.contains(recordState2Statement));
+    assertEquals(List.of(recordState1Statement, recordState2Statement), statements.getAllValues().get(1));
+    verify(batchExecutor, never()).executeAll(anyList());
+  }
+
+  @Test
+  public void shouldNotWriteRecordStatesWhenOtherStatementsOfWindowFailed() {
+    when(processedRecordsDAO.updateProcessedRecordStateStatement(TASK_ID, RECORD_2, RecordState.SUCCESS))
+        .thenReturn(recordState2Statement);
+    doThrow(new IllegalStateException("Cassandra unavailable")).when(batchExecutor).executeAllPerPartition(anyList());
+    List<NotificationTuple> window = List.of(notificationTuple(RECORD_1), notificationTuple(RECORD_2));
+
+    assertThrows(IllegalStateException.class, () -> handler.handle(window, tuple -> config));
+
+    verify(batchExecutor, times(1)).executeAllPerPartition(anyList());
+  }
+
+  @Test
+  public void shouldWriteSingleTupleInOneLoggedBatch() {
+    handler.handle(notificationTuple(RECORD_1), config);
+
+    @SuppressWarnings("unchecked")
+    ArgumentCaptor<List<BoundStatement>> statements = ArgumentCaptor.forClass(List.class);
+    verify(batchExecutor).executeAll(statements.capture());
+    assertTrue(statements.getValue().contains(notificationStatement));
+    assertTrue(statements.getValue().contains(recordState1Statement));
+    verify(batchExecutor, never()).executeAllPerPartition(anyList());
+  }
+
+  private static NotificationTuple notificationTuple(String resource) {
+    Map<String, Object> parameters = new HashMap<>();
+    parameters.put(NotificationParameterKeys.RESOURCE, resource);
+    parameters.put(NotificationParameterKeys.STATE, RecordState.SUCCESS.toString());
+    parameters.put(NotificationParameterKeys.INFO_TEXT, "");
+    parameters.put(PluginParameterKeys.MESSAGE_PROCESSING_START_TIME_IN_MS, System.currentTimeMillis());
+    return new NotificationTuple(TASK_ID, parameters);
+  }
+}
@@ -0,0 +1,70 @@
+package eu.europeana.cloud.service.dps.storm.service;
+
+import static org.junit.Assert.assertEquals;
+
+import eu.europeana.cloud.common.model.dps.AttributeStatistics;
+import eu.europeana.cloud.common.model.dps.GeneralStatistics;
+import eu.europeana.cloud.common.model.dps.NodeStatistics;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.Test;
+
+public class TaskStatisticsAggregatorTest {
+
+  private static final long TASK_ID = 1;
+
+  @Test
+  public void shouldSumOccurrencesOfNodesAndAttributesOfManyRecords() {
+    var aggregator = new TaskStatisticsAggregator(TASK_ID);
+
+    aggregator.add(List.of(node("value1", 2, attribute("a", 1)), node("value2", 1)));
+    aggregator.add(List.of(node("value1", 1, attribute("a", 3), attribute("b", 1))));
+
+    List<NodeStatistics> nodes = aggregator.getNodeStatistics();
+    assertEquals(2, nodes.size());
+    NodeStatistics value1Node = nodes.get(0);
+    assertEquals("value1", value1Node.getValue());
+    assertEquals(3, value1Node.getOccurrence());
+    assertEquals(Set.of(new AttributeStatistics("/root/node/@attr", "a"), new AttributeStatistics("/root/node/@attr", "b")),
+        value1Node.getAttributesStatistics());
+    for (AttributeStatistics attribute : value1Node.getAttributesStatistics()) {
+      assertEquals(attribute.getValue().equals("a") ? 4 : 1, attribute.getOccurrence());
+    }
+    assertEquals(1, nodes.get(1).getOccurrence());
+  }
+
+  @Test
+  public void shouldCountGeneralStatisticsOncePerNodeValueOfEveryRecord() {
+    var aggregator = new TaskStatisticsAggregator(TASK_ID);
+
+    aggregator.add(List.of(node("value1", 5), node("value2", 1)));
+    aggregator.add(List.of(node("value1", 1)));
+
+    List<GeneralStatistics> generalStatistics = aggregator.getGeneralStatistics();
+    assertEquals(1, generalStatistics.size());
+    assertEquals("/root", generalStatistics.get(0).getParentXpath());
+    assertEquals("/root/node", generalStatistics.get(0).getNodeXpath());
+    assertEquals(Long.valueOf(3), generalStatistics.get(0).getOccurrence());
+  }
+
+  @Test
+  public void shouldNotModifyAddedStatistics() {
+    var aggregator = new TaskStatisticsAggregator(TASK_ID);
+    NodeStatistics node = node("value1", 1, attribute("a", 1));
+
+    aggregator.add(List.of(node));
+    aggregator.add(List.of(node("value1", 1, attribute("a", 1))));
+
+    assertEquals(1, node.getOccurrence());
+    assertEquals(1, node.getAttributesStatistics().iterator().next().getOccurrence());
+  }
+
+  private NodeStatistics node(String value, long occurrence, AttributeStatistics... attributes) {
+    return new NodeStatistics("/root", "/root/node", value, occurrence, new HashSet<>(List.of(attributes)));
+  }
+
+  private AttributeStatistics attribute(String value, long occurrence) {
+    return new AttributeStatistics("/root/node/@attr", value, occurrence);
+  }
+}
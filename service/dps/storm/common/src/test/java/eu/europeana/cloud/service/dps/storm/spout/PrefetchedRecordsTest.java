@@ -0,0 +1,102 @@
+package eu.europeana.cloud.service.dps.storm.spout;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import eu.europeana.cloud.common.model.dps.ProcessedRecord;
+import eu.europeana.cloud.service.dps.DpsRecord;
+import eu.europeana.cloud.service.dps.storm.spout.PrefetchedRecords.PrefetchedRecord;
+import java.util.List;
+import java.util.Optional;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.storm.kafka.spout.KafkaSpoutMessageId;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PrefetchedRecordsTest {
+
+  private static final TopicPartition PARTITION_0 = new TopicPartition("topic", 0);
+  private static final TopicPartition PARTITION_1 = new TopicPartition("topic", 1);
+
+  private PrefetchedRecords prefetchedRecords;
+
+  @Before
+  public void init() {
+    prefetchedRecords = new PrefetchedRecords();
+  }
+
+  @Test
+  public void shouldReturnReadyRecordsInTheOrderTheyWereAdded() {
+    PrefetchedRecord first = prefetchedRecord(PARTITION_0, 1, Futures.immediateFuture(Optional.empty()));
+    PrefetchedRecord second = prefetchedRecord(PARTITION_0, 2, Futures.immediateFuture(Optional.empty()));
+    prefetchedRecords.add(first);
+    prefetchedRecords.add(second);
+
+    assertSame(first, prefetchedRecords.pollReady());
+    assertSame(second, prefetchedRecords.pollReady());
+    assertNull(prefetchedRecords.pollReady());
+  }
+
+  @Test
+  public void shouldNotReturnReadyRecordBeforeTheRecordWhichStateIsNotReadYet() {
+    SettableFuture<Optional<ProcessedRecord>> firstRecordInDb = SettableFuture.create();
+    PrefetchedRecord first = prefetchedRecord(PARTITION_0, 1, firstRecordInDb);
+    prefetchedRecords.add(first);
+    prefetchedRecords.add(prefetchedRecord(PARTITION_0, 2, Futures.immediateFuture(Optional.empty())));
+
+    assertNull(prefetchedRecords.pollReady());
+    assertEquals(2, prefetchedRecords.size());
+
+    firstRecordInDb.set(Optional.empty());
+    assertSame(first, prefetchedRecords.pollReady());
+    assertEquals(1, prefetchedRecords.size());
+  }
+
+  @Test
+  public void shouldReturnFailedReadAsReadyRecord() {
+    SettableFuture<Optional<ProcessedRecord>> recordInDb = SettableFuture.create();
+    recordInDb.setException(new IllegalStateException("Cassandra timeout"));
+    PrefetchedRecord prefetched = prefetchedRecord(PARTITION_0, 1, recordInDb);
+    prefetchedRecords.add(prefetched);
+
+    assertSame(prefetched, prefetchedRecords.pollReady());
+  }
+
+  @Test
+  public void shouldRemoveOnlyRecordsOfNotAssignedPartitions() {
+    PrefetchedRecord revoked = prefetchedRecord(PARTITION_0, 1, SettableFuture.create());
+    PrefetchedRecord assigned = prefetchedRecord(PARTITION_1, 1, Futures.immediateFuture(Optional.empty()));
+    prefetchedRecords.add(revoked);
+    prefetchedRecords.add(assigned);
+
+    List<PrefetchedRecord> removed = prefetchedRecords.removeNotAssignedTo(List.of(PARTITION_1));
+
+    assertEquals(List.of(revoked), removed);
+    assertEquals(1, prefetchedRecords.size());
+    assertSame(assigned, prefetchedRecords.pollReady());
+  }
+
+  @Test
+  public void shouldRemoveAllRecordsInTheOrderTheyWereAdded() {
+    PrefetchedRecord first = prefetchedRecord(PARTITION_0, 1, SettableFuture.create());
+    PrefetchedRecord second = prefetchedRecord(PARTITION_1, 1, Futures.immediateFuture(Optional.empty()));
+    prefetchedRecords.add(first);
+    prefetchedRecords.add(second);
+
+    List<PrefetchedRecord> removed = prefetchedRecords.removeAll();
+
+    assertEquals(List.of(first, second), removed);
+    assertEquals(0, prefetchedRecords.size());
+    assertNull(prefetchedRecords.pollReady());
+  }
+
+  private static PrefetchedRecord prefetchedRecord(TopicPartition partition, long offset,
+      ListenableFuture<Optional<ProcessedRecord>> recordInDb) {
+    DpsRecord message = DpsRecord.builder().taskId(1).recordId("record_" + partition.partition() + "_" + offset).build();
+    return new PrefetchedRecord("default", message, new KafkaSpoutMessageId(partition, offset), recordInDb);
+  }
+}
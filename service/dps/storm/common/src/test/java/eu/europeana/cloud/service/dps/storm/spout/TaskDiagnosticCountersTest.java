@@ -0,0 +1,101 @@
+package eu.europeana.cloud.service.dps.storm.spout;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import eu.europeana.cloud.common.model.dps.ProcessedRecord;
+import eu.europeana.cloud.common.model.dps.RecordState;
+import eu.europeana.cloud.common.model.dps.TaskDiagnosticInfo;
+import eu.europeana.cloud.service.dps.storm.dao.TaskDiagnosticInfoDAO;
+import java.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TaskDiagnosticCountersTest {
+
+  private static final long TASK_ID = 1L;
+  private static final long OTHER_TASK_ID = 2L;
+  private static final long NEVER = Long.MAX_VALUE;
+
+  private TasksCache tasksCache;
+  private TaskDiagnosticInfoDAO taskDiagnosticInfoDAO;
+
+  @Before
+  public void init() {
+    tasksCache = mock(TasksCache.class);
+    taskDiagnosticInfoDAO = mock(TaskDiagnosticInfoDAO.class);
+    when(tasksCache.getDiagnosticInfo(TASK_ID)).thenReturn(TaskDiagnosticInfo.builder().taskId(TASK_ID).build());
+    when(tasksCache.getDiagnosticInfo(OTHER_TASK_ID)).thenReturn(TaskDiagnosticInfo.builder().taskId(OTHER_TASK_ID).build());
+  }
+
+  @Test
+  public void shouldWriteStartTimeOfTaskImmediatelyAndCountersOnlyOnFlush() {
+    var counters = new TaskDiagnosticCounters(tasksCache, taskDiagnosticInfoDAO, NEVER);
+
+    counters.recordStarted(aRecord(TASK_ID, "r1", 1));
+    counters.recordStarted(aRecord(TASK_ID, "r2", 1));
+    counters.flushIfNeeded();
+
+    verify(taskDiagnosticInfoDAO).updateStartOnStormTime(eq(TASK_ID), any(Instant.class));
+    verify(taskDiagnosticInfoDAO).updateRecordsRetryCount(TASK_ID, 0);
+    verify(taskDiagnosticInfoDAO, never()).updateRecordsCounters(anyLong(), anyInt(), anyInt());
+
+    counters.flush();
+
+    verify(taskDiagnosticInfoDAO).updateRecordsCounters(TASK_ID, 2, 0);
+    verifyNoMoreInteractions(taskDiagnosticInfoDAO);
+  }
+
+  @Test
+  public void shouldCountRepeatedRecordsAsRetries() {
+    var counters = new TaskDiagnosticCounters(tasksCache, taskDiagnosticInfoDAO, NEVER);
+
+    counters.recordStarted(aRecord(TASK_ID, "r1", 1));
+    counters.recordStarted(aRecord(TASK_ID, "r2", 2));
+    counters.recordStarted(aRecord(TASK_ID, "r3", 3));
+    counters.flush();
+
+    verify(taskDiagnosticInfoDAO).updateRecordsCounters(TASK_ID, 1, 2);
+  }
+
+  @Test
+  public void shouldWriteCountersOfEveryModifiedTaskOncePerFlush() {
+    var counters = new TaskDiagnosticCounters(tasksCache, taskDiagnosticInfoDAO, NEVER);
+
+    counters.recordStarted(aRecord(TASK_ID, "r1", 1));
+    counters.recordStarted(aRecord(OTHER_TASK_ID, "r1", 1));
+    counters.recordStarted(aRecord(TASK_ID, "r2", 1));
+    counters.flush();
+    counters.flush();
+
+    verify(taskDiagnosticInfoDAO, times(1)).updateRecordsCounters(TASK_ID, 2, 0);
+    verify(taskDiagnosticInfoDAO, times(1)).updateRecordsCounters(OTHER_TASK_ID, 1, 0);
+  }
+
+  @Test
+  public void shouldFlushCountersWhenIntervalPassed() {
+    var counters = new TaskDiagnosticCounters(tasksCache, taskDiagnosticInfoDAO, 0);
+
+    counters.recordStarted(aRecord(TASK_ID, "r1", 1));
+    counters.flushIfNeeded();
+
+    verify(taskDiagnosticInfoDAO).updateRecordsCounters(TASK_ID, 1, 0);
+  }
+
+  private static ProcessedRecord aRecord(long taskId, String recordId, int attemptNumber) {
+    return ProcessedRecord.builder()
+                          .taskId(taskId)
+                          .recordId(recordId)
+                          .attemptNumber(attemptNumber)
+                          .state(RecordState.QUEUED)
+                          .build();
+  }
+}
@@ -7,13 +7,16 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyInt;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import com.datastax.driver.core.Row;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Streams;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.function.IntFunction;
 import org.junit.Before;
@@ -187,6 +190,30 @@ public class BucketRecordIteratorTest {
     verify(queryMethod).apply(3);
   }
 
+  @Test
+  public void shouldReturnElementsOfEveryBucketByItsOwnIterator() {
+    when(queryMethod.apply(1)).thenReturn(Arrays.asList(ROW_A, ROW_B).iterator());
+    when(queryMethod.apply(3)).thenReturn(Arrays.asList(ROW_C).iterator());
+
+    List<Iterator<Row>> bucketIterators = BucketRecordIterator.forEachBucket(4, queryMethod, convertMethod);
+
+    assertEquals(4, bucketIterators.size());
+    assertFalse(bucketIterators.get(0).hasNext());
+    assertEquals(Arrays.asList(ROW_A, ROW_B), Lists.newArrayList(bucketIterators.get(1)));
+    assertFalse(bucketIterators.get(2).hasNext());
+    assertEquals(Arrays.asList(ROW_C), Lists.newArrayList(bucketIterators.get(3)));
+  }
+
+  @Test
+  public void shouldQueryOnlyOwnBucketWhenBucketIteratorIsUsed() {
+    List<Iterator<Row>> bucketIterators = BucketRecordIterator.forEachBucket(4, queryMethod, convertMethod);
+
+    bucketIterators.get(2).hasNext();
+
+    verify(queryMethod).apply(2);
+    verifyNoMoreInteractions(queryMethod);
+  }
+
   private static Row row() {
     return Mockito.mock(Row.class);
   }
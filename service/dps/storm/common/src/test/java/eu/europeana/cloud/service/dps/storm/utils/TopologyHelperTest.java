@@ -14,6 +14,9 @@ import static eu.europeana.cloud.service.dps.storm.topologies.properties.Topolog
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.MAX_TASK_PARALLELISM;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.MESSAGE_TIMEOUT_IN_SECONDS;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.NIMBUS_SEEDS;
+import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.NOTIFICATION_BATCH_INTERVAL_MS;
+import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.NOTIFICATION_BATCH_SIZE;
+import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.PROCESSED_RECORDS_PREFETCH_WINDOW;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.SPOUT_SLEEP_EVERY_N_IDLE_ITERATIONS;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.SPOUT_SLEEP_MS;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.STORM_ZOOKEEPER_ADDRESS;
@@ -70,6 +73,7 @@ public class TopologyHelperTest {
   public static final String MESSAGE_TIMEOUT_IN_SECONDS_VALUE = "6";
   private static final String INPUT_ZOOKEEPER_PORT_VALUE = "7";
   public static final String FETCH_MAX_BYTES_VALUE = "8";
+  public static final String PROCESSED_RECORDS_PREFETCH_WINDOW_VALUE = "9";
   public static final String THRIFT_PORT_VALUE = "11";
   public static final String INPUT_ZOOKEEPER_ADDRESS_VALUE = "12";
   public static final String CASSANDRA_PORT_VALUE = "13";
@@ -117,6 +121,7 @@ public class TopologyHelperTest {
     assertEquals(Integer.valueOf(SPOUT_SLEEP_EVERY_VALUE), configParameters.getSpoutSleepEveryNIterations());
     assertEquals(Integer.valueOf(MESSAGE_TIMEOUT_IN_SECONDS_VALUE), configParameters.getMessageTimeoutInSeconds());
     assertEquals(Integer.valueOf(FETCH_MAX_BYTES_VALUE), configParameters.getFetchMaxBytes());
+    assertEquals(Integer.valueOf(PROCESSED_RECORDS_PREFETCH_WINDOW_VALUE), configParameters.getProcessedRecordsPrefetchWindow());
     assertEquals(Integer.valueOf(THRIFT_PORT_VALUE), configParameters.getNimbusThriftPort());
     assertEquals(INPUT_ZOOKEEPER_PORT_VALUE, configParameters.getInputZookeeperPort());
     assertEquals(INPUT_ZOOKEEPER_ADDRESS_VALUE, configParameters.getInputZookeeperAddress());
@@ -184,6 +189,8 @@ public class TopologyHelperTest {
     assertEquals(TopologyDefaultsConstants.DEFAULT_SPOUT_SLEEP_MS, config.get(SPOUT_SLEEP_MS));
     assertEquals(TopologyDefaultsConstants.DEFAULT_SPOUT_SLEEP_EVERY_N_IDLE_ITERATIONS,
         config.get(SPOUT_SLEEP_EVERY_N_IDLE_ITERATIONS));
+    assertEquals(TopologyDefaultsConstants.DEFAULT_NOTIFICATION_BATCH_SIZE, config.get(NOTIFICATION_BATCH_SIZE));
+    assertEquals(TopologyDefaultsConstants.DEFAULT_NOTIFICATION_BATCH_INTERVAL_MS, config.get(NOTIFICATION_BATCH_INTERVAL_MS));
     assertEquals(config.get(Config.TOPOLOGY_SPOUT_WAIT_STRATEGY), FastCancelingSpoutWaitStrategy.class.getName());
     assertEquals(TopologyDefaultsConstants.DEFAULT_MAX_SPOUT_PENDING, config.get("topology.max.spout.pending"));
     assertEquals(TopologyDefaultsConstants.DEFAULT_TUPLE_PROCESSING_TIME, config.get("topology.message.timeout.secs"));
@@ -277,6 +284,8 @@ public class TopologyHelperTest {
     when(mockTopologyEssentialProperties.getProperty(SPOUT_SLEEP_EVERY_N_IDLE_ITERATIONS)).thenReturn(SPOUT_SLEEP_EVERY_VALUE);
     when(mockTopologyEssentialProperties.getProperty(FETCH_MAX_BYTES)).thenReturn(FETCH_MAX_BYTES_VALUE);
     when(mockTopologyEssentialProperties.getProperty(MAX_POLL_RECORDS)).thenReturn(MAX_POLL_RECORDS_VALUE);
+    when(mockTopologyEssentialProperties.getProperty(PROCESSED_RECORDS_PREFETCH_WINDOW))
+        .thenReturn(PROCESSED_RECORDS_PREFETCH_WINDOW_VALUE);
     when(mockTopologyEssentialProperties.getProperty(BOOTSTRAP_SERVERS)).thenReturn(BOOTSTRAP_SERVERS_VALUE);
     when(mockTopologyEssentialProperties.getProperty(MAX_SPOUT_PENDING)).thenReturn(MAX_SPOUT_PENDING_VALUE);
     when(mockTopologyEssentialProperties.getProperty(MESSAGE_TIMEOUT_IN_SECONDS)).thenReturn(MESSAGE_TIMEOUT_IN_SECONDS_VALUE);
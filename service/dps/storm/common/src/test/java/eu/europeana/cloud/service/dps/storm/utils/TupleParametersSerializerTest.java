@@ -0,0 +1,77 @@
+package eu.europeana.cloud.service.dps.storm.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import com.esotericsoftware.kryo.Kryo;
+import com.esotericsoftware.kryo.io.Input;
+import com.esotericsoftware.kryo.io.Output;
+import eu.europeana.cloud.service.dps.PluginParameterKeys;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TupleParametersSerializerTest {
+
+  private Kryo kryo;
+
+  @Before
+  public void init() {
+    kryo = new Kryo();
+    kryo.register(HashMap.class, new TupleParametersSerializer());
+  }
+
+  @Test
+  public void shouldRestoreParametersWithDictionaryAndOtherKeys() {
+    Map<String, String> parameters = new HashMap<>();
+    parameters.put(PluginParameterKeys.CLOUD_LOCAL_IDENTIFIER, "http://data.europeana.eu/item/1");
+    parameters.put(PluginParameterKeys.UNIFIED_ERROR_MESSAGE, "error");
+    parameters.put("CUSTOM_PARAMETER", "value");
+    parameters.put(PluginParameterKeys.MARKED_AS_DELETED, null);
+
+    assertEquals(parameters, roundTrip(parameters));
+  }
+
+  @Test
+  public void shouldWriteDictionaryKeysShorterThanTheirNames() {
+    Map<String, String> withDictionaryKey = new HashMap<>(Map.of(PluginParameterKeys.MESSAGE_PROCESSING_START_TIME_IN_MS, "1"));
+    Map<String, String> withOtherKey = new HashMap<>(Map.of("START_TIME_OF_THE_PROCESSING", "1"));
+
+    assertTrue(serialize(withDictionaryKey).length < serialize(withOtherKey).length);
+  }
+
+  @Test
+  public void shouldRestoreMapOfOtherObjects() {
+    Map<Object, Object> map = new HashMap<>();
+    map.put(1L, new HashSet<>(Map.of("key", "value").keySet()));
+    map.put("key", 2);
+
+    assertEquals(map, roundTrip(map));
+  }
+
+  @Test
+  public void shouldRestoreEmptyMap() {
+    assertEquals(new HashMap<>(), roundTrip(new HashMap<>()));
+  }
+
+  @Test
+  public void shouldKeepKeysOfDictionaryUnique() {
+    assertEquals(TupleParametersSerializer.KEYS_DICTIONARY.size(),
+        new HashSet<>(TupleParametersSerializer.KEYS_DICTIONARY).size());
+  }
+
+  private Object roundTrip(Map<?, ?> map) {
+    try (var input = new Input(serialize(map))) {
+      return kryo.readObject(input, HashMap.class);
+    }
+  }
+
+  private byte[] serialize(Map<?, ?> map) {
+    try (var output = new Output(256, -1)) {
+      kryo.writeObject(output, map);
+      return output.toBytes();
+    }
+  }
+}
@@ -12,14 +12,11 @@ import eu.europeana.metis.mediaprocessing.RdfConverterFactory;
 import eu.europeana.metis.mediaprocessing.RdfDeserializer;
 import eu.europeana.metis.mediaprocessing.exception.RdfDeserializationException;
 import eu.europeana.metis.mediaprocessing.model.RdfResourceEntry;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.exception.ExceptionUtils;
-import org.apache.commons.lang3.SerializationUtils;
 import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.InputStream;
 import java.time.Instant;
 import java.util.List;
 
@@ -29,7 +26,7 @@ import java.util.List;
 public abstract class ParseFileBolt extends ReadFileBolt {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(ParseFileBolt.class);
-  private transient Gson gson;
+  protected transient Gson gson;
   protected transient RdfDeserializer rdfDeserializer;
 
   public ParseFileBolt(CassandraProperties cassandraProperties, String ecloudMcsAddress,
@@ -40,7 +37,9 @@ public abstract class ParseFileBolt extends ReadFileBolt {
   protected abstract List<RdfResourceEntry> getResourcesFromRDF(byte[] bytes) throws RdfDeserializationException;
 
   protected StormTaskTuple createStormTuple(StormTaskTuple stormTaskTuple, RdfResourceEntry rdfResourceEntry, int linksCount) {
-    StormTaskTuple tuple = SerializationUtils.clone(stormTaskTuple);
+    StormTaskTuple tuple = stormTaskTuple.copy();
+    //The resource is processed without the content of the whole file, so it is not copied to every resource tuple
+    tuple.setFileData((byte[]) null);
     LOGGER.debug("Sending this resource link {} to be processed ", rdfResourceEntry.getResourceUrl());
     tuple.addParameter(PluginParameterKeys.RESOURCE_LINK_KEY, gson.toJson(rdfResourceEntry));
     tuple.addParameter(PluginParameterKeys.RESOURCE_LINKS_COUNT, String.valueOf(linksCount));
@@ -50,19 +49,30 @@ public abstract class ParseFileBolt extends ReadFileBolt {
 
   protected abstract int getLinksCount(StormTaskTuple tuple, int resourcesCount) throws RdfDeserializationException;
 
+  /**
+   * Reads the resources of the file, which is downloaded if it is not carried by the tuple.
+   *
+   * @param stormTaskTuple tuple of the processed file
+   * @return resources found in the file
+   * @throws Exception in case of error while reading or parsing the file
+   */
+  protected List<RdfResourceEntry> readResources(StormTaskTuple stormTaskTuple) throws Exception {
+    byte[] fileContent = readFileContent(stormTaskTuple);
+    if (FileDataChecker.isFileDataNullOrBlank(fileContent)) {
+      LOGGER.warn("File data to be parsed is null or blank!");
+    }
+    return getResourcesFromRDF(fileContent);
+  }
+
   @Override
   public void execute(Tuple anchorTuple, StormTaskTuple stormTaskTuple) {
     LOGGER.debug("Starting file parsing");
     Instant processingStartTime = Instant.now();
-    try (InputStream stream = getFileStreamByStormTuple(stormTaskTuple)) {
-      byte[] fileContent = IOUtils.toByteArray(stream);
-      if (FileDataChecker.isFileDataNullOrBlank(fileContent)) {
-        LOGGER.warn("File data to be parsed is null or blank!");
-      }
-      List<RdfResourceEntry> rdfResourceEntries = getResourcesFromRDF(fileContent);
+    try {
+      List<RdfResourceEntry> rdfResourceEntries = readResources(stormTaskTuple);
       int linksCount = getLinksCount(stormTaskTuple, rdfResourceEntries.size());
       if (linksCount == 0) {
-        StormTaskTuple tuple = SerializationUtils.clone(stormTaskTuple);
+        StormTaskTuple tuple = stormTaskTuple.copy();
         LOGGER.warn("The EDM file has no resource Links ");
         outputCollector.emit(anchorTuple, tuple.toStormTuple());
       } else {
@@ -6,6 +6,7 @@ import eu.europeana.cloud.service.dps.storm.StormTaskTuple;
 import eu.europeana.cloud.service.dps.storm.throttling.ThrottlingTupleGroupSelector;
 import eu.europeana.metis.mediaprocessing.exception.RdfDeserializationException;
 import eu.europeana.metis.mediaprocessing.model.RdfResourceEntry;
+import java.util.Arrays;
 import java.util.List;
 
 public class ParseFileForMediaBolt extends ParseFileBolt {
@@ -21,6 +22,19 @@ public class ParseFileForMediaBolt extends ParseFileBolt {
     return rdfDeserializer.getRemainingResourcesForMediaExtraction(bytes);
   }
 
+  /**
+   * Takes the resources found by the EDMObjectProcessorBolt from the tuple, so the file is neither downloaded nor parsed again.
+   * Only if they are absent, the file is parsed here.
+   */
+  @Override
+  protected List<RdfResourceEntry> readResources(StormTaskTuple stormTaskTuple) throws Exception {
+    String resourceLinks = stormTaskTuple.getParameters().remove(PluginParameterKeys.RESOURCE_LINKS);
+    if (resourceLinks != null) {
+      return Arrays.asList(gson.fromJson(resourceLinks, RdfResourceEntry[].class));
+    }
+    return super.readResources(stormTaskTuple);
+  }
+
   @Override
   protected StormTaskTuple createStormTuple(StormTaskTuple stormTaskTuple, RdfResourceEntry rdfResourceEntry, int linksCount) {
     StormTaskTuple tuple = super.createStormTuple(stormTaskTuple, rdfResourceEntry, linksCount);
@@ -56,8 +56,8 @@ public class ReadFileBolt extends AbstractDpsBolt {
   public void execute(Tuple anchorTuple, StormTaskTuple t) {
     final String file = t.getParameters().get(PluginParameterKeys.CLOUD_LOCAL_IDENTIFIER);
     t.setFileUrl(file);
-    try (InputStream is = getFileStreamByStormTuple(t)) {
-      t.setFileData(is);
+    try {
+      t.setFileData(downloadFileContent(t));
       if (FileDataChecker.isFileDataNullOrBlank(t.getFileData())) {
         LOGGER.warn("Read file data is null or blank!");
       }
@@ -79,17 +79,45 @@ public class ReadFileBolt extends AbstractDpsBolt {
     }
   }
 
-  private InputStream getFile(FileServiceClient fileClient, String file) throws Exception {
-    return RetryableMethodExecutor.executeOnRest("Error while getting a file", () ->
-        fileClient.getFile(file));
+  private byte[] getFile(FileServiceClient fileClient, String file) throws Exception {
+    //The file is read inside the retry, so the download broken in the middle is repeated too
+    return RetryableMethodExecutor.executeOnRest("Error while getting a file", () -> {
+      try (InputStream stream = fileClient.getFileStream(file)) {
+        return stream != null ? stream.readAllBytes() : null;
+      }
+    });
+  }
+
+  /**
+   * Returns content of the file carried by the tuple, if it was already read by one of the previous bolts. Otherwise the file is
+   * downloaded from MCS.
+   *
+   * @param stormTaskTuple tuple of the processed file
+   * @return content of the file
+   * @throws Exception in case of the error while downloading the file
+   */
+  protected byte[] readFileContent(StormTaskTuple stormTaskTuple) throws Exception {
+    if (stormTaskTuple.getFileData() != null) {
+      LOGGER.debug("Using content of the file carried by the tuple: {}", stormTaskTuple.getFileUrl());
+      return stormTaskTuple.getFileData();
+    }
+    return downloadFileContent(stormTaskTuple);
   }
 
-  protected InputStream getFileStreamByStormTuple(StormTaskTuple stormTaskTuple) throws Exception {
+  /**
+   * Downloads the file carried by the tuple from MCS. The file is streamed from MCS, with its checksum verified, and it is
+   * copied into the memory only once.
+   *
+   * @param stormTaskTuple tuple of the processed file
+   * @return content of the file
+   * @throws Exception in case of the error while downloading the file
+   */
+  protected byte[] downloadFileContent(StormTaskTuple stormTaskTuple) throws Exception {
     Instant processingStartTime = Instant.now();
     final String file = stormTaskTuple.getParameters().get(PluginParameterKeys.CLOUD_LOCAL_IDENTIFIER);
     LOGGER.info("Downloading the following file: {}", file);
     stormTaskTuple.setFileUrl(file);
-    InputStream downloadedFile = getFile(fileClient, file);
+    byte[] downloadedFile = getFile(fileClient, file);
     LOGGER.info("File downloaded in {}ms", Clock.millisecondsSince(processingStartTime));
     return downloadedFile;
   }
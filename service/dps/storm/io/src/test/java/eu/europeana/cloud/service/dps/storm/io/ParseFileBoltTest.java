@@ -103,7 +103,7 @@ public class ParseFileBoltTest {
     Tuple anchorTuple = mock(TupleImpl.class);
 
     try (InputStream stream = this.getClass().getResourceAsStream("/files/Item_35834473.xml")) {
-      when(fileClient.getFile(FILE_URL)).thenReturn(stream);
+      when(fileClient.getFileStream(FILE_URL)).thenReturn(stream);
       when(taskStatusChecker.hasDroppedStatus(TASK_ID)).thenReturn(false);
       parseFileBolt.execute(anchorTuple, stormTaskTuple);
       verify(outputCollector, Mockito.times(4)).emit(any(Tuple.class), captor.capture()); // 4 hasView, 1 edm:object
@@ -122,12 +122,37 @@ public class ParseFileBoltTest {
   }
 
 
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldEmitResourcesPassedInTupleWithoutDownloadingFile() throws Exception {
+    Tuple anchorTuple = mock(TupleImpl.class);
+    stormTaskTuple.setFileData(new byte[]{1, 2, 3});
+    stormTaskTuple.addParameter(PluginParameterKeys.RESOURCE_LINKS,
+        "[{\"resourceUrl\":\"http://a.b/1.jpg\",\"urlTypes\":[\"HAS_VIEW\"]},"
+            + "{\"resourceUrl\":\"http://a.b/2.jpg\",\"urlTypes\":[\"HAS_VIEW\"]}]");
+    when(taskStatusChecker.hasDroppedStatus(TASK_ID)).thenReturn(false);
+
+    parseFileBolt.execute(anchorTuple, stormTaskTuple);
+
+    verify(outputCollector, Mockito.times(2)).emit(any(Tuple.class), captor.capture());
+    verify(fileClient, Mockito.never()).getFileStream(any());
+    List<Values> capturedValuesList = captor.getAllValues();
+    assertEquals("http://a.b/1.jpg",
+        ((Map<String, String>) capturedValuesList.get(0).get(4)).get(PluginParameterKeys.RESOURCE_URL));
+    assertEquals("http://a.b/2.jpg",
+        ((Map<String, String>) capturedValuesList.get(1).get(4)).get(PluginParameterKeys.RESOURCE_URL));
+    for (Values values : capturedValuesList) {
+      assertNull(values.get(3));
+      assertNull(((Map<String, String>) values.get(4)).get(PluginParameterKeys.RESOURCE_LINKS));
+    }
+  }
+
   @Test
   public void shouldDropTaskAndStopEmitting() throws Exception {
     Tuple anchorTuple = mock(TupleImpl.class);
 
     try (InputStream stream = this.getClass().getResourceAsStream("/files/Item_35834473.xml")) {
-      when(fileClient.getFile(FILE_URL)).thenReturn(stream);
+      when(fileClient.getFileStream(FILE_URL)).thenReturn(stream);
       when(taskStatusChecker.hasDroppedStatus(TASK_ID)).thenReturn(false).thenReturn(false).thenReturn(true);
       parseFileBolt.execute(anchorTuple, stormTaskTuple);
       verify(outputCollector, Mockito.times(2)).emit(any(Tuple.class),
@@ -142,7 +167,7 @@ public class ParseFileBoltTest {
     stormTaskTuple.addParameter(PluginParameterKeys.RESOURCE_LINKS_COUNT, "0");
 
     try (InputStream stream = this.getClass().getResourceAsStream("/files/no-resources.xml")) {
-      when(fileClient.getFile(FILE_URL)).thenReturn(stream);
+      when(fileClient.getFileStream(FILE_URL)).thenReturn(stream);
       parseFileBolt.execute(anchorTuple, stormTaskTuple);
       verify(outputCollector, Mockito.times(1)).emit(any(Tuple.class), captor.capture());
       Values values = captor.getValue();
@@ -161,7 +186,7 @@ public class ParseFileBoltTest {
   @SuppressWarnings("unchecked")
   public void shouldEmitErrorWhenDownloadFileFails() throws Exception {
     Tuple anchorTuple = mock(TupleImpl.class);
-    doThrow(MCSException.class).when(fileClient).getFile(FILE_URL);
+    doThrow(MCSException.class).when(fileClient).getFileStream(FILE_URL);
     parseFileBolt.execute(anchorTuple, stormTaskTuple);
     verify(outputCollector, Mockito.times(1)).emit(eq(NOTIFICATION_STREAM_NAME), any(Tuple.class), captor.capture());
     Values values = captor.getValue();
@@ -181,7 +206,7 @@ public class ParseFileBoltTest {
   public void shouldEmitErrorWhenGettingResourceLinksFails() throws Exception {
     Tuple anchorTuple = mock(TupleImpl.class);
     try (InputStream stream = this.getClass().getResourceAsStream("/files/broken.xml")) {
-      when(fileClient.getFile(FILE_URL)).thenReturn(stream);
+      when(fileClient.getFileStream(FILE_URL)).thenReturn(stream);
       parseFileBolt.execute(anchorTuple, stormTaskTuple);
       verify(outputCollector, Mockito.times(1)).emit(eq(NOTIFICATION_STREAM_NAME), any(Tuple.class), captor.capture());
       Values values = captor.getValue();
@@ -53,21 +53,21 @@ public class ReadFileBoltTest {
   @Test
   public void shouldEmmitNotificationWhenDataSetListHasOneElement() throws MCSException {
     //given
-    when(fileServiceClient.getFile(FILE_URL)).thenReturn(null);
+    when(fileServiceClient.getFileStream(FILE_URL)).thenReturn(null);
     verifyMethodExecutionNumber(1, 0, FILE_URL);
   }
 
   @Test
   public void shouldRetryBeforeFailingWhenThrowingMCSException() throws MCSException {
     //given
-    doThrow(MCSException.class).when(fileServiceClient).getFile(FILE_URL);
+    doThrow(MCSException.class).when(fileServiceClient).getFileStream(FILE_URL);
     verifyMethodExecutionNumber(retryAttemptsCount, 1, FILE_URL);
   }
 
   @Test
   public void shouldRetryBeforeFailingWhenThrowingDriverException() throws MCSException {
     //given
-    doThrow(DriverException.class).when(fileServiceClient).getFile(FILE_URL);
+    doThrow(DriverException.class).when(fileServiceClient).getFileStream(FILE_URL);
     verifyMethodExecutionNumber(retryAttemptsCount, 1, FILE_URL);
   }
 
@@ -75,7 +75,7 @@ public class ReadFileBoltTest {
     Tuple anchorTuple = mock(TupleImpl.class);
     when(outputCollector.emit(anyList())).thenReturn(null);
     readFileBolt.execute(anchorTuple, stormTaskTuple);
-    verify(fileServiceClient, times(expectedCalls)).getFile(file);
+    verify(fileServiceClient, times(expectedCalls)).getFileStream(file);
     verify(outputCollector, times(expectedEmitCallTimes)).emit(eq(AbstractDpsBolt.NOTIFICATION_STREAM_NAME), any(Tuple.class),
         anyList());
 
@@ -7,11 +7,14 @@ import static eu.europeana.cloud.service.dps.storm.topologies.properties.Topolog
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.CASSANDRA_SECRET_TOKEN;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.CASSANDRA_USERNAME;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.DEREFERENCE_SERVICE_URL;
+import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.ENRICHMENT_BATCH_SIZE;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.ENRICHMENT_BOLT_NUMBER_OF_TASKS;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.ENRICHMENT_BOLT_PARALLEL;
+import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.ENRICHMENT_CONNECT_TIMEOUT_IN_MILLIS;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.ENRICHMENT_ENTITY_API_KEY;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.ENRICHMENT_ENTITY_API_URL;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.ENRICHMENT_ENTITY_MANAGEMENT_URL;
+import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.ENRICHMENT_READ_TIMEOUT_IN_MILLIS;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.MCS_URL;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.NOTIFICATION_BOLT_NUMBER_OF_TASKS;
 import static eu.europeana.cloud.service.dps.storm.topologies.properties.TopologyPropertyKeys.NOTIFICATION_BOLT_PARALLEL;
@@ -93,7 +96,10 @@ public class EnrichmentTopology {
         topologyProperties.getProperty(DEREFERENCE_SERVICE_URL),
         topologyProperties.getProperty(ENRICHMENT_ENTITY_MANAGEMENT_URL),
         topologyProperties.getProperty(ENRICHMENT_ENTITY_API_URL),
-        topologyProperties.getProperty(ENRICHMENT_ENTITY_API_KEY));
+        topologyProperties.getProperty(ENRICHMENT_ENTITY_API_KEY),
+        getAnInt(ENRICHMENT_BATCH_SIZE, EnrichmentBolt.DEFAULT_ENRICHMENT_BATCH_SIZE),
+        getAnInt(ENRICHMENT_CONNECT_TIMEOUT_IN_MILLIS, EnrichmentBolt.DEFAULT_CONNECT_TIMEOUT_IN_MILLIS),
+        getAnInt(ENRICHMENT_READ_TIMEOUT_IN_MILLIS, EnrichmentBolt.DEFAULT_READ_TIMEOUT_IN_MILLIS));
 
     // TOPOLOGY STRUCTURE!
 
@@ -145,6 +151,10 @@ public class EnrichmentTopology {
     return parseInt(topologyProperties.getProperty(propertyName));
   }
 
+  private static int getAnInt(String propertyName, int defaultValue) {
+    return parseInt(topologyProperties.getProperty(propertyName, String.valueOf(defaultValue)));
+  }
+
   public static void main(String[] args) {
     try {
       LOGGER.info("Assembling '{}'", TopologiesNames.ENRICHMENT_TOPOLOGY);
@@ -0,0 +1,25 @@
+package eu.europeana.cloud.enrichment.bolts;
+
+import eu.europeana.enrichment.api.external.model.EnrichmentResultList;
+import eu.europeana.enrichment.rest.client.dereference.DereferenceClient;
+import org.springframework.web.client.RestTemplate;
+
+/**
+ * Dereference client that calls the remote dereference service only for the resources which results are not cached. Results
+ * are cached by the resource URI.
+ */
+class CachingDereferenceClient extends DereferenceClient {
+
+  private final EntityResultsCache<String, EnrichmentResultList> dereferencedResources;
+
+  CachingDereferenceClient(RestTemplate restTemplate, String dereferenceUrl,
+      EntityResultsCache<String, EnrichmentResultList> dereferencedResources) {
+    super(restTemplate, dereferenceUrl);
+    this.dereferencedResources = dereferencedResources;
+  }
+
+  @Override
+  public EnrichmentResultList dereference(String resourceId) {
+    return dereferencedResources.get(resourceId, () -> super.dereference(resourceId));
+  }
+}
@@ -0,0 +1,46 @@
+package eu.europeana.cloud.enrichment.bolts;
+
+import eu.europeana.enrichment.api.external.model.EnrichmentBase;
+import eu.europeana.enrichment.api.internal.ReferenceTerm;
+import eu.europeana.enrichment.api.internal.SearchTerm;
+import eu.europeana.enrichment.utils.EntityResolver;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Entity resolver that returns the cached entities, and asks the remote entity service only for the entities that are not
+ * cached. Entities are cached by their search terms, and by their references (entity URIs).
+ */
+class CachingEntityResolver implements EntityResolver {
+
+  private final EntityResolver entityResolver;
+  private final EntityResultsCache<SearchTerm, List<EnrichmentBase>> entitiesByText;
+  private final EntityResultsCache<ReferenceTerm, EnrichmentBase> entitiesById;
+  private final EntityResultsCache<ReferenceTerm, List<EnrichmentBase>> entitiesByUri;
+
+  CachingEntityResolver(EntityResolver entityResolver,
+      EntityResultsCache<SearchTerm, List<EnrichmentBase>> entitiesByText,
+      EntityResultsCache<ReferenceTerm, EnrichmentBase> entitiesById,
+      EntityResultsCache<ReferenceTerm, List<EnrichmentBase>> entitiesByUri) {
+    this.entityResolver = entityResolver;
+    this.entitiesByText = entitiesByText;
+    this.entitiesById = entitiesById;
+    this.entitiesByUri = entitiesByUri;
+  }
+
+  @Override
+  public <T extends SearchTerm> Map<T, List<EnrichmentBase>> resolveByText(Set<T> searchTerms) {
+    return entitiesByText.getAll(searchTerms, entityResolver::resolveByText);
+  }
+
+  @Override
+  public <T extends ReferenceTerm> Map<T, EnrichmentBase> resolveById(Set<T> referenceTerms) {
+    return entitiesById.getAll(referenceTerms, entityResolver::resolveById);
+  }
+
+  @Override
+  public <T extends ReferenceTerm> Map<T, List<EnrichmentBase>> resolveByUri(Set<T> referenceTerms) {
+    return entitiesByUri.getAll(referenceTerms, entityResolver::resolveByUri);
+  }
+}
@@ -5,47 +5,98 @@ import eu.europeana.cloud.service.commons.utils.RetryInterruptedException;
 import eu.europeana.cloud.service.dps.storm.AbstractDpsBolt;
 import eu.europeana.cloud.service.dps.storm.BoltInitializationException;
 import eu.europeana.cloud.service.dps.storm.StormTaskTuple;
+import eu.europeana.enrichment.api.external.impl.ClientEntityResolver;
+import eu.europeana.enrichment.api.external.model.EnrichmentBase;
+import eu.europeana.enrichment.api.external.model.EnrichmentResultList;
+import eu.europeana.enrichment.api.internal.ReferenceTerm;
+import eu.europeana.enrichment.api.internal.SearchTerm;
 import eu.europeana.enrichment.rest.client.EnrichmentWorker;
 import eu.europeana.enrichment.rest.client.EnrichmentWorkerImpl;
-import eu.europeana.enrichment.rest.client.dereference.DereferencerProvider;
-import eu.europeana.enrichment.rest.client.enrichment.EnricherProvider;
-import eu.europeana.enrichment.rest.client.exceptions.DereferenceException;
-import eu.europeana.enrichment.rest.client.exceptions.EnrichmentException;
+import eu.europeana.enrichment.rest.client.dereference.DereferenceClient;
+import eu.europeana.enrichment.rest.client.dereference.DereferencerImpl;
+import eu.europeana.enrichment.rest.client.enrichment.EnricherImpl;
+import eu.europeana.enrichment.rest.client.enrichment.MetisRecordParser;
 import eu.europeana.enrichment.rest.client.report.ProcessedResult;
 import eu.europeana.enrichment.rest.client.report.ProcessedResult.RecordStatus;
 import eu.europeana.enrichment.rest.client.report.Report;
 import eu.europeana.enrichment.rest.client.report.Type;
+import eu.europeana.enrichment.utils.EntityMergeEngine;
+import eu.europeana.enrichment.utils.EntityResolver;
+import eu.europeana.entity.client.config.EntityClientConfiguration;
+import eu.europeana.entity.client.web.EntityClientApiImpl;
+import java.net.MalformedURLException;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Properties;
 import java.util.Set;
 import java.util.stream.Collectors;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
 
 /**
  * Call the remote enrichment service in order to dereference and enrich a file.
  * <p/>
  * Receives a byte array representing a Record from a tuple, enrich its content nad store it as part of the emitted tuple.
+ * <p/>
+ * Results of the remote calls are cached by the entity, in the caches shared by all the bolts of the worker, because the same
+ * vocabulary entities are referred by almost all the records of the dataset.
  */
 public class EnrichmentBolt extends AbstractDpsBolt {
 
   private static final long serialVersionUID = 1L;
   private static final Logger LOGGER = LoggerFactory.getLogger(EnrichmentBolt.class);
+  public static final int DEFAULT_ENRICHMENT_BATCH_SIZE = 20;
+  public static final int DEFAULT_CONNECT_TIMEOUT_IN_MILLIS = 10_000;
+  public static final int DEFAULT_READ_TIMEOUT_IN_MILLIS = 60_000;
+  //Keys of the properties read by the EntityClientConfiguration of the Metis entity client
+  private static final String ENTITY_MANAGEMENT_URL_PROPERTY = "entity.management.url";
+  private static final String ENTITY_API_URL_PROPERTY = "entity.api.url";
+  private static final String ENTITY_API_KEY_PROPERTY = "entity.api.key";
+  private static final long ENTITIES_CACHE_SIZE = 50_000;
+  private static final long ENTITIES_EXPIRATION_MINUTES = 60;
+
+  //Shared by all the bolts of the worker, so the entity is resolved once, whichever bolt receives the record
+  private static EntityResultsCache<SearchTerm, List<EnrichmentBase>> sharedEntitiesByText;
+  private static EntityResultsCache<ReferenceTerm, EnrichmentBase> sharedEntitiesById;
+  private static EntityResultsCache<ReferenceTerm, List<EnrichmentBase>> sharedEntitiesByUri;
+  private static EntityResultsCache<String, EnrichmentResultList> sharedDereferencedResources;
 
   private final String dereferenceURL;
   private final String enrichmentEntityManagementUrl;
   private final String enrichmentEntityApiUrl;
   private final String enrichmentEntityApiKey;
+  private final int enrichmentBatchSize;
+  private final int connectTimeoutInMillis;
+  private final int readTimeoutInMillis;
   private transient EnrichmentWorker enrichmentWorker;
 
   public EnrichmentBolt(CassandraProperties cassandraProperties, String dereferenceURL, String enrichmentEntityManagementUrl,
       String enrichmentEntityApiUrl, String enrichmentEntityApiKey) {
+    this(cassandraProperties, dereferenceURL, enrichmentEntityManagementUrl, enrichmentEntityApiUrl, enrichmentEntityApiKey,
+        DEFAULT_ENRICHMENT_BATCH_SIZE, DEFAULT_CONNECT_TIMEOUT_IN_MILLIS, DEFAULT_READ_TIMEOUT_IN_MILLIS);
+  }
+
+  /**
+   * @param enrichmentBatchSize maximal number of entities resolved by one call of the entity service
+   * @param connectTimeoutInMillis connect timeout of the calls of the dereference service
+   * @param readTimeoutInMillis read timeout of the calls of the dereference service
+   */
+  public EnrichmentBolt(CassandraProperties cassandraProperties, String dereferenceURL, String enrichmentEntityManagementUrl,
+      String enrichmentEntityApiUrl, String enrichmentEntityApiKey, int enrichmentBatchSize, int connectTimeoutInMillis,
+      int readTimeoutInMillis) {
     super(cassandraProperties);
     this.dereferenceURL = dereferenceURL;
     this.enrichmentEntityManagementUrl = enrichmentEntityManagementUrl;
     this.enrichmentEntityApiUrl = enrichmentEntityApiUrl;
     this.enrichmentEntityApiKey = enrichmentEntityApiKey;
+    this.enrichmentBatchSize = enrichmentBatchSize;
+    this.connectTimeoutInMillis = connectTimeoutInMillis;
+    this.readTimeoutInMillis = readTimeoutInMillis;
   }
 
   @Override
@@ -112,20 +163,57 @@ public class EnrichmentBolt extends AbstractDpsBolt {
 
   @Override
   public void prepare() {
-    final EnricherProvider enricherProvider = new EnricherProvider();
-    enricherProvider.setEnrichmentPropertiesValues(enrichmentEntityManagementUrl, enrichmentEntityApiUrl, enrichmentEntityApiKey);
-    final DereferencerProvider dereferencerProvider = new DereferencerProvider();
-    dereferencerProvider.setDereferenceUrl(dereferenceURL);
-    dereferencerProvider.setEnrichmentPropertiesValues(enrichmentEntityManagementUrl, enrichmentEntityApiUrl,
-        enrichmentEntityApiKey);
+    initSharedCaches();
     try {
-      enrichmentWorker = new EnrichmentWorkerImpl(dereferencerProvider.create(),
-          enricherProvider.create());
-    } catch (DereferenceException | EnrichmentException e) {
+      EntityResolver entityResolver = new CachingEntityResolver(createEntityResolver(), sharedEntitiesByText,
+          sharedEntitiesById, sharedEntitiesByUri);
+      DereferenceClient dereferenceClient = new CachingDereferenceClient(createRestTemplate(), validUrl(dereferenceURL),
+          sharedDereferencedResources);
+      enrichmentWorker = new EnrichmentWorkerImpl(
+          new DereferencerImpl(new EntityMergeEngine(), entityResolver, dereferenceClient),
+          new EnricherImpl(new MetisRecordParser(), entityResolver, new EntityMergeEngine()));
+    } catch (MalformedURLException | IllegalArgumentException e) {
       throw new BoltInitializationException("Could not instantiate EnrichmentBolt due Exception in enrich worker creating", e);
     }
   }
 
+  private EntityResolver createEntityResolver() throws MalformedURLException {
+    var properties = new Properties();
+    properties.put(ENTITY_MANAGEMENT_URL_PROPERTY, validUrl(enrichmentEntityManagementUrl));
+    properties.put(ENTITY_API_URL_PROPERTY, validUrl(enrichmentEntityApiUrl));
+    properties.put(ENTITY_API_KEY_PROPERTY, enrichmentEntityApiKey);
+    return new ClientEntityResolver(new EntityClientApiImpl(new EntityClientConfiguration(properties)),
+        enrichmentBatchSize);
+  }
+
+  private RestTemplate createRestTemplate() {
+    var requestFactory = new SimpleClientHttpRequestFactory();
+    requestFactory.setConnectTimeout(connectTimeoutInMillis);
+    requestFactory.setReadTimeout(readTimeoutInMillis);
+    return new RestTemplate(requestFactory);
+  }
+
+  private static String validUrl(String url) throws MalformedURLException {
+    if (url == null) {
+      throw new MalformedURLException("Url of the enrichment service is not configured");
+    }
+    URI.create(url).toURL();
+    return url;
+  }
+
+  private static synchronized void initSharedCaches() {
+    if (sharedEntitiesByText == null) {
+      sharedEntitiesByText = new EntityResultsCache<>("entities by text", ENTITIES_CACHE_SIZE,
+          ENTITIES_EXPIRATION_MINUTES, EnrichmentResultsCopier::copyEntities);
+      sharedEntitiesById = new EntityResultsCache<>("entities by id", ENTITIES_CACHE_SIZE, ENTITIES_EXPIRATION_MINUTES,
+          EnrichmentResultsCopier::copyEntity);
+      sharedEntitiesByUri = new EntityResultsCache<>("entities by uri", ENTITIES_CACHE_SIZE, ENTITIES_EXPIRATION_MINUTES,
+          EnrichmentResultsCopier::copyEntities);
+      sharedDereferencedResources = new EntityResultsCache<>("dereferenced resources", ENTITIES_CACHE_SIZE,
+          ENTITIES_EXPIRATION_MINUTES, EnrichmentResultsCopier::copyResultList);
+    }
+  }
+
   private void emitEnrichedContent(Tuple anchorTuple, StormTaskTuple stormTaskTuple, ProcessedResult<String> result, Set<Report> reports)
           throws Exception {
     prepareStormTaskTupleForEmission(stormTaskTuple, result.getProcessedRecord());
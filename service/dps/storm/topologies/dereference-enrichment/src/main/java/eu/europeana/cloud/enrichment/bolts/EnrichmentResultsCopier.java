@@ -0,0 +1,55 @@
+package eu.europeana.cloud.enrichment.bolts;
+
+import eu.europeana.enrichment.api.external.model.EnrichmentBase;
+import eu.europeana.enrichment.api.external.model.EnrichmentResultBaseWrapper;
+import eu.europeana.enrichment.api.external.model.EnrichmentResultList;
+import jakarta.xml.bind.JAXBContext;
+import jakarta.xml.bind.JAXBException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Deep copies of the results of the remote dereference and enrichment calls. The results are copied with JAXB, the same way
+ * the dereference client reads them from the remote service, so the copy has all the fields of the original result.
+ */
+final class EnrichmentResultsCopier {
+
+  private static final JAXBContext CONTEXT = createContext();
+
+  private EnrichmentResultsCopier() {
+  }
+
+  static EnrichmentResultList copyResultList(EnrichmentResultList resultList) {
+    try {
+      var content = new ByteArrayOutputStream();
+      CONTEXT.createMarshaller().marshal(resultList, content);
+      return (EnrichmentResultList) CONTEXT.createUnmarshaller().unmarshal(new ByteArrayInputStream(content.toByteArray()));
+    } catch (JAXBException e) {
+      throw new IllegalStateException("Could not copy the enrichment results", e);
+    }
+  }
+
+  static List<EnrichmentBase> copyEntities(List<EnrichmentBase> entities) {
+    if (entities.isEmpty()) {
+      return new ArrayList<>();
+    }
+    EnrichmentResultList copy = copyResultList(
+        new EnrichmentResultList(List.of(new EnrichmentResultBaseWrapper(entities))));
+    List<EnrichmentBase> copiedEntities = copy.getEnrichmentBaseResultWrapperList().get(0).getEnrichmentBaseList();
+    return copiedEntities != null ? new ArrayList<>(copiedEntities) : new ArrayList<>();
+  }
+
+  static EnrichmentBase copyEntity(EnrichmentBase entity) {
+    return copyEntities(List.of(entity)).get(0);
+  }
+
+  private static JAXBContext createContext() {
+    try {
+      return JAXBContext.newInstance(EnrichmentResultList.class);
+    } catch (JAXBException e) {
+      throw new IllegalStateException("Could not create JAXB context of the enrichment results", e);
+    }
+  }
+}
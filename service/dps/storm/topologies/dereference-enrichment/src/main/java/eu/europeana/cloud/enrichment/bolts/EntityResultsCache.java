@@ -0,0 +1,126 @@
+package eu.europeana.cloud.enrichment.bolts;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Results of the remote dereference and enrichment calls, shared by all the {@link EnrichmentBolt} instances of one worker.
+ * <p>
+ * Records of the dataset refer to the same vocabulary entities over and over again, so the result of the remote call is kept
+ * for the entity, until it expires or is evicted from the bounded cache. Entities that were not found are cached as well.
+ * Failed calls are not cached. Hits and misses are counted, and logged periodically.
+ * <p>
+ * The results are mutable, and they are merged into the processed records, so every caller gets its own copy of the cached
+ * result.
+ *
+ * @param <K> type of the key identifying the entity
+ * @param <V> type of the result of the remote call
+ */
+class EntityResultsCache<K, V> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(EntityResultsCache.class);
+  private static final long STATISTICS_LOG_INTERVAL_IN_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+  private final String name;
+  private final Cache<K, Optional<V>> results;
+  private final UnaryOperator<V> copier;
+  private final AtomicLong nextStatisticsLogTime = new AtomicLong();
+
+  EntityResultsCache(String name, long maximumSize, long expirationMinutes, UnaryOperator<V> copier) {
+    this(name, maximumSize, expirationMinutes, copier, Ticker.systemTicker());
+  }
+
+  EntityResultsCache(String name, long maximumSize, long expirationMinutes, UnaryOperator<V> copier, Ticker ticker) {
+    this.name = name;
+    this.copier = copier;
+    this.results = CacheBuilder.newBuilder()
+                               .maximumSize(maximumSize)
+                               .expireAfterWrite(expirationMinutes, TimeUnit.MINUTES)
+                               .ticker(ticker)
+                               .recordStats()
+                               .build();
+  }
+
+  /**
+   * Returns the result for the given key, calling the loader only if the result is not cached. Concurrent calls for the same
+   * key wait for the one loader that is called.
+   *
+   * @param key key of the entity
+   * @param loader remote call returning the result, or null if the entity was not found
+   * @return copy of the result for the key, or null if the entity was not found
+   */
+  V get(K key, Supplier<V> loader) {
+    try {
+      return results.get(key, () -> Optional.ofNullable(loader.get())).map(copier).orElse(null);
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      //Loader does not throw checked exceptions
+      throw (RuntimeException) e.getCause();
+    } finally {
+      logStatisticsIfDue();
+    }
+  }
+
+  /**
+   * Returns the results for all the given keys, calling the loader once for all the keys which results are not cached, so
+   * the remote calls could still be batched.
+   *
+   * @param keys keys of the entities
+   * @param loader remote call returning results of the given keys, without the entities that were not found
+   * @param <T> type of the keys
+   * @return copies of the results of the found entities
+   */
+  <T extends K> Map<T, V> getAll(Set<T> keys, Function<Set<T>, Map<T, V>> loader) {
+    Map<T, V> result = new HashMap<>();
+    Set<T> missingKeys = new HashSet<>();
+    for (T key : keys) {
+      Optional<V> cachedValue = results.getIfPresent(key);
+      if (cachedValue == null) {
+        missingKeys.add(key);
+      } else {
+        cachedValue.ifPresent(value -> result.put(key, copier.apply(value)));
+      }
+    }
+    if (!missingKeys.isEmpty()) {
+      Map<T, V> loadedValues = loader.apply(missingKeys);
+      for (T key : missingKeys) {
+        V value = loadedValues.get(key);
+        results.put(key, Optional.ofNullable(value));
+        if (value != null) {
+          result.put(key, copier.apply(value));
+        }
+      }
+    }
+    logStatisticsIfDue();
+    return result;
+  }
+
+  CacheStats stats() {
+    return results.stats();
+  }
+
+  private void logStatisticsIfDue() {
+    long now = System.currentTimeMillis();
+    long nextLogTime = nextStatisticsLogTime.get();
+    if (now >= nextLogTime && nextStatisticsLogTime.compareAndSet(nextLogTime, now + STATISTICS_LOG_INTERVAL_IN_MILLIS)) {
+      CacheStats stats = results.stats();
+      LOGGER.info("Cache of {}: size={}, hits={}, misses={}, hitRate={}, evictions={}", name, results.size(),
+          stats.hitCount(), stats.missCount(), stats.hitRate(), stats.evictionCount());
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package eu.europeana.cloud.enrichment.bolts;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import eu.europeana.enrichment.api.external.model.Concept;
+import eu.europeana.enrichment.api.external.model.EnrichmentBase;
+import eu.europeana.enrichment.api.external.model.EnrichmentResultBaseWrapper;
+import eu.europeana.enrichment.api.external.model.EnrichmentResultList;
+import jakarta.xml.bind.JAXBContext;
+import java.io.StringWriter;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+public class CachingDereferenceClientTest {
+
+  private static final String RESOURCE_URI = "http://vocab.getty.edu/aat/300026656";
+
+  @Rule
+  public WireMockRule dereferenceService = new WireMockRule(wireMockConfig().dynamicPort());
+
+  private CachingDereferenceClient client;
+
+  @Before
+  public void init() {
+    client = new CachingDereferenceClient(new RestTemplate(), "http://localhost:" + dereferenceService.port(),
+        new EntityResultsCache<>("test", 10, 60, EnrichmentResultsCopier::copyResultList));
+  }
+
+  @Test
+  public void shouldCallDereferenceServiceOnceForTheSameResource() throws Exception {
+    stubDereferenceService(200, dereferencedConcept());
+
+    client.dereference(RESOURCE_URI);
+    EnrichmentResultList result = client.dereference(RESOURCE_URI);
+
+    assertEquals(RESOURCE_URI, firstEntity(result).getAbout());
+    dereferenceService.verify(1, getRequestedFor(anyUrl()));
+  }
+
+  @Test
+  public void shouldReturnCopyOfCachedResult() throws Exception {
+    stubDereferenceService(200, dereferencedConcept());
+
+    firstEntity(client.dereference(RESOURCE_URI)).setAbout("http://changed.by/first/record");
+
+    assertEquals(RESOURCE_URI, firstEntity(client.dereference(RESOURCE_URI)).getAbout());
+  }
+
+  @Test
+  public void shouldCallDereferenceServiceAgainWhenCallFailed() throws Exception {
+    stubDereferenceService(503, "");
+    assertThrows(RestClientException.class, () -> client.dereference(RESOURCE_URI));
+
+    stubDereferenceService(200, dereferencedConcept());
+    EnrichmentResultList result = client.dereference(RESOURCE_URI);
+
+    assertEquals(RESOURCE_URI, firstEntity(result).getAbout());
+    dereferenceService.verify(2, getRequestedFor(anyUrl()));
+  }
+
+  private void stubDereferenceService(int status, String body) {
+    dereferenceService.stubFor(get(anyUrl())
+        .willReturn(aResponse()
+            .withStatus(status)
+            .withHeader("Content-Type", "application/xml")
+            .withBody(body)));
+  }
+
+  private static EnrichmentBase firstEntity(EnrichmentResultList result) {
+    return result.getEnrichmentBaseResultWrapperList().get(0).getEnrichmentBaseList().get(0);
+  }
+
+  private static String dereferencedConcept() throws Exception {
+    return dereferencedConcept(RESOURCE_URI);
+  }
+
+  /**
+   * @return response of the dereference service, the same as the JAXB serialized result read by the dereference client
+   */
+  static String dereferencedConcept(String uri) throws Exception {
+    var concept = new Concept();
+    concept.setAbout(uri);
+    var resultList = new EnrichmentResultList(List.of(new EnrichmentResultBaseWrapper(List.of(concept))));
+    var content = new StringWriter();
+    JAXBContext.newInstance(EnrichmentResultList.class).createMarshaller().marshal(resultList, content);
+    return content.toString();
+  }
+}
@@ -0,0 +1,108 @@
+package eu.europeana.cloud.enrichment.bolts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import eu.europeana.enrichment.api.external.model.Concept;
+import eu.europeana.enrichment.api.external.model.EnrichmentBase;
+import eu.europeana.enrichment.api.internal.ReferenceTerm;
+import eu.europeana.enrichment.api.internal.SearchTerm;
+import eu.europeana.enrichment.utils.EntityResolver;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachingEntityResolverTest {
+
+  private static final String ENTITY_URI_1 = "http://data.europeana.eu/concept/1";
+  private static final String ENTITY_URI_2 = "http://data.europeana.eu/concept/2";
+
+  @Mock
+  private EntityResolver entityResolver;
+
+  @Mock
+  private ReferenceTerm reference1;
+
+  @Mock
+  private ReferenceTerm reference2;
+
+  @Mock
+  private SearchTerm searchTerm;
+
+  private CachingEntityResolver cachingEntityResolver;
+
+  @Before
+  public void init() {
+    cachingEntityResolver = new CachingEntityResolver(entityResolver,
+        new EntityResultsCache<>("entities by text", 10, 60, EnrichmentResultsCopier::copyEntities),
+        new EntityResultsCache<>("entities by id", 10, 60, EnrichmentResultsCopier::copyEntity),
+        new EntityResultsCache<>("entities by uri", 10, 60, EnrichmentResultsCopier::copyEntities));
+  }
+
+  @Test
+  public void shouldResolveByIdOnlyEntitiesThatAreNotCached() {
+    when(entityResolver.resolveById(Set.of(reference1))).thenReturn(entityById(reference1, ENTITY_URI_1));
+    when(entityResolver.resolveById(Set.of(reference2))).thenReturn(entityById(reference2, ENTITY_URI_2));
+
+    cachingEntityResolver.resolveById(Set.of(reference1));
+    Map<ReferenceTerm, EnrichmentBase> result = cachingEntityResolver.resolveById(Set.of(reference1, reference2));
+
+    assertEquals(ENTITY_URI_1, result.get(reference1).getAbout());
+    assertEquals(ENTITY_URI_2, result.get(reference2).getAbout());
+    verify(entityResolver).resolveById(Set.of(reference1));
+    verify(entityResolver).resolveById(Set.of(reference2));
+    verifyNoMoreInteractions(entityResolver);
+  }
+
+  @Test
+  public void shouldReturnCopyOfCachedEntityResolvedById() {
+    when(entityResolver.resolveById(Set.of(reference1))).thenReturn(entityById(reference1, ENTITY_URI_1));
+
+    cachingEntityResolver.resolveById(Set.of(reference1)).get(reference1).setAbout("http://changed.by/first/record");
+
+    assertEquals(ENTITY_URI_1, cachingEntityResolver.resolveById(Set.of(reference1)).get(reference1).getAbout());
+  }
+
+  @Test
+  public void shouldReturnCopyOfCachedEntitiesResolvedByUri() {
+    when(entityResolver.resolveByUri(Set.of(reference1)))
+        .thenReturn(Map.of(reference1, List.<EnrichmentBase>of(concept(ENTITY_URI_1))));
+
+    cachingEntityResolver.resolveByUri(Set.of(reference1)).get(reference1).clear();
+
+    List<EnrichmentBase> result = cachingEntityResolver.resolveByUri(Set.of(reference1)).get(reference1);
+    assertEquals(1, result.size());
+    assertEquals(ENTITY_URI_1, result.get(0).getAbout());
+    verify(entityResolver).resolveByUri(Set.of(reference1));
+  }
+
+  @Test
+  public void shouldCacheSearchTermsThatWereNotFound() {
+    when(entityResolver.resolveByText(Set.of(searchTerm))).thenReturn(Map.of());
+
+    cachingEntityResolver.resolveByText(Set.of(searchTerm));
+    Map<SearchTerm, List<EnrichmentBase>> result = cachingEntityResolver.resolveByText(Set.of(searchTerm));
+
+    assertTrue(result.isEmpty());
+    verify(entityResolver).resolveByText(Set.of(searchTerm));
+  }
+
+  private static Map<ReferenceTerm, EnrichmentBase> entityById(ReferenceTerm reference, String uri) {
+    return Map.of(reference, concept(uri));
+  }
+
+  private static Concept concept(String uri) {
+    var concept = new Concept();
+    concept.setAbout(uri);
+    return concept;
+  }
+}
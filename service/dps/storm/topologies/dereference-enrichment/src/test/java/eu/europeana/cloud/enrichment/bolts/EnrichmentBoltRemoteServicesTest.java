@@ -0,0 +1,136 @@
+package eu.europeana.cloud.enrichment.bolts;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.any;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static eu.europeana.cloud.service.dps.test.TestConstants.SOURCE_VERSION_URL;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import eu.europeana.cloud.common.properties.CassandraProperties;
+import eu.europeana.cloud.service.dps.PluginParameterKeys;
+import eu.europeana.cloud.service.dps.storm.BoltInitializationException;
+import eu.europeana.cloud.service.dps.storm.StormTaskTuple;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.TupleImpl;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+/**
+ * Tests of the enrichment bolt calling the dereference and entity services stubbed by the WireMock servers.
+ */
+public class EnrichmentBoltRemoteServicesTest {
+
+  private static final int READ_TIMEOUT_IN_MILLIS = 500;
+  private static final String RECORD_TEMPLATE = """
+      <?xml version="1.0" encoding="UTF-8"?>
+      <rdf:RDF xmlns:dc="http://purl.org/dc/elements/1.1/"
+               xmlns:edm="http://www.europeana.eu/schemas/edm/"
+               xmlns:ore="http://www.openarchives.org/ore/terms/"
+               xmlns:rdf="http://www.w3.org/1999/02/22-rdf-syntax-ns#">
+          <edm:ProvidedCHO rdf:about="/1/item"/>
+          <ore:Aggregation rdf:about="/aggregation/provider/1/item">
+              <edm:aggregatedCHO rdf:resource="/1/item"/>
+              <edm:dataProvider>Data provider</edm:dataProvider>
+              <edm:isShownAt rdf:resource="http://www.example.org/1/item"/>
+              <edm:provider>Provider</edm:provider>
+              <edm:rights rdf:resource="http://creativecommons.org/publicdomain/mark/1.0/"/>
+          </ore:Aggregation>
+          <ore:Proxy rdf:about="/proxy/provider/1/item">
+              <dc:subject rdf:resource="%s"/>
+              <dc:title>Title</dc:title>
+              <edm:type>TEXT</edm:type>
+          </ore:Proxy>
+      </rdf:RDF>
+      """;
+
+  @Rule
+  public WireMockRule dereferenceService = new WireMockRule(wireMockConfig().dynamicPort());
+
+  @Rule
+  public WireMockRule entityService = new WireMockRule(wireMockConfig().dynamicPort());
+
+  @Mock(name = "outputCollector")
+  private OutputCollector outputCollector;
+
+  @InjectMocks
+  private EnrichmentBolt enrichmentBolt;
+
+  @Before
+  public void init() {
+    enrichmentBolt = new EnrichmentBolt(new CassandraProperties(), "http://localhost:" + dereferenceService.port(),
+        "http://localhost:" + entityService.port() + "/entity-management", "http://localhost:" + entityService.port()
+        + "/entity-api", "some-key", EnrichmentBolt.DEFAULT_ENRICHMENT_BATCH_SIZE,
+        EnrichmentBolt.DEFAULT_CONNECT_TIMEOUT_IN_MILLIS, READ_TIMEOUT_IN_MILLIS);
+    MockitoAnnotations.initMocks(this);
+    entityService.stubFor(any(anyUrl()).willReturn(aResponse().withStatus(404)));
+    enrichmentBolt.prepare();
+  }
+
+  @Test
+  public void shouldDereferenceResourceReferredByManyRecordsOnce() throws Exception {
+    String resourceUri = "http://vocab.getty.edu/aat/300026656";
+    dereferenceService.stubFor(get(anyUrl())
+        .willReturn(aResponse()
+            .withHeader("Content-Type", "application/xml")
+            .withBody(CachingDereferenceClientTest.dereferencedConcept(resourceUri))));
+    Tuple anchorTuple = mock(TupleImpl.class);
+
+    enrichmentBolt.execute(anchorTuple, recordReferringTo(resourceUri));
+    enrichmentBolt.execute(anchorTuple, recordReferringTo(resourceUri));
+
+    dereferenceService.verify(1, anyRequestedFor(anyUrl()));
+    verify(outputCollector, times(2)).ack(anchorTuple);
+  }
+
+  @Test(timeout = 30_000)
+  public void shouldNotWaitLongerThanReadTimeoutForDereferenceService() {
+    String resourceUri = "http://vocab.getty.edu/aat/300041273";
+    dereferenceService.stubFor(get(anyUrl())
+        .willReturn(aResponse()
+            .withFixedDelay(60_000)
+            .withHeader("Content-Type", "application/xml")));
+    Tuple anchorTuple = mock(TupleImpl.class);
+
+    enrichmentBolt.execute(anchorTuple, recordReferringTo(resourceUri));
+    int requestsOfFirstRecord = dereferenceService.findAll(anyRequestedFor(anyUrl())).size();
+    enrichmentBolt.execute(anchorTuple, recordReferringTo(resourceUri));
+
+    //Failed calls are not cached, so the service is called again for the second record
+    assertTrue(requestsOfFirstRecord > 0);
+    assertTrue(dereferenceService.findAll(anyRequestedFor(anyUrl())).size() > requestsOfFirstRecord);
+    verify(outputCollector, times(2)).ack(anchorTuple);
+  }
+
+  @Test
+  public void shouldFailToPrepareBoltWithMalformedDereferenceUrl() {
+    var bolt = new EnrichmentBolt(new CassandraProperties(), "not an url", "http://localhost/entity-management",
+        "http://localhost/entity-api", "some-key");
+
+    BoltInitializationException exception = assertThrows(BoltInitializationException.class, bolt::prepare);
+
+    assertEquals("Could not instantiate EnrichmentBolt due Exception in enrich worker creating", exception.getMessage());
+  }
+
+  private static StormTaskTuple recordReferringTo(String resourceUri) {
+    HashMap<String, String> parameters = new HashMap<>();
+    parameters.put(PluginParameterKeys.MESSAGE_PROCESSING_START_TIME_IN_MS, "1");
+    return new StormTaskTuple(1, "TASK_NAME", SOURCE_VERSION_URL,
+        RECORD_TEMPLATE.formatted(resourceUri).getBytes(StandardCharsets.UTF_8), parameters, null);
+  }
+}
@@ -0,0 +1,133 @@
+package eu.europeana.cloud.enrichment.bolts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import com.google.common.base.Ticker;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import org.junit.Before;
+import org.junit.Test;
+
+public class EntityResultsCacheTest {
+
+  private static final String URI_1 = "http://vocab.getty.edu/aat/300026656";
+  private static final String URI_2 = "http://www.wikidata.org/entity/Q90";
+  private static final String URI_3 = "http://sws.geonames.org/2988507/";
+
+  private final AtomicLong time = new AtomicLong();
+  private final List<Set<String>> requestedUris = new ArrayList<>();
+  private EntityResultsCache<String, String> cache;
+
+  @Before
+  public void init() {
+    cache = new EntityResultsCache<>("test", 2, 60, UnaryOperator.identity(), new Ticker() {
+      @Override
+      public long read() {
+        return time.get();
+      }
+    });
+  }
+
+  @Test
+  public void shouldCallRemoteServiceOnlyForUrisThatAreNotCached() {
+    assertEquals(Map.of(URI_1, "entity1"), cache.getAll(Set.of(URI_1), this::remoteEntities));
+
+    Map<String, String> result = cache.getAll(Set.of(URI_1, URI_2), this::remoteEntities);
+
+    assertEquals(Map.of(URI_1, "entity1", URI_2, "entity2"), result);
+    assertEquals(List.of(Set.of(URI_1), Set.of(URI_2)), requestedUris);
+    assertEquals(1, cache.stats().hitCount());
+    assertEquals(2, cache.stats().missCount());
+  }
+
+  @Test
+  public void shouldCacheEntitiesThatWereNotFound() {
+    assertEquals(Map.of(), cache.getAll(Set.of(URI_3), this::remoteEntities));
+    assertEquals(Map.of(), cache.getAll(Set.of(URI_3), this::remoteEntities));
+
+    assertEquals(List.of(Set.of(URI_3)), requestedUris);
+  }
+
+  @Test
+  public void shouldCallRemoteServiceAgainWhenResultExpired() {
+    cache.getAll(Set.of(URI_1), this::remoteEntities);
+    time.addAndGet(TimeUnit.MINUTES.toNanos(61));
+
+    cache.getAll(Set.of(URI_1), this::remoteEntities);
+
+    assertEquals(List.of(Set.of(URI_1), Set.of(URI_1)), requestedUris);
+  }
+
+  @Test
+  public void shouldKeepOnlyLimitedNumberOfResults() {
+    cache.getAll(Set.of(URI_1), this::remoteEntities);
+    cache.getAll(Set.of(URI_2), this::remoteEntities);
+    cache.getAll(Set.of(URI_3), this::remoteEntities);
+
+    cache.getAll(Set.of(URI_1), this::remoteEntities);
+
+    assertEquals(4, requestedUris.size());
+  }
+
+  @Test
+  public void shouldReturnCachedSingleResult() {
+    assertEquals("entity1", cache.get(URI_1, () -> remoteEntity(URI_1)));
+    assertEquals("entity1", cache.get(URI_1, () -> remoteEntity(URI_1)));
+    assertNull(cache.get(URI_3, () -> remoteEntity(URI_3)));
+    assertNull(cache.get(URI_3, () -> remoteEntity(URI_3)));
+
+    assertEquals(List.of(Set.of(URI_1), Set.of(URI_3)), requestedUris);
+  }
+
+  @Test
+  public void shouldNotCacheFailedCall() {
+    try {
+      cache.get(URI_1, () -> {
+        throw new IllegalStateException("Service unavailable");
+      });
+      fail();
+    } catch (IllegalStateException e) {
+      assertEquals("Service unavailable", e.getMessage());
+    }
+
+    assertEquals("entity1", cache.get(URI_1, () -> remoteEntity(URI_1)));
+  }
+
+  @Test
+  public void shouldReturnCopyOfCachedResult() {
+    EntityResultsCache<String, List<String>> copyingCache = new EntityResultsCache<>("test", 2, 60, ArrayList::new);
+    copyingCache.get(URI_1, () -> new ArrayList<>(List.of("entity1"))).add("merged into the first record");
+
+    assertEquals(List.of("entity1"), copyingCache.get(URI_1, () -> List.of("not called")));
+    copyingCache.getAll(Set.of(URI_1), uris -> Map.of()).get(URI_1).add("merged into the second record");
+    assertEquals(List.of("entity1"), copyingCache.getAll(Set.of(URI_1), uris -> Map.of()).get(URI_1));
+  }
+
+  /**
+   * Stub of the remote service, which knows only the first two entities.
+   */
+  private Map<String, String> remoteEntities(Set<String> uris) {
+    requestedUris.add(Set.copyOf(uris));
+    Map<String, String> result = new HashMap<>();
+    for (String uri : uris) {
+      if (uri.equals(URI_1)) {
+        result.put(uri, "entity1");
+      } else if (uri.equals(URI_2)) {
+        result.put(uri, "entity2");
+      }
+    }
+    return result;
+  }
+
+  private String remoteEntity(String uri) {
+    return remoteEntities(Set.of(uri)).get(uri);
+  }
+}
@@ -1,7 +1,5 @@
 package eu.europeana.cloud.http.bolts;
 
-import static eu.europeana.metis.utils.TempFileUtils.createSecureTempFile;
-
 import eu.europeana.cloud.common.properties.CassandraProperties;
 import eu.europeana.cloud.harvesting.commons.IdentifierSupplier;
 import eu.europeana.cloud.service.commons.utils.RetryInterruptedException;
@@ -9,18 +7,17 @@ import eu.europeana.cloud.service.commons.utils.RetryableMethodExecutor;
 import eu.europeana.cloud.service.dps.PluginParameterKeys;
 import eu.europeana.cloud.service.dps.storm.AbstractDpsBolt;
 import eu.europeana.cloud.service.dps.storm.StormTaskTuple;
-import org.apache.commons.io.FilenameUtils;
 import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.net.URI;
+import java.net.URLConnection;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.nio.file.Files;
-import java.nio.file.Path;
 
 public class HttpHarvestingBolt extends AbstractDpsBolt {
 
@@ -63,19 +60,25 @@ public class HttpHarvestingBolt extends AbstractDpsBolt {
   }
 
   private void harvestRecord(StormTaskTuple tuple) throws Exception {
-    HttpResponse<byte[]> response = tryLoadHttpFileCoupleOfTimes(tuple);
-    byte[] fileContent = response.body();
-    tuple.setFileData(fileContent);
-    tuple.addParameter(PluginParameterKeys.OUTPUT_MIME_TYPE, probeMimeType(tuple.getFileUrl(), fileContent));
+    if (tuple.getFileData() == null) {
+      HttpResponse<byte[]> response = tryLoadHttpFileCoupleOfTimes(tuple);
+      tuple.setFileData(response.body());
+    } else {
+      LOGGER.debug("File {} was sent by the submitter, it does not have to be downloaded", tuple.getFileUrl());
+    }
+    tuple.addParameter(PluginParameterKeys.OUTPUT_MIME_TYPE, probeMimeType(tuple.getFileUrl(), tuple.getFileData()));
     identifierSupplier.prepareIdentifiers(tuple);
   }
 
+  /**
+   * Detects MIME type by the extension of the file name, and if it is not known, by the first bytes of the content, which are
+   * read from the memory.
+   */
   private String probeMimeType(String fileUrl, byte[] fileContent) throws IOException {
-    String extension = FilenameUtils.getExtension(fileUrl);
-    Path tempFile = createSecureTempFile("http_harvest", "." + extension);
-    Files.write(tempFile, fileContent);
-    String mimeType = Files.probeContentType(tempFile);
-    Files.delete(tempFile);
+    String mimeType = URLConnection.guessContentTypeFromName(fileUrl);
+    if (mimeType == null) {
+      mimeType = URLConnection.guessContentTypeFromStream(new ByteArrayInputStream(fileContent));
+    }
     return mimeType;
   }
 
@@ -91,6 +91,21 @@ public class HttpHarvestingBoltTest {
         anyOf(is(MediaType.TEXT_XML), is(MediaType.APPLICATION_XML)));
   }
 
+  @Test
+  public void shouldNotDownloadFileSentBySubmitter() throws IOException {
+    tuple.setFileData(readTestFile("record.xml"));
+
+    bolt.execute(anchorTuple, tuple);
+
+    verify(outputCollector).emit(eq(anchorTuple), resultTupleCaptor.capture());
+    StormTaskTuple resultTuple = getResultStormTaskTuple();
+    assertArrayEquals(readTestFile("record.xml"), resultTuple.getFileData());
+    assertEquals("/100/object_DCU_24927017", resultTuple.getParameter(PluginParameterKeys.CLOUD_LOCAL_IDENTIFIER));
+    assertThat(resultTuple.getParameter(PluginParameterKeys.OUTPUT_MIME_TYPE),
+        anyOf(is(MediaType.TEXT_XML), is(MediaType.APPLICATION_XML)));
+    wireMockRule.verify(0, getRequestedFor(anyUrl()));
+  }
+
   @Test
   public void shouldRetryWhenCantDownloadFileFirstTime() throws IOException {
     assumeTrue((
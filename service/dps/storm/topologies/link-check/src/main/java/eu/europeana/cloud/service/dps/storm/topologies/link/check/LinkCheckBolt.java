@@ -16,6 +16,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Created by pwozniak on 2/5/19
@@ -25,7 +26,17 @@ public class LinkCheckBolt extends AbstractDpsBolt {
   private static final Logger LOGGER = LoggerFactory.getLogger(LinkCheckBolt.class);
 
   private static final int CACHE_SIZE = 1024;
+  private static final long CHECKED_LINKS_CACHE_SIZE = 100_000;
+  private static final long CHECKED_LINKS_EXPIRATION_MINUTES = 60;
+  private static final long FAILED_LINKS_EXPIRATION_SECONDS = 60;
+  private static final double CHECKS_PER_SECOND_PER_HOST = 10;
+
+  //Shared by all the bolts of the worker, so the link is checked once, whichever bolt receives it, and the limit of
+  //checks per host applies to the whole worker
+  private static LinkCheckResultsCache sharedCheckedLinks;
+
   transient Map<String, FileInfo> cache;
+  transient LinkCheckResultsCache checkedLinks;
 
   private transient LinkChecker linkChecker;
 
@@ -44,6 +55,7 @@ public class LinkCheckBolt extends AbstractDpsBolt {
       final MediaProcessorFactory processorFactory = new MediaProcessorFactory();
       linkChecker = processorFactory.createLinkChecker();
       cache = new HashMap<>(CACHE_SIZE);
+      checkedLinks = getSharedCheckedLinks();
     } catch (Exception e) {
       LOGGER.error("error while initializing Link checker {}", e.getCause(), e);
       throw new BoltInitializationException("error while initializing Link checker", e);
@@ -51,6 +63,14 @@ public class LinkCheckBolt extends AbstractDpsBolt {
 
   }
 
+  static synchronized LinkCheckResultsCache getSharedCheckedLinks() {
+    if (sharedCheckedLinks == null) {
+      sharedCheckedLinks = new LinkCheckResultsCache(CHECKED_LINKS_CACHE_SIZE, CHECKED_LINKS_EXPIRATION_MINUTES,
+          FAILED_LINKS_EXPIRATION_SECONDS, CHECKS_PER_SECOND_PER_HOST);
+    }
+    return sharedCheckedLinks;
+  }
+
   /**
    * Performs link checking for given tuple
    *
@@ -130,19 +150,15 @@ public class LinkCheckBolt extends AbstractDpsBolt {
 
   private void checkLink(ResourceInfo resourceInfo, FileInfo fileInfo) {
     LOGGER.info("Checking resource url {}", resourceInfo.edmUrl);
-    try {
-      linkChecker.performLinkChecking(resourceInfo.linkUrl);
-    } catch (Exception e) {
-      LOGGER.info("There was exception while checking the link: {}", resourceInfo.edmUrl, e);
-      String error = e.getMessage() + " . Because of: " + e.getCause();
+    Optional<String> error = checkedLinks.check(resourceInfo.linkUrl, linkChecker);
+    if (error.isPresent()) {
       if (fileInfo.errors == null || fileInfo.errors.isEmpty()) {
-        fileInfo.errors = error;
+        fileInfo.errors = error.get();
       } else {
-        fileInfo.errors = fileInfo.errors + "," + error;
+        fileInfo.errors = fileInfo.errors + "," + error.get();
       }
-    } finally {
-      fileInfo.linksChecked++;
     }
+    fileInfo.linksChecked++;
   }
 
   protected void cleanInvalidData(StormTaskTuple tuple) {
@@ -0,0 +1,155 @@
+package eu.europeana.cloud.service.dps.storm.topologies.link.check;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import eu.europeana.metis.mediaprocessing.LinkChecker;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Results of link checks of all the {@link LinkCheckBolt}s of the worker.
+ * <p>
+ * The same resources (rights statements, shared thumbnails) are often linked by thousands of records, so every link is
+ * checked once and its result is kept in the bounded cache, keyed by the normalized url, until it expires. Failed checks
+ * expire much sooner, because the failure may be temporary (timeout, 429 or 503 response), and it must not be reported for
+ * all the records checked later. Concurrent checks of the same link wait for the one that is executed. Checks of links of
+ * one host are spread out in time by the token bucket of the host, so the provider is not flooded with requests.
+ */
+class LinkCheckResultsCache {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(LinkCheckResultsCache.class);
+  private static final long HOST_LIMITERS_EXPIRATION_MINUTES = 10;
+
+  private final Cache<String, CheckResult> results;
+  private final Cache<String, RateLimiter> hostLimiters;
+  private final long failureExpirationNanos;
+  private final double checksPerSecondPerHost;
+  private final Ticker ticker;
+
+  LinkCheckResultsCache(long maximumSize, long expirationMinutes, long failureExpirationSeconds,
+      double checksPerSecondPerHost) {
+    this(maximumSize, expirationMinutes, failureExpirationSeconds, checksPerSecondPerHost, Ticker.systemTicker());
+  }
+
+  LinkCheckResultsCache(long maximumSize, long expirationMinutes, long failureExpirationSeconds,
+      double checksPerSecondPerHost, Ticker ticker) {
+    this.results = CacheBuilder.newBuilder()
+                               .maximumSize(maximumSize)
+                               .expireAfterWrite(expirationMinutes, TimeUnit.MINUTES)
+                               .ticker(ticker)
+                               .build();
+    this.hostLimiters = CacheBuilder.newBuilder()
+                                    .expireAfterAccess(HOST_LIMITERS_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+                                    .build();
+    this.failureExpirationNanos = TimeUnit.SECONDS.toNanos(failureExpirationSeconds);
+    this.checksPerSecondPerHost = checksPerSecondPerHost;
+    this.ticker = ticker;
+  }
+
+  /**
+   * Returns the result of the check of the given link, checking it with the given link checker if it was not checked
+   * recently.
+   *
+   * @param link link to be checked
+   * @param linkChecker checker used if the result of the link is not cached
+   * @return empty if the link is correct, description of the error otherwise
+   */
+  Optional<String> check(String link, LinkChecker linkChecker) {
+    String normalizedLink = normalize(link);
+    try {
+      CheckResult result = results.get(normalizedLink, () -> performCheck(link, normalizedLink, linkChecker));
+      if (isExpiredFailure(result)) {
+        //Removed only if not replaced by the newer check in the meantime
+        results.asMap().remove(normalizedLink, result);
+        result = results.get(normalizedLink, () -> performCheck(link, normalizedLink, linkChecker));
+      }
+      return result.error;
+    } catch (ExecutionException | UncheckedExecutionException e) {
+      //Should not happen, all the exceptions of the check are turned into the result
+      return Optional.of(describeError(e.getCause()));
+    }
+  }
+
+  private CheckResult performCheck(String link, String normalizedLink, LinkChecker linkChecker)
+      throws ExecutionException {
+    hostLimiterFor(normalizedLink).acquire();
+    try {
+      linkChecker.performLinkChecking(link);
+      return new CheckResult(Optional.empty(), ticker.read());
+    } catch (Exception e) {
+      LOGGER.info("There was exception while checking the link: {}", link, e);
+      return new CheckResult(Optional.of(describeError(e)), ticker.read());
+    }
+  }
+
+  private boolean isExpiredFailure(CheckResult result) {
+    return result.error.isPresent() && ticker.read() - result.checkTime >= failureExpirationNanos;
+  }
+
+  private RateLimiter hostLimiterFor(String normalizedLink) throws ExecutionException {
+    String host = hostOf(normalizedLink);
+    return hostLimiters.get(host, () -> RateLimiter.create(checksPerSecondPerHost));
+  }
+
+  static String describeError(Throwable e) {
+    return e.getMessage() + " . Because of: " + e.getCause();
+  }
+
+  /**
+   * Normalizes the link, so the different forms of the same url share the cached result: scheme and host are lower-cased, the
+   * default port and the fragment are removed. Links that are not valid urls are only trimmed.
+   */
+  static String normalize(String link) {
+    String trimmedLink = link.trim();
+    try {
+      var uri = new URI(trimmedLink);
+      if (uri.getScheme() == null || uri.getHost() == null) {
+        return trimmedLink;
+      }
+      String scheme = uri.getScheme().toLowerCase(Locale.ROOT);
+      int port = isDefaultPort(scheme, uri.getPort()) ? -1 : uri.getPort();
+      String path = uri.getRawPath() == null || uri.getRawPath().isEmpty() ? "/" : uri.getRawPath();
+      return scheme + "://"
+          + (uri.getRawUserInfo() != null ? uri.getRawUserInfo() + "@" : "")
+          + uri.getHost().toLowerCase(Locale.ROOT)
+          + (port != -1 ? ":" + port : "")
+          + path
+          + (uri.getRawQuery() != null ? "?" + uri.getRawQuery() : "");
+    } catch (URISyntaxException e) {
+      return trimmedLink;
+    }
+  }
+
+  private static boolean isDefaultPort(String scheme, int port) {
+    return ("http".equals(scheme) && port == 80) || ("https".equals(scheme) && port == 443);
+  }
+
+  private static String hostOf(String normalizedLink) {
+    try {
+      String host = new URI(normalizedLink).getHost();
+      return host != null ? host : "";
+    } catch (URISyntaxException e) {
+      return "";
+    }
+  }
+
+  private static final class CheckResult {
+
+    private final Optional<String> error;
+    private final long checkTime;
+
+    private CheckResult(Optional<String> error, long checkTime) {
+      this.error = error;
+      this.checkTime = checkTime;
+    }
+  }
+}
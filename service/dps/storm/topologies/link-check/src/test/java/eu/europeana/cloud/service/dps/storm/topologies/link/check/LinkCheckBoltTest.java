@@ -5,7 +5,10 @@ import static eu.europeana.cloud.service.dps.PluginParameterKeys.RESOURCE_URL;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
@@ -19,7 +22,10 @@ import eu.europeana.cloud.service.dps.storm.StormTaskTuple;
 import eu.europeana.metis.mediaprocessing.LinkChecker;
 import eu.europeana.metis.mediaprocessing.exception.LinkCheckingException;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.TupleImpl;
@@ -32,6 +38,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.powermock.reflect.Whitebox;
 
 public class LinkCheckBoltTest {
 
@@ -51,6 +58,7 @@ public class LinkCheckBoltTest {
   public void init() {
     MockitoAnnotations.initMocks(this);
     linkCheckBolt.cache = new HashMap<>();
+    linkCheckBolt.checkedLinks = new LinkCheckResultsCache(100, 60, 60, 1000);
   }
 
   @Test
@@ -86,23 +94,57 @@ public class LinkCheckBoltTest {
   public void shouldEmitTupleAfterCheckingAllResourcesFromFile() throws Exception {
     Tuple anchorTuple = mock(TupleImpl.class);
     StormTaskTuple tuple = prepareRandomTuple();
-    linkCheckBolt.execute(anchorTuple, tuple);
-    verify(outputCollector, times(0)).emit(eq("NotificationStream"), any(Tuple.class), Mockito.anyList());
-    verify(linkChecker, times(1)).performLinkChecking(tuple.getParameter(PluginParameterKeys.RESOURCE_URL));
-    linkCheckBolt.execute(anchorTuple, tuple);
-    verify(outputCollector, times(0)).emit(eq("NotificationStream"), any(Tuple.class), Mockito.anyList());
-    verify(linkChecker, times(2)).performLinkChecking(tuple.getParameter(PluginParameterKeys.RESOURCE_URL));
-    linkCheckBolt.execute(anchorTuple, tuple);
-    verify(outputCollector, times(0)).emit(eq("NotificationStream"), any(Tuple.class), Mockito.anyList());
-    verify(linkChecker, times(3)).performLinkChecking(tuple.getParameter(PluginParameterKeys.RESOURCE_URL));
-    linkCheckBolt.execute(anchorTuple, tuple);
-    verify(outputCollector, times(0)).emit(eq("NotificationStream"), any(Tuple.class), Mockito.anyList());
-    verify(linkChecker, times(4)).performLinkChecking(tuple.getParameter(PluginParameterKeys.RESOURCE_URL));
+    for (int i = 1; i <= 4; i++) {
+      tuple.addParameter(RESOURCE_URL, "resourceUrl" + i);
+      linkCheckBolt.execute(anchorTuple, tuple);
+      verify(outputCollector, times(0)).emit(eq("NotificationStream"), any(Tuple.class), Mockito.anyList());
+      verify(linkChecker, times(1)).performLinkChecking("resourceUrl" + i);
+    }
+    tuple.addParameter(RESOURCE_URL, "resourceUrl5");
     linkCheckBolt.execute(anchorTuple, tuple);
     verify(outputCollector, times(1)).emit(eq("NotificationStream"), any(Tuple.class), Mockito.anyList());
     verify(linkChecker, times(5)).performLinkChecking(Mockito.anyString());
   }
 
+  @Test
+  public void shouldCheckLinkSharedByRecordsOnlyOnce() throws Exception {
+    Tuple anchorTuple = mock(TupleImpl.class);
+    StormTaskTuple firstRecordTuple = prepareRandomTuple();
+    firstRecordTuple.addParameter(RESOURCE_LINKS_COUNT, "1");
+    firstRecordTuple.addParameter(RESOURCE_URL, "http://rightsstatements.org/vocab/InC/1.0/");
+    StormTaskTuple secondRecordTuple = prepareRandomTuple();
+    secondRecordTuple.setFileUrl("ecloudFileUrl2");
+    secondRecordTuple.addParameter(RESOURCE_LINKS_COUNT, "1");
+    secondRecordTuple.addParameter(RESOURCE_URL, "HTTP://RightsStatements.org:80/vocab/InC/1.0/#fragment");
+
+    linkCheckBolt.execute(anchorTuple, firstRecordTuple);
+    linkCheckBolt.execute(anchorTuple, secondRecordTuple);
+
+    verify(linkChecker, times(1)).performLinkChecking(Mockito.anyString());
+    verify(outputCollector, times(2)).emit(eq("NotificationStream"), any(Tuple.class), captor.capture());
+    captor.getAllValues().forEach(values ->
+        assertNull(((Map<?, ?>) values.get(1)).get(PluginParameterKeys.EXCEPTION_ERROR_MESSAGE)));
+  }
+
+  @Test
+  public void shouldReportCachedErrorForEveryRecordWithTheLink() throws Exception {
+    Tuple anchorTuple = mock(TupleImpl.class);
+    doThrow(new LinkCheckingException(new Throwable())).when(linkChecker).performLinkChecking(Mockito.anyString());
+    StormTaskTuple firstRecordTuple = prepareRandomTuple();
+    firstRecordTuple.addParameter(RESOURCE_LINKS_COUNT, "1");
+    StormTaskTuple secondRecordTuple = prepareRandomTuple();
+    secondRecordTuple.setFileUrl("ecloudFileUrl2");
+    secondRecordTuple.addParameter(RESOURCE_LINKS_COUNT, "1");
+
+    linkCheckBolt.execute(anchorTuple, firstRecordTuple);
+    linkCheckBolt.execute(anchorTuple, secondRecordTuple);
+
+    verify(linkChecker, times(1)).performLinkChecking(Mockito.anyString());
+    verify(outputCollector, times(2)).emit(eq("NotificationStream"), any(Tuple.class), captor.capture());
+    captor.getAllValues().forEach(values ->
+        assertNotNull(((Map<?, ?>) values.get(1)).get(PluginParameterKeys.EXCEPTION_ERROR_MESSAGE)));
+  }
+
   @Test
   public void shouldEmitTupleWithErrorIncluded() throws Exception {
     Tuple anchorTuple = mock(TupleImpl.class);
@@ -117,6 +159,39 @@ public class LinkCheckBoltTest {
     validateCapturedValuesForError(captor);
   }
 
+  @Test
+  public void shouldShareCheckedLinksAndHostLimiterBetweenBoltsOfWorker() throws Exception {
+    List<Long> checkTimes = new CopyOnWriteArrayList<>();
+    doAnswer(invocation -> checkTimes.add(System.nanoTime())).when(linkChecker).performLinkChecking(Mockito.anyString());
+    LinkCheckBolt firstBolt = preparedBolt();
+    LinkCheckBolt secondBolt = preparedBolt();
+
+    firstBolt.execute(mock(TupleImpl.class), prepareSingleLinkTuple("ecloudFileUrl1", "http://shared.example.org/a"));
+    secondBolt.execute(mock(TupleImpl.class), prepareSingleLinkTuple("ecloudFileUrl2", "http://shared.example.org/b"));
+    secondBolt.execute(mock(TupleImpl.class), prepareSingleLinkTuple("ecloudFileUrl3", "http://shared.example.org/a"));
+
+    assertSame(firstBolt.checkedLinks, secondBolt.checkedLinks);
+    verify(linkChecker, times(1)).performLinkChecking("http://shared.example.org/a");
+    verify(linkChecker, times(1)).performLinkChecking("http://shared.example.org/b");
+    //The limit of 10 checks per second of the host is common for both the bolts
+    assertTrue(checkTimes.get(1) - checkTimes.get(0) >= TimeUnit.MILLISECONDS.toNanos(80));
+  }
+
+  private LinkCheckBolt preparedBolt() {
+    LinkCheckBolt bolt = new LinkCheckBolt(new CassandraProperties());
+    bolt.prepare();
+    Whitebox.setInternalState(bolt, "linkChecker", linkChecker);
+    Whitebox.setInternalState(bolt, "outputCollector", outputCollector);
+    return bolt;
+  }
+
+  private StormTaskTuple prepareSingleLinkTuple(String fileUrl, String link) {
+    StormTaskTuple tuple = prepareRandomTuple();
+    tuple.setFileUrl(fileUrl);
+    tuple.addParameter(RESOURCE_LINKS_COUNT, "1");
+    tuple.addParameter(RESOURCE_URL, link);
+    return tuple;
+  }
 
   private StormTaskTuple prepareRandomTuple() {
     StormTaskTuple tuple = new StormTaskTuple();
@@ -0,0 +1,98 @@
+package eu.europeana.cloud.service.dps.storm.topologies.link.check;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import com.google.common.base.Ticker;
+import eu.europeana.metis.mediaprocessing.LinkChecker;
+import eu.europeana.metis.mediaprocessing.exception.LinkCheckingException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Test;
+
+public class LinkCheckResultsCacheTest {
+
+  private final LinkChecker linkChecker = mock(LinkChecker.class);
+
+  @Test
+  public void shouldNormalizeLinks() {
+    assertEquals("http://example.com/a/b?x=1",
+        LinkCheckResultsCache.normalize(" HTTP://Example.COM:80/a/b?x=1#part "));
+    assertEquals("https://example.com/", LinkCheckResultsCache.normalize("https://example.com:443"));
+    assertEquals("https://example.com:8443/a", LinkCheckResultsCache.normalize("https://example.com:8443/a"));
+    assertEquals("not a url", LinkCheckResultsCache.normalize("not a url"));
+  }
+
+  @Test
+  public void shouldCheckEveryLinkOnce() throws Exception {
+    var checkedLinks = new LinkCheckResultsCache(100, 60, 60, 1000);
+
+    assertFalse(checkedLinks.check("http://example.com/a", linkChecker).isPresent());
+    assertFalse(checkedLinks.check("http://EXAMPLE.com/a", linkChecker).isPresent());
+    assertFalse(checkedLinks.check("http://example.com/b", linkChecker).isPresent());
+
+    verify(linkChecker, times(1)).performLinkChecking("http://example.com/a");
+    verify(linkChecker, times(1)).performLinkChecking("http://example.com/b");
+  }
+
+  @Test
+  public void shouldCacheErrorsOfLinks() throws Exception {
+    var checkedLinks = new LinkCheckResultsCache(100, 60, 60, 1000);
+    doThrow(new LinkCheckingException(new Throwable())).when(linkChecker).performLinkChecking("http://example.com/a");
+
+    assertTrue(checkedLinks.check("http://example.com/a", linkChecker).isPresent());
+    assertTrue(checkedLinks.check("http://example.com/a", linkChecker).isPresent());
+
+    verify(linkChecker, times(1)).performLinkChecking("http://example.com/a");
+  }
+
+  @Test
+  public void shouldCheckFailedLinkAgainAfterShorterExpirationOfFailures() throws Exception {
+    var time = new AtomicLong();
+    var checkedLinks = new LinkCheckResultsCache(100, 60, 60, 1000, new Ticker() {
+      @Override
+      public long read() {
+        return time.get();
+      }
+    });
+    doThrow(new LinkCheckingException(new Throwable())).when(linkChecker).performLinkChecking("http://example.com/a");
+
+    assertTrue(checkedLinks.check("http://example.com/a", linkChecker).isPresent());
+    checkedLinks.check("http://example.com/b", linkChecker);
+    time.addAndGet(TimeUnit.SECONDS.toNanos(61));
+    assertTrue(checkedLinks.check("http://example.com/a", linkChecker).isPresent());
+    assertFalse(checkedLinks.check("http://example.com/b", linkChecker).isPresent());
+
+    verify(linkChecker, times(2)).performLinkChecking("http://example.com/a");
+    verify(linkChecker, times(1)).performLinkChecking("http://example.com/b");
+  }
+
+  @Test
+  public void shouldCheckLinkAgainWhenItDoesNotFitInCache() throws Exception {
+    var checkedLinks = new LinkCheckResultsCache(1, 60, 60, 1000);
+
+    checkedLinks.check("http://example.com/a", linkChecker);
+    checkedLinks.check("http://example.com/b", linkChecker);
+    checkedLinks.check("http://example.com/a", linkChecker);
+
+    verify(linkChecker, times(2)).performLinkChecking("http://example.com/a");
+  }
+
+  @Test
+  public void shouldSpreadChecksOfOneHostInTime() {
+    var checkedLinks = new LinkCheckResultsCache(100, 60, 60, 10);
+
+    long start = System.nanoTime();
+    for (int i = 0; i < 4; i++) {
+      checkedLinks.check("http://example.com/" + i, linkChecker);
+    }
+
+    //first permit is granted immediately, every next one after 100 ms
+    assertTrue(System.nanoTime() - start >= 250_000_000L);
+  }
+}
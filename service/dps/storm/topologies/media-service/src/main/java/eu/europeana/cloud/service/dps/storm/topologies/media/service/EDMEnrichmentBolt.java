@@ -17,7 +17,6 @@ import eu.europeana.metis.mediaprocessing.RdfSerializer;
 import eu.europeana.metis.mediaprocessing.exception.RdfSerializationException;
 import eu.europeana.metis.mediaprocessing.model.EnrichedRdf;
 import eu.europeana.metis.mediaprocessing.model.ResourceMetadata;
-import java.io.InputStream;
 import java.net.MalformedURLException;
 import java.time.Instant;
 import java.util.ArrayList;
@@ -25,7 +24,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
@@ -62,8 +60,8 @@ public class EDMEnrichmentBolt extends ReadFileBolt {
     if (stormTaskTuple.getParameter(PluginParameterKeys.RESOURCE_LINKS_COUNT) == null
         || Objects.equals(stormTaskTuple.getParameter(PluginParameterKeys.RESOURCE_LINKS_COUNT), "0")) {
       LOGGER.warn(NO_RESOURCES_DETAILED_MESSAGE);
-      try (InputStream stream = getFileStreamByStormTuple(stormTaskTuple)) {
-        byte[] data = IOUtils.toByteArray(stream);
+      try {
+        byte[] data = readFileContent(stormTaskTuple);
         if (FileDataChecker.isFileDataNullOrBlank(data)) {
           LOGGER.warn("File data to be EDMEnriched is null or blank!");
         }
@@ -84,16 +82,16 @@ public class EDMEnrichmentBolt extends ReadFileBolt {
       TempEnrichedFile tempEnrichedFile = cache.get(file);
       try {
         if ((tempEnrichedFile == null) || (tempEnrichedFile.getTaskId() != stormTaskTuple.getTaskId())) {
-          try (InputStream stream = getFileStreamByStormTuple(stormTaskTuple)) {
-            tempEnrichedFile = new TempEnrichedFile();
-            tempEnrichedFile.setTaskId(stormTaskTuple.getTaskId());
-            byte[] bytes = IOUtils.toByteArray(stream);
-            if (FileDataChecker.isFileDataNullOrBlank(bytes)) {
-              LOGGER.warn("File data to be parsed is null or blank!");
-            }
-            tempEnrichedFile.setEnrichedRdf(deserializer.getRdfForResourceEnriching(bytes));
-            LOGGER.debug("Loaded, and deserialized file, that is being enriched, bytes={}", bytes.length);
+          tempEnrichedFile = new TempEnrichedFile();
+          tempEnrichedFile.setTaskId(stormTaskTuple.getTaskId());
+          //The original content is carried only by the tuple of the edm:object, which usually comes first, so the file
+          //is downloaded only if the tuple of other resource comes before it
+          byte[] bytes = readFileContent(stormTaskTuple);
+          if (FileDataChecker.isFileDataNullOrBlank(bytes)) {
+            LOGGER.warn("File data to be parsed is null or blank!");
           }
+          tempEnrichedFile.setEnrichedRdf(deserializer.getRdfForResourceEnriching(bytes));
+          LOGGER.debug("Loaded, and deserialized file, that is being enriched, bytes={}", bytes.length);
         }
         tempEnrichedFile.addSourceTuple(anchorTuple);
         String metadata = stormTaskTuple.getParameter(PluginParameterKeys.RESOURCE_METADATA);
@@ -20,13 +20,11 @@ import eu.europeana.metis.mediaprocessing.exception.RdfDeserializationException;
 import eu.europeana.metis.mediaprocessing.model.RdfResourceEntry;
 import eu.europeana.metis.mediaprocessing.model.ResourceExtractionResult;
 import java.io.IOException;
-import java.io.InputStream;
 import java.time.Instant;
+import java.util.List;
 import java.util.Set;
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang.RandomStringUtils;
 import org.apache.commons.lang.exception.ExceptionUtils;
-import org.apache.commons.lang3.SerializationUtils;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
 import org.slf4j.Logger;
@@ -77,8 +75,10 @@ public class EDMObjectProcessorBolt extends ReadFileBolt {
     logStatistics(BEGIN, STATISTIC_OPERATION_NAME, opId);
 
     var resourcesToBeProcessed = 0;
-    try (InputStream stream = getFileStreamByStormTuple(stormTaskTuple)) {
-      byte[] fileContent = IOUtils.toByteArray(stream);
+    String resourceLinks = null;
+    byte[] fileContent = null;
+    try {
+      fileContent = readFileContent(stormTaskTuple);
       if (FileDataChecker.isFileDataNullOrBlank(fileContent)) {
         LOGGER.warn("File data to be processed is null or blank!");
       }
@@ -86,9 +86,10 @@ public class EDMObjectProcessorBolt extends ReadFileBolt {
       RdfResourceEntry edmObjectResourceEntry = rdfDeserializer.getMainThumbnailResourceForMediaExtraction(fileContent);
       LOGGER.info("Found the following rdfResourceEntry: {}", edmObjectResourceEntry);
       boolean mainThumbnailAvailable = false;
-      // TODO Here we specify number of all resources to allow finishing task. This solution is strongly not optimal because we have
-      //  to collect all the resources instead of just counting them
-      resourcesToBeProcessed = rdfDeserializer.getRemainingResourcesForMediaExtraction(fileContent).size();
+      //Remaining resources are passed to the ParseFileForMediaBolt, so it does not parse the file again
+      List<RdfResourceEntry> remainingResources = rdfDeserializer.getRemainingResourcesForMediaExtraction(fileContent);
+      resourcesToBeProcessed = remainingResources.size();
+      resourceLinks = gson.toJson(remainingResources);
 
       if (edmObjectResourceEntry != null) {
         resourcesToBeProcessed++;
@@ -102,7 +103,9 @@ public class EDMObjectProcessorBolt extends ReadFileBolt {
           Set<String> thumbnailTargetNames = null;
           String metadataJson = null;
           if (resourceExtractionResult.getMetadata() != null) {
-            tuple = SerializationUtils.clone(stormTaskTuple);
+            tuple = stormTaskTuple.copy();
+            //Content is passed to the EDMEnrichmentBolt, so it does not download the file again
+            tuple.setFileData(fileContent);
             metadataJson = gson.toJson(resourceExtractionResult.getMetadata());
             tuple.addParameter(PluginParameterKeys.RESOURCE_METADATA, metadataJson);
             thumbnailTargetNames = resourceExtractionResult.getMetadata().getThumbnailTargetNames();
@@ -134,7 +137,8 @@ public class EDMObjectProcessorBolt extends ReadFileBolt {
     } catch (Exception e) {
       LOGGER.error("Exception while reading and parsing file for processing the edm:object resource." +
           " The full error is:{} ", ExceptionUtils.getStackTrace(e));
-      StormTaskTuple tuple = SerializationUtils.clone(stormTaskTuple);
+      StormTaskTuple tuple = stormTaskTuple.copy();
+      tuple.setFileData(fileContent);
       tuple.addParameter(PluginParameterKeys.RESOURCE_LINKS_COUNT, String.valueOf(resourcesToBeProcessed));
       buildErrorMessage(exception, "Exception while processing the edm:object resource." +
           " The full error is: " + e.getMessage() + " because of: " + e.getCause());
@@ -149,6 +153,11 @@ public class EDMObjectProcessorBolt extends ReadFileBolt {
       stormTaskTuple.addParameter(PluginParameterKeys.UNIFIED_ERROR_MESSAGE, MEDIA_RESOURCE_EXCEPTION);
     }
     stormTaskTuple.addParameter(PluginParameterKeys.RESOURCE_LINKS_COUNT, String.valueOf(resourcesToBeProcessed));
+    if (resourceLinks != null) {
+      stormTaskTuple.addParameter(PluginParameterKeys.RESOURCE_LINKS, resourceLinks);
+    }
+    //Content is not needed by the ParseFileForMediaBolt, which gets the resources, nor by the tuples of the resources
+    stormTaskTuple.setFileData((byte[]) null);
     outputCollector.emit(anchorTuple, stormTaskTuple.toStormTuple());
     outputCollector.ack(anchorTuple);
 
@@ -71,7 +71,7 @@ public class EDMEnrichmentBoltTest {
   public void shouldEnrichTheFileSuccessfullyAndSendItToTheNextBolt() throws Exception {
     Tuple anchorTuple = mock(TupleImpl.class);
     try (InputStream stream = this.getClass().getResourceAsStream("/files/Item_35834473.xml")) {
-      when(fileClient.getFile(FILE_URL)).thenReturn(stream);
+      when(fileClient.getFileStream(FILE_URL)).thenReturn(stream);
       stormTaskTuple.addParameter(PluginParameterKeys.RESOURCE_METADATA,
           "{\"textResourceMetadata\":{\"containsText\":false,\"resolution\":10,\"mimeType\":\"text/xml\",\"resourceUrl\":\"http://contribute.europeana.eu/media/d2136d50-5b4c-0136-9258-16256f71c4b1\",\"contentSize\":100,\"thumbnailTargetNames\":[\"TargetName1\",\"TargetName0\",\"TargetName2\"]}}");
       stormTaskTuple.addParameter(PluginParameterKeys.RESOURCE_LINKS_COUNT, String.valueOf(1));
@@ -94,7 +94,7 @@ public class EDMEnrichmentBoltTest {
   public void shouldEnrichTheFileSuccessfullyOnMultipleBatchesAndSendItToTheNextBolt() throws Exception {
     Tuple anchorTuple = mock(TupleImpl.class);
     try (InputStream stream = this.getClass().getResourceAsStream("/files/Item_35834473.xml")) {
-      when(fileClient.getFile(FILE_URL)).thenReturn(stream);
+      when(fileClient.getFileStream(FILE_URL)).thenReturn(stream);
       stormTaskTuple.addParameter(PluginParameterKeys.RESOURCE_METADATA,
           "{\"textResourceMetadata\":{\"containsText\":false,\"resolution\":10,\"mimeType\":\"text/xml\",\"resourceUrl\":\"http://contribute.europeana.eu/media/d2136d50-5b4c-0136-9258-16256f71c4b1\",\"contentSize\":100,\"thumbnailTargetNames\":[\"TargetName1\",\"TargetName0\",\"TargetName2\"]}}");
 
@@ -120,11 +120,29 @@ public class EDMEnrichmentBoltTest {
   }
 
 
+  @Test
+  public void shouldEnrichFileCarriedByTupleWithoutDownloadingIt() throws Exception {
+    Tuple anchorTuple = mock(TupleImpl.class);
+    try (InputStream stream = this.getClass().getResourceAsStream("/files/Item_35834473.xml")) {
+      stormTaskTuple.setFileData(stream);
+      stormTaskTuple.addParameter(PluginParameterKeys.RESOURCE_METADATA,
+          "{\"textResourceMetadata\":{\"containsText\":false,\"resolution\":10,\"mimeType\":\"text/xml\",\"resourceUrl\":\"http://contribute.europeana.eu/media/d2136d50-5b4c-0136-9258-16256f71c4b1\",\"contentSize\":100,\"thumbnailTargetNames\":[\"TargetName1\",\"TargetName0\",\"TargetName2\"]}}");
+      stormTaskTuple.addParameter(PluginParameterKeys.RESOURCE_LINKS_COUNT, String.valueOf(1));
+
+      edmEnrichmentBolt.execute(anchorTuple, stormTaskTuple);
+
+      verify(fileClient, Mockito.never()).getFileStream(Mockito.anyString());
+      verify(outputCollector, times(1)).emit(eq(anchorTuple), captor.capture());
+      Map<String, String> parameters = (Map) captor.getValue().get(4);
+      assertEquals("sourceCloudId", parameters.get(PluginParameterKeys.CLOUD_ID));
+    }
+  }
+
   @Test
   public void shouldForwardTheTupleWhenNoResourceLinkFound() throws Exception {
     Tuple anchorTuple = mock(TupleImpl.class);
     try (InputStream stream = this.getClass().getResourceAsStream("/files/no-resources.xml")) {
-      when(fileClient.getFile(FILE_URL)).thenReturn(stream);
+      when(fileClient.getFileStream(FILE_URL)).thenReturn(stream);
       edmEnrichmentBolt.execute(anchorTuple, stormTaskTuple);
       int expectedParametersSize = 7;
       Map<String, String> initialTupleParameters = stormTaskTuple.getParameters();
@@ -146,7 +164,7 @@ public class EDMEnrichmentBoltTest {
   public void shouldLogTheExceptionAndSendItAsParameterToTheNextBolt() throws Exception {
     Tuple anchorTuple = mock(TupleImpl.class);
     try (InputStream stream = this.getClass().getResourceAsStream("/files/Item_35834473.xml")) {
-      when(fileClient.getFile(FILE_URL)).thenReturn(stream);
+      when(fileClient.getFileStream(FILE_URL)).thenReturn(stream);
       String brokenMetaData = "{\"textResourceMetadata\":{\"containsTe/xml\",\"resourceUrl\":\"RESOURCE_URL\",\"contentSize\":100,\"thumbnailTargetNames\":[\"TargetName1\",\"TargetName0\",\"TargetName2\"]}}";
       stormTaskTuple.addParameter(PluginParameterKeys.RESOURCE_METADATA, brokenMetaData);
       stormTaskTuple.addParameter(PluginParameterKeys.RESOURCE_LINKS_COUNT, String.valueOf(1));
@@ -2,6 +2,8 @@ package eu.europeana.cloud.service.dps.storm.topologies.media.service;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyBoolean;
@@ -15,6 +17,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.google.gson.Gson;
 import eu.europeana.cloud.common.properties.CassandraProperties;
 import eu.europeana.cloud.mcs.driver.FileServiceClient;
 import eu.europeana.cloud.service.dps.PluginParameterKeys;
@@ -85,7 +88,7 @@ public class EDMObjectProcessorBoltTest {
   public void shouldDoProperEmissionInCaseOfFileWithSingleResource() throws Exception {
     //given
     try (InputStream stream = this.getClass().getResourceAsStream("/files/fileWithSingleResource.xml")) {
-      when(fileClient.getFile(anyString())).thenReturn(stream);
+      when(fileClient.getFileStream(anyString())).thenReturn(stream);
       StormTaskTuple tuple = new StormTaskTuple();
       tuple.addParameter(PluginParameterKeys.CLOUD_LOCAL_IDENTIFIER, "example");
       //
@@ -112,7 +115,7 @@ public class EDMObjectProcessorBoltTest {
   public void shouldDoProperEmissionInCaseOfResourceProcessingExceptionForSingleResourceFile() throws Exception {
     //given
     try (InputStream stream = this.getClass().getResourceAsStream("/files/fileWithSingleResource.xml")) {
-      when(fileClient.getFile(anyString())).thenReturn(stream);
+      when(fileClient.getFileStream(anyString())).thenReturn(stream);
       doThrow(MediaExtractionException.class).when(mediaExtractor)
                                              .performMediaExtraction(any(RdfResourceEntry.class), anyBoolean());
 
@@ -142,7 +145,7 @@ public class EDMObjectProcessorBoltTest {
   public void shouldDoProperEmissionInCaseOfResourceProcessingExceptionForTwoResourcesFile() throws Exception {
     //given
     try (InputStream stream = this.getClass().getResourceAsStream("/files/fileWithTwoResources.xml")) {
-      when(fileClient.getFile(anyString())).thenReturn(stream);
+      when(fileClient.getFileStream(anyString())).thenReturn(stream);
       doThrow(MediaExtractionException.class).when(mediaExtractor)
                                              .performMediaExtraction(any(RdfResourceEntry.class), anyBoolean());
 
@@ -172,7 +175,7 @@ public class EDMObjectProcessorBoltTest {
   public void shouldDoProperEmissionInCaseOfFileContainingNoMainThumbnailResource() throws Exception {
     //given
     try (InputStream stream = this.getClass().getResourceAsStream("/files/fileWithTwoResources.xml")) {
-      when(fileClient.getFile(anyString())).thenReturn(stream);
+      when(fileClient.getFileStream(anyString())).thenReturn(stream);
 
       doReturn(null).when(rdfDeserializer).getMainThumbnailResourceForMediaExtraction(any(byte[].class));
 
@@ -199,7 +202,7 @@ public class EDMObjectProcessorBoltTest {
   public void shouldDoProperEmissionWhileThumbnailStoringFailure() throws Exception {
     //given
     try (InputStream stream = this.getClass().getResourceAsStream("/files/fileWithTwoResources.xml")) {
-      when(fileClient.getFile(anyString())).thenReturn(stream);
+      when(fileClient.getFileStream(anyString())).thenReturn(stream);
 
       when(amazonClient.putObject(anyString(), any(InputStream.class), any(ObjectMetadata.class))).thenThrow(
           new RuntimeException());
@@ -224,4 +227,33 @@ public class EDMObjectProcessorBoltTest {
       assertTrue(parametersForParseFileBolt.get(PluginParameterKeys.EXCEPTION_ERROR_MESSAGE).contains("Error while uploading"));
     }
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldPassFileContentOnlyToEnrichmentBoltAndRemainingResourcesToParseFileBolt() throws Exception {
+    //given
+    try (InputStream stream = this.getClass().getResourceAsStream("/files/fileWithTwoResources.xml")) {
+      when(fileClient.getFileStream(anyString())).thenReturn(stream);
+      doThrow(MediaExtractionException.class).when(mediaExtractor)
+                                             .performMediaExtraction(any(RdfResourceEntry.class), anyBoolean());
+      StormTaskTuple tuple = new StormTaskTuple();
+      tuple.addParameter(PluginParameterKeys.CLOUD_LOCAL_IDENTIFIER, "example");
+      Tuple anchorTuple = mock(TupleImpl.class);
+
+      //when
+      edmObjectProcessorBolt.execute(anchorTuple, tuple);
+
+      //then
+      verify(fileClient, times(1)).getFileStream(anyString());
+      verify(outputCollector, times(1)).emit(eq(EDMObjectProcessorBolt.EDM_OBJECT_ENRICHMENT_STREAM_NAME), any(Tuple.class),
+          captor.capture());
+      assertNotNull(captor.getValue().get(3));
+      verify(outputCollector, times(1)).emit(any(Tuple.class), captor.capture());
+      Values valuesForParseFileBolt = captor.getValue();
+      assertNull(valuesForParseFileBolt.get(3));
+      Map<String, String> parametersForParseFileBolt = (Map) valuesForParseFileBolt.get(4);
+      String resourceLinks = parametersForParseFileBolt.get(PluginParameterKeys.RESOURCE_LINKS);
+      assertNotNull(resourceLinks);
+      assertEquals(1, new Gson().fromJson(resourceLinks, RdfResourceEntry[].class).length);
+    }
+  }
+}
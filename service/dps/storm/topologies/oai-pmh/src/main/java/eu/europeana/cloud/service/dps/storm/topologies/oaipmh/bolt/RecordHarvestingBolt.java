@@ -57,13 +57,17 @@ public class RecordHarvestingBolt extends AbstractDpsBolt {
     String recordId = readRecordId(stormTaskTuple);
     String metadataPrefix = readMetadataPrefix(stormTaskTuple);
     if (parametersAreValid(endpointLocation, recordId, metadataPrefix)) {
-      LOGGER.info("OAI Harvesting started for: {} and {}", recordId, endpointLocation);
       try {
-        var oaiRecord = harvester.harvestRecord(new OaiRepository(endpointLocation, metadataPrefix), recordId);
-        stormTaskTuple.setFileData(oaiRecord.getContent());
+        if (isHarvestedAlready(stormTaskTuple)) {
+          LOGGER.info("Record {} was harvested by ListRecords already, GetRecord request is omitted", recordId);
+        } else {
+          LOGGER.info("OAI Harvesting started for: {} and {}", recordId, endpointLocation);
+          var oaiRecord = harvester.harvestRecord(new OaiRepository(endpointLocation, metadataPrefix), recordId);
+          stormTaskTuple.setFileData(oaiRecord.getContent());
+          addRecordTimestampToTuple(stormTaskTuple, oaiRecord);
+        }
 
         generateIdentifiers(stormTaskTuple);
-        addRecordTimestampToTuple(stormTaskTuple, oaiRecord);
 
         outputCollector.emit(anchorTuple, stormTaskTuple.toStormTuple());
 
@@ -86,6 +90,15 @@ public class RecordHarvestingBolt extends AbstractDpsBolt {
     outputCollector.ack(anchorTuple);
   }
 
+  /**
+   * Checks if the record content was harvested by the submitter with the ListRecords request and passed in the tuple, so the
+   * GetRecord request is needed only for records which were not passed. The datestamp is optional in the OAI-PMH header, so
+   * it is not required here.
+   */
+  private boolean isHarvestedAlready(StormTaskTuple stormTaskTuple) {
+    return stormTaskTuple.getFileData() != null;
+  }
+
   private void addRecordTimestampToTuple(StormTaskTuple stormTaskTuple, OaiRecord oaiRecord) {
     stormTaskTuple.addParameter(PluginParameterKeys.RECORD_DATESTAMP, DateHelper.format(oaiRecord.getHeader().getDatestamp()));
   }
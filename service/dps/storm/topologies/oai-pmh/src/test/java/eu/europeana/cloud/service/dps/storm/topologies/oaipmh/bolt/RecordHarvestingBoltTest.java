@@ -1,10 +1,12 @@
 package eu.europeana.cloud.service.dps.storm.topologies.oaipmh.bolt;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -102,6 +104,42 @@ public class RecordHarvestingBoltTest {
         spiedTask.getParameter(PluginParameterKeys.CLOUD_LOCAL_IDENTIFIER));
   }
 
+  @Test
+  public void shouldNotRequestRecordAlreadyHarvestedBySubmitter() throws IOException, HarvesterException {
+    //given
+    Tuple anchorTuple = mock(TupleImpl.class);
+    StormTaskTuple task = taskWithAllNeededParameters();
+    task.setFileData(getFileContentAsStream("/sampleEDMRecord.xml"));
+    task.addParameter(PluginParameterKeys.RECORD_DATESTAMP, "2021-03-01T10:00:00.000Z");
+
+    //when
+    recordHarvestingBolt.execute(anchorTuple, task);
+
+    //then
+    verifySuccessfulEmit();
+    verify(harvester, never()).harvestRecord(any(), anyString());
+    assertEquals("/2020739_Ag_EU_CARARE_2Cultur/object_DCU_24927017",
+        task.getParameter(PluginParameterKeys.CLOUD_LOCAL_IDENTIFIER));
+  }
+
+  @Test
+  public void shouldNotRequestRecordAlreadyHarvestedBySubmitterWithoutDatestamp() throws IOException, HarvesterException {
+    //given
+    Tuple anchorTuple = mock(TupleImpl.class);
+    StormTaskTuple task = taskWithAllNeededParameters();
+    task.setFileData(getFileContentAsStream("/sampleEDMRecord.xml"));
+
+    //when
+    recordHarvestingBolt.execute(anchorTuple, task);
+
+    //then
+    verifySuccessfulEmit();
+    verify(harvester, never()).harvestRecord(any(), anyString());
+    assertNull(task.getParameter(PluginParameterKeys.RECORD_DATESTAMP));
+    assertEquals("/2020739_Ag_EU_CARARE_2Cultur/object_DCU_24927017",
+        task.getParameter(PluginParameterKeys.CLOUD_LOCAL_IDENTIFIER));
+  }
+
   private Supplier<byte[]> fileContent(String fileName) {
     InputStream fileContentAsStream = getFileContentAsStream(fileName);
     return () -> {
@@ -9,24 +9,40 @@ import eu.europeana.cloud.service.commons.utils.RetryInterruptedException;
 import eu.europeana.cloud.service.dps.storm.AbstractDpsBolt;
 import eu.europeana.cloud.service.dps.storm.StormTaskTuple;
 import eu.europeana.cloud.service.dps.storm.dao.ProcessedRecordsDAO;
+import eu.europeana.cloud.service.dps.storm.service.TaskStatisticsAggregator;
 import eu.europeana.cloud.service.dps.storm.service.ValidationStatisticsServiceImpl;
 import eu.europeana.cloud.service.dps.storm.topologies.validation.topology.statistics.RecordStatisticsGenerator;
 import eu.europeana.cloud.service.dps.storm.utils.StormTaskTupleHelper;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import lombok.AllArgsConstructor;
+import org.apache.storm.Config;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.xml.sax.SAXException;
-
 
+/**
+ * Generates statistics of the records.
+ * <p>
+ * Statistics of the records are merged in memory, per task, and stored when {@link #FLUSH_RECORDS_COUNT} records were
+ * counted or when {@link #FLUSH_INTERVAL_IN_MILLIS} elapsed since the first of them. Records are emitted further and acked
+ * after their statistics are stored.
+ */
 public class StatisticsBolt extends AbstractDpsBolt {
 
   private static final long serialVersionUID = 1L;
   public static final Logger LOGGER = LoggerFactory.getLogger(StatisticsBolt.class);
+  private static final int FLUSH_RECORDS_COUNT = 100;
+  private static final long FLUSH_INTERVAL_IN_MILLIS = 5000;
+  private static final int TICK_FREQUENCY_IN_SECONDS = 1;
+  private static final String STATISTICS_ERROR_MESSAGE = "Statistics for the given file could not be prepared.";
 
   private final String hosts;
   private final int port;
@@ -35,6 +51,10 @@ public class StatisticsBolt extends AbstractDpsBolt {
   private final String password;
   private transient ValidationStatisticsServiceImpl statisticsService;
   private transient ProcessedRecordsDAO processedRecordsDAO;
+  private transient RecordStatisticsGenerator statisticsGenerator;
+  private transient Map<Long, TaskStatisticsAggregator> aggregators;
+  private transient List<PendingRecord> pendingRecords;
+  private transient long windowStartTime;
 
   public StatisticsBolt(CassandraProperties cassandraProperties, String hosts, int port,
       String keyspaceName, String userName, String password) {
@@ -53,6 +73,26 @@ public class StatisticsBolt extends AbstractDpsBolt {
         userName, password);
     statisticsService = ValidationStatisticsServiceImpl.getInstance(cassandraConnectionProvider);
     processedRecordsDAO = ProcessedRecordsDAO.getInstance(cassandraConnectionProvider);
+    statisticsGenerator = new RecordStatisticsGenerator();
+    aggregators = new LinkedHashMap<>();
+    pendingRecords = new ArrayList<>();
+  }
+
+  @Override
+  public void execute(Tuple tuple) {
+    if (TupleUtils.isTick(tuple)) {
+      flushIfIntervalElapsed();
+      return;
+    }
+    super.execute(tuple);
+  }
+
+  @Override
+  public Map<String, Object> getComponentConfiguration() {
+    //Ticks flush the statistics waiting for more records, when no more records are coming
+    Map<String, Object> conf = new HashMap<>();
+    conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, TICK_FREQUENCY_IN_SECONDS);
+    return conf;
   }
 
   @Override
@@ -61,19 +101,102 @@ public class StatisticsBolt extends AbstractDpsBolt {
       if (statsShouldBeGenerated(stormTaskTuple)) {
         LOGGER.info("Calculating file statistics for {}", stormTaskTuple);
         countStatistics(stormTaskTuple);
-        markRecordStatsAsCalculated(stormTaskTuple);
+        // we can remove the file content before emitting further
+        stormTaskTuple.setFileData((byte[]) null);
+        addPendingRecord(new PendingRecord(anchorTuple, stormTaskTuple));
       } else {
         LOGGER.info("File stats will NOT be calculated for: {}", stormTaskTuple.getFileUrl());
+        stormTaskTuple.setFileData((byte[]) null);
+        outputCollector.emit(anchorTuple, stormTaskTuple.toStormTuple());
+        outputCollector.ack(anchorTuple);
       }
-      // we can remove the file content before emitting further
-      stormTaskTuple.setFileData((byte[]) null);
-      outputCollector.emit(anchorTuple, stormTaskTuple.toStormTuple());
-      outputCollector.ack(anchorTuple);
     } catch (RetryInterruptedException e) {
       handleInterruption(e, anchorTuple);
     } catch (Exception e) {
-      emitErrorNotification(anchorTuple, stormTaskTuple, e.getMessage(), "Statistics for the given file could not be prepared.");
-        outputCollector.ack(anchorTuple);
+      emitErrorNotification(anchorTuple, stormTaskTuple, e.getMessage(), STATISTICS_ERROR_MESSAGE);
+      outputCollector.ack(anchorTuple);
+    }
+  }
+
+  private void addPendingRecord(PendingRecord pendingRecord) {
+    if (pendingRecords.isEmpty()) {
+      windowStartTime = System.currentTimeMillis();
+    }
+    pendingRecords.add(pendingRecord);
+    if (pendingRecords.size() >= FLUSH_RECORDS_COUNT) {
+      flushStatistics();
+    } else {
+      flushIfIntervalElapsed();
+    }
+  }
+
+  private void flushIfIntervalElapsed() {
+    if (!pendingRecords.isEmpty() && System.currentTimeMillis() - windowStartTime >= FLUSH_INTERVAL_IN_MILLIS) {
+      flushStatistics();
+    }
+  }
+
+  /**
+   * Stores the statistics merged so far, and emits the records they were counted for. Statistics of every task are stored
+   * separately, so only the records of the tasks which statistics could not be stored are failed, and the statistics already
+   * stored are not counted again when the records are replayed.
+   */
+  void flushStatistics() {
+    List<PendingRecord> window = pendingRecords;
+    Map<Long, TaskStatisticsAggregator> windowAggregators = aggregators;
+    pendingRecords = new ArrayList<>();
+    aggregators = new LinkedHashMap<>();
+    Map<Long, Exception> failedTasks = storeStatistics(windowAggregators);
+    for (PendingRecord pendingRecord : window) {
+      Exception failure = failedTasks.get(pendingRecord.stormTaskTuple.getTaskId());
+      if (failure == null) {
+        emitCountedRecord(pendingRecord);
+      } else if (failure instanceof RetryInterruptedException) {
+        outputCollector.fail(pendingRecord.anchorTuple);
+      } else {
+        emitErrorNotification(pendingRecord.anchorTuple, pendingRecord.stormTaskTuple, failure.getMessage(),
+            STATISTICS_ERROR_MESSAGE);
+        outputCollector.ack(pendingRecord.anchorTuple);
+      }
+    }
+  }
+
+  /**
+   * @return failures of the tasks which statistics were not stored, by task id
+   */
+  private Map<Long, Exception> storeStatistics(Map<Long, TaskStatisticsAggregator> windowAggregators) {
+    Map<Long, Exception> failedTasks = new HashMap<>();
+    RetryInterruptedException interruption = null;
+    for (TaskStatisticsAggregator aggregator : windowAggregators.values()) {
+      if (interruption != null) {
+        //statistics of the remaining tasks are not stored at all, so their records could be safely replayed
+        failedTasks.put(aggregator.getTaskId(), interruption);
+        continue;
+      }
+      try {
+        statisticsService.insertStatistics(aggregator);
+      } catch (RetryInterruptedException e) {
+        LOGGER.error("Storing statistics of the task {} interrupted: {}", aggregator.getTaskId(), e.getMessage(), e);
+        interruption = e;
+        failedTasks.put(aggregator.getTaskId(), e);
+      } catch (Exception e) {
+        LOGGER.error("Could not store statistics of the task {}", aggregator.getTaskId(), e);
+        failedTasks.put(aggregator.getTaskId(), e);
+      }
+    }
+    return failedTasks;
+  }
+
+  private void emitCountedRecord(PendingRecord pendingRecord) {
+    try {
+      markRecordStatsAsCalculated(pendingRecord.stormTaskTuple);
+      outputCollector.emit(pendingRecord.anchorTuple, pendingRecord.stormTaskTuple.toStormTuple());
+      outputCollector.ack(pendingRecord.anchorTuple);
+    } catch (RetryInterruptedException e) {
+      handleInterruption(e, pendingRecord.anchorTuple);
+    } catch (Exception e) {
+      emitErrorNotification(pendingRecord.anchorTuple, pendingRecord.stormTaskTuple, e.getMessage(), STATISTICS_ERROR_MESSAGE);
+      outputCollector.ack(pendingRecord.anchorTuple);
     }
   }
 
@@ -89,10 +212,9 @@ public class StatisticsBolt extends AbstractDpsBolt {
                .contains(processingRecordStage.get().getState());
   }
 
-  private void countStatistics(StormTaskTuple stormTaskTuple) throws ParserConfigurationException, SAXException, IOException {
-    String document = new String(stormTaskTuple.getFileData(), StandardCharsets.UTF_8);
-    RecordStatisticsGenerator statisticsGenerator = new RecordStatisticsGenerator(document);
-    statisticsService.insertNodeStatistics(stormTaskTuple.getTaskId(), statisticsGenerator.getStatistics());
+  private void countStatistics(StormTaskTuple stormTaskTuple) throws XMLStreamException {
+    var statistics = statisticsGenerator.getStatistics(stormTaskTuple.getFileData());
+    aggregators.computeIfAbsent(stormTaskTuple.getTaskId(), TaskStatisticsAggregator::new).add(statistics);
   }
 
   private void markRecordStatsAsCalculated(StormTaskTuple stormTaskTuple) {
@@ -101,4 +223,11 @@ public class StatisticsBolt extends AbstractDpsBolt {
           RecordState.STATS_GENERATED);
     }
   }
+
+  @AllArgsConstructor
+  private static class PendingRecord {
+
+    private final Tuple anchorTuple;
+    private final StormTaskTuple stormTaskTuple;
+  }
 }
@@ -2,151 +2,233 @@ package eu.europeana.cloud.service.dps.storm.topologies.validation.topology.stat
 
 import eu.europeana.cloud.common.model.dps.AttributeStatistics;
 import eu.europeana.cloud.common.model.dps.NodeStatistics;
-import java.io.IOException;
-import java.io.StringReader;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
-import javax.xml.XMLConstants;
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-import org.w3c.dom.Attr;
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NamedNodeMap;
-import org.w3c.dom.Node;
-import org.w3c.dom.NodeList;
-import org.xml.sax.InputSource;
-import org.xml.sax.SAXException;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLEventReader;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.events.Attribute;
+import javax.xml.stream.events.Characters;
+import javax.xml.stream.events.Namespace;
+import javax.xml.stream.events.StartElement;
+import javax.xml.stream.events.XMLEvent;
 
 /**
+ * Generates statistics of the nodes of the record, reading it as a stream in a single pass.
+ * <p>
+ * Xpaths of the nodes and attributes are built once and kept in the tree of paths, so the same strings are reused for all
+ * the records processed by the generator. The generator is not thread safe.
+ * <p>
  * Created by Tarek on 1/9/2018.
  */
 public class RecordStatisticsGenerator {
 
   private static final int MAX_SIZE = 1000;
-  private Map<String, NodeStatistics> nodeStatistics;
-  private String fileContent;
-
-  public RecordStatisticsGenerator(String fileContent) {
-    this.fileContent = fileContent;
-    nodeStatistics = new HashMap<>();
+  private static final int MAX_INTERNED_PATHS = 10000;
+  private static final String DOCUMENT_XPATH = "/";
+  private static final String REPORT_CDATA_PROPERTY = "http://java.sun.com/xml/stream/properties/report-cdata-event";
+
+  private final XMLInputFactory inputFactory = createInputFactory();
+  private PathNode documentPath = new PathNode(DOCUMENT_XPATH);
+  private int internedPathsCount;
+
+  /**
+   * Generates statistics of the given record.
+   *
+   * @param content content of the xml record
+   * @return statistics of all the nodes of the record, with node attributes
+   * @throws XMLStreamException when the record is not a well-formed xml document
+   */
+  public List<NodeStatistics> getStatistics(byte[] content) throws XMLStreamException {
+    if (internedPathsCount > MAX_INTERNED_PATHS) {
+      //Records do not follow any schema, paths are not kept for ever
+      documentPath = new PathNode(DOCUMENT_XPATH);
+      internedPathsCount = 0;
+    }
 
+    Map<NodeKey, NodeStatistics> nodeStatistics = new HashMap<>();
+    Deque<ElementFrame> openElements = new ArrayDeque<>();
+    XMLEventReader reader = inputFactory.createXMLEventReader(new ByteArrayInputStream(content));
+    try {
+      while (reader.hasNext()) {
+        XMLEvent event = reader.nextEvent();
+        switch (event.getEventType()) {
+          case XMLEvent.START_ELEMENT:
+            openElements.push(openElement(event.asStartElement(), openElements.peek()));
+            break;
+          case XMLEvent.CHARACTERS:
+          case XMLEvent.SPACE:
+            appendText(event.asCharacters(), openElements.peek());
+            break;
+          case XMLEvent.END_ELEMENT:
+            closeElement(openElements.pop(), openElements.peek(), nodeStatistics);
+            break;
+          case XMLEvent.DTD:
+            throw new XMLStreamException("DOCTYPE is not allowed in the record", event.getLocation());
+          default:
+            break;
+        }
+      }
+    } finally {
+      reader.close();
+    }
+    return new ArrayList<>(nodeStatistics.values());
   }
 
-  public List<NodeStatistics> getStatistics() throws SAXException, IOException, ParserConfigurationException {
-    Document doc = getParsedDocument();
-    doc.getDocumentElement().normalize();
-    Node root = doc.getDocumentElement();
-    addRootToNodeList(root);
-    prepareNodeStatistics(root);
-    return new ArrayList<>(nodeStatistics.values());
+  private ElementFrame openElement(StartElement element, ElementFrame parent) {
+    PathNode parentPath = parent != null ? parent.path : documentPath;
+    var frame = new ElementFrame(parentPath.child(qualifiedName(element.getName())));
+    if (parent != null) {
+      //Attributes of the root element are not counted
+      readAttributes(element, frame);
+    }
+    return frame;
   }
 
+  private void readAttributes(StartElement element, ElementFrame frame) {
+    //Namespace declarations are counted as attributes, as they are in the not namespace aware document
+    Iterator<Namespace> namespaces = element.getNamespaces();
+    while (namespaces.hasNext()) {
+      Namespace namespace = namespaces.next();
+      String name = namespace.isDefaultNamespaceDeclaration() ? "xmlns" : "xmlns:" + namespace.getPrefix();
+      frame.attributes.add(new AttributeStatistics(frame.path.attribute(name), namespace.getNamespaceURI(), 1));
+    }
+    Iterator<Attribute> attributes = element.getAttributes();
+    while (attributes.hasNext()) {
+      Attribute attribute = attributes.next();
+      frame.attributes.add(
+          new AttributeStatistics(frame.path.attribute(qualifiedName(attribute.getName())), attribute.getValue(), 1));
+    }
+  }
 
-  private Document getParsedDocument() throws ParserConfigurationException, SAXException, IOException {
-    DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
-    dbf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-    dbf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
-    DocumentBuilder db = dbf.newDocumentBuilder();
-    InputSource is = new InputSource();
-    is.setCharacterStream(new StringReader(fileContent));
-    return db.parse(is);
+  private void appendText(Characters characters, ElementFrame frame) {
+    //Only the text of the element itself is its value, CDATA sections are not included
+    if (frame != null && !characters.isCData() && frame.text.length() < MAX_SIZE) {
+      String data = characters.getData();
+      frame.text.append(data, 0, Math.min(data.length(), MAX_SIZE - frame.text.length()));
+    }
   }
 
-  private void addRootToNodeList(Node root) {
-    String nodeXpath = getXPath(root);
-    String nodeValue = getFirstLevelTextContent(root);
-    String modelKey = getKey(nodeXpath, nodeValue);
-    nodeStatistics.put(modelKey, new NodeStatistics("", nodeXpath, nodeValue, 1));
+  private void closeElement(ElementFrame frame, ElementFrame parent, Map<NodeKey, NodeStatistics> nodeStatistics) {
+    String nodeXpath = frame.path.xpath;
+    String nodeValue = frame.text.toString().trim();
+    NodeStatistics node = nodeStatistics.get(new NodeKey(nodeXpath, nodeValue));
+    if (node == null) {
+      node = new NodeStatistics(parent != null ? parent.path.xpath : "", nodeXpath, nodeValue, 1);
+      nodeStatistics.put(new NodeKey(nodeXpath, nodeValue), node);
+    } else {
+      node.increaseOccurrence();
+    }
+    assignAttributesToNode(node.getAttributesStatistics(), frame.attributes);
   }
 
-  private void prepareNodeStatistics(Node root) {
-    String parentXpath = getXPath(root);
-    NodeList childrenNodes = root.getChildNodes();
-    for (int i = 0; i < childrenNodes.getLength(); i++) {
-      Node node = childrenNodes.item(i);
-      if (node instanceof Element) {
-        String nodeXpath = getXPath(node);
-        String nodeValue = getFirstLevelTextContent(node);
-        String modelKey = getKey(nodeXpath, nodeValue);
-        NodeStatistics nodeModel = nodeStatistics.get(modelKey);
-        if (nodeModel == null) {
-          nodeModel = new NodeStatistics(parentXpath, nodeXpath, nodeValue, 1);
-        } else {
-          nodeModel.increaseOccurrence();
-        }
-        assignAttributesToNode(nodeModel.getAttributesStatistics(), node.getAttributes());
-        nodeStatistics.put(modelKey, nodeModel);
-        prepareNodeStatistics(node);
+  private void assignAttributesToNode(Set<AttributeStatistics> existedAttributes, List<AttributeStatistics> attributes) {
+    for (AttributeStatistics attribute : attributes) {
+      if (!existedAttributes.add(attribute)) {
+        increaseOccurrence(existedAttributes, attribute);
       }
     }
   }
 
-
-  private void assignAttributesToNode(Set<AttributeStatistics> existedAttributes, NamedNodeMap attributes) {
-    for (int j = 0; j < attributes.getLength(); j++) {
-      Attr attr = (Attr) attributes.item(j);
-      String attrName = getAttributeXPath(attr);
-      String attrValue = attr.getNodeValue();
-      if (existedAttributes.isEmpty()) {
-        AttributeStatistics attributeModel = new AttributeStatistics(attrName, attrValue, 1);
-        existedAttributes.add(attributeModel);
-      } else {
-        AttributeStatistics attributeModel = new AttributeStatistics(attrName, attrValue, 1);
-        if (existedAttributes.contains(attributeModel)) {
-          increaseOccurrence(existedAttributes, attributeModel);
-        } else {
-          existedAttributes.add(attributeModel);
-        }
+  private void increaseOccurrence(Set<AttributeStatistics> models, AttributeStatistics comparableAttributeModel) {
+    for (AttributeStatistics attributeModel : models) {
+      if (attributeModel.equals(comparableAttributeModel)) {
+        attributeModel.increaseOccurrence();
+        break;
       }
     }
   }
 
-  private String getXPath(Node node) {
-    Node parent = node.getParentNode();
-    if (parent == null) {
-      return "/";
-    }
-    return getXPath(parent) + "/" + node.getNodeName();
+  private static String qualifiedName(QName name) {
+    return name.getPrefix().isEmpty() ? name.getLocalPart() : name.getPrefix() + ":" + name.getLocalPart();
   }
 
-  private String getKey(String name, String value) {
-    String key = name + "-" + value;
-    return String.valueOf(key.hashCode());
+  private static XMLInputFactory createInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+    if (factory.isPropertySupported(REPORT_CDATA_PROPERTY)) {
+      //JDK parser reports CDATA sections as characters by default
+      factory.setProperty(REPORT_CDATA_PROPERTY, true);
+    }
+    return factory;
   }
 
-  private String getAttributeXPath(Attr attr) {
-    Node owner = attr.getOwnerElement();
-    return getXPath(owner) + "/@" + attr.getNodeName();
+  /**
+   * Xpath of the element, with the xpaths of its children and attributes created when they are used for the first time.
+   */
+  private class PathNode {
+
+    private final String xpath;
+    private final Map<String, PathNode> children = new HashMap<>();
+    private final Map<String, String> attributes = new HashMap<>();
+
+    PathNode(String xpath) {
+      this.xpath = xpath;
+    }
+
+    PathNode child(String name) {
+      return children.computeIfAbsent(name, key -> {
+        internedPathsCount++;
+        return new PathNode(xpath + "/" + key);
+      });
+    }
+
+    String attribute(String name) {
+      return attributes.computeIfAbsent(name, key -> {
+        internedPathsCount++;
+        return xpath + "/@" + key;
+      });
+    }
   }
 
+  private static class ElementFrame {
 
-  private void increaseOccurrence(Set<AttributeStatistics> models, AttributeStatistics comparableAttributeModel) {
-    for (AttributeStatistics attributeModel : models) {
-      if (attributeModel.equals(comparableAttributeModel)) {
-        attributeModel.increaseOccurrence();
-        break;
-      }
+    private final PathNode path;
+    private final StringBuilder text = new StringBuilder();
+    private final List<AttributeStatistics> attributes = new ArrayList<>();
+
+    ElementFrame(PathNode path) {
+      this.path = path;
     }
   }
 
-  private String getFirstLevelTextContent(Node node) {
-    NodeList list = node.getChildNodes();
-    StringBuilder textContent = new StringBuilder();
-    for (int i = 0; i < list.getLength(); ++i) {
-      Node child = list.item(i);
-      if (child.getNodeType() == Node.TEXT_NODE) {
-        textContent.append(child.getTextContent());
+  private static class NodeKey {
+
+    private final String xpath;
+    private final String value;
+
+    NodeKey(String xpath, String value) {
+      this.xpath = xpath;
+      this.value = value;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof NodeKey)) {
+        return false;
       }
+      NodeKey nodeKey = (NodeKey) o;
+      //Xpaths are interned, so they are compared by reference first
+      return (xpath == nodeKey.xpath || xpath.equals(nodeKey.xpath)) && value.equals(nodeKey.value);
     }
 
-    if (textContent.length() > MAX_SIZE) {
-      return textContent.substring(0, MAX_SIZE).trim();
+    @Override
+    public int hashCode() {
+      return Objects.hash(xpath, value);
     }
-    return textContent.toString().trim();
   }
 }
@@ -2,6 +2,8 @@ package eu.europeana.cloud.service.dps.storm.topologies.validation.topology.bolt
 
 import static eu.europeana.cloud.service.dps.test.TestConstants.SOURCE_VERSION_URL;
 import static eu.europeana.cloud.service.dps.test.TestConstants.SOURCE_VERSION_URL_CLOUD_ID2;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 
 import eu.europeana.cloud.cassandra.CassandraConnectionProviderSingleton;
@@ -9,6 +11,7 @@ import eu.europeana.cloud.common.model.Revision;
 import eu.europeana.cloud.common.model.dps.AttributeStatistics;
 import eu.europeana.cloud.common.model.dps.NodeStatistics;
 import eu.europeana.cloud.common.properties.CassandraProperties;
+import eu.europeana.cloud.service.commons.utils.RetryInterruptedException;
 import eu.europeana.cloud.service.dps.PluginParameterKeys;
 import eu.europeana.cloud.service.dps.storm.AbstractDpsBolt;
 import eu.europeana.cloud.service.dps.storm.StormTaskTuple;
@@ -31,10 +34,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.mockito.internal.util.reflection.FieldSetter;
 
 public class StatisticsBoltTest extends CassandraTestBase {
 
   private static final long TASK_ID = 1;
+  private static final long OTHER_TASK_ID = 2;
 
   private static final String TASK_NAME = "task1";
 
@@ -48,12 +53,13 @@ public class StatisticsBoltTest extends CassandraTestBase {
       HOST, CassandraTestInstance.getPort(), KEYSPACE, "", "");
 
   @Before
-  public void setUp() {
+  public void setUp() throws Exception {
     MockitoAnnotations.initMocks(this);
     statisticsBolt.prepare();
     statisticsService = Mockito.spy(ValidationStatisticsServiceImpl.getInstance(
         CassandraConnectionProviderSingleton.getCassandraConnectionProvider(HOST, CassandraTestInstance.getPort(), KEYSPACE, "",
             "")));
+    FieldSetter.setField(statisticsBolt, StatisticsBolt.class.getDeclaredField("statisticsService"), statisticsService);
   }
 
   @Test
@@ -63,16 +69,43 @@ public class StatisticsBoltTest extends CassandraTestBase {
     byte[] fileData = Files.readAllBytes(Paths.get("src/test/resources/example1.xml"));
     StormTaskTuple tuple = new StormTaskTuple(TASK_ID, TASK_NAME, SOURCE_VERSION_URL, fileData, prepareStormTaskTupleParameters(),
         new Revision());
-    List<NodeStatistics> generated = new RecordStatisticsGenerator(new String(fileData)).getStatistics();
+    List<NodeStatistics> generated = new RecordStatisticsGenerator().getStatistics(fileData);
 
     //when
     statisticsBolt.execute(anchorTuple, tuple);
+    statisticsBolt.flushStatistics();
 
     //then
     assertSuccess(1);
     assertDataStoring(generated);
   }
 
+  @Test
+  public void shouldStoreStatisticsAndEmitRecordOnlyWhenStatisticsAreFlushed() throws Exception {
+    //given
+    Tuple anchorTuple = mock(TupleImpl.class);
+    byte[] fileData = Files.readAllBytes(Paths.get("src/test/resources/example1.xml"));
+    StormTaskTuple tuple = new StormTaskTuple(TASK_ID, TASK_NAME, SOURCE_VERSION_URL, fileData, prepareStormTaskTupleParameters(),
+        new Revision());
+    List<NodeStatistics> generated = new RecordStatisticsGenerator().getStatistics(fileData);
+
+    //when
+    statisticsBolt.execute(anchorTuple, tuple);
+
+    //then
+    Mockito.verify(collector, Mockito.never()).emit(Mockito.any(Tuple.class), Mockito.any(List.class));
+    Mockito.verify(collector, Mockito.never()).ack(anchorTuple);
+    Assert.assertTrue(statisticsService.getNodeStatistics(TASK_ID).isEmpty());
+
+    //when
+    statisticsBolt.flushStatistics();
+
+    //then
+    assertSuccess(1);
+    Mockito.verify(collector).ack(anchorTuple);
+    assertDataStoring(generated);
+  }
+
   @Test
   public void testAggregatedCountStatisticsSuccessfully() throws Exception {
     //given
@@ -81,22 +114,80 @@ public class StatisticsBoltTest extends CassandraTestBase {
     byte[] fileData = Files.readAllBytes(Paths.get("src/test/resources/example1.xml"));
     StormTaskTuple tuple = new StormTaskTuple(TASK_ID, TASK_NAME, SOURCE_VERSION_URL, fileData, prepareStormTaskTupleParameters(),
         new Revision());
-    List<NodeStatistics> generated = new RecordStatisticsGenerator(new String(fileData)).getStatistics();
+    List<NodeStatistics> generated = new RecordStatisticsGenerator().getStatistics(fileData);
 
     byte[] fileData2 = Files.readAllBytes(Paths.get("src/test/resources/example2.xml"));
     StormTaskTuple tuple2 = new StormTaskTuple(TASK_ID, TASK_NAME, SOURCE_VERSION_URL_CLOUD_ID2, fileData2,
         prepareStormTaskTupleParameters(), new Revision());
-    List<NodeStatistics> generated2 = new RecordStatisticsGenerator(new String(fileData2)).getStatistics();
+    List<NodeStatistics> generated2 = new RecordStatisticsGenerator().getStatistics(fileData2);
 
     //when
     statisticsBolt.execute(anchorTuple, tuple);
     statisticsBolt.execute(anchorTuple2, tuple2);
+    statisticsBolt.flushStatistics();
 
     //then
     assertSuccess(2);
     assertDataStoring(generated, generated2);
   }
 
+  @Test
+  public void shouldFailOnlyRecordsOfTheTaskWhichStatisticsStoringWasInterrupted() throws Exception {
+    //given
+    Tuple anchorTuple = mock(TupleImpl.class);
+    Tuple otherTaskAnchorTuple = mock(TupleImpl.class);
+    byte[] fileData = Files.readAllBytes(Paths.get("src/test/resources/example1.xml"));
+    StormTaskTuple tuple = new StormTaskTuple(TASK_ID, TASK_NAME, SOURCE_VERSION_URL, fileData, prepareStormTaskTupleParameters(),
+        new Revision());
+    StormTaskTuple otherTaskTuple = new StormTaskTuple(OTHER_TASK_ID, TASK_NAME, SOURCE_VERSION_URL, fileData,
+        prepareStormTaskTupleParameters(), new Revision());
+    List<NodeStatistics> generated = new RecordStatisticsGenerator().getStatistics(fileData);
+    doThrow(new RetryInterruptedException(new InterruptedException()))
+        .when(statisticsService).insertStatistics(argThat(aggregator -> aggregator.getTaskId() == OTHER_TASK_ID));
+
+    //when
+    statisticsBolt.execute(otherTaskAnchorTuple, otherTaskTuple);
+    statisticsBolt.execute(anchorTuple, tuple);
+    statisticsBolt.flushStatistics();
+
+    //then
+    assertSuccess(1);
+    Mockito.verify(collector).emit(Mockito.eq(anchorTuple), Mockito.any(List.class));
+    Mockito.verify(collector).ack(anchorTuple);
+    Mockito.verify(collector).fail(otherTaskAnchorTuple);
+    Mockito.verify(collector, Mockito.never()).ack(otherTaskAnchorTuple);
+    assertDataStoring(generated);
+  }
+
+  @Test
+  public void shouldReportErrorOnlyForRecordsOfTheTaskWhichStatisticsCouldNotBeStored() throws Exception {
+    //given
+    Tuple anchorTuple = mock(TupleImpl.class);
+    Tuple otherTaskAnchorTuple = mock(TupleImpl.class);
+    byte[] fileData = Files.readAllBytes(Paths.get("src/test/resources/example1.xml"));
+    StormTaskTuple tuple = new StormTaskTuple(TASK_ID, TASK_NAME, SOURCE_VERSION_URL, fileData, prepareStormTaskTupleParameters(),
+        new Revision());
+    StormTaskTuple otherTaskTuple = new StormTaskTuple(OTHER_TASK_ID, TASK_NAME, SOURCE_VERSION_URL, fileData,
+        prepareStormTaskTupleParameters(), new Revision());
+    List<NodeStatistics> generated = new RecordStatisticsGenerator().getStatistics(fileData);
+    doThrow(new IllegalStateException("Cassandra is down"))
+        .when(statisticsService).insertStatistics(argThat(aggregator -> aggregator.getTaskId() == OTHER_TASK_ID));
+
+    //when
+    statisticsBolt.execute(otherTaskAnchorTuple, otherTaskTuple);
+    statisticsBolt.execute(anchorTuple, tuple);
+    statisticsBolt.flushStatistics();
+
+    //then
+    Mockito.verify(collector).emit(Mockito.eq(anchorTuple), Mockito.any(List.class));
+    Mockito.verify(collector)
+           .emit(Mockito.eq(AbstractDpsBolt.NOTIFICATION_STREAM_NAME), Mockito.eq(otherTaskAnchorTuple), Mockito.any(List.class));
+    Mockito.verify(collector).ack(anchorTuple);
+    Mockito.verify(collector).ack(otherTaskAnchorTuple);
+    Mockito.verify(collector, Mockito.never()).fail(Mockito.any(Tuple.class));
+    assertDataStoring(generated);
+  }
+
   @Test
   public void shouldNotGenerateStatisticsBecauseOfLackOfTheParameter() throws Exception {
     //given
@@ -11,12 +11,14 @@ import eu.europeana.cloud.common.model.dps.NodeStatistics;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
 import javax.xml.xpath.XPath;
 import javax.xml.xpath.XPathConstants;
 import javax.xml.xpath.XPathFactory;
@@ -46,8 +48,8 @@ public class RecordStatisticsGeneratorTest {
   @Test
   public void testGeneratedStatistics() throws Exception {
     String fileContent = readFile("src/test/resources/example1.xml");
-    RecordStatisticsGenerator xmlParser = new RecordStatisticsGenerator(fileContent);
-    List<NodeStatistics> nodeModelList = xmlParser.getStatistics();
+    RecordStatisticsGenerator xmlParser = new RecordStatisticsGenerator();
+    List<NodeStatistics> nodeModelList = xmlParser.getStatistics(fileContent.getBytes(StandardCharsets.UTF_8));
     assertEquals(nodeModelList.size(), xpathValueMap.size());
     for (NodeStatistics nodeModel : nodeModelList) {
 
@@ -70,19 +72,37 @@ public class RecordStatisticsGeneratorTest {
   @Test
   public void nodeContentsSizeShouldBeSmallerThanMaximumSize() throws Exception {
     String fileContent = readFile("src/test/resources/BigContent.xml");
-    RecordStatisticsGenerator xmlParser = new RecordStatisticsGenerator(fileContent);
-    List<NodeStatistics> nodeModelList = xmlParser.getStatistics();
+    RecordStatisticsGenerator xmlParser = new RecordStatisticsGenerator();
+    List<NodeStatistics> nodeModelList = xmlParser.getStatistics(fileContent.getBytes(StandardCharsets.UTF_8));
     for (NodeStatistics nodeModel : nodeModelList) {
       assertTrue(nodeModel.getValue().length() <= MAX_SIZE);
     }
 
   }
 
+  @Test
+  public void shouldGenerateTheSameStatisticsForEveryRecord() throws Exception {
+    byte[] fileContent = readFile("src/test/resources/example1.xml").getBytes(StandardCharsets.UTF_8);
+    RecordStatisticsGenerator xmlParser = new RecordStatisticsGenerator();
+
+    Set<NodeStatistics> firstRecordStatistics = new HashSet<>(xmlParser.getStatistics(fileContent));
+    Set<NodeStatistics> secondRecordStatistics = new HashSet<>(xmlParser.getStatistics(fileContent));
+
+    assertEquals(firstRecordStatistics, secondRecordStatistics);
+  }
+
+  @Test(expected = XMLStreamException.class)
+  public void shouldRejectRecordWithDoctype() throws Exception {
+    String fileContent = "<?xml version=\"1.0\"?><!DOCTYPE root [<!ENTITY e \"value\">]><root>&e;</root>";
+
+    new RecordStatisticsGenerator().getStatistics(fileContent.getBytes(StandardCharsets.UTF_8));
+  }
+
   @Test
   public void checkIfTheNodesXpathsExist() throws Exception {
     String fileContent = readFile("src/test/resources/example1.xml");
-    RecordStatisticsGenerator xmlParser = new RecordStatisticsGenerator(fileContent);
-    List<NodeStatistics> nodeModelList = xmlParser.getStatistics();
+    RecordStatisticsGenerator xmlParser = new RecordStatisticsGenerator();
+    List<NodeStatistics> nodeModelList = xmlParser.getStatistics(fileContent.getBytes(StandardCharsets.UTF_8));
     Document doc = createDocumentForSAX(fileContent);
     for (NodeStatistics nodeModel : nodeModelList) {
       XPath xPath = XPathFactory.newInstance().newXPath();
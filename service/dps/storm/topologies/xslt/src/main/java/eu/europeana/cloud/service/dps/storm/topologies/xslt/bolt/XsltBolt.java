@@ -1,5 +1,7 @@
 package eu.europeana.cloud.service.dps.storm.topologies.xslt.bolt;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import eu.europeana.cloud.common.properties.CassandraProperties;
 import eu.europeana.cloud.service.commons.urls.UrlParser;
 import eu.europeana.cloud.service.commons.urls.UrlPart;
@@ -8,6 +10,9 @@ import eu.europeana.cloud.service.dps.PluginParameterKeys;
 import eu.europeana.cloud.service.dps.storm.AbstractDpsBolt;
 import eu.europeana.cloud.service.dps.storm.StormTaskTuple;
 import eu.europeana.metis.transformation.service.*;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
 import org.apache.commons.lang.exception.ExceptionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.storm.tuple.Tuple;
@@ -17,11 +22,23 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Transforms records with the xslt schema given in the task.
+ * <p>
+ * Compiled schemas are cached, so the schema is fetched and compiled once per task, not for every record. Cache is keyed by
+ * the task and all the parameters of the transformer, so a new task always reads the current version of the schema, even if
+ * its url did not change. Cache is bounded and entries not used by any record expire.
+ */
 public class XsltBolt extends AbstractDpsBolt {
 
   private static final long serialVersionUID = 1L;
   private static final Logger LOGGER = LoggerFactory.getLogger(XsltBolt.class);
+  private static final int TRANSFORMERS_CACHE_SIZE = 16;
+  private static final long TRANSFORMERS_CACHE_EXPIRATION_MINUTES = 10;
+
+  private transient Cache<TransformerKey, XsltTransformer> transformers;
 
   public XsltBolt(CassandraProperties cassandraProperties) {
     super(cassandraProperties);
@@ -75,15 +92,25 @@ public class XsltBolt extends AbstractDpsBolt {
   private XsltTransformer prepareXsltTransformer(StormTaskTuple stormTaskTuple)
       throws TransformationException {
     //Get topology parameters
-    final String xsltUrl = stormTaskTuple.getParameter(PluginParameterKeys.XSLT_URL);
-    final String metisDatasetName = stormTaskTuple.getParameter(PluginParameterKeys.METIS_DATASET_NAME);
-    final String metisDatasetCountry = stormTaskTuple
-        .getParameter(PluginParameterKeys.METIS_DATASET_COUNTRY);
-    final String metisDatasetLanguage = stormTaskTuple
-        .getParameter(PluginParameterKeys.METIS_DATASET_LANGUAGE);
-
-    return new XsltTransformer(xsltUrl, metisDatasetName, metisDatasetCountry,
-        metisDatasetLanguage);
+    final var key = new TransformerKey(
+        stormTaskTuple.getTaskId(),
+        stormTaskTuple.getParameter(PluginParameterKeys.XSLT_URL),
+        stormTaskTuple.getParameter(PluginParameterKeys.METIS_DATASET_NAME),
+        stormTaskTuple.getParameter(PluginParameterKeys.METIS_DATASET_COUNTRY),
+        stormTaskTuple.getParameter(PluginParameterKeys.METIS_DATASET_LANGUAGE));
+
+    XsltTransformer xsltTransformer = transformers.getIfPresent(key);
+    if (xsltTransformer == null) {
+      xsltTransformer = createXsltTransformer(key);
+      transformers.put(key, xsltTransformer);
+    }
+    return xsltTransformer;
+  }
+
+  XsltTransformer createXsltTransformer(TransformerKey key) throws TransformationException {
+    LOGGER.info("Compiling xslt schema: {} for task: {}", key.getXsltUrl(), key.getTaskId());
+    return new XsltTransformer(key.getXsltUrl(), key.getMetisDatasetName(), key.getMetisDatasetCountry(),
+        key.getMetisDatasetLanguage());
   }
 
   private EuropeanaGeneratedIdsMap prepareEuropeanaGeneratedIdsMap(StormTaskTuple stormTaskTuple)
@@ -110,5 +137,21 @@ public class XsltBolt extends AbstractDpsBolt {
 
   @Override
   public void prepare() {
+    transformers = CacheBuilder.newBuilder()
+                               .maximumSize(TRANSFORMERS_CACHE_SIZE)
+                               .expireAfterAccess(TRANSFORMERS_CACHE_EXPIRATION_MINUTES, TimeUnit.MINUTES)
+                               .build();
+  }
+
+  @Getter
+  @AllArgsConstructor
+  @EqualsAndHashCode
+  static class TransformerKey {
+
+    private final long taskId;
+    private final String xsltUrl;
+    private final String metisDatasetName;
+    private final String metisDatasetCountry;
+    private final String metisDatasetLanguage;
   }
 }
@@ -22,6 +22,8 @@ import eu.europeana.cloud.common.model.Revision;
 import eu.europeana.cloud.common.properties.CassandraProperties;
 import eu.europeana.cloud.service.dps.PluginParameterKeys;
 import eu.europeana.cloud.service.dps.storm.StormTaskTuple;
+import eu.europeana.metis.transformation.service.TransformationException;
+import eu.europeana.metis.transformation.service.XsltTransformer;
 import java.io.ByteArrayInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -32,6 +34,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.io.IOUtils;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.tuple.Tuple;
@@ -103,6 +106,35 @@ public class XsltBoltTest {
     assertTrue(transformed.contains(EXAMPLE_METIS_DATASET_ID));
   }
 
+  @Test
+  public void shouldCompileXsltOnlyOnceForAllRecordsOfTask() throws Exception {
+    AtomicInteger compilationsCount = new AtomicInteger();
+    XsltBolt countingBolt = new XsltBolt(new CassandraProperties()) {
+      {
+        outputCollector = XsltBoltTest.this.outputCollector;
+      }
+
+      @Override
+      XsltTransformer createXsltTransformer(TransformerKey key) throws TransformationException {
+        compilationsCount.incrementAndGet();
+        return super.createXsltTransformer(key);
+      }
+    };
+    countingBolt.prepare();
+    byte[] content = readMockContentOfURL("/xmlForTesting.xml");
+
+    countingBolt.execute(mock(TupleImpl.class), new StormTaskTuple(TASK_ID, TASK_NAME, SOURCE_VERSION_URL, content,
+        prepareStormTaskTupleParameters(), new Revision()));
+    countingBolt.execute(mock(TupleImpl.class), new StormTaskTuple(TASK_ID, TASK_NAME, SOURCE_VERSION_URL, content,
+        prepareStormTaskTupleParameters(), new Revision()));
+    assertEquals(1, compilationsCount.get());
+
+    countingBolt.execute(mock(TupleImpl.class), new StormTaskTuple(TASK_ID + 1, TASK_NAME, SOURCE_VERSION_URL, content,
+        prepareStormTaskTupleParameters(), new Revision()));
+    assertEquals(2, compilationsCount.get());
+    verify(outputCollector, times(3)).emit(Mockito.any(Tuple.class), captor.capture());
+  }
+
   private HashMap<String, String> prepareStormTaskTupleParameters() {
     HashMap<String, String> parameters = new HashMap<>();
     parameters.put(PluginParameterKeys.XSLT_URL, "https://metis-core-rest.test.eanadev.org/datasets/xslt/default");
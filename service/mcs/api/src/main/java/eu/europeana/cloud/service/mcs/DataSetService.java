@@ -13,6 +13,7 @@ import eu.europeana.cloud.service.mcs.exception.ProviderNotExistsException;
 import eu.europeana.cloud.service.mcs.exception.RepresentationNotExistsException;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 
@@ -36,6 +37,20 @@ public interface DataSetService {
   ResultSlice<Representation> listDataSet(String providerId, String dataSetId, String thresholdParam, int limit)
       throws DataSetNotExistsException;
 
+  /**
+   * Returns iterator over all representations from particular data set. Representations are read lazily, page by page, while the
+   * iterator is consumed, so the whole data set is never kept in memory. Representations are returned in the versions assigned
+   * to the data set. Assignments of representation versions which do not exist anymore are skipped.
+   *
+   * @param providerId provider's (owner of data set) id.
+   * @param dataSetId data set id
+   * @param pageSize number of representations read from the database at once
+   * @return iterator over all representations of the data set
+   * @throws DataSetNotExistsException dataset not exists.
+   */
+  Iterator<Representation> exportDataSet(String providerId, String dataSetId, int pageSize)
+      throws DataSetNotExistsException;
+
 
   /**
    * Assigns a representation in predefined or latest version to a data set. Temporary representation may be added to a data set
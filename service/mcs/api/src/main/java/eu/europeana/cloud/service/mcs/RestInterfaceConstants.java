@@ -15,11 +15,20 @@ public final class RestInterfaceConstants {
   public static final String DATA_SET_REPRESENTATIONS_NAMES =
       DATA_SET_RESOURCE + "/representationsNames";
 
+  public static final String DATA_SET_EXPORT_RESOURCE =
+      DATA_SET_RESOURCE + "/export";
+
+  //Field of the last line of the data set export, holding the number of exported representations
+  public static final String DATA_SET_EXPORT_COUNT_FIELD = "exportedRepresentations";
+
   //DataSetRevisionsResource
   public static final String DATA_SET_REVISIONS_RESOURCE =
       DATA_SET_RESOURCE + "/representations/{representationName}/revisions/{revisionName}" +
           "/revisionProvider/{revisionProviderId}";
 
+  public static final String DATA_SET_REVISION_REPRESENTATIONS_RESOURCE =
+      DATA_SET_REVISIONS_RESOURCE + "/representations";
+
   //DataSetsResource
   public static final String DATA_SETS_RESOURCE =
       "/data-providers/{providerId}/data-sets";
@@ -0,0 +1,165 @@
+package eu.europeana.cloud.mcs.driver;
+
+import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_EXPORT_COUNT_FIELD;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import eu.europeana.cloud.common.model.Representation;
+import eu.europeana.cloud.mcs.driver.exception.DriverException;
+import eu.europeana.cloud.service.mcs.exception.DataSetNotExistsException;
+import eu.europeana.cloud.service.mcs.exception.MCSException;
+import jakarta.ws.rs.core.Response;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Class for iterating through all Representations of given data set, read from one streamed export response.
+ * <p>
+ * The best way to initialise iterator is to obtain it by calling
+ * {@link DataSetServiceClient#getDataSetExportIterator(String providerId, String dataSetId)} method.
+ * <p>
+ * Contrary to {@link RepresentationIterator}, which requests every chunk separately, only one request is sent to the MCS. The
+ * newline delimited JSON response is read line by line while the iterator is consumed, so the server is throttled by the pace
+ * of the iteration. The iterator should be closed if it was not read till the end.
+ * <p>
+ * The last line of the complete export holds the number of exported representations. If the response ends without it, or the
+ * number does not match, the export was broken on the server side and {@link DriverException} is thrown, so the incomplete
+ * data set is never taken for the whole one.
+ */
+public class DataSetExportIterator implements Iterator<Representation>, AutoCloseable {
+
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final ObjectReader REPRESENTATION_READER = MAPPER.readerFor(Representation.class);
+
+  //iterator parameters
+  private final DataSetServiceClient client;
+  private final String providerId;
+  private final String dataSetId;
+  //variables for holding state
+  private Response response;
+  private BufferedReader reader;
+  private Representation nextRepresentation;
+  private long readRepresentations;
+  private boolean finished;
+
+  /**
+   * Creates instance of DataSetExportIterator.
+   *
+   * @param client properly initialised client for internal communication with MCS server (required)
+   * @param providerId id of the provider (required)
+   * @param dataSetId data set identifier (required)
+   */
+  public DataSetExportIterator(DataSetServiceClient client, String providerId, String dataSetId) {
+    if (client == null) {
+      throw new DriverException("DataSetServiceClient for DataSetExportIterator cannot be null");
+    }
+    this.client = client;
+
+    if (providerId == null || providerId.equals("")) {
+      throw new DriverException("ProviderId for DataSetExportIterator cannot be null/empty");
+    }
+    this.providerId = providerId;
+
+    if (dataSetId == null || dataSetId.equals("")) {
+      throw new DriverException("DataSetId for DataSetExportIterator cannot be null/empty");
+    }
+    this.dataSetId = dataSetId;
+  }
+
+  /**
+   * Returns <code>true</code> if the iteration has more elements.
+   * <p>
+   * The first call to this method sends the request to the MCS. If data set does not exists, it will throw
+   * {@link DriverException} with inner exception: {@link DataSetNotExistsException}.
+   *
+   * @return {@code true} if the iteration has more elements, false if not.
+   */
+  @Override
+  public boolean hasNext() {
+    if (nextRepresentation == null && !finished) {
+      nextRepresentation = readNext();
+    }
+    return nextRepresentation != null;
+  }
+
+  /**
+   * Returns next element in the iteration.
+   *
+   * @return next element in the iteration
+   * @throws NoSuchElementException if there are no more elements
+   */
+  @Override
+  public Representation next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("Calling next on exhausted data set export iterator.");
+    }
+    Representation result = nextRepresentation;
+    nextRepresentation = null;
+    return result;
+  }
+
+  /**
+   * Closes the underlying response. Iterator is closed automatically when all the representations were read.
+   */
+  @Override
+  public void close() {
+    finished = true;
+    client.closeResponse(response);
+    response = null;
+    reader = null;
+  }
+
+  private Representation readNext() {
+    try {
+      if (reader == null) {
+        open();
+      }
+      String line;
+      do {
+        line = reader.readLine();
+      } while (line != null && line.isBlank());
+
+      if (line == null) {
+        close();
+        throw new DriverException("Export of data set was interrupted, after " + readRepresentations + " representations");
+      }
+      JsonNode node = MAPPER.readTree(line);
+      if (node.has(DATA_SET_EXPORT_COUNT_FIELD)) {
+        close();
+        checkCount(node.get(DATA_SET_EXPORT_COUNT_FIELD).asLong());
+        return null;
+      }
+      readRepresentations++;
+      return REPRESENTATION_READER.readValue(node);
+    } catch (IOException ex) {
+      close();
+      throw new DriverException("Error when reading exported representations of data set", ex);
+    }
+  }
+
+  private void checkCount(long exportedRepresentations) {
+    if (exportedRepresentations != readRepresentations) {
+      throw new DriverException("Export of data set contains " + readRepresentations
+          + " representations, but " + exportedRepresentations + " were exported");
+    }
+  }
+
+  private void open() {
+    try {
+      response = client.openDataSetExport(providerId, dataSetId);
+    } catch (DataSetNotExistsException ex) {
+      finished = true;
+      throw new DriverException("Data set does not exist.", ex);
+    } catch (MCSException ex) {
+      finished = true;
+      throw new DriverException("Error when trying to export representations of data set", ex);
+    }
+    reader = new BufferedReader(new InputStreamReader(response.readEntity(InputStream.class), StandardCharsets.UTF_8));
+  }
+}
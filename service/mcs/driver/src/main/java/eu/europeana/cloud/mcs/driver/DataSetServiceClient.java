@@ -13,9 +13,11 @@ import static eu.europeana.cloud.common.web.ParamConstants.REPRESENTATION_NAME;
 import static eu.europeana.cloud.common.web.ParamConstants.REVISION_NAME;
 import static eu.europeana.cloud.common.web.ParamConstants.REVISION_PROVIDER_ID;
 import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SETS_RESOURCE;
+import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_EXPORT_RESOURCE;
 import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_PERMISSIONS_RESOURCE;
 import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_RESOURCE;
 import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_REVISIONS_RESOURCE;
+import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_REVISION_REPRESENTATIONS_RESOURCE;
 
 import eu.europeana.cloud.common.model.DataSet;
 import eu.europeana.cloud.common.model.Permission;
@@ -46,6 +48,8 @@ import org.glassfish.jersey.client.authentication.HttpAuthenticationFeature;
  */
 public class DataSetServiceClient extends MCSClient {
 
+  private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
+
   /**
    * Creates instance of DataSetServiceClient.
    *
@@ -277,6 +281,49 @@ public class DataSetServiceClient extends MCSClient {
     return new RepresentationIterator(this, providerId, dataSetId);
   }
 
+  /**
+   * Returns iterator to list of representation versions of data set, which are read from one streamed export response instead of
+   * requesting them chunk by chunk.
+   * <p/>
+   * Iterator is not initialised with data on creation, the request to MCS server is performed in iterator methods. Iterator
+   * should be closed if it is not read till the end.
+   *
+   * @param providerId provider identifier (required)
+   * @param dataSetId data set identifier (required)
+   * @return iterator to the list of all representation versions of data set
+   */
+  public DataSetExportIterator getDataSetExportIterator(String providerId, String dataSetId) {
+    return new DataSetExportIterator(this, providerId, dataSetId);
+  }
+
+  /**
+   * Sends request exporting all representation versions of data set. The entity of returned response is not buffered, so it has
+   * to be consumed and closed by the caller.
+   *
+   * @param providerId provider identifier (required)
+   * @param dataSetId data set identifier (required)
+   * @return response streaming representations as newline delimited JSON
+   * @throws DataSetNotExistsException if data set does not exist
+   * @throws MCSException on unexpected situations
+   */
+  Response openDataSetExport(String providerId, String dataSetId) throws MCSException {
+    Response response = passLogContext(client
+        .target(this.baseUrl)
+        .path(DATA_SET_EXPORT_RESOURCE)
+        .resolveTemplate(PROVIDER_ID, providerId)
+        .resolveTemplate(DATA_SET_ID, dataSetId)
+        .request(NDJSON_MEDIA_TYPE))
+        .get();
+    if (response.getStatus() != Response.Status.OK.getStatusCode()) {
+      try {
+        throw MCSExceptionProvider.generateException(response);
+      } finally {
+        closeResponse(response);
+      }
+    }
+    return response;
+  }
+
   /**
    * Updates description of data set.
    *
@@ -390,6 +437,41 @@ public class DataSetServiceClient extends MCSClient {
     );
   }
 
+  /**
+   * Retrieve representation versions of the given revision, for one chunk of the cloudIds from data set for the revision. It is
+   * the equivalent of calling {@link RecordServiceClient#getRepresentationsByRevision(String, String, Revision)} for every
+   * cloudId of the chunk returned by {@link #getDataSetRevisionsChunk}, done by the single request.
+   *
+   * @param providerId provider identifier (required)
+   * @param dataSetId data set identifier (required)
+   * @param representationName name of the representation (required)
+   * @param revision the revision (required)
+   * @param startFrom code pointing to the requested result slice (if equal to null, first slice is returned)
+   * @param limit maximum number of cloudIds in the chunk, if null the default chunk size is used
+   * @return representation versions together with the code of the next chunk
+   * @throws MCSException on unexpected situations
+   */
+  @SuppressWarnings("unchecked")
+  public ResultSlice<Representation> getDataSetRevisionRepresentationsChunk(
+      String providerId, String dataSetId, String representationName,
+      Revision revision,
+      String startFrom, Integer limit) throws MCSException {
+
+    return manageResponse(new ResponseParams<>(ResultSlice.class),
+        () -> passLogContext(client.target(baseUrl)
+                    .path(DATA_SET_REVISION_REPRESENTATIONS_RESOURCE)
+                    .resolveTemplate(PROVIDER_ID, providerId)
+                    .resolveTemplate(DATA_SET_ID, dataSetId)
+                    .resolveTemplate(REPRESENTATION_NAME, representationName)
+                    .resolveTemplate(REVISION_NAME, revision.getRevisionName())
+                    .resolveTemplate(REVISION_PROVIDER_ID, revision.getRevisionProviderId())
+                    .queryParam(F_REVISION_TIMESTAMP, DateHelper.getISODateString(revision.getCreationTimeStamp()))
+                    .queryParam(F_START_FROM, startFrom)
+                    .queryParam(F_LIMIT, limit != null ? limit : 0)
+                    .request()).get()
+    );
+  }
+
   public ResultSlice<CloudTagsResponse> getDataSetRevisions(String providerId, String dataSetId, String representationName,
       Revision revision) throws MCSException {
     return getDataSetRevisionsChunk(providerId, dataSetId, representationName, revision, null, 0);
@@ -67,8 +67,27 @@ public class FileServiceClient extends MCSClient {
   public FileServiceClient(String baseUrl,
       final String username, final String password,
       final int connectTimeoutInMillis, final int readTimeoutInMillis) {
+    this(baseUrl, username, password, connectTimeoutInMillis, readTimeoutInMillis, DEFAULT_MAX_CONNECTIONS_PER_ROUTE,
+        DEFAULT_MAX_CONNECTIONS);
+  }
+
+  /**
+   * All parameters' constructor, including the limits of the connection pool
+   *
+   * @param baseUrl URL of the MCS Rest Service
+   * @param username Username to HTTP authorisation  (use together with password)
+   * @param password Password to HTTP authorisation (use together with username)
+   * @param connectTimeoutInMillis Timeout for waiting for connecting
+   * @param readTimeoutInMillis Timeout for getting data
+   * @param maxConnectionsPerRoute Maximal number of the pooled connections to the single host
+   * @param maxConnections Maximal number of the pooled connections of the client
+   */
+  public FileServiceClient(String baseUrl,
+      final String username, final String password,
+      final int connectTimeoutInMillis, final int readTimeoutInMillis,
+      final int maxConnectionsPerRoute, final int maxConnections) {
 
-    super(baseUrl);
+    super(baseUrl, maxConnectionsPerRoute, maxConnections);
 
     if (username != null || password != null) {
       client.register(HttpAuthenticationFeature.basicBuilder().credentials(username, password).build());
@@ -152,6 +171,50 @@ public class FileServiceClient extends MCSClient {
     );
   }
 
+  /**
+   * Function returns file content as the stream read directly from MCS, without keeping the whole file in the memory. MD5
+   * checksum of the file is verified while the stream is read.
+   *
+   * @param cloudId id of returned file.
+   * @param representationName representation name of returned file.
+   * @param version version of returned file.
+   * @param fileName name of file.
+   * @return InputStream returned content, it must be closed, to release the connection to MCS. Its read methods throw
+   * {@link IOException} at the end of the file, when the checksum of the file is incorrect.
+   * @throws RepresentationNotExistsException when requested representation (or representation version) does not exist.
+   * @throws FileNotExistsException when requested file does not exist.
+   * @throws DriverException call to service has not succeeded because of server side error.
+   * @throws MCSException on unexpected situations.
+   */
+  public InputStream getFileStream(String cloudId, String representationName,
+      String version, String fileName) throws MCSException {
+
+    return manageStreamedResponse(new ResponseParams<>(InputStream.class),
+        () -> passLogContext(client
+            .target(baseUrl)
+            .path(CLIENT_FILE_RESOURCE)
+            .resolveTemplate(CLOUD_ID, cloudId)
+            .resolveTemplate(REPRESENTATION_NAME, representationName)
+            .resolveTemplate(VERSION, version)
+            .resolveTemplate(FILE_NAME, fileName)
+            .request())
+            .get()
+    );
+  }
+
+  /**
+   * Function returns file content as the stream read directly from MCS. Same as
+   * {@link #getFileStream(String, String, String, String)}, but the file is identified by its URL.
+   */
+  public InputStream getFileStream(String fileUrl) throws MCSException {
+    return manageStreamedResponse(new ResponseParams<>(InputStream.class),
+        () -> passLogContext(client
+            .target(fileUrl)
+            .request())
+            .get()
+    );
+  }
+
   /**
    * Uploads file content with checking checksum.
    *
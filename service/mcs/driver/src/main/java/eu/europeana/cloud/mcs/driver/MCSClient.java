@@ -6,7 +6,6 @@ import eu.europeana.cloud.common.response.ErrorInfo;
 import eu.europeana.cloud.mcs.driver.exception.DriverException;
 import eu.europeana.cloud.service.mcs.exception.MCSException;
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URI;
@@ -19,27 +18,57 @@ import jakarta.ws.rs.client.ClientBuilder;
 import jakarta.ws.rs.core.GenericType;
 import jakarta.ws.rs.core.Response;
 import lombok.Getter;
-import org.apache.commons.io.IOUtils;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.glassfish.jersey.apache.connector.ApacheClientProperties;
+import org.glassfish.jersey.apache.connector.ApacheConnectorProvider;
+import org.glassfish.jersey.client.ClientConfig;
+import org.glassfish.jersey.client.ClientProperties;
+import org.glassfish.jersey.client.RequestEntityProcessing;
 import org.glassfish.jersey.jackson.JacksonFeature;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
 
 /**
  * Base class for MCS clients
+ * <p>
+ * Requests are sent through the pool of keep-alive connections, so the following requests to MCS do not open the new
+ * connections. The connection is returned to the pool when the response is closed.
  */
 public abstract class MCSClient implements AutoCloseable {
 
   protected static final int DEFAULT_CONNECT_TIMEOUT_IN_MILLIS = 20 * 1000;
   protected static final int DEFAULT_READ_TIMEOUT_IN_MILLIS = 60 * 1000;
+  protected static final int DEFAULT_MAX_CONNECTIONS_PER_ROUTE = 20;
+  protected static final int DEFAULT_MAX_CONNECTIONS = 100;
 
   protected final String baseUrl;
 
-  protected final Client client = ClientBuilder.newBuilder()
-                                               .register(JacksonFeature.class)
-                                               .register(MultiPartFeature.class)
-                                               .build();
+  protected final Client client;
 
   protected MCSClient(final String baseUrl) {
+    this(baseUrl, DEFAULT_MAX_CONNECTIONS_PER_ROUTE, DEFAULT_MAX_CONNECTIONS);
+  }
+
+  /**
+   * @param baseUrl URL of the MCS Rest Service
+   * @param maxConnectionsPerRoute maximal number of the pooled connections to the single host
+   * @param maxConnections maximal number of the pooled connections of the client
+   */
+  protected MCSClient(final String baseUrl, int maxConnectionsPerRoute, int maxConnections) {
     this.baseUrl = removeLastSlash(baseUrl);
+    var connectionManager = new PoolingHttpClientConnectionManager();
+    connectionManager.setDefaultMaxPerRoute(maxConnectionsPerRoute);
+    connectionManager.setMaxTotal(maxConnections);
+    this.client = ClientBuilder.newBuilder()
+                               .withConfig(new ClientConfig()
+                                   .connectorProvider(new ApacheConnectorProvider())
+                                   .property(ApacheClientProperties.CONNECTION_MANAGER, connectionManager)
+                                   //Request entities are sent with their length, the same as by the default connector,
+                                   //so the headers added while they are written, like the boundary of multipart, are sent too
+                                   .property(ClientProperties.REQUEST_ENTITY_PROCESSING,
+                                       RequestEntityProcessing.BUFFERED))
+                               .register(JacksonFeature.class)
+                               .register(MultiPartFeature.class)
+                               .build();
   }
 
   public void close() {
@@ -53,14 +82,41 @@ public abstract class MCSClient implements AutoCloseable {
   }
 
   protected <T> T manageResponse(ResponseParams<T> responseParameters, Supplier<Response> responseSupplier) throws MCSException {
+    return manageResponse(responseParameters, responseSupplier, false);
+  }
+
+  /**
+   * Same as {@link #manageResponse(ResponseParams, Supplier)}, but the content of the response is not read into the memory.
+   * The returned stream reads it directly from the connection, and it must be closed by the caller, to return the connection
+   * to the pool. When the response carries the MD5 checksum of the content in its ETag, the checksum is verified while the
+   * stream is read, and {@link IOException} is thrown at its end if the checksum does not match.
+   */
+  protected InputStream manageStreamedResponse(ResponseParams<InputStream> responseParameters,
+      Supplier<Response> responseSupplier) throws MCSException {
+    return manageResponse(responseParameters, responseSupplier, true);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T manageResponse(ResponseParams<T> responseParameters, Supplier<Response> responseSupplier, boolean streamed)
+      throws MCSException {
     Response response = responseSupplier.get();
+    boolean responsePassedToCaller = false;
     try {
-      response.bufferEntity();
-      if (responseParameters.isStatusCodeValid(response.getStatus())) {
+      boolean statusCodeValid = responseParameters.isStatusCodeValid(response.getStatus());
+      if (!statusCodeValid || responseParameters.getExpectedClass() != InputStream.class) {
+        //Files are read only once, other entities are buffered, so they could be reported when they are not deserializable
+        response.bufferEntity();
+      }
+      if (statusCodeValid) {
         if (responseParameters.getExpectedMd5() != null && !responseParameters.getExpectedMd5()
                                                                               .equals(response.getEntityTag().getValue())) {
           throw MCSExceptionProvider.createException("Incorrect MD5 checksum", null);
         }
+        if (streamed) {
+          var content = new ResponseContentInputStream(response);
+          responsePassedToCaller = true;
+          return (T) content;
+        }
         return readEntityByClass(responseParameters, response);
       }
       ErrorInfo errorInfo = response.readEntity(ErrorInfo.class);
@@ -74,7 +130,9 @@ public abstract class MCSClient implements AutoCloseable {
     } catch (Exception otherExceptions) {
       throw MCSExceptionProvider.createException("Other client error", otherExceptions);
     } finally {
-      closeResponse(response);
+      if (!responsePassedToCaller) {
+        closeResponse(response);
+      }
     }
   }
 
@@ -89,7 +147,10 @@ public abstract class MCSClient implements AutoCloseable {
     } else if (responseParameters.getExpectedClass() == Response.Status.class) {
       return (T) Response.Status.fromStatusCode(response.getStatus());
     } else if (responseParameters.getExpectedClass() == InputStream.class) {
-      return (T) copiedInputStream(response.readEntity(InputStream.class));
+      //Read at once, so the connection is released when the response is closed
+      try (InputStream content = response.readEntity(InputStream.class)) {
+        return (T) new ByteArrayInputStream(content.readAllBytes());
+      }
     } else if (responseParameters.getGenericType() != null) {
       return response.readEntity(responseParameters.getGenericType());
     } else {
@@ -97,19 +158,6 @@ public abstract class MCSClient implements AutoCloseable {
     }
   }
 
-  private InputStream copiedInputStream(InputStream originIS) throws IOException {
-    ByteArrayOutputStream buffer = new ByteArrayOutputStream();
-    int nRead;
-    byte[] data = new byte[16384];
-    while ((nRead = originIS.read(data, 0, data.length)) != -1) {
-      buffer.write(data, 0, nRead);
-    }
-    buffer.flush();
-    IOUtils.closeQuietly(originIS);
-    return new ByteArrayInputStream(buffer.toByteArray());
-  }
-
-
   @Getter
   protected static class ResponseParams<T> {
 
@@ -0,0 +1,121 @@
+package eu.europeana.cloud.mcs.driver;
+
+import jakarta.ws.rs.core.EntityTag;
+import jakarta.ws.rs.core.Response;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Content of the response read directly from the connection. The MD5 checksum of the content is computed while it is read,
+ * and compared with the ETag of the response at the end of the stream. Closing the stream closes the response, which returns
+ * the connection to the pool.
+ */
+class ResponseContentInputStream extends FilterInputStream {
+
+  private static final int SKIP_BUFFER_SIZE = 8192;
+
+  private final Response response;
+  private final String expectedMd5;
+  private final MessageDigest digest;
+  private boolean verified;
+
+  ResponseContentInputStream(Response response) {
+    super(response.readEntity(InputStream.class));
+    this.response = response;
+    EntityTag entityTag = response.getEntityTag();
+    this.expectedMd5 = entityTag != null ? entityTag.getValue() : null;
+    this.digest = expectedMd5 != null ? md5Digest() : null;
+  }
+
+  @Override
+  public int read() throws IOException {
+    int result = super.read();
+    if (result != -1) {
+      update(new byte[]{(byte) result}, 0, 1);
+    } else {
+      verifyChecksum();
+    }
+    return result;
+  }
+
+  @Override
+  public int read(byte[] buffer, int offset, int length) throws IOException {
+    int count = super.read(buffer, offset, length);
+    if (count > 0) {
+      update(buffer, offset, count);
+    } else if (count == -1) {
+      verifyChecksum();
+    }
+    return count;
+  }
+
+  @Override
+  public long skip(long n) throws IOException {
+    //Skipped bytes are read, so they are included in the checksum
+    byte[] buffer = new byte[(int) Math.min(SKIP_BUFFER_SIZE, Math.max(n, 0))];
+    long skipped = 0;
+    while (skipped < n) {
+      int count = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+      if (count == -1) {
+        break;
+      }
+      skipped += count;
+    }
+    return skipped;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public synchronized void mark(int readLimit) {
+    //Not supported, the content could not be read twice
+  }
+
+  @Override
+  public synchronized void reset() throws IOException {
+    throw new IOException("Mark/reset is not supported by the stream of the response content");
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      super.close();
+    } finally {
+      response.close();
+    }
+  }
+
+  private void update(byte[] buffer, int offset, int length) {
+    if (digest != null) {
+      digest.update(buffer, offset, length);
+    }
+  }
+
+  private void verifyChecksum() throws IOException {
+    if (digest == null || verified) {
+      return;
+    }
+    verified = true;
+    String actualMd5 = HexFormat.of().formatHex(digest.digest());
+    if (!actualMd5.equalsIgnoreCase(expectedMd5)) {
+      throw new IOException("Incorrect MD5 checksum of the response content, expected: " + expectedMd5
+          + ", actual: " + actualMd5);
+    }
+  }
+
+  private static MessageDigest md5Digest() {
+    try {
+      return MessageDigest.getInstance("MD5");
+    } catch (NoSuchAlgorithmException e) {
+      //MD5 is required to be supported by every Java platform
+      throw new IllegalStateException(e);
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package eu.europeana.cloud.mcs.driver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import eu.europeana.cloud.mcs.driver.exception.DriverException;
+import jakarta.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DataSetExportIteratorTest {
+
+  private static final String PROVIDER = "PROVIDER";
+  private static final String DATASET = "DATASET";
+  private static final String REPRESENTATION_LINE = "{\"cloudId\":\"CLOUD_ID\",\"representationName\":\"dc\"}\n";
+
+  private DataSetServiceClient dataSetServiceClient;
+  private Response response;
+
+  @Before
+  public void init() throws Exception {
+    dataSetServiceClient = mock(DataSetServiceClient.class);
+    response = mock(Response.class);
+    when(dataSetServiceClient.openDataSetExport(PROVIDER, DATASET)).thenReturn(response);
+  }
+
+  @Test
+  public void shouldReadAllRepresentationsOfCompleteExport() {
+    mockResponseContent(REPRESENTATION_LINE + REPRESENTATION_LINE + "{\"exportedRepresentations\":2}\n");
+    DataSetExportIterator iterator = new DataSetExportIterator(dataSetServiceClient, PROVIDER, DATASET);
+
+    int count = 0;
+    while (iterator.hasNext()) {
+      assertEquals("CLOUD_ID", iterator.next().getCloudId());
+      count++;
+    }
+
+    assertEquals(2, count);
+    assertFalse(iterator.hasNext());
+    verify(dataSetServiceClient).closeResponse(response);
+  }
+
+  @Test
+  public void shouldReadEmptyExport() {
+    mockResponseContent("{\"exportedRepresentations\":0}\n");
+    DataSetExportIterator iterator = new DataSetExportIterator(dataSetServiceClient, PROVIDER, DATASET);
+
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test(expected = DriverException.class)
+  public void shouldThrowExceptionWhenExportEndsWithoutNumberOfExportedRepresentations() {
+    mockResponseContent(REPRESENTATION_LINE + REPRESENTATION_LINE);
+    DataSetExportIterator iterator = new DataSetExportIterator(dataSetServiceClient, PROVIDER, DATASET);
+
+    while (iterator.hasNext()) {
+      iterator.next();
+    }
+  }
+
+  @Test(expected = DriverException.class)
+  public void shouldThrowExceptionWhenNumberOfExportedRepresentationsDoesNotMatch() {
+    mockResponseContent(REPRESENTATION_LINE + "{\"exportedRepresentations\":2}\n");
+    DataSetExportIterator iterator = new DataSetExportIterator(dataSetServiceClient, PROVIDER, DATASET);
+
+    while (iterator.hasNext()) {
+      iterator.next();
+    }
+  }
+
+  private void mockResponseContent(String content) {
+    when(response.readEntity(InputStream.class))
+        .thenReturn(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+  }
+}
@@ -1052,4 +1052,36 @@ public class DataSetServiceClientTest {
     assertFalse(cid.isDeleted());
   }
 
+  @Test
+  public void shouldRetrieveRepresentationsChunkForSpecificRevision()
+      throws MCSException {
+    //given
+    String providerId = "LFT";
+    String dataSetId = "set1";
+    String representationName = "t1";
+    String revisionName = "IMPORT";
+    String revisionProviderId = "EU";
+    String revisionTimestamp = "2017-01-09T08:16:47.824Z";
+
+    //
+    wireMockRule.stubFor(get(urlEqualTo(
+        "/mcs/data-providers/LFT/data-sets/set1/representations/t1/revisions/IMPORT/revisionProvider/EU/representations?revisionTimestamp=2017-01-09T08%3A16%3A47.824Z&startFrom=token1&limit=100"))
+        .willReturn(aResponse()
+            .withStatus(200)
+            .withHeader("Content-Type", "application/xml")
+            .withBody(
+                "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><resultSlice><nextSlice>token2</nextSlice><results xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:type=\"representation\"><creationDate>2017-01-09T08:16:47.824Z</creationDate><dataProvider>LFT</dataProvider><persistent>true</persistent><cloudId>A2YCHGEFD4UV4UIEAWDUJHWJNZWXNOURWCQORIG7MCQASTB62OSQ</cloudId><representationName>t1</representationName><version>cc076450-987c-11e3-9621-1c6f653f6012</version></results><results xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:type=\"representation\"><creationDate>2017-01-09T08:16:47.824Z</creationDate><dataProvider>LFT</dataProvider><persistent>true</persistent><cloudId>V7UYW5HK2YVQH7HN67W4ZRXBKLXLEY2HRIICIWAFTDVHEFZE5SPQ</cloudId><representationName>t1</representationName><version>c752b5e0-987c-11e3-9621-1c6f653f6012</version></results></resultSlice>")));
+    //
+
+    DataSetServiceClient instance = new DataSetServiceClient(baseUrl);
+    //when
+    ResultSlice<Representation> representations = instance.getDataSetRevisionRepresentationsChunk(providerId, dataSetId,
+        representationName, new Revision(revisionName, revisionProviderId, DateHelper.parseISODate(revisionTimestamp)),
+        "token1", 100);
+    //then
+    assertThat(representations.getNextSlice(), is("token2"));
+    assertThat(representations.getResults().size(), is(2));
+    assertThat(representations.getResults().get(0).getCloudId(), is("A2YCHGEFD4UV4UIEAWDUJHWJNZWXNOURWCQORIG7MCQASTB62OSQ"));
+    assertThat(representations.getResults().get(1).getVersion(), is("c752b5e0-987c-11e3-9621-1c6f653f6012"));
+  }
 }
@@ -92,6 +92,58 @@ public class FileServiceClientTest {
   }
 
 
+  @Test
+  public void shouldGetFileStreamWithVerifiedChecksum() throws MCSException, IOException, NoSuchAlgorithmException {
+    byte[] contentBytes = MODIFIED_FILE_CONTENTS.getBytes(StandardCharsets.UTF_8);
+    new WiremockHelper(wireMockRule).stubGet(
+        "/mcs/records/W3KBLNZDKNQ/representations/schema66/versions/e91d6300-431c-11e4-8576-00163eefc9c8/files/9007c26f-e29d-4924-9c49-8ff064484264",
+        200,
+        "\"" + createMD5(contentBytes) + "\"",
+        MODIFIED_FILE_CONTENTS);
+
+    try (FileServiceClient instance = new FileServiceClient(baseUrl, username, password);
+        InputStream responseStream = instance.getFileStream(TEST_CLOUD_ID, TEST_REPRESENTATION_NAME, TEST_VERSION,
+            UPLOADED_FILE_NAME)) {
+
+      assertArrayEquals("Content is incorrect", contentBytes, ByteStreams.toByteArray(responseStream));
+    }
+  }
+
+  @Test(expected = IOException.class)
+  public void shouldThrowIOExceptionForGetFileStreamWhenChecksumIsIncorrect() throws MCSException, IOException {
+    new WiremockHelper(wireMockRule).stubGet(
+        "/mcs/records/W3KBLNZDKNQ/representations/schema66/versions/e91d6300-431c-11e4-8576-00163eefc9c8/files/9007c26f-e29d-4924-9c49-8ff064484264",
+        200,
+        "\"cc3dedabc38bdafc5a5fd53b5485544f\"",
+        MODIFIED_FILE_CONTENTS);
+
+    try (FileServiceClient instance = new FileServiceClient(baseUrl, username, password);
+        InputStream responseStream = instance.getFileStream(TEST_CLOUD_ID, TEST_REPRESENTATION_NAME, TEST_VERSION,
+            UPLOADED_FILE_NAME)) {
+
+      ByteStreams.toByteArray(responseStream);
+    }
+  }
+
+  @Test
+  public void shouldGetFileStreamManyTimesWithSingleConnection() throws MCSException, IOException {
+    new WiremockHelper(wireMockRule).stubGet(
+        "/mcs/records/W3KBLNZDKNQ/representations/schema66/versions/e91d6300-431c-11e4-8576-00163eefc9c8/files/9007c26f-e29d-4924-9c49-8ff064484264",
+        200,
+        MODIFIED_FILE_CONTENTS);
+
+    try (FileServiceClient instance = new FileServiceClient(baseUrl, username, password,
+        DEFAULT_CONNECT_TIMEOUT_IN_MILLIS, DEFAULT_READ_TIMEOUT_IN_MILLIS, 1, 1)) {
+      for (int i = 0; i < 3; i++) {
+        //The connection would not be returned to the pool of size 1, if the stream did not release it when it is closed
+        try (InputStream responseStream = instance.getFileStream(TEST_CLOUD_ID, TEST_REPRESENTATION_NAME, TEST_VERSION,
+            UPLOADED_FILE_NAME)) {
+          assertEquals(MODIFIED_FILE_CONTENTS, new String(ByteStreams.toByteArray(responseStream), StandardCharsets.UTF_8));
+        }
+      }
+    }
+  }
+
   @Test
   public void shouldGetFileWithRange1() throws MCSException, IOException {
     //
@@ -33,6 +33,7 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Collection;
 import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -68,6 +69,17 @@ public class CassandraDataSetService implements DataSetService {
     return new ResultSlice<>(assignments.getNextSlice(), getRepresentations(assignments.getResults()));
   }
 
+  /**
+   * @inheritDoc
+   */
+  @Override
+  public Iterator<Representation> exportDataSet(String providerId, String dataSetId, int pageSize)
+      throws DataSetNotExistsException {
+    checkIfDatasetExists(dataSetId, providerId);
+    return new DataSetRepresentationsIterator(dataSetDAO, recordDAO, bucketsHandler,
+        createProviderDataSetId(providerId, dataSetId), pageSize);
+  }
+
   /**
    * @inheritDoc
    */
@@ -371,9 +383,7 @@ public class CassandraDataSetService implements DataSetService {
   }
 
   private List<Representation> getRepresentations(List<DatasetAssignment> assignments) {
-    return assignments.stream()
-                      .map(stub -> recordDAO.getRepresentation(stub.getCloudId(), stub.getSchema(), stub.getVersion()))
-                      .toList();
+    return recordDAO.getRepresentations(assignments);
   }
 
   /**
@@ -0,0 +1,90 @@
+package eu.europeana.cloud.service.mcs.persistent;
+
+import static eu.europeana.cloud.service.mcs.persistent.cassandra.CassandraDataSetDAO.DATA_SET_ASSIGNMENTS_BY_DATA_SET_BUCKETS;
+
+import com.datastax.driver.core.PagingState;
+import eu.europeana.cloud.common.model.Representation;
+import eu.europeana.cloud.common.response.ResultSlice;
+import eu.europeana.cloud.common.utils.Bucket;
+import eu.europeana.cloud.service.commons.utils.BucketsHandler;
+import eu.europeana.cloud.service.mcs.persistent.cassandra.CassandraDataSetDAO;
+import eu.europeana.cloud.service.mcs.persistent.cassandra.CassandraRecordDAO;
+import eu.europeana.cloud.service.mcs.persistent.cassandra.DatasetAssignment;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Iterates through all representations assigned to the data set, walking all the buckets of the
+ * <b><i>data_set_assignments_by_data_set</i></b> table.
+ * <p>
+ * Next page is read from the database only when the previous one was consumed. Contrary to the paged listing, the paging state
+ * is kept here in memory, so there is no need to serialize it to the next slice token and to look up the bucket again for every
+ * page. Assignments of representation versions which do not exist anymore are skipped and logged.
+ */
+class DataSetRepresentationsIterator implements Iterator<Representation> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DataSetRepresentationsIterator.class);
+
+  private final CassandraDataSetDAO dataSetDAO;
+  private final CassandraRecordDAO recordDAO;
+  private final BucketsHandler bucketsHandler;
+  private final String providerDataSetId;
+  private final int pageSize;
+  private Bucket bucket;
+  private PagingState pagingState;
+  private Iterator<Representation> page = Collections.emptyIterator();
+
+  DataSetRepresentationsIterator(CassandraDataSetDAO dataSetDAO, CassandraRecordDAO recordDAO, BucketsHandler bucketsHandler,
+      String providerDataSetId, int pageSize) {
+    this.dataSetDAO = dataSetDAO;
+    this.recordDAO = recordDAO;
+    this.bucketsHandler = bucketsHandler;
+    this.providerDataSetId = providerDataSetId;
+    this.pageSize = pageSize;
+    this.bucket = bucketsHandler.getFirstBucket(DATA_SET_ASSIGNMENTS_BY_DATA_SET_BUCKETS, providerDataSetId);
+  }
+
+  @Override
+  public boolean hasNext() {
+    while (!page.hasNext() && bucket != null) {
+      loadNextPage();
+    }
+    return page.hasNext();
+  }
+
+  @Override
+  public Representation next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("Calling next on exhausted data set representations iterator.");
+    }
+    return page.next();
+  }
+
+  private void loadNextPage() {
+    ResultSlice<DatasetAssignment> assignments =
+        dataSetDAO.getDataSetAssignments(providerDataSetId, bucket.getBucketId(), pagingState, pageSize);
+    List<Representation> representations = recordDAO.getRepresentations(assignments.getResults());
+    List<Representation> existingRepresentations = new ArrayList<>(representations.size());
+    for (int i = 0; i < representations.size(); i++) {
+      if (representations.get(i) != null) {
+        existingRepresentations.add(representations.get(i));
+      } else {
+        LOGGER.warn("Skipped exporting of the representation assigned to the data set {}, which does not exist: {}",
+            providerDataSetId, assignments.getResults().get(i));
+      }
+    }
+    page = existingRepresentations.iterator();
+
+    if (assignments.getNextSlice() != null) {
+      pagingState = PagingState.fromString(assignments.getNextSlice());
+    } else {
+      pagingState = null;
+      bucket = bucketsHandler.getNextBucket(DATA_SET_ASSIGNMENTS_BY_DATA_SET_BUCKETS, providerDataSetId, bucket);
+    }
+  }
+}
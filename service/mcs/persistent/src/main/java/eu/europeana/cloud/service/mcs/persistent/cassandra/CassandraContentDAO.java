@@ -11,13 +11,13 @@ import com.google.common.io.CountingInputStream;
 import com.google.common.primitives.Ints;
 import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
 import eu.europeana.cloud.common.annotation.Retryable;
+import eu.europeana.cloud.service.commons.utils.RetryableMethodExecutor;
 import eu.europeana.cloud.service.mcs.exception.FileAlreadyExistsException;
 import eu.europeana.cloud.service.mcs.exception.FileNotExistsException;
 import eu.europeana.cloud.service.mcs.persistent.s3.ContentDAO;
 import eu.europeana.cloud.service.mcs.persistent.s3.PutResult;
 import eu.europeana.cloud.service.mcs.persistent.util.QueryTracer;
 import jakarta.annotation.PostConstruct;
-import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -25,54 +25,118 @@ import java.nio.ByteBuffer;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-import java.util.Arrays;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.io.output.ByteArrayOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Provides content DAO operations for Cassandra.
+ * <p>
+ * Content is stored in the <b><i>files_content_chunks</i></b> table, split into chunks of fixed uncompressed size, each of them
+ * gzipped separately. Thanks to that reads and writes are streamed chunk by chunk and range requests fetch only the chunks they
+ * touch. Files stored before chunking was introduced are still read from the legacy <b><i>files_content</i></b> table.
  *
  * @author krystian.
  */
 public class CassandraContentDAO implements ContentDAO {
 
+  public static final int DEFAULT_CHUNK_SIZE = 1024 * 1024;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(CassandraContentDAO.class);
+
   private static final String MSG_FILE_NOT_EXISTS = "File %s not exists";
   private static final String MSG_FILE_ALREADY_EXISTS = "File %s already exists";
+  private static final String MSG_MISSING_CHUNK = "Chunk %d of file %s is missing";
+  private static final String MSG_CANNOT_ACCESS_CHUNKS = "Error while accessing file content chunks";
   private static final String MSG_CANNOT_GET_INSTANCE_OF_MD_5 = "Cannot get instance of MD5 but such algorithm should be provided";
+  private static final int CHUNKS_FETCH_SIZE = 1;
 
   private final CassandraConnectionProvider connectionProvider;
   private final StreamCompressor streamCompressor = new StreamCompressor();
-  private PreparedStatement insertStatement;
-  private PreparedStatement selectStatement;
-  private PreparedStatement deleteStatement;
+  private final int chunkSize;
+  private PreparedStatement insertFirstChunkStatement;
+  private PreparedStatement insertChunkStatement;
+  private PreparedStatement updateContentLengthStatement;
+  private PreparedStatement selectChunkedFileStatement;
+  private PreparedStatement selectChunksStatement;
+  private PreparedStatement deleteChunksStatement;
+  private PreparedStatement insertLegacyStatement;
+  private PreparedStatement selectLegacyStatement;
+  private PreparedStatement selectLegacyFileNameStatement;
+  private PreparedStatement deleteLegacyStatement;
 
   public CassandraContentDAO(CassandraConnectionProvider connectionProvider) {
+    this(connectionProvider, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Constructor for the class
+   *
+   * @param connectionProvider connection provider for DB
+   * @param chunkSize size (in bytes) of the uncompressed content stored in one chunk of newly created files
+   */
+  public CassandraContentDAO(CassandraConnectionProvider connectionProvider, int chunkSize) {
     this.connectionProvider = connectionProvider;
+    this.chunkSize = chunkSize;
   }
 
   /**
    * @inheritDoc
+   * <p>
+   * Compressed chunks are copied verbatim, one at a time, without decompressing and compressing them again.
    */
   @Override
   public void copyContent(String sourceObjectId, String trgObjectId)
       throws FileNotExistsException, FileAlreadyExistsException, IOException {
 
-    try (ByteArrayOutputStream os = new ByteArrayOutputStream()) {
-      getContent(sourceObjectId, -1, -1, os);
-      checkIfObjectNotExists(trgObjectId);
-      putContent(trgObjectId, new ByteArrayInputStream(os.toByteArray()));
-    } catch (FileNotExistsException e) {
-      throw new FileNotExistsException(String.format(MSG_FILE_NOT_EXISTS, sourceObjectId));
+    Row chunkedFile = findChunkedFile(sourceObjectId);
+    if (!isComplete(chunkedFile)) {
+      copyLegacyContent(sourceObjectId, trgObjectId);
+      return;
+    }
+    checkIfObjectNotExists(trgObjectId);
+
+    long contentLength = chunkedFile.getLong("content_length");
+    int fileChunkSize = chunkedFile.getInt("chunk_size");
+    int lastChunk = contentLength > 0 ? Ints.checkedCast((contentLength - 1) / fileChunkSize) : 0;
+    BoundStatement boundStatement = selectChunksStatement.bind(sourceObjectId, 0, lastChunk);
+    boundStatement.setFetchSize(CHUNKS_FETCH_SIZE);
+    executeWithRetries(deleteChunksStatement.bind(trgObjectId));
+    try {
+      int expectedChunk = 0;
+      for (Row row : executeQueryWithLogger(boundStatement)) {
+        int chunkIndex = row.getInt("chunk_index");
+        if (chunkIndex != expectedChunk) {
+          throw new IOException(String.format(MSG_MISSING_CHUNK, expectedChunk, sourceObjectId));
+        }
+        insertChunk(trgObjectId, chunkIndex, fileChunkSize, row.getBytes("data"));
+        expectedChunk++;
+      }
+      if (expectedChunk <= lastChunk) {
+        throw new IOException(String.format(MSG_MISSING_CHUNK, expectedChunk, sourceObjectId));
+      }
+      executeWithRetries(updateContentLengthStatement.bind(contentLength, trgObjectId));
+    } catch (IOException | RuntimeException e) {
+      removeChunksQuietly(trgObjectId);
+      throw e;
     }
   }
 
   /**
    * @inheritDoc
+   * <p>
+   * A legacy content left under the name of a chunked file is removed too. It is removed before the chunks, so a retried
+   * removal still finds the file.
    */
   @Override
   @Retryable
   public void deleteContent(String fileName) throws FileNotExistsException {
-    ResultSet rs = executeQueryWithLogger(deleteStatement.bind(fileName));
+    if (findChunkedFile(fileName) != null) {
+      executeQueryWithLogger(deleteLegacyStatement.bind(fileName));
+      executeQueryWithLogger(deleteChunksStatement.bind(fileName));
+      return;
+    }
+    ResultSet rs = executeQueryWithLogger(deleteLegacyStatement.bind(fileName));
     if (!rs.wasApplied()) {
       throw new FileNotExistsException(String.format(MSG_FILE_NOT_EXISTS, fileName));
     }
@@ -80,58 +144,166 @@ public class CassandraContentDAO implements ContentDAO {
 
   /**
    * @inheritDoc
+   * <p>
+   * The whole method is not retried, as the content written to the result stream could not be taken back. Instead, every chunk
+   * is fetched with its own retries, before any of its bytes is written, so the written chunks are never repeated.
    */
   @Override
-  @Retryable
   public void getContent(String fileName, long start, long end, OutputStream result)
       throws IOException, FileNotExistsException {
 
-    ResultSet rs = executeQueryWithLogger(selectStatement.bind(fileName));
-
-    Row row = rs.one();
-    if (row == null) {
-      throw new FileNotExistsException(String.format(MSG_FILE_NOT_EXISTS, fileName));
+    Row chunkedFile = executeWithRetries(selectChunkedFileStatement.bind(fileName)).one();
+    if (!isComplete(chunkedFile)) {
+      getLegacyContent(fileName, start, end, result);
+      return;
     }
-    ByteArrayOutputStream os = new ByteArrayOutputStream();
-    try {
-      ByteBuffer wrappedBytes = row.getBytes("data");
-      streamCompressor.decompress(unwrap(wrappedBytes), os);
-      copySelectBytes(os, start, end, result);
-    } finally {
-      IOUtils.closeQuietly(os);
+
+    long contentLength = chunkedFile.getLong("content_length");
+    int fileChunkSize = chunkedFile.getInt("chunk_size");
+    long from = start > -1 ? start : 0;
+    long to = end > -1 ? Math.min(end, contentLength - 1) : contentLength - 1;
+    if (from > to) {
+      return;
     }
 
+    int firstChunk = Ints.checkedCast(from / fileChunkSize);
+    int lastChunk = Ints.checkedCast(to / fileChunkSize);
+    //Only one chunk is kept in memory at a time, the next one is fetched after the previous one is written to the result
+    for (int chunkIndex = firstChunk; chunkIndex <= lastChunk; chunkIndex++) {
+      Row row = executeWithRetries(selectChunksStatement.bind(fileName, chunkIndex, chunkIndex)).one();
+      if (row == null) {
+        throw new IOException(String.format(MSG_MISSING_CHUNK, chunkIndex, fileName));
+      }
+      long chunkStart = (long) chunkIndex * fileChunkSize;
+      long offset = Math.max(0, from - chunkStart);
+      long length = Math.min(fileChunkSize, to - chunkStart + 1) - offset;
+      streamCompressor.decompress(unwrap(row.getBytes("data")), offset, length, result);
+    }
   }
 
   /**
    * @inheritDoc
+   * <p>
+   * Chunks are upserted one by one, each write retried on its own, and the content length is written last, as the marker of
+   * the complete file. The whole method is not retried, as the given stream could not be read again. If the upload fails, the
+   * chunks written so far are removed, so a later put of the same file starts from scratch. The legacy content of the replaced
+   * file is removed after the new one is complete.
    */
   @Override
-  @Retryable
   public PutResult putContent(String fileName, InputStream data) throws IOException {
     CountingInputStream countingInputStream = new CountingInputStream(data);
     DigestInputStream md5DigestInputStream = prepareMd5DigestStream(countingInputStream);
-    ByteBuffer wrappedBytes = ByteBuffer.wrap(streamCompressor.compress(md5DigestInputStream));
-    executeQueryWithLogger(insertStatement.bind(fileName, wrappedBytes));
+    byte[] buffer = new byte[chunkSize];
+
+    //Chunks of the overwritten file or of a crashed upload must not be mixed with the new ones
+    executeWithRetries(deleteChunksStatement.bind(fileName));
+    try {
+      int read = IOUtils.read(md5DigestInputStream, buffer);
+      insertChunk(fileName, 0, chunkSize, compress(buffer, read));
+      int chunkIndex = 1;
+      while (read == chunkSize) {
+        read = IOUtils.read(md5DigestInputStream, buffer);
+        if (read > 0) {
+          insertChunk(fileName, chunkIndex, chunkSize, compress(buffer, read));
+        }
+        chunkIndex++;
+      }
+      //The content length marks the file as complete, so readers never see partially written files
+      executeWithRetries(updateContentLengthStatement.bind(countingInputStream.getCount(), fileName));
+    } catch (IOException | RuntimeException e) {
+      removeChunksQuietly(fileName);
+      throw e;
+    }
+    removeLegacyContent(fileName);
+
     String md5 = BaseEncoding.base16().lowerCase().encode(md5DigestInputStream.getMessageDigest().digest());
-    Long contentLength = countingInputStream.getCount();
-    return new PutResult(md5, contentLength);
+    return new PutResult(md5, countingInputStream.getCount());
   }
 
   @PostConstruct
   private void prepareStatements() {
     Session s = connectionProvider.getSession();
-    insertStatement = s.prepare("INSERT INTO files_content (fileName, data) VALUES (?,?) IF NOT EXISTS");
+    insertFirstChunkStatement = s.prepare(
+        "INSERT INTO files_content_chunks (fileName, chunk_index, chunk_size, data) VALUES (?,0,?,?);");
+
+    insertChunkStatement = s.prepare("INSERT INTO files_content_chunks (fileName, chunk_index, data) VALUES (?,?,?);");
+
+    updateContentLengthStatement = s.prepare("UPDATE files_content_chunks SET content_length = ? WHERE fileName = ?;");
+
+    selectChunkedFileStatement = s.prepare(
+        "SELECT chunk_size, content_length FROM files_content_chunks WHERE fileName = ? LIMIT 1;");
+
+    selectChunksStatement = s.prepare(
+        "SELECT chunk_index, data FROM files_content_chunks WHERE fileName = ? AND chunk_index >= ? AND chunk_index <= ?;");
+
+    deleteChunksStatement = s.prepare("DELETE FROM files_content_chunks WHERE fileName = ?;");
+
+    insertLegacyStatement = s.prepare("INSERT INTO files_content (fileName, data) VALUES (?,?) IF NOT EXISTS;");
+
+    selectLegacyStatement = s.prepare("SELECT data FROM files_content WHERE fileName = ?;");
+
+    selectLegacyFileNameStatement = s.prepare("SELECT fileName FROM files_content WHERE fileName = ?;");
+
+    deleteLegacyStatement = s.prepare("DELETE FROM files_content WHERE fileName = ? IF EXISTS;");
+  }
+
+  private Row findChunkedFile(String fileName) {
+    return executeQueryWithLogger(selectChunkedFileStatement.bind(fileName)).one();
+  }
+
+  private boolean isComplete(Row chunkedFile) {
+    return chunkedFile != null && !chunkedFile.isNull("content_length");
+  }
+
+  private void insertChunk(String fileName, int chunkIndex, int fileChunkSize, ByteBuffer data) {
+    if (chunkIndex == 0) {
+      executeWithRetries(insertFirstChunkStatement.bind(fileName, fileChunkSize, data));
+    } else {
+      executeWithRetries(insertChunkStatement.bind(fileName, chunkIndex, data));
+    }
+  }
+
+  private void removeChunksQuietly(String fileName) {
+    try {
+      executeQueryWithLogger(deleteChunksStatement.bind(fileName));
+    } catch (RuntimeException e) {
+      LOGGER.warn("Could not remove chunks of the not completed file {}", fileName, e);
+    }
+  }
+
+  private void removeLegacyContent(String fileName) {
+    //Checked first, so the lightweight transaction of the removal is executed only for the files stored before chunking
+    if (executeWithRetries(selectLegacyFileNameStatement.bind(fileName)).one() != null) {
+      executeWithRetries(deleteLegacyStatement.bind(fileName));
+    }
+  }
 
-    selectStatement = s.prepare("SELECT data FROM files_content WHERE fileName = ?;");
+  private void getLegacyContent(String fileName, long start, long end, OutputStream result)
+      throws IOException, FileNotExistsException {
+    Row row = executeWithRetries(selectLegacyStatement.bind(fileName)).one();
+    if (row == null) {
+      throw new FileNotExistsException(String.format(MSG_FILE_NOT_EXISTS, fileName));
+    }
+    long offset = start > -1 ? start : 0;
+    long length = end > -1 ? end - offset + 1 : -1;
+    streamCompressor.decompress(unwrap(row.getBytes("data")), offset, length, result);
+  }
 
-    deleteStatement = s.prepare("DELETE FROM files_content WHERE fileName = ? IF EXISTS;");
+  private void copyLegacyContent(String sourceObjectId, String trgObjectId)
+      throws FileNotExistsException, FileAlreadyExistsException {
+    Row row = executeQueryWithLogger(selectLegacyStatement.bind(sourceObjectId)).one();
+    if (row == null) {
+      throw new FileNotExistsException(String.format(MSG_FILE_NOT_EXISTS, sourceObjectId));
+    }
+    checkIfObjectNotExists(trgObjectId);
+    if (!executeQueryWithLogger(insertLegacyStatement.bind(trgObjectId, row.getBytes("data"))).wasApplied()) {
+      throw new FileAlreadyExistsException(String.format(MSG_FILE_ALREADY_EXISTS, trgObjectId));
+    }
   }
 
   private void checkIfObjectNotExists(String trgObjectId) throws FileAlreadyExistsException {
-    ResultSet rs = executeQueryWithLogger(selectStatement.bind(trgObjectId));
-    Row row = rs.one();
-    if (row != null) {
+    if (isComplete(findChunkedFile(trgObjectId))
+        || executeQueryWithLogger(selectLegacyStatement.bind(trgObjectId)).one() != null) {
       throw new FileAlreadyExistsException(String.format(MSG_FILE_ALREADY_EXISTS, trgObjectId));
     }
   }
@@ -142,26 +314,17 @@ public class CassandraContentDAO implements ContentDAO {
     return rs;
   }
 
-  private void copySelectBytes(ByteArrayOutputStream input, long start, long end, OutputStream result) throws IOException {
-    byte[] resultBytes;
-    if (start < 0 && end < 0) {
-      resultBytes = input.toByteArray();
-    } else {
-      resultBytes = getSelectedBytes(input.toByteArray(), start, end);
-    }
-    IOUtils.copy(new ByteArrayInputStream(resultBytes), result);
+  private ResultSet executeWithRetries(BoundStatement boundStatement) {
+    return RetryableMethodExecutor.execute(MSG_CANNOT_ACCESS_CHUNKS, Retryable.DEFAULT_MAX_ATTEMPTS,
+        Retryable.DEFAULT_DELAY_BETWEEN_ATTEMPTS, () -> executeQueryWithLogger(boundStatement));
   }
 
-  private byte[] unwrap(ByteBuffer wrappedBytes) {
-    return Bytes.getArray(wrappedBytes);
+  private ByteBuffer compress(byte[] buffer, int length) throws IOException {
+    return ByteBuffer.wrap(streamCompressor.compress(buffer, Math.max(length, 0)));
   }
 
-  private byte[] getSelectedBytes(byte[] bytes, long start, long end) {
-    byte[] outputBytes;
-    final int from = start > -1 ? Ints.checkedCast(start) : 0;
-    final int to = end > -1 ? (Ints.checkedCast(end) + 1) : bytes.length;
-    outputBytes = Arrays.copyOfRange(bytes, from, to);
-    return outputBytes;
+  private byte[] unwrap(ByteBuffer wrappedBytes) {
+    return Bytes.getArray(wrappedBytes);
   }
 
   private DigestInputStream prepareMd5DigestStream(InputStream is) {
@@ -3,10 +3,12 @@ package eu.europeana.cloud.service.mcs.persistent.cassandra;
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
 import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.Session;
 import com.datastax.driver.core.exceptions.NoHostAvailableException;
 import com.datastax.driver.core.exceptions.QueryExecutionException;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
@@ -26,6 +28,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Semaphore;
 
 /**
  * Repository for records, their representations and versions. Uses Cassandra as storage.
@@ -33,6 +36,8 @@ import java.util.UUID;
 @Retryable
 public class CassandraRecordDAO {
 
+  public static final int MAX_CONCURRENT_REPRESENTATION_QUERIES = 32;
+
   private static final String KEY_FILES = "files";
   private static final String KEY_REVISIONS = "revisions";
   private static final String MSG_PARAMETERS_CANNOT_BE_NULL = "Parameters cannot be null";
@@ -191,17 +196,39 @@ public class CassandraRecordDAO {
 
     QueryTracer.logConsistencyLevel(boundStatement, rs);
 
-    Row row = rs.one();
-    if (row == null) {
-      return null;
-    } else {
-      Representation rep = mapToRepresentation(row);
-      rep.setFiles(deserializeFiles(row.getMap(KEY_FILES, String.class,
-          String.class)));
-      rep.setRevisions(deserializeRevisions(row.getMap(KEY_REVISIONS, String.class,
-          String.class)));
-      return rep;
+    return mapToRepresentationWithFilesAndRevisions(rs.one());
+  }
+
+  /**
+   * Returns representation versions for the given dataset assignments. Queries are executed asynchronously, with at most
+   * {@link #MAX_CONCURRENT_REPRESENTATION_QUERIES} of them running at the same time.
+   *
+   * @param assignments assignments pointing to the representation versions
+   * @return representation versions in the order of the given assignments, null for not existing ones
+   */
+  public List<Representation> getRepresentations(List<DatasetAssignment> assignments)
+      throws NoHostAvailableException, QueryExecutionException {
+
+    Semaphore inFlightQueries = new Semaphore(MAX_CONCURRENT_REPRESENTATION_QUERIES);
+    List<BoundStatement> statements = new ArrayList<>(assignments.size());
+    List<ResultSetFuture> futures = new ArrayList<>(assignments.size());
+    for (DatasetAssignment assignment : assignments) {
+      BoundStatement boundStatement = getRepresentationVersionStatement.bind(
+          assignment.getCloudId(), assignment.getSchema(), UUID.fromString(assignment.getVersion()));
+      inFlightQueries.acquireUninterruptibly();
+      ResultSetFuture future = connectionProvider.getSession().executeAsync(boundStatement);
+      future.addListener(inFlightQueries::release, MoreExecutors.directExecutor());
+      statements.add(boundStatement);
+      futures.add(future);
     }
+
+    List<Representation> result = new ArrayList<>(assignments.size());
+    for (int i = 0; i < futures.size(); i++) {
+      ResultSet rs = futures.get(i).getUninterruptibly();
+      QueryTracer.logConsistencyLevel(statements.get(i), rs);
+      result.add(mapToRepresentationWithFilesAndRevisions(rs.one()));
+    }
+    return result;
   }
 
   /**
@@ -697,6 +724,16 @@ public class CassandraRecordDAO {
     }
   }
 
+  private Representation mapToRepresentationWithFilesAndRevisions(Row row) {
+    if (row == null) {
+      return null;
+    }
+    Representation rep = mapToRepresentation(row);
+    rep.setFiles(deserializeFiles(row.getMap(KEY_FILES, String.class, String.class)));
+    rep.setRevisions(deserializeRevisions(row.getMap(KEY_REVISIONS, String.class, String.class)));
+    return rep;
+  }
+
   private Representation mapToRepresentation(Row row) {
     Representation representation = new Representation();
     representation.setDataProvider(row.getString("provider_id"));
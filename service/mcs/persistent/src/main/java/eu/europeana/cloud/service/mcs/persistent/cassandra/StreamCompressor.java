@@ -2,7 +2,6 @@ package eu.europeana.cloud.service.mcs.persistent.cassandra;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.zip.GZIPInputStream;
 import java.util.zip.GZIPOutputStream;
@@ -17,15 +16,30 @@ import org.apache.commons.io.output.ByteArrayOutputStream;
 public class StreamCompressor {
 
   void decompress(byte[] compressedBytes, OutputStream os) throws IOException {
+    decompress(compressedBytes, 0, -1, os);
+  }
+
+  /**
+   * Decompresses given bytes writing only the selected part of the uncompressed content to the output stream. Uncompressed
+   * content is streamed, so it is never materialized as a whole in memory.
+   *
+   * @param compressedBytes gzipped content
+   * @param offset number of uncompressed bytes to skip
+   * @param length number of uncompressed bytes to copy, negative value means copy till the end
+   * @param os stream the selected bytes will be written to
+   * @throws IOException in case of decompression or write problems
+   */
+  void decompress(byte[] compressedBytes, long offset, long length, OutputStream os) throws IOException {
     ByteArrayInputStream is = new ByteArrayInputStream(compressedBytes);
-    GZIPInputStream gis = new GZIPInputStream(is);
-    IOUtils.copy(gis, os);
+    try (GZIPInputStream gis = new GZIPInputStream(is)) {
+      IOUtils.copyLarge(gis, os, offset, length);
+    }
   }
 
-  byte[] compress(final InputStream is) throws IOException {
+  byte[] compress(byte[] bytes, int length) throws IOException {
     ByteArrayOutputStream os = new ByteArrayOutputStream();
     try (os; GZIPOutputStream gos = new GZIPOutputStream(os)) {
-      IOUtils.copy(is, gos);
+      gos.write(bytes, 0, length);
     }
     return os.toByteArray();
   }
@@ -3,6 +3,7 @@ package eu.europeana.cloud.service.mcs.persistent.s3;
 import com.google.common.hash.HashCode;
 import com.google.common.io.ByteSource;
 import com.google.common.io.ByteStreams;
+import com.google.common.io.CountingInputStream;
 import eu.europeana.cloud.common.utils.LogMessageCleaner;
 import eu.europeana.cloud.service.mcs.exception.FileAlreadyExistsException;
 import eu.europeana.cloud.service.mcs.exception.FileNotExistsException;
@@ -12,24 +13,35 @@ import java.io.OutputStream;
 import java.security.DigestInputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
-
-import org.apache.commons.codec.digest.DigestUtils;
+import java.util.ArrayList;
+import java.util.List;
 import org.apache.commons.io.IOUtils;
 import org.jclouds.blobstore.BlobStore;
 import org.jclouds.blobstore.ContainerNotFoundException;
+import org.jclouds.blobstore.KeyNotFoundException;
 import org.jclouds.blobstore.domain.Blob;
-import org.jclouds.blobstore.domain.BlobBuilder;
+import org.jclouds.blobstore.domain.MultipartPart;
+import org.jclouds.blobstore.domain.MultipartUpload;
+import org.jclouds.blobstore.options.CopyOptions;
 import org.jclouds.blobstore.options.GetOptions;
+import org.jclouds.blobstore.options.PutOptions;
 import org.jclouds.io.Payload;
+import org.jclouds.io.Payloads;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
 /**
  * Provides DAO operations for S3.
+ * <p>
+ * Content is uploaded in a single pass, md5 and length are computed while the stream is read. Objects not bigger than the
+ * multipart part size are sent with one request, bigger ones are sent part by part using multipart upload, so at most one part
+ * is kept in memory.
  */
 public class S3ContentDAO implements ContentDAO {
 
+  public static final int DEFAULT_MULTIPART_PART_SIZE = 8 * 1024 * 1024;
+
   private static final String MSG_FILE_NOT_EXISTS = "File %s not exists";
   private static final String MSG_TARGET_FILE_ALREADY_EXISTS = "Target file %s already exists";
   private static final String MSG_CANNOT_GET_INSTANCE_OF_MD_5 = "Cannot get instance of MD5 but such algorithm should be provided";
@@ -41,26 +53,42 @@ public class S3ContentDAO implements ContentDAO {
   private static final Logger S3_MODIFICATIONS_LOGGER = LoggerFactory.getLogger("S3Modifications");
 
   private final S3ConnectionProvider connectionProvider;
+  private final int multipartPartSize;
 
   public S3ContentDAO(S3ConnectionProvider connectionProvider) {
+    this(connectionProvider, DEFAULT_MULTIPART_PART_SIZE);
+  }
+
+  /**
+   * Constructor for the class
+   *
+   * @param connectionProvider connection provider for S3
+   * @param multipartPartSize size (in bytes) of one part of the multipart upload, objects not bigger than it are sent with one
+   * request. It is raised to the minimum part size of the blob store if needed.
+   */
+  public S3ContentDAO(S3ConnectionProvider connectionProvider, int multipartPartSize) {
     this.connectionProvider = connectionProvider;
+    this.multipartPartSize = multipartPartSize;
   }
 
   @Override
   public PutResult putContent(String fileName, InputStream data) throws IOException, ContainerNotFoundException {
     logOperation(fileName, "PUT");
     BlobStore blobStore = connectionProvider.getBlobStore();
-    String container = connectionProvider.getContainer();
-    BlobBuilder builder = blobStore.blobBuilder(fileName);
-    builder = builder.name(fileName);
-    ByteSource byteSource = ByteSource.wrap(IOUtils.toByteArray(data));
-    String md5 = DigestUtils.md5Hex(IOUtils.toByteArray(byteSource.openStream()));
-    builder = builder.payload(byteSource)
-                     .contentLength(byteSource.size())
-                     .contentMD5(HashCode.fromString(md5));
-    Blob blob = builder.build();
-    blobStore.putBlob(container, blob);
-    return new PutResult(md5, byteSource.size());
+    CountingInputStream countingInputStream = new CountingInputStream(data);
+    DigestInputStream md5DigestInputStream = md5InputStream(countingInputStream);
+    int partSize = (int) Math.max(multipartPartSize, blobStore.getMinimumMultipartPartSize());
+
+    byte[] firstPart = readPart(md5DigestInputStream, partSize);
+    HashCode md5;
+    if (firstPart.length < partSize) {
+      md5 = HashCode.fromBytes(md5DigestInputStream.getMessageDigest().digest());
+      putSinglePart(blobStore, fileName, firstPart, md5);
+    } else {
+      putMultipart(blobStore, fileName, firstPart, md5DigestInputStream, partSize);
+      md5 = HashCode.fromBytes(md5DigestInputStream.getMessageDigest().digest());
+    }
+    return new PutResult(md5.toString(), countingInputStream.getCount());
   }
 
   @Override
@@ -86,21 +114,26 @@ public class S3ContentDAO implements ContentDAO {
     }
   }
 
+  /**
+   * Copies the object using server side copy of the blob store, so the content is not transferred through this service.
+   */
   @Override
   public void copyContent(String sourceObjectId, String trgObjectId)
       throws FileNotExistsException, FileAlreadyExistsException {
     logOperation(trgObjectId, "COPY");
     BlobStore blobStore = connectionProvider.getBlobStore();
-    if (!blobStore.blobExists(connectionProvider.getContainer(), sourceObjectId)) {
-      throw new FileNotExistsException(String.format(MSG_FILE_NOT_EXISTS, sourceObjectId));
-    }
-    if (blobStore.blobExists(connectionProvider.getContainer(), trgObjectId)) {
+    String container = connectionProvider.getContainer();
+    if (blobStore.blobExists(container, trgObjectId)) {
+      if (!blobStore.blobExists(container, sourceObjectId)) {
+        throw new FileNotExistsException(String.format(MSG_FILE_NOT_EXISTS, sourceObjectId));
+      }
       throw new FileAlreadyExistsException(String.format(MSG_TARGET_FILE_ALREADY_EXISTS, trgObjectId));
     }
-    String container = connectionProvider.getContainer();
-    Blob blob = blobStore.getBlob(container, sourceObjectId);
-    Blob newBlob = blobStore.blobBuilder(trgObjectId).name(trgObjectId).payload(blob.getPayload()).build();
-    blobStore.putBlob(container, newBlob);
+    try {
+      blobStore.copyBlob(container, sourceObjectId, container, trgObjectId, CopyOptions.NONE);
+    } catch (KeyNotFoundException e) {
+      throw new FileNotExistsException(String.format(MSG_FILE_NOT_EXISTS, sourceObjectId));
+    }
   }
 
   @Override
@@ -130,6 +163,45 @@ public class S3ContentDAO implements ContentDAO {
     }
   }
 
+  private void putSinglePart(BlobStore blobStore, String fileName, byte[] content, HashCode md5) {
+    Blob blob = blobStore.blobBuilder(fileName)
+                         .name(fileName)
+                         .payload(content)
+                         .contentLength(content.length)
+                         .contentMD5(md5)
+                         .build();
+    blobStore.putBlob(connectionProvider.getContainer(), blob);
+  }
+
+  private void putMultipart(BlobStore blobStore, String fileName, byte[] firstPart, DigestInputStream data, int partSize)
+      throws IOException {
+    String container = connectionProvider.getContainer();
+    Blob blob = blobStore.blobBuilder(fileName).name(fileName).build();
+    MultipartUpload upload = blobStore.initiateMultipartUpload(container, blob.getMetadata(), PutOptions.NONE);
+    try {
+      List<MultipartPart> parts = new ArrayList<>();
+      byte[] part = firstPart;
+      while (part.length > 0) {
+        parts.add(blobStore.uploadMultipartPart(upload, parts.size() + 1, partPayload(part)));
+        part = part.length == partSize ? readPart(data, partSize) : new byte[0];
+      }
+      blobStore.completeMultipartUpload(upload, parts);
+    } catch (IOException | RuntimeException e) {
+      blobStore.abortMultipartUpload(upload);
+      throw e;
+    }
+  }
+
+  private Payload partPayload(byte[] part) {
+    Payload payload = Payloads.newByteSourcePayload(ByteSource.wrap(part));
+    payload.getContentMetadata().setContentLength((long) part.length);
+    return payload;
+  }
+
+  private byte[] readPart(InputStream data, int partSize) throws IOException {
+    return IOUtils.toByteArray(ByteStreams.limit(data, partSize));
+  }
+
   private DigestInputStream md5InputStream(InputStream is) {
     try {
       @SuppressWarnings("java:S4790") //The md5 is used here not for security, but as file checksum,
@@ -1,5 +1,7 @@
 package eu.europeana.cloud.service.mcs.persistent.uis;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import eu.europeana.cloud.client.uis.rest.CloudException;
 import eu.europeana.cloud.client.uis.rest.UISClient;
 import eu.europeana.cloud.common.exceptions.ProviderDoesNotExistException;
@@ -13,12 +15,21 @@ import eu.europeana.cloud.service.mcs.persistent.exception.SystemException;
 import eu.europeana.cloud.service.uis.exception.CloudIdDoesNotExistException;
 import eu.europeana.cloud.service.uis.exception.RecordDoesNotExistException;
 import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Communicates with Unique Identifier Service using UISClient. Used for checking if cloudIds and providers exists in UIS.
  */
 public class UISClientHandlerImpl implements UISClientHandler {
 
+  private static final long PROVIDERS_CACHE_SIZE = 1000;
+  private static final long PROVIDERS_EXPIRATION_SECONDS = 60;
+
+  private final Cache<String, DataProvider> providers = CacheBuilder.newBuilder()
+                                                                    .maximumSize(PROVIDERS_CACHE_SIZE)
+                                                                    .expireAfterWrite(PROVIDERS_EXPIRATION_SECONDS,
+                                                                        TimeUnit.SECONDS)
+                                                                    .build();
   private UISClient uisClient;
 
   public UISClientHandlerImpl(UISClient uisClient) {
@@ -84,25 +95,21 @@ public class UISClientHandlerImpl implements UISClientHandler {
    */
   @Override
   public boolean existsProvider(String providerId) {
-    DataProvider result;
-    try {
-      result = uisClient.getDataProvider(providerId);
-    } catch (CloudException e) {
-      if (e.getCause() instanceof ProviderDoesNotExistException) {
-        result = null;
-      } else {
-        throw new SystemException(e);
-      }
-    }
-    return result != null;
+    return getProvider(providerId) != null;
   }
 
   /**
    * @inheritDoc
+   * <p>
+   * Existing providers are cached for {@link #PROVIDERS_EXPIRATION_SECONDS}, because they are checked on every representation
+   * creation. Providers that do not exist are not cached, so the newly created provider is visible at once.
    */
   @Override
   public DataProvider getProvider(String providerId) {
-    DataProvider result;
+    DataProvider result = providers.getIfPresent(providerId);
+    if (result != null) {
+      return result;
+    }
     try {
       result = uisClient.getDataProvider(providerId);
     } catch (CloudException e) {
@@ -112,6 +119,9 @@ public class UISClientHandlerImpl implements UISClientHandler {
         throw new SystemException(e);
       }
     }
+    if (result != null) {
+      providers.put(providerId, result);
+    }
     return result;
   }
 }
@@ -39,6 +39,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -952,6 +953,49 @@ public class CassandraDataSetServiceTest extends CassandraTestBase {
     assertNull(page2.getNextSlice());
   }
 
+  @Test
+  public void shouldExportDataSetFromManyBucketsPageByPage()
+      throws Exception {
+    makeUISSuccess();
+    makeUISProviderSuccess();
+    makeDatasetExists();
+    createDatasetAssignmentBucket();
+    cassandraRecordService.createRepresentation(SAMPLE_CLOUD_ID, REPRESENTATION, SAMPLE_PROVIDER_NAME, SAMPLE_DATASET_ID);
+    cassandraRecordService.createRepresentation(SAMPLE_CLOUD_ID2, REPRESENTATION, SAMPLE_PROVIDER_NAME, SAMPLE_DATASET_ID);
+    createDatasetAssignmentBucket();
+    cassandraRecordService.createRepresentation(SAMPLE_CLOUD_ID3, REPRESENTATION, SAMPLE_PROVIDER_NAME, SAMPLE_DATASET_ID);
+
+    Iterator<Representation> iterator = cassandraDataSetService.exportDataSet(SAMPLE_PROVIDER_NAME, SAMPLE_DATASET_ID, 1);
+    List<String> exportedCloudIds = new ArrayList<>();
+    iterator.forEachRemaining(representation -> exportedCloudIds.add(representation.getCloudId()));
+
+    assertEquals(Arrays.asList(SAMPLE_CLOUD_ID, SAMPLE_CLOUD_ID2, SAMPLE_CLOUD_ID3), exportedCloudIds);
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void shouldSkipAssignmentsOfNotExistingRepresentationVersionsWhenExporting()
+      throws Exception {
+    makeUISSuccess();
+    makeUISProviderSuccess();
+    makeDatasetExists();
+    createDatasetAssignmentBucket();
+    cassandraRecordService.createRepresentation(SAMPLE_CLOUD_ID, REPRESENTATION, SAMPLE_PROVIDER_NAME, SAMPLE_DATASET_ID);
+    cassandraDataSetService.addAssignmentToMainTables(SAMPLE_PROVIDER_NAME, SAMPLE_DATASET_ID, SAMPLE_CLOUD_ID2,
+        REPRESENTATION, new com.eaio.uuid.UUID().toString());
+
+    Iterator<Representation> iterator = cassandraDataSetService.exportDataSet(SAMPLE_PROVIDER_NAME, SAMPLE_DATASET_ID, 10);
+    List<String> exportedCloudIds = new ArrayList<>();
+    iterator.forEachRemaining(representation -> exportedCloudIds.add(representation.getCloudId()));
+
+    assertEquals(List.of(SAMPLE_CLOUD_ID), exportedCloudIds);
+  }
+
+  @Test(expected = DataSetNotExistsException.class)
+  public void shouldThrowExceptionWhenExportingNotExistingDataSet() throws Exception {
+    cassandraDataSetService.exportDataSet(SAMPLE_PROVIDER_NAME, SAMPLE_DATASET_ID, 1);
+  }
+
   private DataSet createDataset() throws ProviderNotExistsException, DataSetAlreadyExistsException {
     return cassandraDataSetService.createDataSet(PROVIDER_ID, DATA_SET_NAME, "description of this set");
   }
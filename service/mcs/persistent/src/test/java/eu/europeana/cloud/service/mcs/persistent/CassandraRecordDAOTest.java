@@ -11,9 +11,12 @@ import eu.europeana.cloud.service.mcs.exception.ProviderNotExistsException;
 import eu.europeana.cloud.service.mcs.exception.RecordNotExistsException;
 import eu.europeana.cloud.service.mcs.exception.RevisionIsNotValidException;
 import eu.europeana.cloud.service.mcs.persistent.cassandra.CassandraRecordDAO;
+import eu.europeana.cloud.service.mcs.persistent.cassandra.DatasetAssignment;
 import eu.europeana.cloud.service.mcs.persistent.context.SpiedServicesTestContext;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 import org.hamcrest.MatcherAssert;
 import org.junit.Assert;
@@ -36,6 +39,27 @@ public class CassandraRecordDAOTest extends CassandraTestBase {
   @Autowired
   private CassandraRecordService cassandraRecordService;
 
+  @Test
+  public void shouldReturnRepresentationsForAssignmentsInGivenOrder() {
+    List<DatasetAssignment> assignments = new ArrayList<>();
+    for (int i = 0; i < CassandraRecordDAO.MAX_CONCURRENT_REPRESENTATION_QUERIES + 10; i++) {
+      UUID version = UUID.fromString(new com.eaio.uuid.UUID().toString());
+      recordDAO.createRepresentation("cloudId_" + i, "repName", "providerId", new Date(), version);
+      assignments.add(DatasetAssignment.builder().cloudId("cloudId_" + i).schema("repName").version(version.toString()).build());
+    }
+    assignments.add(DatasetAssignment.builder().cloudId("notExisting").schema("repName")
+                                     .version(new com.eaio.uuid.UUID().toString()).build());
+
+    List<Representation> reps = recordDAO.getRepresentations(assignments);
+
+    MatcherAssert.assertThat(reps.size(), is(assignments.size()));
+    for (int i = 0; i < assignments.size() - 1; i++) {
+      MatcherAssert.assertThat(reps.get(i).getCloudId(), is(assignments.get(i).getCloudId()));
+      MatcherAssert.assertThat(reps.get(i).getVersion(), is(assignments.get(i).getVersion()));
+    }
+    Assert.assertNull(reps.get(assignments.size() - 1));
+  }
+
   @Test
   public void shouldReturnOneRepresentationVersionForGivenRevisionNameAndRevisionProvider()
       throws ProviderNotExistsException, RecordNotExistsException, RevisionIsNotValidException {
@@ -1,10 +1,40 @@
 package eu.europeana.cloud.service.mcs.persistent.cassandra;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+
+import com.datastax.driver.core.BoundStatement;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.WriteType;
+import com.datastax.driver.core.exceptions.ReadTimeoutException;
+import com.datastax.driver.core.exceptions.WriteTimeoutException;
+import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
+import eu.europeana.cloud.service.mcs.exception.FileNotExistsException;
+
 import eu.europeana.cloud.service.mcs.persistent.CassandraTestBase;
 import eu.europeana.cloud.service.mcs.persistent.context.CassandraContentDAOTestContext;
 import eu.europeana.cloud.service.mcs.persistent.s3.ContentDAOTest;
+import eu.europeana.cloud.service.mcs.persistent.s3.PutResult;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.junit.After;
+import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
@@ -15,11 +45,246 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 @ContextConfiguration(classes = {CassandraContentDAOTestContext.class})
 public class CassandraContentDAOTest extends ContentDAOTest {
 
+  private static final int CHUNK_SIZE = CassandraContentDAO.DEFAULT_CHUNK_SIZE;
+  private static final String INSERT_CHUNK_QUERY = "INSERT INTO files_content_chunks (fileName, chunk_index, data)";
+  private static final String SELECT_CHUNKS_QUERY = "SELECT chunk_index, data FROM files_content_chunks";
+  private static final String INSERT_LEGACY_QUERY = "INSERT INTO files_content (fileName, data) VALUES (?,?);";
+  private static final String SELECT_LEGACY_QUERY = "SELECT fileName FROM files_content WHERE fileName = ?;";
+
+  @Autowired
+  private CassandraConnectionProvider connectionProvider;
+
   CassandraTestBase testBase = new CassandraTestBase() {
   };
 
   @After
   public void tearDown() {
+    reset(connectionProvider);
     testBase.truncateAll();
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldPutAndGetContentSpanningManyChunks() throws Exception {
+    byte[] content = prepareContent(2 * CHUNK_SIZE + 100);
+
+    PutResult result = instance.putContent("multiChunkFile", new ByteArrayInputStream(content));
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    instance.getContent("multiChunkFile", -1, -1, os);
+
+    assertArrayEquals(content, os.toByteArray());
+    assertEquals(content.length, result.getContentLength().longValue());
+    assertEquals(DigestUtils.md5Hex(content), result.getMd5());
+  }
+
+  @Test
+  public void shouldPutAndGetContentOfExactChunkSize() throws Exception {
+    byte[] content = prepareContent(CHUNK_SIZE);
+
+    instance.putContent("exactChunkFile", new ByteArrayInputStream(content));
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    instance.getContent("exactChunkFile", -1, -1, os);
+
+    assertArrayEquals(content, os.toByteArray());
+  }
+
+  @Test
+  public void shouldRetrieveRangeOfBytesSpanningChunkBorders() throws Exception {
+    byte[] content = prepareContent(3 * CHUNK_SIZE + 10);
+    instance.putContent("rangeMultiChunkFile", new ByteArrayInputStream(content));
+
+    assertRange(content, CHUNK_SIZE - 5, CHUNK_SIZE + 5);
+    assertRange(content, CHUNK_SIZE, 2 * CHUNK_SIZE - 1);
+    assertRange(content, 10, 3 * CHUNK_SIZE);
+    assertRange(content, 3 * CHUNK_SIZE + 1, 3 * CHUNK_SIZE + 9);
+  }
+
+  @Test
+  public void shouldCopyContentSpanningManyChunks() throws Exception {
+    byte[] content = prepareContent(2 * CHUNK_SIZE + 100);
+    instance.putContent("multiChunkSource", new ByteArrayInputStream(content));
+
+    instance.copyContent("multiChunkSource", "multiChunkTarget");
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    instance.getContent("multiChunkTarget", -1, -1, os);
+
+    assertArrayEquals(content, os.toByteArray());
+  }
+
+  @Test
+  public void shouldPutAndGetEmptyContent() throws Exception {
+    PutResult result = instance.putContent("emptyFile", new ByteArrayInputStream(new byte[0]));
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    instance.getContent("emptyFile", -1, -1, os);
+
+    assertEquals(0, os.size());
+    assertEquals(0L, result.getContentLength().longValue());
+  }
+
+  @Test
+  public void shouldRetryFailedChunkWriteAndStoreCorrectContent() throws Exception {
+    byte[] content = prepareContent(3 * CHUNK_SIZE + 100);
+    doReturn(sessionFailingOnChunkWrite(2, 1)).when(connectionProvider).getSession();
+
+    PutResult result = instance.putContent("retriedChunkFile", new ByteArrayInputStream(content));
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    instance.getContent("retriedChunkFile", -1, -1, os);
+
+    assertArrayEquals(content, os.toByteArray());
+    assertEquals(content.length, result.getContentLength().longValue());
+    assertEquals(DigestUtils.md5Hex(content), result.getMd5());
+  }
+
+  @Test
+  public void shouldRemoveChunksOfFailedPutAndStoreCorrectContentOnNextAttempt() throws Exception {
+    byte[] content = prepareContent(3 * CHUNK_SIZE + 100);
+    doReturn(sessionFailingOnChunkWrite(2, Integer.MAX_VALUE)).when(connectionProvider).getSession();
+    try {
+      instance.putContent("failedFile", new ByteArrayInputStream(content));
+      fail("Put should fail, as the chunk write fails on every attempt");
+    } catch (WriteTimeoutException e) {
+      //expected
+    }
+    reset(connectionProvider);
+    assertFileNotExists("failedFile");
+
+    PutResult result = instance.putContent("failedFile", new ByteArrayInputStream(content));
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    instance.getContent("failedFile", -1, -1, os);
+
+    assertArrayEquals(content, os.toByteArray());
+    assertEquals(content.length, result.getContentLength().longValue());
+    assertEquals(DigestUtils.md5Hex(content), result.getMd5());
+  }
+
+  @Test
+  public void shouldOverwriteLongerContentWithShorterOne() throws Exception {
+    byte[] longContent = prepareContent(3 * CHUNK_SIZE + 100);
+    byte[] shortContent = new byte[CHUNK_SIZE + 10];
+    Arrays.fill(shortContent, (byte) 7);
+    instance.putContent("overwrittenFile", new ByteArrayInputStream(longContent));
+
+    instance.putContent("overwrittenFile", new ByteArrayInputStream(shortContent));
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    instance.getContent("overwrittenFile", -1, -1, os);
+
+    assertArrayEquals(shortContent, os.toByteArray());
+  }
+
+  @Test
+  public void shouldRetryFailedChunkReadWithoutDuplicatingWrittenContent() throws Exception {
+    byte[] content = prepareContent(3 * CHUNK_SIZE + 100);
+    instance.putContent("retriedReadFile", new ByteArrayInputStream(content));
+    doReturn(sessionFailingOnChunkRead(2, 1)).when(connectionProvider).getSession();
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    instance.getContent("retriedReadFile", -1, -1, os);
+
+    assertArrayEquals(content, os.toByteArray());
+  }
+
+  @Test
+  public void shouldNotRepeatWrittenContentWhenChunkReadFailsOnEveryAttempt() throws Exception {
+    byte[] content = prepareContent(3 * CHUNK_SIZE + 100);
+    instance.putContent("failedReadFile", new ByteArrayInputStream(content));
+    doReturn(sessionFailingOnChunkRead(2, Integer.MAX_VALUE)).when(connectionProvider).getSession();
+
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    try {
+      instance.getContent("failedReadFile", -1, -1, os);
+      fail("Get should fail, as the chunk read fails on every attempt");
+    } catch (ReadTimeoutException e) {
+      //expected
+    }
+
+    assertArrayEquals(Arrays.copyOf(content, 2 * CHUNK_SIZE), os.toByteArray());
+  }
+
+  @Test
+  public void shouldRemoveLegacyContentWhenOverwritingLegacyFile() throws Exception {
+    byte[] content = prepareContent(CHUNK_SIZE + 10);
+    insertLegacyContent("legacyFile");
+
+    instance.putContent("legacyFile", new ByteArrayInputStream(content));
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    instance.getContent("legacyFile", -1, -1, os);
+
+    assertArrayEquals(content, os.toByteArray());
+    assertLegacyContentNotExists("legacyFile");
+  }
+
+  @Test
+  public void shouldRemoveLegacyContentLeftUnderChunkedFile() throws Exception {
+    instance.putContent("leftLegacyFile", new ByteArrayInputStream(prepareContent(CHUNK_SIZE + 10)));
+    insertLegacyContent("leftLegacyFile");
+
+    instance.deleteContent("leftLegacyFile");
+
+    assertLegacyContentNotExists("leftLegacyFile");
+    assertFileNotExists("leftLegacyFile");
+  }
+
+  private Session sessionFailingOnChunkWrite(int chunkIndex, int failures) {
+    return sessionFailingOnChunk(INSERT_CHUNK_QUERY, chunkIndex, failures,
+        new WriteTimeoutException(ConsistencyLevel.QUORUM, WriteType.SIMPLE, 0, 1));
+  }
+
+  private Session sessionFailingOnChunkRead(int chunkIndex, int failures) {
+    return sessionFailingOnChunk(SELECT_CHUNKS_QUERY, chunkIndex, failures,
+        new ReadTimeoutException(ConsistencyLevel.QUORUM, 0, 1, false));
+  }
+
+  private Session sessionFailingOnChunk(String query, int chunkIndex, int failures, RuntimeException failure) {
+    Session session = connectionProvider.getSession();
+    Session failingSession = mock(Session.class, delegatesTo(session));
+    AtomicInteger failuresLeft = new AtomicInteger(failures);
+    doAnswer(invocation -> {
+      Statement statement = invocation.getArgument(0);
+      if (isQueryOfChunk(statement, query, chunkIndex) && failuresLeft.getAndDecrement() > 0) {
+        throw failure;
+      }
+      return session.execute(statement);
+    }).when(failingSession).execute(any(Statement.class));
+    return failingSession;
+  }
+
+  private boolean isQueryOfChunk(Statement statement, String query, int chunkIndex) {
+    if (!(statement instanceof BoundStatement)) {
+      return false;
+    }
+    BoundStatement boundStatement = (BoundStatement) statement;
+    return boundStatement.preparedStatement().getQueryString().startsWith(query)
+        && boundStatement.getInt("chunk_index") == chunkIndex;
+  }
+
+  private void insertLegacyContent(String fileName) {
+    connectionProvider.getSession().execute(INSERT_LEGACY_QUERY, fileName, ByteBuffer.wrap(new byte[]{1, 2, 3}));
+  }
+
+  private void assertLegacyContentNotExists(String fileName) {
+    assertNull(connectionProvider.getSession().execute(SELECT_LEGACY_QUERY, fileName).one());
+  }
+
+  private void assertFileNotExists(String fileName) throws Exception {
+    try {
+      instance.getContent(fileName, -1, -1, new ByteArrayOutputStream());
+      fail("File " + fileName + " should not exist");
+    } catch (FileNotExistsException e) {
+      //expected
+    }
+  }
+
+  private void assertRange(byte[] content, int from, int to) throws Exception {
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    instance.getContent("rangeMultiChunkFile", from, to, os);
+    assertArrayEquals(String.format("Ranges not equal %d-%d", from, to),
+        Arrays.copyOfRange(content, from, to + 1), os.toByteArray());
+  }
+
+  private byte[] prepareContent(int length) {
+    byte[] content = new byte[length];
+    for (int i = 0; i < length; i++) {
+      content[i] = (byte) (i % 251);
+    }
+    return content;
+  }
+}
@@ -3,7 +3,7 @@ package eu.europeana.cloud.service.mcs.persistent.cassandra;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertThat;
 
-import java.io.ByteArrayInputStream;
+import java.util.Arrays;
 import org.apache.commons.io.output.ByteArrayOutputStream;
 import org.junit.Test;
 
@@ -18,15 +18,42 @@ public class StreamCompressorTest {
   public void shouldCompressAndDecompressContent() throws Exception {
     //given
     byte[] bytes = "Test content".getBytes();
-    ByteArrayInputStream is = new ByteArrayInputStream(bytes);
     ByteArrayOutputStream os = new ByteArrayOutputStream();
 
     //when
-    byte[] compressedBytes = instance.compress(is);
+    byte[] compressedBytes = instance.compress(bytes, bytes.length);
     instance.decompress(compressedBytes, os);
 
     //then
     assertThat(os.toByteArray(), is(bytes));
   }
 
-}
\ No newline at end of file
+  @Test
+  public void shouldCompressOnlyGivenLengthOfBuffer() throws Exception {
+    //given
+    byte[] bytes = "Test content".getBytes();
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+    //when
+    byte[] compressedBytes = instance.compress(bytes, 4);
+    instance.decompress(compressedBytes, os);
+
+    //then
+    assertThat(os.toByteArray(), is(Arrays.copyOf(bytes, 4)));
+  }
+
+  @Test
+  public void shouldDecompressSelectedRangeOfContent() throws Exception {
+    //given
+    byte[] bytes = "Test content".getBytes();
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+    //when
+    byte[] compressedBytes = instance.compress(bytes, bytes.length);
+    instance.decompress(compressedBytes, 5, 3, os);
+
+    //then
+    assertThat(os.toByteArray(), is("con".getBytes()));
+  }
+
+}
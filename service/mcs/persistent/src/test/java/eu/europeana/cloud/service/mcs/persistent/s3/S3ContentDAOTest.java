@@ -1,7 +1,16 @@
 package eu.europeana.cloud.service.mcs.persistent.s3;
 
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
 import eu.europeana.cloud.service.mcs.persistent.context.S3TestContext;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 
@@ -12,4 +21,20 @@ import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
 @ContextConfiguration(classes = {S3TestContext.class})
 public class S3ContentDAOTest extends ContentDAOTest {
 
+  @Autowired
+  private S3ConnectionProvider connectionProvider;
+
+  @Test
+  public void shouldPutAndGetContentUploadedInManyParts() throws Exception {
+    S3ContentDAO multipartInstance = new S3ContentDAO(connectionProvider, 5);
+    byte[] content = "This is a test content uploaded in many parts".getBytes(StandardCharsets.UTF_8);
+
+    PutResult result = multipartInstance.putContent("multipartFile", new ByteArrayInputStream(content));
+    ByteArrayOutputStream os = new ByteArrayOutputStream();
+    multipartInstance.getContent("multipartFile", -1, -1, os);
+
+    assertArrayEquals(content, os.toByteArray());
+    assertEquals(content.length, result.getContentLength().longValue());
+    assertEquals(DigestUtils.md5Hex(content), result.getMd5());
+  }
 }
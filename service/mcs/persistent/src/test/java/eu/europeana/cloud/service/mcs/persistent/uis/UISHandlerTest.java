@@ -1,12 +1,16 @@
 package eu.europeana.cloud.service.mcs.persistent.uis;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import eu.europeana.cloud.client.uis.rest.CloudException;
 import eu.europeana.cloud.client.uis.rest.UISClient;
 import eu.europeana.cloud.common.exceptions.GenericException;
+import eu.europeana.cloud.common.exceptions.ProviderDoesNotExistException;
 import eu.europeana.cloud.common.model.CloudId;
+import eu.europeana.cloud.common.model.DataProvider;
 import eu.europeana.cloud.common.model.IdentifierErrorInfo;
 import eu.europeana.cloud.common.response.ErrorInfo;
 import eu.europeana.cloud.common.response.ResultSlice;
@@ -107,4 +111,30 @@ public class UISHandlerTest {
     assertTrue(handler.existsCloudId(cloudId));
   }
 
+  @Test
+  public void shouldAskUISForExistingProviderOnlyOnce()
+      throws Exception {
+    String providerId = "cachedProvider";
+    DataProvider provider = new DataProvider();
+    provider.setId(providerId);
+    Mockito.when(uisClient.getDataProvider(providerId)).thenReturn(provider);
+
+    assertTrue(handler.existsProvider(providerId));
+    assertSame(provider, handler.getProvider(providerId));
+
+    Mockito.verify(uisClient, Mockito.times(1)).getDataProvider(providerId);
+  }
+
+  @Test
+  public void shouldAskUISForNotExistingProviderEveryTime()
+      throws Exception {
+    String providerId = "notExistingProvider";
+    Mockito.when(uisClient.getDataProvider(providerId)).thenThrow(
+        new CloudException(providerId, new ProviderDoesNotExistException(new ErrorInfo("", ""))));
+
+    assertFalse(handler.existsProvider(providerId));
+    assertNull(handler.getProvider(providerId));
+
+    Mockito.verify(uisClient, Mockito.times(2)).getDataProvider(providerId);
+  }
 }
@@ -1,6 +1,7 @@
 package eu.europeana.cloud.service.mcs.config;
 
 import eu.europeana.aas.authorization.CassandraMutableAclService;
+import eu.europeana.aas.authorization.ExpiringAclCache;
 import eu.europeana.aas.authorization.ExtendedAclService;
 import eu.europeana.aas.authorization.repository.CassandraAclRepository;
 import eu.europeana.aas.permission.PermissionsGrantingManager;
@@ -11,6 +12,7 @@ import eu.europeana.cloud.service.mcs.DataSetService;
 import eu.europeana.cloud.service.mcs.utils.DataSetPermissionsVerifier;
 import eu.europeana.cloud.common.properties.CassandraProperties;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -22,6 +24,7 @@ import org.springframework.security.acls.domain.AclAuthorizationStrategyImpl;
 import org.springframework.security.acls.domain.ConsoleAuditLogger;
 import org.springframework.security.acls.domain.DefaultPermissionFactory;
 import org.springframework.security.acls.domain.DefaultPermissionGrantingStrategy;
+import org.springframework.security.acls.model.AclCache;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.web.authentication.SimpleUrlAuthenticationFailureHandler;
 
@@ -56,15 +59,20 @@ public class AuthorizationConfiguration {
   /* ========= PERMISSION STORAGE in CASSANDRA (Using Spring security ACL) ========= */
 
   @Bean
-  ExtendedAclService aclService(CassandraAclRepository aclRepository) {
+  ExtendedAclService aclService(CassandraAclRepository aclRepository, AclCache aclCache) {
     return new CassandraMutableAclService(
         aclRepository,
-        null,
+        aclCache,
         permissionGrantingStrategy(),
         authorizationStrategy(),
         permissionFactory());
   }
 
+  @Bean
+  AclCache aclCache(@Value("${aclCacheExpirationSeconds:30}") long expirationSeconds) {
+    return new ExpiringAclCache(ExpiringAclCache.DEFAULT_MAXIMUM_SIZE, expirationSeconds);
+  }
+
   @Bean
   CassandraAclRepository aclRepository(@Qualifier("aasCassandraProvider") CassandraConnectionProvider aasCassandraProvider) {
     return new CassandraAclRepository(aasCassandraProvider, false);
@@ -67,7 +67,8 @@ public class PersistenceConfiguration {
 
   @Bean
   BucketsHandler bucketsHandler() {
-    return new BucketsHandler(mcsCassandraProvider().getSession());
+    return new BucketsHandler(mcsCassandraProvider().getSession(),
+        BucketsHandler.DEFAULT_CURRENT_BUCKETS_CACHE_EXPIRATION_SECONDS);
   }
 
   @Bean
@@ -126,7 +127,7 @@ public class PersistenceConfiguration {
   }
 
   @Bean
-  ContentDAO s3ContentDAO(S3ConnectionProvider s3ConnectionProvider) {
-    return new S3ContentDAO(s3ConnectionProvider);
+  ContentDAO s3ContentDAO(S3ConnectionProvider s3ConnectionProvider, S3Properties s3Properties) {
+    return new S3ContentDAO(s3ConnectionProvider, s3Properties.getMultipartPartSize());
   }
 }
@@ -1,8 +1,12 @@
 package eu.europeana.cloud.service.mcs.controller;
 
+import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_EXPORT_COUNT_FIELD;
+import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_EXPORT_RESOURCE;
 import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_PERMISSIONS_RESOURCE;
 import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_RESOURCE;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import eu.europeana.aas.permission.PermissionsGrantingManager;
 import eu.europeana.cloud.common.model.DataSet;
 import eu.europeana.cloud.common.model.Representation;
@@ -15,10 +19,15 @@ import eu.europeana.cloud.service.mcs.exception.DataSetDeletionException;
 import eu.europeana.cloud.service.mcs.exception.DataSetNotExistsException;
 import eu.europeana.cloud.service.mcs.utils.EnrichUriUtil;
 import eu.europeana.cloud.service.mcs.utils.ParamUtil;
+import java.io.OutputStream;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -39,6 +48,8 @@ import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.AsyncRequestTimeoutException;
+import org.springframework.web.context.request.async.WebAsyncTask;
 
 /**
  * Resource to manage data sets.
@@ -65,16 +76,26 @@ public class DataSetResource {
 
   private final PermissionsGrantingManager permissionsGrantingManager;
 
+  private final ObjectWriter exportWriter;
+
+  private final ObjectWriter exportCountWriter;
+
   @Value("${numberOfElementsOnPage}")
   private int numberOfElementsOnPage;
 
+  @Value("${dataSetExportTimeoutInMillis:1800000}")
+  private long dataSetExportTimeoutInMillis;
+
   public DataSetResource(
       DataSetService dataSetService,
       MutableAclService mutableAclService,
-      PermissionsGrantingManager permissionsGrantingManager) {
+      PermissionsGrantingManager permissionsGrantingManager,
+      ObjectMapper objectMapper) {
     this.dataSetService = dataSetService;
     this.mutableAclService = mutableAclService;
     this.permissionsGrantingManager = permissionsGrantingManager;
+    this.exportWriter = objectMapper.writerFor(Representation.class);
+    this.exportCountWriter = objectMapper.writer();
   }
 
   /**
@@ -129,6 +150,62 @@ public class DataSetResource {
     return representations;
   }
 
+  /**
+   * Exports all representation versions from data set in one response, as newline delimited JSON (one representation per line).
+   * Data set buckets are walked on the server side and representations are written while they are read from the database, so
+   * the whole data set is never kept in memory and slow clients throttle the reading. Export of the big data set takes much
+   * longer than other requests, so it has its own timeout.
+   * <p>
+   * The last line holds only the number of exported representations, in the {@value
+   * eu.europeana.cloud.service.mcs.RestInterfaceConstants#DATA_SET_EXPORT_COUNT_FIELD} field. It is written only if the whole
+   * data set was exported, so the client could tell the complete export from the one broken by an error or by the timeout,
+   * which stops the writing of the representations.
+   *
+   * @param providerId identifier of the dataset's provider (required).
+   * @param dataSetId identifier of a data set (required).
+   * @return stream of all representation versions of data set.
+   * @throws DataSetNotExistsException no such data set exists.
+   * @summary export all representation versions from a data set
+   */
+  @GetMapping(value = DATA_SET_EXPORT_RESOURCE, produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public WebAsyncTask<Void> exportDataSetContents(
+      HttpServletRequest httpServletRequest,
+      HttpServletResponse httpServletResponse,
+      @PathVariable("providerId") String providerId,
+      @PathVariable("dataSetId") String dataSetId) throws DataSetNotExistsException {
+
+    Iterator<Representation> representations =
+        dataSetService.exportDataSet(providerId, dataSetId, numberOfElementsOnPage);
+
+    AtomicBoolean timedOut = new AtomicBoolean();
+    WebAsyncTask<Void> exportTask = new WebAsyncTask<>(dataSetExportTimeoutInMillis, () -> {
+      httpServletResponse.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+      OutputStream outputStream = httpServletResponse.getOutputStream();
+      long count = 0;
+      while (!timedOut.get() && representations.hasNext()) {
+        Representation rep = representations.next();
+        EnrichUriUtil.enrich(httpServletRequest, rep);
+        outputStream.write(exportWriter.writeValueAsBytes(rep));
+        outputStream.write('\n');
+        count++;
+      }
+      if (timedOut.get()) {
+        LOGGER.warn("Export of data set {} of provider {} stopped by the timeout after {} representations",
+            LogMessageCleaner.clean(dataSetId), LogMessageCleaner.clean(providerId), count);
+        return null;
+      }
+      outputStream.write(exportCountWriter.writeValueAsBytes(Map.of(DATA_SET_EXPORT_COUNT_FIELD, count)));
+      outputStream.write('\n');
+      outputStream.flush();
+      return null;
+    });
+    exportTask.onTimeout(() -> {
+      timedOut.set(true);
+      throw new AsyncRequestTimeoutException();
+    });
+    return exportTask;
+  }
+
   @RequestMapping(value = DATA_SET_RESOURCE, method = RequestMethod.HEAD)
   public void checkIfDatasetExists(@PathVariable String dataSetId, @PathVariable String providerId)
       throws DataSetNotExistsException {
@@ -6,11 +6,20 @@ package eu.europeana.cloud.service.mcs.controller;
 
 import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_REVISIONS_RESOURCE;
 
+import eu.europeana.cloud.common.model.Representation;
 import eu.europeana.cloud.common.response.CloudTagsResponse;
+import eu.europeana.cloud.common.response.RepresentationRevisionResponse;
 import eu.europeana.cloud.common.response.ResultSlice;
 import eu.europeana.cloud.service.mcs.DataSetService;
+import eu.europeana.cloud.service.mcs.RecordService;
 import eu.europeana.cloud.service.mcs.exception.DataSetNotExistsException;
 import eu.europeana.cloud.service.mcs.exception.ProviderNotExistsException;
+import eu.europeana.cloud.service.mcs.exception.RepresentationNotExistsException;
+import eu.europeana.cloud.service.mcs.utils.EnrichUriUtil;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
 import org.joda.time.DateTime;
 import org.joda.time.DateTimeZone;
 import org.springframework.beans.factory.annotation.Value;
@@ -33,11 +42,17 @@ public class DataSetRevisionsResource {
 
   private final DataSetService dataSetService;
 
+  private final RecordService recordService;
+
   @Value("${numberOfElementsOnPage}")
   private int numberOfElementsOnPage;
 
-  public DataSetRevisionsResource(DataSetService dataSetService) {
+  @Value("${maxRevisionRepresentationsPageSize:100}")
+  private int maxRevisionRepresentationsPageSize;
+
+  public DataSetRevisionsResource(DataSetService dataSetService, RecordService recordService) {
     this.dataSetService = dataSetService;
+    this.recordService = recordService;
   }
 
   /**
@@ -74,8 +89,7 @@ public class DataSetRevisionsResource {
           "Could not continue query with parameter existingOnly=true! It is not allowed together with 'startFrom' parameter.");
     }
 
-    // when limitParam is specified we can retrieve more results than configured number of elements per page
-    final int limitWithNextSlice = (limit > 0 && limit <= 10000) ? limit : numberOfElementsOnPage;
+    final int limitWithNextSlice = pageSize(limit);
 
     DateTime timestamp = new DateTime(revisionTimestamp, DateTimeZone.UTC);
 
@@ -90,6 +104,63 @@ public class DataSetRevisionsResource {
 
     return ResponseEntity.ok(result);
   }
-}
 
+  /**
+   * Lists representation versions having the given revision, of the records from one slice of the data set revision list. It
+   * returns in one call the same representations that would be returned for every record of the slice by
+   * {@link RepresentationRevisionsResource}. Records of the slice without any representation of the revision are skipped.
+   *
+   * @param providerId identifier of the dataset's provider.
+   * @param dataSetId identifier of a data set.
+   * @param representationName representation name.
+   * @param revisionName name of the revision
+   * @param revisionProviderId provider of revision
+   * @param revisionTimestamp timestamp used for identifying revision, must be in UTC format
+   * @param startFrom reference to next slice of result. If not provided, first slice of result will be returned.
+   * @param limit maximal number of records in the slice, it could not be greater than the configured
+   * maxRevisionRepresentationsPageSize, because every record of the slice is read separately
+   * @return slice of representation versions, with the reference to the next slice of the data set revision list.
+   * @throws DataSetNotExistsException no such data set exists.
+   * @throws RepresentationNotExistsException representation version of the revision was removed in the meantime.
+   * @summary get representation versions of the revision from a data set
+   */
+  @GetMapping(value = "/representations", produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
+  public ResponseEntity<ResultSlice<Representation>> getDataSetRevisionRepresentations(
+      HttpServletRequest httpServletRequest,
+      @PathVariable("providerId") String providerId,
+      @PathVariable("dataSetId") String dataSetId,
+      @PathVariable("representationName") String representationName,
+      @PathVariable("revisionName") String revisionName,
+      @PathVariable("revisionProviderId") String revisionProviderId,
+      @RequestParam("revisionTimestamp") String revisionTimestamp,
+      @RequestParam(value = "startFrom", required = false) String startFrom,
+      @RequestParam(value = "limit", defaultValue = "0") int limit)
+      throws DataSetNotExistsException, ProviderNotExistsException, RepresentationNotExistsException {
 
+    Date timestamp = new DateTime(revisionTimestamp, DateTimeZone.UTC).toDate();
+    ResultSlice<CloudTagsResponse> cloudIds = dataSetService.getDataSetsRevisions(providerId, dataSetId,
+        revisionProviderId, revisionName, timestamp, representationName, startFrom,
+        Math.min(pageSize(limit), maxRevisionRepresentationsPageSize));
+
+    List<Representation> representations = new ArrayList<>();
+    for (CloudTagsResponse cloudId : cloudIds.getResults()) {
+      List<RepresentationRevisionResponse> revisions = recordService.getRepresentationRevisions(cloudId.getCloudId(),
+          representationName, revisionProviderId, revisionName, timestamp);
+      if (revisions == null) {
+        continue;
+      }
+      for (RepresentationRevisionResponse revision : revisions) {
+        Representation representation = recordService.getRepresentation(revision.getCloudId(),
+            revision.getRepresentationName(), revision.getVersion());
+        EnrichUriUtil.enrich(httpServletRequest, representation);
+        representations.add(representation);
+      }
+    }
+    return ResponseEntity.ok(new ResultSlice<>(cloudIds.getNextSlice(), representations));
+  }
+
+  private int pageSize(int limit) {
+    // when limitParam is specified we can retrieve more results than configured number of elements per page
+    return (limit > 0 && limit <= 10000) ? limit : numberOfElementsOnPage;
+  }
+}
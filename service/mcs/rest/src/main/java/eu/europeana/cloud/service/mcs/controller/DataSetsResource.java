@@ -2,6 +2,7 @@ package eu.europeana.cloud.service.mcs.controller;
 
 import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SETS_RESOURCE;
 
+import eu.europeana.aas.authorization.ExtendedAclService;
 import eu.europeana.cloud.common.model.DataSet;
 import eu.europeana.cloud.common.response.ResultSlice;
 import eu.europeana.cloud.service.aas.authentication.SpringUserUtils;
@@ -10,6 +11,7 @@ import eu.europeana.cloud.service.mcs.exception.DataSetAlreadyExistsException;
 import eu.europeana.cloud.service.mcs.exception.ProviderNotExistsException;
 import eu.europeana.cloud.service.mcs.utils.EnrichUriUtil;
 import jakarta.servlet.http.HttpServletRequest;
+import java.util.List;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -17,8 +19,6 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.acls.domain.BasePermission;
 import org.springframework.security.acls.domain.ObjectIdentityImpl;
 import org.springframework.security.acls.domain.PrincipalSid;
-import org.springframework.security.acls.model.MutableAcl;
-import org.springframework.security.acls.model.MutableAclService;
 import org.springframework.security.acls.model.ObjectIdentity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -37,12 +37,12 @@ public class DataSetsResource {
   private static final String DATASET_CLASS_NAME = DataSet.class.getName();
 
   private final DataSetService dataSetService;
-  private final MutableAclService mutableAclService;
+  private final ExtendedAclService mutableAclService;
 
   @Value("${numberOfElementsOnPage}")
   private int numberOfElementsOnPage;
 
-  public DataSetsResource(DataSetService dataSetService, MutableAclService mutableAclService) {
+  public DataSetsResource(DataSetService dataSetService, ExtendedAclService mutableAclService) {
     this.dataSetService = dataSetService;
     this.mutableAclService = mutableAclService;
   }
@@ -91,14 +91,8 @@ public class DataSetsResource {
     if (creatorName != null) {
       ObjectIdentity dataSetIdentity = new ObjectIdentityImpl(DATASET_CLASS_NAME, dataSetId + "/" + providerId);
 
-      MutableAcl datasetAcl = mutableAclService.createAcl(dataSetIdentity);
-
-      datasetAcl.insertAce(0, BasePermission.READ, new PrincipalSid(creatorName), true);
-      datasetAcl.insertAce(1, BasePermission.WRITE, new PrincipalSid(creatorName), true);
-      datasetAcl.insertAce(2, BasePermission.DELETE, new PrincipalSid(creatorName), true);
-      datasetAcl.insertAce(3, BasePermission.ADMINISTRATION, new PrincipalSid(creatorName), true);
-
-      mutableAclService.updateAcl(datasetAcl);
+      mutableAclService.createAcl(dataSetIdentity, new PrincipalSid(creatorName),
+          List.of(BasePermission.READ, BasePermission.WRITE, BasePermission.DELETE, BasePermission.ADMINISTRATION));
     }
     return ResponseEntity.created(dataSet.getUri()).build();
   }
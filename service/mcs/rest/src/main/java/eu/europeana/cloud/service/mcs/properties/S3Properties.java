@@ -1,5 +1,6 @@
 package eu.europeana.cloud.service.mcs.properties;
 
+import eu.europeana.cloud.service.mcs.persistent.s3.S3ContentDAO;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -11,4 +12,5 @@ public class S3Properties {
   private String endpoint;
   private String user;
   private String password;
+  private int multipartPartSize = S3ContentDAO.DEFAULT_MULTIPART_PART_SIZE;
 }
@@ -1,15 +1,21 @@
 package eu.europeana.cloud.service.mcs.controller;
 
 import static eu.europeana.cloud.common.web.ParamConstants.F_DESCRIPTION;
+import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_EXPORT_COUNT_FIELD;
+import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_EXPORT_RESOURCE;
 import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_RESOURCE;
 import static eu.europeana.cloud.service.mcs.utils.MockMvcUtils.responseContentAsRepresentationResultSlice;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import eu.europeana.cloud.common.model.DataProvider;
 import eu.europeana.cloud.common.model.DataSet;
 import eu.europeana.cloud.common.model.File;
@@ -22,11 +28,13 @@ import java.io.ByteArrayInputStream;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
 import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
 
 /**
@@ -127,6 +135,40 @@ public class DataSetResourceTest extends CassandraBasedAbstractResourceTest {
     assertEquals(4, dataSetContents.size());
   }
 
+  @Test
+  public void shouldExportRepresentationsFromDatasetAsNewlineDelimitedJson()
+      throws Exception {
+    // given data set with assigned record representations
+    String dataSetId = "dataset";
+    dataSetService.createDataSet(dataProvider.getId(), dataSetId, "");
+    Representation r1 = insertDummyPersistentRepresentation("1", "dc", dataProvider.getId());
+    Representation r2 = insertDummyPersistentRepresentation("2", "dc", dataProvider.getId());
+    dataSetService.addAssignment(dataProvider.getId(), dataSetId, r1.getCloudId(), r1.getRepresentationName(),
+        r1.getVersion());
+    dataSetService.addAssignment(dataProvider.getId(), dataSetId, r2.getCloudId(), r2.getRepresentationName(),
+        r2.getVersion());
+
+    // when you export dataset contents
+    MvcResult asyncResult = mockMvc.perform(get(DATA_SET_EXPORT_RESOURCE, dataProvider.getId(), dataSetId))
+                                   .andExpect(request().asyncStarted())
+                                   .andReturn();
+    assertEquals(1800000, asyncResult.getRequest().getAsyncContext().getTimeout());
+    String content = mockMvc.perform(asyncDispatch(asyncResult))
+                            .andExpect(status().isOk())
+                            .andReturn().getResponse().getContentAsString();
+
+    // then you should get one representation per line, followed by the number of exported representations
+    ObjectMapper mapper = new ObjectMapper();
+    List<String> lines = content.lines().collect(Collectors.toList());
+    assertEquals(3, lines.size());
+    assertEquals(2, mapper.readTree(lines.get(2)).get(DATA_SET_EXPORT_COUNT_FIELD).asInt());
+    for (String line : lines.subList(0, 2)) {
+      Representation representation = mapper.readValue(line, Representation.class);
+      assertTrue(representation.getVersion().equals(r1.getVersion()) || representation.getVersion().equals(r2.getVersion()));
+      assertNotNull(representation.getUri());
+    }
+  }
+
   private Representation insertDummyPersistentRepresentation(String cloudId, String schema, String providerId)
       throws Exception {
     Representation r = recordService.createRepresentation(cloudId, schema, providerId, "dataset");
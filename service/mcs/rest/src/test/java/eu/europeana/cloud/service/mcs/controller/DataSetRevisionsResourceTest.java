@@ -4,7 +4,9 @@ package eu.europeana.cloud.service.mcs.controller;
 import static eu.europeana.cloud.common.web.ParamConstants.F_LIMIT;
 import static eu.europeana.cloud.common.web.ParamConstants.F_REVISION_TIMESTAMP;
 import static eu.europeana.cloud.common.web.ParamConstants.F_START_FROM;
+import static eu.europeana.cloud.service.mcs.RestInterfaceConstants.DATA_SET_REVISION_REPRESENTATIONS_RESOURCE;
 import static eu.europeana.cloud.service.mcs.utils.MockMvcUtils.responseContentAsCloudTagResultSlice;
+import static eu.europeana.cloud.service.mcs.utils.MockMvcUtils.responseContentAsRepresentationResultSlice;
 import static org.hamcrest.CoreMatchers.is;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -14,13 +16,17 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import eu.europeana.cloud.common.model.DataProvider;
+import eu.europeana.cloud.common.model.File;
+import eu.europeana.cloud.common.model.Representation;
 import eu.europeana.cloud.common.model.Revision;
 import eu.europeana.cloud.common.response.CloudTagsResponse;
 import eu.europeana.cloud.common.response.ResultSlice;
 import eu.europeana.cloud.service.mcs.DataSetService;
+import eu.europeana.cloud.service.mcs.RecordService;
 import eu.europeana.cloud.service.mcs.UISClientHandler;
 import eu.europeana.cloud.service.mcs.persistent.cassandra.CassandraDataSetDAO;
 import eu.europeana.cloud.test.CassandraTestRunner;
+import java.io.ByteArrayInputStream;
 import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.List;
@@ -43,6 +49,8 @@ public class DataSetRevisionsResourceTest extends CassandraBasedAbstractResource
 
   private DataSetService dataSetService;
 
+  private RecordService recordService;
+
   private String dataSetWebTarget;
 
   private UISClientHandler uisHandler;
@@ -55,6 +63,7 @@ public class DataSetRevisionsResourceTest extends CassandraBasedAbstractResource
   public void mockUp() {
     uisHandler = applicationContext.getBean(UISClientHandler.class);
     dataSetService = applicationContext.getBean(DataSetService.class);
+    recordService = applicationContext.getBean(RecordService.class);
     dataSetWebTarget = DataSetRevisionsResource.class.getAnnotation(RequestMapping.class).value()[0];
     dateFormat = new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
   }
@@ -243,4 +252,77 @@ public class DataSetRevisionsResourceTest extends CassandraBasedAbstractResource
     assertThat(cloudIds.get(0).getCloudId(), is(cloudId3));
     assertNull(slice.getNextSlice());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void shouldReturnRepresentationsOfRevisionInSlicesNotGreaterThanConfiguredMaximum() throws Exception {
+    // given
+    String datasetId = "dataset";
+    String providerId = "providerId";
+    String representationName = "representationName";
+    Revision revision = new Revision("revisionName", "revisionProviderId", new Date(), false);
+    mockUisForRepresentations(providerId);
+    dataSetService.createDataSet(providerId, datasetId, "");
+    for (String cloudId : List.of("cloudId", "cloudId2", "cloudId3")) {
+      insertRepresentationWithRevision(cloudId, representationName, providerId, datasetId, revision);
+    }
+
+    // when the slice bigger than maxRevisionRepresentationsPageSize=2 is requested
+    ResultActions response = mockMvc.perform(
+                                        get(DATA_SET_REVISION_REPRESENTATIONS_RESOURCE, providerId, datasetId,
+                                            representationName, revision.getRevisionName(), revision.getRevisionProviderId())
+                                            .queryParam(F_REVISION_TIMESTAMP, dateFormat.format(revision.getCreationTimeStamp()))
+                                            .queryParam(F_LIMIT, "10"))
+                                    .andExpect(status().isOk());
+
+    // then
+    ResultSlice<Representation> slice = responseContentAsRepresentationResultSlice(response);
+    assertThat(slice.getResults().size(), is(2));
+    assertNotNull(slice.getNextSlice());
+  }
+
+  @Test
+  public void shouldSkipRecordOfRevisionWithoutRepresentationOfRevision() throws Exception {
+    // given
+    String datasetId = "dataset";
+    String providerId = "providerId";
+    String representationName = "representationName";
+    Revision revision = new Revision("revisionName", "revisionProviderId", new Date(), false);
+    mockUisForRepresentations(providerId);
+    dataSetService.createDataSet(providerId, datasetId, "");
+    insertRepresentationWithRevision("cloudId", representationName, providerId, datasetId, revision);
+    dataSetService.addDataSetsRevision(providerId, datasetId, revision, representationName, "cloudId2", VERSION_ID);
+
+    // when
+    ResultActions response = mockMvc.perform(
+                                        get(DATA_SET_REVISION_REPRESENTATIONS_RESOURCE, providerId, datasetId,
+                                            representationName, revision.getRevisionName(), revision.getRevisionProviderId())
+                                            .queryParam(F_REVISION_TIMESTAMP, dateFormat.format(revision.getCreationTimeStamp()))
+                                            .queryParam(F_LIMIT, "10"))
+                                    .andExpect(status().isOk());
+
+    // then
+    ResultSlice<Representation> slice = responseContentAsRepresentationResultSlice(response);
+    assertThat(slice.getResults().size(), is(1));
+    assertThat(slice.getResults().get(0).getCloudId(), is("cloudId"));
+    assertNull(slice.getNextSlice());
+  }
+
+  private void mockUisForRepresentations(String providerId) {
+    Mockito.when(uisHandler.getProvider(providerId)).thenReturn(new DataProvider());
+    Mockito.when(uisHandler.existsProvider(providerId)).thenReturn(true);
+    Mockito.when(uisHandler.existsCloudId(Mockito.anyString())).thenReturn(true);
+  }
+
+  private void insertRepresentationWithRevision(String cloudId, String representationName, String providerId,
+      String datasetId, Revision revision) throws Exception {
+    Representation representation = recordService.createRepresentation(cloudId, representationName, providerId, datasetId);
+    File file = new File("content.xml", "application/xml", null, null, 0, null);
+    recordService.putContent(cloudId, representationName, representation.getVersion(), file,
+        new ByteArrayInputStream(new byte[]{1, 2, 3}));
+    recordService.persistRepresentation(cloudId, representationName, representation.getVersion());
+    recordService.insertRepresentationRevision(cloudId, representationName, revision.getRevisionProviderId(),
+        revision.getRevisionName(), representation.getVersion(), revision.getCreationTimeStamp());
+    dataSetService.addDataSetsRevision(providerId, datasetId, revision, representationName, cloudId,
+        representation.getVersion());
+  }
+}
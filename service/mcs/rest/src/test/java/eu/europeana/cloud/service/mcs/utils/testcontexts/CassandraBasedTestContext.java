@@ -3,6 +3,7 @@ package eu.europeana.cloud.service.mcs.utils.testcontexts;
 import static eu.europeana.cloud.test.CassandraTestRunner.JUNIT_AAS_KEYSPACE;
 import static eu.europeana.cloud.test.CassandraTestRunner.JUNIT_MCS_KEYSPACE;
 
+import eu.europeana.aas.authorization.ExtendedAclService;
 import eu.europeana.aas.permission.PermissionsGrantingManager;
 import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
 import eu.europeana.cloud.service.commons.utils.BucketsHandler;
@@ -28,7 +29,6 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.annotation.Order;
 import org.springframework.security.access.PermissionEvaluator;
-import org.springframework.security.acls.model.MutableAclService;
 
 @TestConfiguration
 public class CassandraBasedTestContext {
@@ -56,7 +56,7 @@ public class CassandraBasedTestContext {
   public UISClientHandler uisHandler;
 
   @MockBean
-  public MutableAclService mutableAclService;
+  public ExtendedAclService mutableAclService;
 
   @MockBean
   public PermissionsGrantingManager permissionsGrantingManager;
@@ -2,6 +2,7 @@ package eu.europeana.cloud.service.uis;
 
 import eu.europeana.cloud.common.exceptions.ProviderDoesNotExistException;
 import eu.europeana.cloud.common.model.CloudId;
+import eu.europeana.cloud.common.model.LocalId;
 import eu.europeana.cloud.service.uis.exception.CloudIdAlreadyExistException;
 import eu.europeana.cloud.service.uis.exception.CloudIdDoesNotExistException;
 import eu.europeana.cloud.service.uis.exception.DatabaseConnectionException;
@@ -48,6 +49,18 @@ public interface UniqueIdentifierService {
       throws DatabaseConnectionException, RecordExistsException, ProviderDoesNotExistException,
       RecordDatasetEmptyException, CloudIdDoesNotExistException, CloudIdAlreadyExistException;
 
+  /**
+   * Create Unique Identifiers for the given providerId and recordId pairs, returning the already existing identifiers for the
+   * pairs that were mapped before
+   *
+   * @param localIds providerId and recordId pairs
+   * @return The unique identifiers of the records, in the order of the given pairs
+   * @throws DatabaseConnectionException Problems with connection to database
+   * @throws ProviderDoesNotExistException Some of the providers does not exist
+   */
+  List<CloudId> createCloudIds(List<LocalId> localIds)
+      throws DatabaseConnectionException, ProviderDoesNotExistException;
+
   /**
    * Search for a unique identifier based on the providerId and recordId
    *
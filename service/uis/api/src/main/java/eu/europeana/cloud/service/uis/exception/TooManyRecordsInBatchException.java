@@ -0,0 +1,31 @@
+package eu.europeana.cloud.service.uis.exception;
+
+import eu.europeana.cloud.common.exceptions.GenericException;
+import eu.europeana.cloud.common.model.IdentifierErrorInfo;
+import eu.europeana.cloud.common.response.ErrorInfo;
+
+/**
+ * Exception thrown when more records are requested in one batch than it is allowed
+ */
+public class TooManyRecordsInBatchException extends GenericException {
+
+  private static final long serialVersionUID = -2914398516238164427L;
+
+  /**
+   * Creates a new instance of this class.
+   *
+   * @param errorInfo Error info
+   */
+  public TooManyRecordsInBatchException(ErrorInfo errorInfo) {
+    super(errorInfo);
+  }
+
+  /**
+   * Creates a new instance of this class.
+   *
+   * @param errorInfo Error info
+   */
+  public TooManyRecordsInBatchException(IdentifierErrorInfo errorInfo) {
+    super(errorInfo);
+  }
+}
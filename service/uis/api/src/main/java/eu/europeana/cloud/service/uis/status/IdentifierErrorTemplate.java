@@ -12,6 +12,7 @@ import eu.europeana.cloud.service.uis.exception.RecordDatasetEmptyException;
 import eu.europeana.cloud.service.uis.exception.RecordDoesNotExistException;
 import eu.europeana.cloud.service.uis.exception.RecordExistsException;
 import eu.europeana.cloud.service.uis.exception.RecordIdDoesNotExistException;
+import eu.europeana.cloud.service.uis.exception.TooManyRecordsInBatchException;
 import jakarta.ws.rs.core.Response;
 
 /**
@@ -263,6 +264,29 @@ public enum IdentifierErrorTemplate {
       return new IdHasBeenMappedException(e);
     }
   },
+  /**
+   * More records were requested in one batch than it is allowed - HTTP code: 400
+   */
+  TOO_MANY_RECORDS_IN_BATCH {
+    @Override
+    public ErrorInfo getErrorInfo(String... args) {
+      return new ErrorInfo(
+          "TOO_MANY_RECORDS_IN_BATCH",
+          String.format(
+              "The batch contains %s records, but at most %s records are allowed",
+              args[0], args[1]));
+    }
+
+    @Override
+    public Response.Status getHttpCode() {
+      return Response.Status.BAD_REQUEST;
+    }
+
+    @Override
+    public TooManyRecordsInBatchException getException(ErrorInfo e) {
+      return new TooManyRecordsInBatchException(e);
+    }
+  },
 
   ACCESS_DENIED_OR_OBJECT_DOES_NOT_EXIST_EXCEPTION {
     @Override
@@ -12,6 +12,7 @@ import eu.europeana.cloud.common.response.ErrorInfo;
 import eu.europeana.cloud.common.response.ResultSlice;
 import eu.europeana.cloud.common.web.UISParamConstants;
 import eu.europeana.cloud.service.uis.status.IdentifierErrorTemplate;
+import java.util.List;
 import java.util.function.Supplier;
 
 import jakarta.ws.rs.ProcessingException;
@@ -32,6 +33,7 @@ import org.slf4j.LoggerFactory;
 public class UISClient implements AutoCloseable {
 
   private static final String CLOUD_IDS_PATH = "/cloudIds";
+  private static final String CLOUD_IDS_BATCH_PATH = "/cloudIds/batch";
   private static final String P_CLOUD_ID = "CLOUD_ID";
   private static final String P_PROVIDER_ID = "PROVIDER_ID";
   private static final String DATA_PROVIDERS_PATH_WITH_PROVIDER_ID = "/data-providers/{PROVIDER_ID}";
@@ -130,6 +132,25 @@ public class UISClient implements AutoCloseable {
   }
 
 
+  /**
+   * Invoke the creation of new CloudIds for many records in one REST call. Records which already have their CloudIds get the
+   * existing ones, so it could be used to look up the CloudIds too.
+   *
+   * @param localIds The provider Id and record Id pairs
+   * @return The CloudIds of the records, in the order of the given pairs
+   * @throws CloudException The generic cloud exception wrapper
+   */
+  @SuppressWarnings("unchecked")
+  public List<CloudId> createCloudIds(List<LocalId> localIds) throws CloudException {
+    ResultSlice<CloudId> cloudIds = manageResponse(new ResponseParams<>(ResultSlice.class), () -> passLogContext(client
+        .target(urlProvider.getBaseUrl())
+        .path(CLOUD_IDS_BATCH_PATH)
+        .request())
+        .post(Entity.json(new ResultSlice<>(null, localIds)))
+    );
+    return cloudIds.getResults();
+  }
+
   /**
    * Invoke the retrieval of a cloud identifier.
    *
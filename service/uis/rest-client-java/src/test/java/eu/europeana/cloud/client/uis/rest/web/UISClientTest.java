@@ -1,5 +1,8 @@
 package eu.europeana.cloud.client.uis.rest.web;
 
+import static com.github.tomakehurst.wiremock.client.WireMock.containing;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlEqualTo;
 import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -15,6 +18,7 @@ import eu.europeana.cloud.common.model.DataProviderProperties;
 import eu.europeana.cloud.common.model.LocalId;
 import eu.europeana.cloud.common.response.ResultSlice;
 import eu.europeana.cloud.test.WiremockHelper;
+import java.util.List;
 import java.util.Map;
 import org.junit.Rule;
 import org.junit.Test;
@@ -265,4 +269,23 @@ public class UISClientTest {
     CloudId cloudIdIGotBack = resultsSlice.getResults().iterator().next();
     assertEquals(cloudIdIhave, cloudIdIGotBack);
   }
+
+  @Test
+  public final void createCloudIdsTest() throws Exception {
+    UISClient uisClient = new UISClient(BASE_URL, username, password);
+
+    new WiremockHelper(wireMockRule).stubPost(
+        "/uis/cloudIds/batch",
+        200,
+        "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?><resultSlice><results xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:type=\"cloudId\"><id>SP46XMN47N2</id><localId><providerId>PROVIDER_1</providerId><recordId>TEST_RECORD_1</recordId></localId></results><results xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:type=\"cloudId\"><id>KH5C38JBR3X</id><localId><providerId>PROVIDER_1</providerId><recordId>TEST_RECORD_2</recordId></localId></results></resultSlice>");
+
+    List<CloudId> cloudIds = uisClient.createCloudIds(
+        List.of(new LocalId(PROVIDER_ID, RECORD_ID), new LocalId(PROVIDER_ID, "TEST_RECORD_2")));
+
+    assertEquals(2, cloudIds.size());
+    assertEquals("SP46XMN47N2", cloudIds.get(0).getId());
+    assertEquals("TEST_RECORD_2", cloudIds.get(1).getLocalId().getRecordId());
+    wireMockRule.verify(postRequestedFor(urlEqualTo("/uis/cloudIds/batch"))
+        .withRequestBody(containing("\"recordId\":\"TEST_RECORD_2\"")));
+  }
 }
@@ -1,6 +1,7 @@
 package eu.europeana.cloud.service.uis;
 
 import eu.europeana.aas.authorization.ExtendedAclService;
+import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.security.acls.domain.BasePermission;
@@ -21,13 +22,13 @@ public class ACLServiceWrapper {
     this.mutableAclService = mutableAclService;
   }
 
+  /**
+   * Creates the ACL granting all the permissions to the creator. The ACL is stored together with its entries in one batch, so
+   * it does not have to be updated afterwards.
+   */
   public MutableAcl createAcl(String creatorName, ObjectIdentity cloudIdIdentity) {
-    MutableAcl acl = mutableAclService.createAcl(cloudIdIdentity);
-    acl.insertAce(0, BasePermission.READ, new PrincipalSid(creatorName), true);
-    acl.insertAce(1, BasePermission.WRITE, new PrincipalSid(creatorName), true);
-    acl.insertAce(2, BasePermission.DELETE, new PrincipalSid(creatorName), true);
-    acl.insertAce(3, BasePermission.ADMINISTRATION, new PrincipalSid(creatorName), true);
-    return acl;
+    return mutableAclService.createAcl(cloudIdIdentity, new PrincipalSid(creatorName),
+        List.of(BasePermission.READ, BasePermission.WRITE, BasePermission.DELETE, BasePermission.ADMINISTRATION));
   }
 
   public MutableAcl createOrUpdateAcl(String creatorName, ObjectIdentity cloudIdIdentity) {
@@ -6,6 +6,7 @@ import eu.europeana.cloud.service.aas.authentication.handlers.CloudAuthenticatio
 import eu.europeana.cloud.service.aas.authentication.repository.CassandraUserDAO;
 import eu.europeana.cloud.service.commons.listeners.CustomLoggerListener;
 import eu.europeana.cloud.service.commons.utils.PasswordEncoderFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -39,7 +40,7 @@ public class AuthenticationConfiguration {
 
   @Bean
   public PasswordEncoder passwordEncoder(){
-    return PasswordEncoderFactory.getPasswordEncoder();
+    return PasswordEncoderFactory.getCachingPasswordEncoder();
   }
 
   /* Automatically receives AuthenticationEvent messages */
@@ -57,8 +58,10 @@ public class AuthenticationConfiguration {
   }
 
   @Bean
-  public UserDetailsService authenticationService() {
-    return new CassandraAuthenticationService();
+  public UserDetailsService authenticationService(
+      @Value("${authenticatedUsersCacheSize:1000}") long cacheMaximumSize,
+      @Value("${authenticatedUsersCacheExpirationSeconds:60}") long cacheExpirationSeconds) {
+    return new CassandraAuthenticationService(cacheMaximumSize, cacheExpirationSeconds);
   }
 
   @Bean
@@ -9,6 +9,7 @@ import eu.europeana.cloud.service.uis.dao.CloudIdDAO;
 import eu.europeana.cloud.service.uis.dao.CloudIdLocalIdBatches;
 import eu.europeana.cloud.service.uis.dao.LocalIdDAO;
 import eu.europeana.cloud.service.uis.service.CassandraDataProviderService;
+import eu.europeana.cloud.service.uis.service.DataProvidersCache;
 import eu.europeana.cloud.service.uis.service.UniqueIdentifierServiceImpl;
 import eu.europeana.cloud.service.web.common.LoggingFilter;
 import eu.europeana.cloud.common.properties.CassandraProperties;
@@ -53,13 +54,13 @@ public class ServiceConfiguration implements WebMvcConfigurer {
   UniqueIdentifierService uniqueIdentifierService(
           CloudIdDAO cassandraCloudIdDAO,
           LocalIdDAO cassandraLocalIdDAO,
-          CassandraDataProviderDAO cassandraDataProviderDAO,
+          DataProvidersCache dataProvidersCache,
           CloudIdLocalIdBatches cloudIdLocalIdBatches) {
 
     return new UniqueIdentifierServiceImpl(
             cassandraCloudIdDAO,
             cassandraLocalIdDAO,
-            cassandraDataProviderDAO,
+            dataProvidersCache,
             cloudIdLocalIdBatches);
   }
 
@@ -80,8 +81,14 @@ public class ServiceConfiguration implements WebMvcConfigurer {
   }
 
   @Bean
-  CassandraDataProviderService cassandraDataProviderService(CassandraDataProviderDAO dataProviderDAO) {
-    return new CassandraDataProviderService(dataProviderDAO);
+  CassandraDataProviderService cassandraDataProviderService(CassandraDataProviderDAO dataProviderDAO,
+                                                            DataProvidersCache dataProvidersCache) {
+    return new CassandraDataProviderService(dataProviderDAO, dataProvidersCache);
+  }
+
+  @Bean
+  DataProvidersCache dataProvidersCache(CassandraDataProviderDAO dataProviderDAO) {
+    return new DataProvidersCache(dataProviderDAO);
   }
 
   @Bean
@@ -119,7 +126,7 @@ public class ServiceConfiguration implements WebMvcConfigurer {
 
   @Bean
   BucketsHandler bucketsHandler(CassandraConnectionProvider uisCassandraProvider) {
-    return new BucketsHandler(uisCassandraProvider.getSession());
+    return new BucketsHandler(uisCassandraProvider.getSession(), BucketsHandler.DEFAULT_CURRENT_BUCKETS_CACHE_EXPIRATION_SECONDS);
   }
 
   @Bean
@@ -2,11 +2,15 @@ package eu.europeana.cloud.service.uis.dao;
 
 import com.datastax.driver.core.BoundStatement;
 import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
+import eu.europeana.cloud.common.model.CloudId;
 import eu.europeana.cloud.service.commons.utils.BatchExecutor;
 import java.util.ArrayList;
+import java.util.List;
 
 public class CloudIdLocalIdBatches {
 
+  public static final int MAX_CONCURRENT_INSERTS = 16;
+
   private final CloudIdDAO cloudIdDao;
   private final LocalIdDAO localIdDao;
   private final BatchExecutor batchExecutor;
@@ -25,4 +29,23 @@ public class CloudIdLocalIdBatches {
 
     batchExecutor.executeAll(statementsToBeExecuted);
   }
+
+  /**
+   * Inserts the given cloud identifiers, every one in its own batch as in {@link #insert(String, String, String)}, with at
+   * most {@link #MAX_CONCURRENT_INSERTS} batches written at the same time.
+   *
+   * @param cloudIds cloud identifiers together with their local identifiers
+   */
+  public void insertAll(List<CloudId> cloudIds) {
+    List<List<BoundStatement>> statementGroups = new ArrayList<>(cloudIds.size());
+    for (CloudId cloudId : cloudIds) {
+      String providerId = cloudId.getLocalId().getProviderId();
+      String recordId = cloudId.getLocalId().getRecordId();
+      statementGroups.add(List.of(
+          localIdDao.bindInsertStatement(providerId, recordId, cloudId.getId()),
+          cloudIdDao.bindInsertStatement(cloudId.getId(), providerId, recordId)));
+    }
+
+    batchExecutor.executeAllConcurrently(statementGroups, MAX_CONCURRENT_INSERTS);
+  }
 }
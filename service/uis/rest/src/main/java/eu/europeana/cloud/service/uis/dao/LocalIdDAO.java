@@ -2,8 +2,10 @@ package eu.europeana.cloud.service.uis.dao;
 
 import com.datastax.driver.core.BoundStatement;
 import com.datastax.driver.core.PreparedStatement;
+import com.datastax.driver.core.ResultSetFuture;
 import com.datastax.driver.core.Row;
 import com.datastax.driver.core.exceptions.NoHostAvailableException;
+import com.google.common.util.concurrent.MoreExecutors;
 import eu.europeana.cloud.cassandra.CassandraConnectionProvider;
 import eu.europeana.cloud.common.annotation.Retryable;
 import eu.europeana.cloud.common.model.CloudId;
@@ -12,7 +14,10 @@ import eu.europeana.cloud.common.model.LocalId;
 import eu.europeana.cloud.common.utils.LogMessageCleaner;
 import eu.europeana.cloud.service.uis.exception.DatabaseConnectionException;
 import eu.europeana.cloud.service.uis.status.IdentifierErrorTemplate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Semaphore;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,6 +27,7 @@ import org.slf4j.LoggerFactory;
  */
 public class LocalIdDAO {
 
+  public static final int MAX_CONCURRENT_SEARCH_QUERIES = 32;
   private static final Logger LOGGER = LoggerFactory.getLogger(LocalIdDAO.class);
   private final CassandraConnectionProvider dbService;
   private PreparedStatement insertStatement;
@@ -79,6 +85,41 @@ public class LocalIdDAO {
     }
   }
 
+  /**
+   * Searches cloud identifiers of the given local identifiers. Queries are executed asynchronously, with at most
+   * {@link #MAX_CONCURRENT_SEARCH_QUERIES} of them running at the same time.
+   *
+   * @param localIds local identifiers to be searched
+   * @return found cloud identifiers in the order of the given local identifiers, empty for not existing ones
+   * @throws DatabaseConnectionException if the database is not available
+   */
+  @Retryable
+  public List<Optional<CloudId>> searchByIds(List<LocalId> localIds) throws DatabaseConnectionException {
+    LOGGER.trace("Searching cloudIds for {} localIds", localIds.size());
+    try {
+      var inFlightQueries = new Semaphore(MAX_CONCURRENT_SEARCH_QUERIES);
+      List<ResultSetFuture> futures = new ArrayList<>(localIds.size());
+      for (LocalId localId : localIds) {
+        inFlightQueries.acquireUninterruptibly();
+        ResultSetFuture future = dbService.getSession().executeAsync(
+            searchByRecordIdStatement.bind(localId.getProviderId(), localId.getRecordId()));
+        future.addListener(inFlightQueries::release, MoreExecutors.directExecutor());
+        futures.add(future);
+      }
+
+      List<Optional<CloudId>> result = new ArrayList<>(localIds.size());
+      for (ResultSetFuture future : futures) {
+        result.add(Optional.ofNullable(future.getUninterruptibly().one()).map(this::createCloudIdFromProviderRecordRow));
+      }
+      return result;
+    } catch (NoHostAvailableException e) {
+      throw new DatabaseConnectionException(new IdentifierErrorInfo(
+          IdentifierErrorTemplate.DATABASE_CONNECTION_ERROR.getHttpCode(),
+          IdentifierErrorTemplate.DATABASE_CONNECTION_ERROR.getErrorInfo(dbService.getHosts(), dbService.getPort(),
+              e.getMessage())));
+    }
+  }
+
   @Retryable
   public CloudId insert(String providerId, String recordId, String cloudId) throws DatabaseConnectionException {
     try {
@@ -2,6 +2,8 @@ package eu.europeana.cloud.service.uis.rest;
 
 import eu.europeana.cloud.common.exceptions.ProviderDoesNotExistException;
 import eu.europeana.cloud.common.model.CloudId;
+import eu.europeana.cloud.common.model.IdentifierErrorInfo;
+import eu.europeana.cloud.common.model.LocalId;
 import eu.europeana.cloud.common.response.ResultSlice;
 import eu.europeana.cloud.service.uis.RestInterfaceConstants;
 import eu.europeana.cloud.service.uis.UniqueIdentifierService;
@@ -11,12 +13,17 @@ import eu.europeana.cloud.service.uis.exception.DatabaseConnectionException;
 import eu.europeana.cloud.service.uis.exception.RecordDatasetEmptyException;
 import eu.europeana.cloud.service.uis.exception.RecordDoesNotExistException;
 import eu.europeana.cloud.service.uis.exception.RecordExistsException;
+import eu.europeana.cloud.service.uis.exception.TooManyRecordsInBatchException;
+import eu.europeana.cloud.service.uis.status.IdentifierErrorTemplate;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -31,6 +38,9 @@ public class UniqueIdentifierResource {
 
   private final UniqueIdentifierService uniqueIdentifierService;
 
+  @Value("${maxCloudIdsInBatch:1000}")
+  private int maxCloudIdsInBatch;
+
   public UniqueIdentifierResource(
       UniqueIdentifierService uniqueIdentifierService) {
     this.uniqueIdentifierService = uniqueIdentifierService;
@@ -72,6 +82,39 @@ public class UniqueIdentifierResource {
     return ResponseEntity.ok(cId);
   }
 
+  /**
+   * Invokes the generation of cloud identifiers for the list of provider identifier and record identifier pairs. Pairs which
+   * were already mapped get their existing cloud identifiers, so the method could be used for the lookup as well.
+   * <p>
+   * <br/> <br/> <div style='border-left: solid 5px #999999; border-radius: 10px; padding: 6px;'> <strong>Required
+   * permissions:</strong>
+   * <ul>
+   * <li>Authenticated user</li>
+   * </ul>
+   * </div>
+   *
+   * @param localIds <strong>REQUIRED</strong> provider identifier and record identifier pairs
+   * @return Cloud identifiers of the records, in the order of the given pairs
+   * @throws DatabaseConnectionException database error
+   * @throws ProviderDoesNotExistException Some of supplied Data-providers does not exist
+   * @throws TooManyRecordsInBatchException more pairs were given than the configured maxCloudIdsInBatch
+   */
+  @PostMapping(value = RestInterfaceConstants.CLOUD_IDS_BATCH,
+      consumes = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE},
+      produces = {MediaType.APPLICATION_XML_VALUE, MediaType.APPLICATION_JSON_VALUE})
+  @PreAuthorize("isAuthenticated()")
+  public ResponseEntity<ResultSlice<CloudId>> createCloudIds(@RequestBody ResultSlice<LocalId> localIds)
+      throws DatabaseConnectionException, ProviderDoesNotExistException, TooManyRecordsInBatchException {
+    List<LocalId> results = localIds.getResults();
+    if (results.size() > maxCloudIdsInBatch) {
+      throw new TooManyRecordsInBatchException(new IdentifierErrorInfo(
+          IdentifierErrorTemplate.TOO_MANY_RECORDS_IN_BATCH.getHttpCode(),
+          IdentifierErrorTemplate.TOO_MANY_RECORDS_IN_BATCH.getErrorInfo(String.valueOf(results.size()),
+              String.valueOf(maxCloudIdsInBatch))));
+    }
+    return ResponseEntity.ok(new ResultSlice<>(null, uniqueIdentifierService.createCloudIds(results)));
+  }
+
   /**
    * Retrieves cloud identifier based on given provider identifier and record identifier
    *
@@ -22,9 +22,11 @@ public class CassandraDataProviderService implements DataProviderService {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(CassandraDataProviderService.class);
   private final CassandraDataProviderDAO dataProviderDao;
+  private final DataProvidersCache dataProvidersCache;
 
-  public CassandraDataProviderService(CassandraDataProviderDAO dataProviderDao) {
+  public CassandraDataProviderService(CassandraDataProviderDAO dataProviderDao, DataProvidersCache dataProvidersCache) {
     this.dataProviderDao = dataProviderDao;
+    this.dataProvidersCache = dataProvidersCache;
   }
 
 
@@ -91,7 +93,9 @@ public class CassandraDataProviderService implements DataProviderService {
           IdentifierErrorTemplate.PROVIDER_ALREADY_EXISTS.getHttpCode(),
           IdentifierErrorTemplate.PROVIDER_ALREADY_EXISTS.getErrorInfo(providerId)));
     }
-    return dataProviderDao.createDataProvider(providerId, properties);
+    DataProvider createdProvider = dataProviderDao.createDataProvider(providerId, properties);
+    dataProvidersCache.invalidate(providerId);
+    return createdProvider;
   }
 
 
@@ -107,7 +111,9 @@ public class CassandraDataProviderService implements DataProviderService {
           IdentifierErrorTemplate.PROVIDER_DOES_NOT_EXIST.getErrorInfo(providerId)));
     } else {
       dp.setProperties(properties);
-      return dataProviderDao.updateDataProvider(dp);
+      DataProvider updatedProvider = dataProviderDao.updateDataProvider(dp);
+      dataProvidersCache.invalidate(providerId);
+      return updatedProvider;
     }
   }
 
@@ -122,6 +128,8 @@ public class CassandraDataProviderService implements DataProviderService {
           IdentifierErrorTemplate.PROVIDER_DOES_NOT_EXIST.getHttpCode(),
           IdentifierErrorTemplate.PROVIDER_DOES_NOT_EXIST.getErrorInfo(dataProvider.getId())));
     }
-    return dataProviderDao.updateDataProvider(dataProvider);
+    DataProvider updatedProvider = dataProviderDao.updateDataProvider(dataProvider);
+    dataProvidersCache.invalidate(dataProvider.getId());
+    return updatedProvider;
   }
 }
@@ -0,0 +1,153 @@
+package eu.europeana.cloud.service.uis.service;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import eu.europeana.cloud.common.model.DataProvider;
+import eu.europeana.cloud.common.utils.LogMessageCleaner;
+import eu.europeana.cloud.service.uis.dao.CassandraDataProviderDAO;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Data providers read by the UIS service layer, so the provider checked on every cloud identifier creation is not read from
+ * the database every time.
+ * <p>
+ * Cached providers are refreshed in the background, when they are requested after the refresh interval, so the request does
+ * not wait for the database. Providers that do not exist are cached for a short time only, so the new provider, created by
+ * the other UIS instance, is visible quickly. Providers created or updated by this instance are invalidated by the
+ * {@link CassandraDataProviderService}. Hits and misses are counted, and logged periodically.
+ */
+public class DataProvidersCache {
+
+  public static final long DEFAULT_MAXIMUM_SIZE = 10000;
+  public static final long DEFAULT_REFRESH_SECONDS = 60;
+  public static final long DEFAULT_EXPIRATION_SECONDS = 3600;
+  public static final long DEFAULT_NOT_EXISTING_EXPIRATION_SECONDS = 10;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DataProvidersCache.class);
+  private static final long STATISTICS_LOG_INTERVAL_IN_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+  private final CassandraDataProviderDAO dataProviderDao;
+  private final LoadingCache<String, Optional<DataProvider>> providers;
+  private final Cache<String, Boolean> notExistingProviders;
+  private final LongAdder hitCount = new LongAdder();
+  private final LongAdder missCount = new LongAdder();
+  private final AtomicLong nextStatisticsLogTime = new AtomicLong();
+
+  public DataProvidersCache(CassandraDataProviderDAO dataProviderDao) {
+    this(dataProviderDao, DEFAULT_MAXIMUM_SIZE, DEFAULT_REFRESH_SECONDS, DEFAULT_EXPIRATION_SECONDS,
+        DEFAULT_NOT_EXISTING_EXPIRATION_SECONDS, Ticker.systemTicker(), Executors.newSingleThreadExecutor(runnable -> {
+          var thread = new Thread(runnable, "data-providers-cache-refresh");
+          thread.setDaemon(true);
+          return thread;
+        }));
+  }
+
+  /**
+   * @param dataProviderDao DAO the providers are read with
+   * @param maximumSize maximal number of cached providers
+   * @param refreshSeconds time after which the cached provider is refreshed in the background
+   * @param expirationSeconds time after which the cached provider is read again, when it could not be refreshed
+   * @param notExistingExpirationSeconds time for which the provider that does not exist is cached
+   * @param ticker time source of the caches
+   * @param refreshExecutor executor the providers are refreshed with
+   */
+  public DataProvidersCache(CassandraDataProviderDAO dataProviderDao, long maximumSize, long refreshSeconds,
+      long expirationSeconds, long notExistingExpirationSeconds, Ticker ticker, Executor refreshExecutor) {
+    this.dataProviderDao = dataProviderDao;
+    this.providers = CacheBuilder.newBuilder()
+                                 .maximumSize(maximumSize)
+                                 .refreshAfterWrite(refreshSeconds, TimeUnit.SECONDS)
+                                 .expireAfterWrite(expirationSeconds, TimeUnit.SECONDS)
+                                 .ticker(ticker)
+                                 .build(CacheLoader.asyncReloading(
+                                     CacheLoader.from(this::readProvider), refreshExecutor));
+    this.notExistingProviders = CacheBuilder.newBuilder()
+                                            .maximumSize(maximumSize)
+                                            .expireAfterWrite(notExistingExpirationSeconds, TimeUnit.SECONDS)
+                                            .ticker(ticker)
+                                            .build();
+  }
+
+  /**
+   * Returns the data provider with the given id.
+   *
+   * @param providerId id of the provider
+   * @return the data provider, or null if it does not exist
+   */
+  public DataProvider getProvider(String providerId) {
+    try {
+      if (notExistingProviders.getIfPresent(providerId) != null) {
+        hitCount.increment();
+        return null;
+      }
+      if (providers.getIfPresent(providerId) != null) {
+        hitCount.increment();
+      } else {
+        missCount.increment();
+      }
+      Optional<DataProvider> provider = providers.getUnchecked(providerId);
+      if (provider.isEmpty()) {
+        //Not existing providers are kept only in the short living cache
+        providers.invalidate(providerId);
+        notExistingProviders.put(providerId, Boolean.TRUE);
+      }
+      return provider.orElse(null);
+    } catch (UncheckedExecutionException e) {
+      //DAO does not throw checked exceptions
+      throw (RuntimeException) e.getCause();
+    } finally {
+      logStatisticsIfDue();
+    }
+  }
+
+  /**
+   * Removes the provider from the cache, so its current state is read from the database on the next request.
+   *
+   * @param providerId id of the provider
+   */
+  public void invalidate(String providerId) {
+    providers.invalidate(providerId);
+    notExistingProviders.invalidate(providerId);
+  }
+
+  /**
+   * @return number of requests served from the cache, including the requests for the providers that do not exist
+   */
+  public long getHitCount() {
+    return hitCount.sum();
+  }
+
+  /**
+   * @return number of requests for which the provider was read from the database
+   */
+  public long getMissCount() {
+    return missCount.sum();
+  }
+
+  private Optional<DataProvider> readProvider(String providerId) {
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Reading data provider providerId='{}' to the cache", LogMessageCleaner.clean(providerId));
+    }
+    return Optional.ofNullable(dataProviderDao.getProvider(providerId));
+  }
+
+  private void logStatisticsIfDue() {
+    long now = System.currentTimeMillis();
+    long nextLogTime = nextStatisticsLogTime.get();
+    if (now >= nextLogTime && nextStatisticsLogTime.compareAndSet(nextLogTime, now + STATISTICS_LOG_INTERVAL_IN_MILLIS)) {
+      LOGGER.info("Cache of data providers: size={}, notExistingSize={}, hits={}, misses={}", providers.size(),
+          notExistingProviders.size(), getHitCount(), getMissCount());
+    }
+  }
+}
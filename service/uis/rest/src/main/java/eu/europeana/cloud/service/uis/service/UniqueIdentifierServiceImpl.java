@@ -6,7 +6,6 @@ import eu.europeana.cloud.common.model.IdentifierErrorInfo;
 import eu.europeana.cloud.common.model.LocalId;
 import eu.europeana.cloud.common.utils.LogMessageCleaner;
 import eu.europeana.cloud.service.uis.UniqueIdentifierService;
-import eu.europeana.cloud.service.uis.dao.CassandraDataProviderDAO;
 import eu.europeana.cloud.service.uis.dao.CloudIdDAO;
 import eu.europeana.cloud.service.uis.dao.CloudIdLocalIdBatches;
 import eu.europeana.cloud.service.uis.dao.LocalIdDAO;
@@ -15,7 +14,13 @@ import eu.europeana.cloud.service.uis.exception.CloudIdDoesNotExistException;
 import eu.europeana.cloud.service.uis.exception.DatabaseConnectionException;
 import eu.europeana.cloud.service.uis.exception.RecordDoesNotExistException;
 import eu.europeana.cloud.service.uis.status.IdentifierErrorTemplate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -28,7 +33,7 @@ public class UniqueIdentifierServiceImpl implements UniqueIdentifierService {
 
   private final CloudIdDAO cloudIdDao;
   private final LocalIdDAO localIdDao;
-  private final CassandraDataProviderDAO dataProviderDao;
+  private final DataProvidersCache dataProvidersCache;
   private final CloudIdLocalIdBatches cloudIdLocalIdBatches;
   private final String hostList;
   private final String keyspace;
@@ -40,15 +45,15 @@ public class UniqueIdentifierServiceImpl implements UniqueIdentifierService {
    *
    * @param cloudIdDao cloud identifier DAO
    * @param localIdDao local identifier DAO
-   * @param dataProviderDao data provider DAO
+   * @param dataProvidersCache cache of data providers
    */
   public UniqueIdentifierServiceImpl(CloudIdDAO cloudIdDao, LocalIdDAO localIdDao,
-      CassandraDataProviderDAO dataProviderDao, CloudIdLocalIdBatches cloudIdLocalIdBatches) {
+      DataProvidersCache dataProvidersCache, CloudIdLocalIdBatches cloudIdLocalIdBatches) {
     LOGGER.info("PersistentUniqueIdentifierService starting...");
 
     this.cloudIdDao = cloudIdDao;
     this.localIdDao = localIdDao;
-    this.dataProviderDao = dataProviderDao;
+    this.dataProvidersCache = dataProvidersCache;
     this.cloudIdLocalIdBatches = cloudIdLocalIdBatches;
 
     this.hostList = cloudIdDao.getHostList();
@@ -71,15 +76,7 @@ public class UniqueIdentifierServiceImpl implements UniqueIdentifierService {
       LOGGER.info("createCloudId() creating cloudId providerId={}",
           LogMessageCleaner.clean(providerId));
     }
-    if (dataProviderDao.getProvider(providerId) == null) {
-      if (LOGGER.isWarnEnabled()) {
-        LOGGER.warn("ProviderDoesNotExistException for providerId={}",
-                LogMessageCleaner.clean(providerId));
-      }
-      throw new ProviderDoesNotExistException(new IdentifierErrorInfo(
-          IdentifierErrorTemplate.PROVIDER_DOES_NOT_EXIST.getHttpCode(),
-          IdentifierErrorTemplate.PROVIDER_DOES_NOT_EXIST.getErrorInfo(providerId)));
-    }
+    checkProviderExists(providerId);
     if (LOGGER.isInfoEnabled()) {
       LOGGER.info("createCloudId() creating cloudId providerId='{}', recordId='{}'",
           LogMessageCleaner.clean(providerId),
@@ -96,19 +93,35 @@ public class UniqueIdentifierServiceImpl implements UniqueIdentifierService {
       return cloudIdOpt.get();
     }
 
-    String generatedCloudId = IdGenerator.encodeWithSha256AndBase32("/" + providerId + "/" + recordId);
-    cloudIdLocalIdBatches.insert(providerId, recordId, generatedCloudId);
-
-    return CloudId.builder()
-                  .id(generatedCloudId)
-                  .localId(LocalId.builder()
-                                  .providerId(providerId)
-                                  .recordId(recordId)
-                                  .build())
-                  .build();
+    CloudId generatedCloudId = generateCloudId(providerId, recordId);
+    cloudIdLocalIdBatches.insert(providerId, recordId, generatedCloudId.getId());
+    return generatedCloudId;
   }
 
 
+  @Override
+  public List<CloudId> createCloudIds(List<LocalId> localIds)
+      throws DatabaseConnectionException, ProviderDoesNotExistException {
+    LOGGER.info("createCloudIds() creating cloudIds for {} records", localIds.size());
+    for (String providerId : localIds.stream().map(LocalId::getProviderId).collect(Collectors.toCollection(LinkedHashSet::new))) {
+      checkProviderExists(providerId);
+    }
+
+    List<Optional<CloudId>> existingCloudIds = localIdDao.searchByIds(localIds);
+    List<CloudId> result = new ArrayList<>(localIds.size());
+    Map<LocalId, CloudId> newCloudIds = new LinkedHashMap<>();
+    for (var i = 0; i < localIds.size(); i++) {
+      LocalId localId = localIds.get(i);
+      //The same record could be requested more than once, so its cloudId is generated only for the first occurrence
+      result.add(existingCloudIds.get(i).orElseGet(() -> newCloudIds.computeIfAbsent(localId,
+          id -> generateCloudId(id.getProviderId(), id.getRecordId()))));
+    }
+    cloudIdLocalIdBatches.insertAll(new ArrayList<>(newCloudIds.values()));
+
+    LOGGER.info("createCloudIds() created {} new cloudIds for {} records", newCloudIds.size(), localIds.size());
+    return result;
+  }
+
   @Override
   public CloudId getCloudId(String providerId, String recordId)
       throws DatabaseConnectionException, RecordDoesNotExistException {
@@ -153,7 +166,7 @@ public class UniqueIdentifierServiceImpl implements UniqueIdentifierService {
           LogMessageCleaner.clean(recordId));
     }
 
-    if (dataProviderDao.getProvider(providerId) == null) {
+    if (dataProvidersCache.getProvider(providerId) == null) {
       if (LOGGER.isWarnEnabled()) {
         LOGGER.warn("ProviderDoesNotExistException for cloudId='{}', providerId='{}', recordId='{}'",
             LogMessageCleaner.clean(cloudId),
@@ -211,6 +224,28 @@ public class UniqueIdentifierServiceImpl implements UniqueIdentifierService {
     return newCloudId;
   }
 
+  private CloudId generateCloudId(String providerId, String recordId) {
+    return CloudId.builder()
+                  .id(IdGenerator.encodeWithSha256AndBase32("/" + providerId + "/" + recordId))
+                  .localId(LocalId.builder()
+                                  .providerId(providerId)
+                                  .recordId(recordId)
+                                  .build())
+                  .build();
+  }
+
+  private void checkProviderExists(String providerId) throws ProviderDoesNotExistException {
+    if (dataProvidersCache.getProvider(providerId) == null) {
+      if (LOGGER.isWarnEnabled()) {
+        LOGGER.warn("ProviderDoesNotExistException for providerId={}",
+                LogMessageCleaner.clean(providerId));
+      }
+      throw new ProviderDoesNotExistException(new IdentifierErrorInfo(
+          IdentifierErrorTemplate.PROVIDER_DOES_NOT_EXIST.getHttpCode(),
+          IdentifierErrorTemplate.PROVIDER_DOES_NOT_EXIST.getErrorInfo(providerId)));
+    }
+  }
+
   @Override
   public String getHostList() {
     return this.hostList;
@@ -7,6 +7,7 @@ import eu.europeana.cloud.service.uis.dao.CloudIdDAO;
 import eu.europeana.cloud.service.uis.dao.CloudIdLocalIdBatches;
 import eu.europeana.cloud.service.uis.dao.LocalIdDAO;
 import eu.europeana.cloud.service.uis.service.CassandraDataProviderService;
+import eu.europeana.cloud.service.uis.service.DataProvidersCache;
 import eu.europeana.cloud.service.uis.service.UniqueIdentifierServiceImpl;
 import eu.europeana.cloud.test.CassandraTestInstance;
 import org.springframework.context.annotation.Bean;
@@ -24,8 +25,14 @@ public class TestAAConfiguration {
   }
 
   @Bean
-  public CassandraDataProviderService cassandraDataProviderService(CassandraDataProviderDAO dataProviderDAO) {
-    return new CassandraDataProviderService(dataProviderDAO);
+  public CassandraDataProviderService cassandraDataProviderService(CassandraDataProviderDAO dataProviderDAO,
+      DataProvidersCache dataProvidersCache) {
+    return new CassandraDataProviderService(dataProviderDAO, dataProvidersCache);
+  }
+
+  @Bean
+  public DataProvidersCache dataProvidersCache(CassandraDataProviderDAO dataProviderDAO) {
+    return new DataProvidersCache(dataProviderDAO);
   }
 
   @Bean
@@ -57,12 +64,12 @@ public class TestAAConfiguration {
   @Bean
   public eu.europeana.cloud.service.uis.UniqueIdentifierService uniqueIdentifierService(CloudIdDAO cassandraCloudIdDAO,
       LocalIdDAO cassandraLocalIdDAO,
-      CassandraDataProviderDAO cassandraDataProviderDAO,
+      DataProvidersCache dataProvidersCache,
       CloudIdLocalIdBatches cloudIdLocalIdBatches) {
     return new UniqueIdentifierServiceImpl(
         cassandraCloudIdDAO,
         cassandraLocalIdDAO,
-        cassandraDataProviderDAO,
+        dataProvidersCache,
         cloudIdLocalIdBatches);
   }
 
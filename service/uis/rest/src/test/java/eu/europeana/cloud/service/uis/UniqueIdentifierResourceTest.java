@@ -31,6 +31,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
@@ -47,6 +48,7 @@ import org.springframework.web.context.WebApplicationContext;
 @RunWith(SpringRunner.class)
 @WebAppConfiguration
 @ContextConfiguration(classes = {TestConfiguration.class})
+@TestPropertySource(properties = {"maxCloudIdsInBatch=2"})
 public class UniqueIdentifierResourceTest {
 
   private final String providerId = "providerId";
@@ -327,6 +329,46 @@ public class UniqueIdentifierResourceTest {
         IdentifierErrorTemplate.CLOUDID_DOES_NOT_EXIST.getErrorInfo("cloudId").getDetails());
   }
 
+  @Test
+  public void shouldCreateCloudIdsOfRecordsInBatch() throws Exception {
+    Mockito.reset(uniqueIdentifierService);
+    List<LocalId> localIds = List.of(createLocalId(providerId, recordId), createLocalId(providerId, "recordId2"));
+    Mockito.when(uniqueIdentifierService.createCloudIds(localIds))
+           .thenReturn(List.of(createCloudId(providerId, recordId), createCloudId(providerId, "recordId2")));
+
+    MvcResult mvcResult = mockMvc.perform(post("/cloudIds/batch")
+                                     .contentType(MediaType.APPLICATION_JSON)
+                                     .content(new ObjectMapper().writeValueAsString(new ResultSlice<>(null, localIds)))
+                                     .accept(MediaType.APPLICATION_JSON))
+                                 .andExpect(status().isOk()).andReturn();
+
+    ResultSlice<CloudId> cloudIds = new ObjectMapper().readValue(mvcResult.getResponse().getContentAsString(),
+        new TypeReference<ResultSlice<CloudId>>() {
+        });
+    assertEquals(2, cloudIds.getResults().size());
+    assertEquals(createCloudId(providerId, "recordId2").getId(), cloudIds.getResults().get(1).getId());
+  }
+
+  @Test
+  public void shouldRejectBatchBiggerThanConfiguredMaximum() throws Exception {
+    Mockito.reset(uniqueIdentifierService);
+    List<LocalId> localIds = List.of(createLocalId(providerId, recordId), createLocalId(providerId, "recordId2"),
+        createLocalId(providerId, "recordId3"));
+
+    MvcResult mvcResult = mockMvc.perform(post("/cloudIds/batch")
+                                     .contentType(MediaType.APPLICATION_JSON)
+                                     .content(new ObjectMapper().writeValueAsString(new ResultSlice<>(null, localIds)))
+                                     .accept(MediaType.APPLICATION_JSON))
+                                 .andExpect(status().isBadRequest()).andReturn();
+
+    ErrorInfo errorInfo = new ObjectMapper().readValue(mvcResult.getResponse().getContentAsString(), ErrorInfo.class);
+    assertEquals(IdentifierErrorTemplate.TOO_MANY_RECORDS_IN_BATCH.getErrorInfo("3", "2").getErrorCode(),
+        errorInfo.getErrorCode());
+    assertEquals(IdentifierErrorTemplate.TOO_MANY_RECORDS_IN_BATCH.getErrorInfo("3", "2").getDetails(),
+        errorInfo.getDetails());
+    Mockito.verify(uniqueIdentifierService, Mockito.never()).createCloudIds(Mockito.any());
+  }
+
   private static LocalId createLocalId(String providerId, String recordId) {
     LocalId localId = new LocalId();
     localId.setProviderId(providerId);
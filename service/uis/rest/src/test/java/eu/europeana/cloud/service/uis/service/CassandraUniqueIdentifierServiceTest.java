@@ -6,6 +6,7 @@ import static org.junit.Assert.assertTrue;
 import eu.europeana.cloud.common.exceptions.ProviderDoesNotExistException;
 import eu.europeana.cloud.common.model.CloudId;
 import eu.europeana.cloud.common.model.DataProviderProperties;
+import eu.europeana.cloud.common.model.LocalId;
 import eu.europeana.cloud.service.uis.dao.CassandraDataProviderDAO;
 import eu.europeana.cloud.service.uis.encoder.IdGenerator;
 import eu.europeana.cloud.service.uis.exception.CloudIdDoesNotExistException;
@@ -13,6 +14,7 @@ import eu.europeana.cloud.service.uis.exception.DatabaseConnectionException;
 import eu.europeana.cloud.service.uis.exception.RecordDoesNotExistException;
 import java.math.BigInteger;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import org.junit.Before;
 import org.junit.Ignore;
@@ -62,6 +64,28 @@ public class CassandraUniqueIdentifierServiceTest extends CassandraTestBase {
     service.createCloudId("test", "test");
   }
 
+  @Test
+  public void testCreateCloudIdsInBatch() throws Exception {
+    dataProviderDao.createDataProvider("test20", new DataProviderProperties());
+    CloudId existing = service.createCloudId("test20", "test20");
+
+    List<CloudId> cloudIds = service.createCloudIds(List.of(
+        new LocalId("test20", "test21"), new LocalId("test20", "test20"), new LocalId("test20", "test21")));
+
+    assertEquals(3, cloudIds.size());
+    assertEquals(service.getCloudId("test20", "test21"), cloudIds.get(0));
+    assertEquals(existing, cloudIds.get(1));
+    assertEquals(cloudIds.get(0), cloudIds.get(2));
+    assertEquals(1, service.getLocalIdsByCloudId(cloudIds.get(0).getId()).size());
+  }
+
+  @Test(expected = ProviderDoesNotExistException.class)
+  public void testCreateCloudIdsInBatchForNotExistingProvider() throws Exception {
+    dataProviderDao.createDataProvider("test22", new DataProviderProperties());
+
+    service.createCloudIds(List.of(new LocalId("test22", "test22"), new LocalId("test23", "test23")));
+  }
+
   /**
    * Test RecordDoesNotExistException
    *
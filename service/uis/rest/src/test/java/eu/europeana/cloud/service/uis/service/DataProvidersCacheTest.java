@@ -0,0 +1,104 @@
+package eu.europeana.cloud.service.uis.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.common.base.Ticker;
+import eu.europeana.cloud.common.model.DataProvider;
+import eu.europeana.cloud.service.uis.dao.CassandraDataProviderDAO;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.Before;
+import org.junit.Test;
+
+public class DataProvidersCacheTest {
+
+  private static final String PROVIDER_ID = "provider";
+  private static final String NOT_EXISTING_PROVIDER_ID = "notExistingProvider";
+
+  private final AtomicLong time = new AtomicLong();
+  private CassandraDataProviderDAO dataProviderDao;
+  private DataProvidersCache cache;
+
+  @Before
+  public void init() {
+    dataProviderDao = mock(CassandraDataProviderDAO.class);
+    cache = new DataProvidersCache(dataProviderDao, 100, 60, 3600, 10, new Ticker() {
+      @Override
+      public long read() {
+        return time.get();
+      }
+    }, Runnable::run);
+  }
+
+  @Test
+  public void shouldReadProviderFromDatabaseOnlyOnce() {
+    DataProvider provider = provider(PROVIDER_ID);
+    when(dataProviderDao.getProvider(PROVIDER_ID)).thenReturn(provider);
+
+    assertSame(provider, cache.getProvider(PROVIDER_ID));
+    assertSame(provider, cache.getProvider(PROVIDER_ID));
+
+    verify(dataProviderDao, times(1)).getProvider(PROVIDER_ID);
+    assertEquals(1, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  public void shouldRefreshProviderAfterRefreshInterval() {
+    DataProvider provider = provider(PROVIDER_ID);
+    DataProvider refreshedProvider = provider(PROVIDER_ID);
+    when(dataProviderDao.getProvider(PROVIDER_ID)).thenReturn(provider, refreshedProvider);
+    cache.getProvider(PROVIDER_ID);
+    time.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+    cache.getProvider(PROVIDER_ID);
+
+    assertSame(refreshedProvider, cache.getProvider(PROVIDER_ID));
+    verify(dataProviderDao, times(2)).getProvider(PROVIDER_ID);
+  }
+
+  @Test
+  public void shouldCacheNotExistingProviderForShortTime() {
+    assertNull(cache.getProvider(NOT_EXISTING_PROVIDER_ID));
+    assertNull(cache.getProvider(NOT_EXISTING_PROVIDER_ID));
+    verify(dataProviderDao, times(1)).getProvider(NOT_EXISTING_PROVIDER_ID);
+
+    DataProvider provider = provider(NOT_EXISTING_PROVIDER_ID);
+    when(dataProviderDao.getProvider(NOT_EXISTING_PROVIDER_ID)).thenReturn(provider);
+    time.addAndGet(TimeUnit.SECONDS.toNanos(11));
+
+    assertSame(provider, cache.getProvider(NOT_EXISTING_PROVIDER_ID));
+    verify(dataProviderDao, times(2)).getProvider(NOT_EXISTING_PROVIDER_ID);
+  }
+
+  @Test
+  public void shouldReadProviderFromDatabaseAfterInvalidation() {
+    DataProvider provider = provider(PROVIDER_ID);
+    when(dataProviderDao.getProvider(PROVIDER_ID)).thenReturn(null, provider);
+    assertNull(cache.getProvider(PROVIDER_ID));
+
+    cache.invalidate(PROVIDER_ID);
+
+    assertSame(provider, cache.getProvider(PROVIDER_ID));
+    verify(dataProviderDao, times(2)).getProvider(PROVIDER_ID);
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void shouldPassDatabaseFailure() {
+    when(dataProviderDao.getProvider(PROVIDER_ID)).thenThrow(new IllegalStateException("Database unavailable"));
+
+    cache.getProvider(PROVIDER_ID);
+  }
+
+  private static DataProvider provider(String id) {
+    DataProvider provider = new DataProvider();
+    provider.setId(id);
+    return provider;
+  }
+}
@@ -43,6 +43,14 @@ public class WiremockHelper {
             .withBody(responseBody)));
   }
 
+  public void stubGet(String url, int responseStatus, String eTag, String responseBody) {
+    wireMockRule.stubFor(get(urlEqualTo(url))
+        .willReturn(aResponse()
+            .withStatus(responseStatus)
+            .withHeader("ETag", eTag)
+            .withBody(responseBody)));
+  }
+
   public void stubGetWithJsonContent(String url, int responseStatus, String responseBody) {
     wireMockRule.stubFor(get(urlEqualTo(url))
         .willReturn(aResponse()